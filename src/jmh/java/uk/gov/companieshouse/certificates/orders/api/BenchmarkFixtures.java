@@ -0,0 +1,123 @@
+package uk.gov.companieshouse.certificates.orders.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import uk.gov.companieshouse.certificates.orders.api.config.ApplicationConfiguration;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsConfig;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItemOptions;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateType;
+import uk.gov.companieshouse.certificates.orders.api.model.DeliveryMethod;
+import uk.gov.companieshouse.certificates.orders.api.model.DeliveryTimescale;
+import uk.gov.companieshouse.certificates.orders.api.model.DirectorOrSecretaryDetails;
+import uk.gov.companieshouse.certificates.orders.api.model.IncludeDobType;
+import uk.gov.companieshouse.certificates.orders.api.model.Links;
+import uk.gov.companieshouse.certificates.orders.api.service.CostsService;
+
+import javax.json.Json;
+import javax.json.JsonMergePatch;
+import javax.json.JsonReader;
+import javax.validation.Validation;
+import java.io.StringReader;
+import java.time.LocalDateTime;
+
+/**
+ * Builds the objects used as inputs by the benchmarks, outside of a Spring application context.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String ITEM_ID = "CRT-123456-123456";
+    public static final String COMPANY_NUMBER = "00006400";
+    public static final String PATCH_JSON =
+            "{\"quantity\":3,\"customer_reference\":\"Certificate ordered by PJ.\"," +
+            "\"item_options\":{\"delivery_timescale\":\"same_day\",\"include_email_copy\":true," +
+            "\"director_details\":{\"include_basic_information\":false,\"include_address\":true}}}";
+
+    private BenchmarkFixtures() { }
+
+    /**
+     * @return an object mapper configured as the application's own is
+     */
+    public static ObjectMapper objectMapper() {
+        return new ApplicationConfiguration().objectMapper();
+    }
+
+    /**
+     * @return the costs configuration as held in <code>costs.yaml</code>
+     */
+    public static CostsConfig costsConfig() {
+        final CostsConfig costs = new CostsConfig();
+        costs.setStandardCost(15);
+        costs.setSameDayCost(50);
+        costs.setStandardDiscount(5);
+        costs.setSameDayDiscount(40);
+        return costs;
+    }
+
+    /**
+     * @return the costs service, holding the costs as configured in <code>costs.yaml</code>
+     */
+    public static CostsService costsService() {
+        return new CostsService(costsConfig(), Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    /**
+     * @param includeBasicInformation the value of the include basic information flag
+     * @return director or secretary details with all of the include flags set
+     */
+    public static DirectorOrSecretaryDetails directorOrSecretaryDetails(final boolean includeBasicInformation) {
+        final DirectorOrSecretaryDetails details = new DirectorOrSecretaryDetails();
+        details.setIncludeBasicInformation(includeBasicInformation);
+        details.setIncludeAddress(true);
+        details.setIncludeAppointmentDate(true);
+        details.setIncludeCountryOfResidence(true);
+        details.setIncludeDobType(IncludeDobType.PARTIAL);
+        details.setIncludeNationality(true);
+        details.setIncludeOccupation(true);
+        return details;
+    }
+
+    /**
+     * @return a fully populated certificate item, as it would be retrieved from the database
+     */
+    public static CertificateItem certificateItem() {
+        final CertificateItemOptions options = new CertificateItemOptions();
+        options.setCertificateType(CertificateType.INCORPORATION_WITH_ALL_NAME_CHANGES);
+        options.setDeliveryMethod(DeliveryMethod.POSTAL);
+        options.setDeliveryTimescale(DeliveryTimescale.STANDARD);
+        options.setIncludeCompanyObjectsInformation(true);
+        options.setIncludeGoodStandingInformation(true);
+        options.setDirectorDetails(directorOrSecretaryDetails(true));
+        options.setSecretaryDetails(directorOrSecretaryDetails(true));
+
+        final Links links = new Links();
+        links.setSelf("/orderable/certificates/" + ITEM_ID);
+
+        final CertificateItem item = new CertificateItem();
+        item.setId(ITEM_ID);
+        item.setCreatedAt(LocalDateTime.now());
+        item.setUpdatedAt(LocalDateTime.now());
+        item.setCompanyName("THE GIRLS' DAY SCHOOL TRUST");
+        item.setCompanyNumber(COMPANY_NUMBER);
+        item.setCustomerReference("Certificate ordered by NJ.");
+        item.setDescription("certificate for company " + COMPANY_NUMBER);
+        item.setDescriptionIdentifier("certificate");
+        item.setEtag("9d39ea69b64c80ca42ed72328b48c303c4445e28");
+        item.setKind("item#certificate");
+        item.setLinks(links);
+        item.setPostalDelivery(true);
+        item.setQuantity(5);
+        item.setUserId("Y2VkZWVlMzhlZWFjY2M4MzQ3MT");
+        item.setItemOptions(options);
+        return item;
+    }
+
+    /**
+     * @param json the JSON representation of the merge patch
+     * @return the merge patch, as formerly read from the request body, for the baseline benchmarks only
+     */
+    public static JsonMergePatch mergePatch(final String json) {
+        try (final JsonReader reader = Json.createReader(new StringReader(json))) {
+            return Json.createMergePatch(reader.readValue());
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package uk.gov.companieshouse.certificates.orders.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static uk.gov.companieshouse.certificates.orders.api.BenchmarkFixtures.COMPANY_NUMBER;
+import static uk.gov.companieshouse.certificates.orders.api.environment.RequiredEnvironmentVariables.API_URL;
+
+/**
+ * Compares the servlet stack with the reactive stack (the <code>reactive</code> profile) under load. Each trial
+ * starts the whole application in the mode given, backed by an embedded MongoDB, with the company profiles API stubbed
+ * by WireMock to respond after <code>apiDelayMillis</code>. Each operation is a burst of concurrent requests, made
+ * over HTTP, to create a certificate item (which looks up its company name, held after the first lookup) or to get
+ * one. The throughput of requests is that of bursts multiplied by <code>concurrency</code>; the sampled burst time is
+ * the latency of the slowest request of each burst.
+ * <p>
+ * The application reads the company profiles API location from the environment, and so the benchmark is run with
+ * <code>API_URL</code> set to a free local port on which the stub is started, and the other required environment
+ * variables set to any value, e.g.: <code>API_URL=http://localhost:18089 CHS_API_KEY=key ...
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args=CertificatesApiLoadBenchmark</code>.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class CertificatesApiLoadBenchmark {
+
+    private static final String CERTIFICATES_PATH = "/orderable/certificates";
+    private static final String NEW_ITEM_JSON = "{\"company_number\":\"" + COMPANY_NUMBER + "\"," +
+            "\"item_options\":{\"delivery_timescale\":\"standard\"},\"quantity\":5}";
+    private static final String[] HEADERS = {
+            "X-Request-ID", "f058ebd6-02f7-4d3f-942e-904344e8cde5",
+            "ERIC-Identity", "Y2VkZWVlMzhlZWFjY2M4MzQ3MT",
+            "ERIC-Identity-Type", "oauth2",
+            "ERIC-Authorised-User", "demo@ch.gov.uk; forename=demoForename; surname=demoSurname",
+            "ERIC-Authorised-Token-Permissions", "user_orders=create,read"};
+
+    @Param({"servlet", "reactive"})
+    private String stack;
+
+    @Param({"200", "1000"})
+    private int concurrency;
+
+    @Param({"20"})
+    private int apiDelayMillis;
+
+    private WireMockServer companyProfilesApi;
+    private ConfigurableApplicationContext application;
+    private HttpClient client;
+    private URI certificatesUri;
+    private URI itemUri;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        final String apiUrl = System.getenv(API_URL.getName());
+        if (apiUrl == null) {
+            throw new IllegalStateException("Set " + API_URL.getName() + " to the local URL on which to stub the "
+                    + "company profiles API, e.g. http://localhost:18089");
+        }
+        companyProfilesApi = new WireMockServer(options().port(URI.create(apiUrl).getPort()));
+        companyProfilesApi.start();
+        companyProfilesApi.stubFor(get(urlPathMatching("/company/.*"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"company_name\":\"THE GIRLS' DAY SCHOOL TRUST\"}")
+                        .withFixedDelay(apiDelayMillis)));
+
+        final SpringApplicationBuilder builder = new SpringApplicationBuilder(CertificatesApiApplication.class)
+                .properties("server.port=0");
+        if ("reactive".equals(stack)) {
+            builder.profiles("reactive");
+        }
+        application = builder.run();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        certificatesUri = URI.create("http://localhost:"
+                + application.getEnvironment().getProperty("local.server.port") + CERTIFICATES_PATH);
+        final HttpResponse<String> created = client.send(create(), HttpResponse.BodyHandlers.ofString());
+        final String itemId = new ObjectMapper().readTree(created.body()).get("id").asText();
+        itemUri = URI.create(certificatesUri + "/" + itemId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        application.close();
+        companyProfilesApi.stop();
+    }
+
+    @Benchmark
+    public int createBurst() {
+        return burst(create(), 201);
+    }
+
+    @Benchmark
+    public int getBurst() {
+        return burst(HttpRequest.newBuilder(itemUri).headers(HEADERS).GET().build(), 200);
+    }
+
+    private HttpRequest create() {
+        return HttpRequest.newBuilder(certificatesUri)
+                .headers(HEADERS)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(NEW_ITEM_JSON))
+                .build();
+    }
+
+    /**
+     * Makes <code>concurrency</code> concurrent requests, awaiting all of the responses.
+     * @param request the request to make
+     * @param expectedStatus the status of a request handled successfully
+     * @return the number of requests handled successfully
+     */
+    private int burst(final HttpRequest request, final int expectedStatus) {
+        final List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(concurrency);
+        for (int count = 0; count < concurrency; count++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+        }
+        int handled = 0;
+        for (final CompletableFuture<HttpResponse<Void>> response : responses) {
+            if (response.join().statusCode() == expectedStatus) {
+                handled++;
+            }
+        }
+        return handled;
+    }
+}
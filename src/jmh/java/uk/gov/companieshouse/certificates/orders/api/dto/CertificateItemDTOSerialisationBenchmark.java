@@ -0,0 +1,51 @@
+package uk.gov.companieshouse.certificates.orders.api.dto;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.certificates.orders.api.BenchmarkFixtures;
+import uk.gov.companieshouse.certificates.orders.api.ItemType;
+import uk.gov.companieshouse.certificates.orders.api.mapper.CertificateItemMapper;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.service.CertificateCostCalculatorService;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the Jackson serialisation of a {@link CertificateItemDTO}, as returned in a response body.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CertificateItemDTOSerialisationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private CertificateItemDTO dto;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        final CertificateItem item = BenchmarkFixtures.certificateItem();
+        ItemType.CERTIFICATE.populateItemCosts(item,
+                new CertificateCostCalculatorService(BenchmarkFixtures.costsService()));
+        dto = Mappers.getMapper(CertificateItemMapper.class).certificateItemToCertificateItemDTO(item);
+    }
+
+    @Benchmark
+    public byte[] serialise() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dto);
+    }
+}
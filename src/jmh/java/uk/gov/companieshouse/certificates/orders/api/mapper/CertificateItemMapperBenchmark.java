@@ -0,0 +1,51 @@
+package uk.gov.companieshouse.certificates.orders.api.mapper;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.certificates.orders.api.BenchmarkFixtures;
+import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemDTO;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link CertificateItemMapper} in both directions.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CertificateItemMapperBenchmark {
+
+    private final CertificateItemMapper mapper = Mappers.getMapper(CertificateItemMapper.class);
+
+    private CertificateItem item;
+    private CertificateItemDTO dto;
+
+    @Setup
+    public void setUp() {
+        item = BenchmarkFixtures.certificateItem();
+        dto = mapper.certificateItemToCertificateItemDTO(item);
+    }
+
+    @Benchmark
+    public CertificateItemDTO itemToDto() {
+        return mapper.certificateItemToCertificateItemDTO(item);
+    }
+
+    @Benchmark
+    public CertificateItem dtoToItem() {
+        return mapper.certificateItemDTOtoCertificateItem(dto);
+    }
+}
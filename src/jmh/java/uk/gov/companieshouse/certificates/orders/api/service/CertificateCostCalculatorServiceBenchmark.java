@@ -0,0 +1,47 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.certificates.orders.api.BenchmarkFixtures;
+import uk.gov.companieshouse.certificates.orders.api.model.DeliveryTimescale;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link CertificateCostCalculatorService#calculateCosts(int, DeliveryTimescale)} across quantities.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CertificateCostCalculatorServiceBenchmark {
+
+    @Param({"1", "5", "20", "100"})
+    private int quantity;
+
+    @Param({"STANDARD", "SAME_DAY"})
+    private DeliveryTimescale deliveryTimescale;
+
+    private CertificateCostCalculatorService calculator;
+
+    @Setup
+    public void setUp() {
+        calculator = new CertificateCostCalculatorService(BenchmarkFixtures.costsService());
+    }
+
+    @Benchmark
+    public CertificateCostCalculation calculateCosts() {
+        return calculator.calculateCosts(quantity, deliveryTimescale);
+    }
+}
@@ -0,0 +1,42 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks {@link IdGeneratorService#autoGenerateId()}, single threaded and contended.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IdGeneratorServiceBenchmark {
+
+    /** Leases blocks of the sequence from memory, standing in for the database sequence. */
+    private final AtomicLong highWaterMark = new AtomicLong();
+    private final IdGeneratorService idGenerator = new IdGeneratorService(highWaterMark::getAndAdd);
+
+    @Benchmark
+    public String autoGenerateId() {
+        return idGenerator.autoGenerateId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String autoGenerateIdContended() {
+        return idGenerator.autoGenerateId();
+    }
+}
@@ -0,0 +1,62 @@
+package uk.gov.companieshouse.certificates.orders.api.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.certificates.orders.api.BenchmarkFixtures;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+
+import javax.json.JsonMergePatch;
+import javax.json.JsonValue;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link PatchMerger#mergePatch(JsonNode, Object, Class)} applying a typical update to a fully populated
+ * certificate item, against the former bean to <code>JsonValue</code> to bean round trip as a baseline. Run with
+ * <code>-prof gc</code> (the default) to compare the allocation rates.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PatchMergerBenchmark {
+
+    private ObjectMapper objectMapper;
+    private PatchMerger patchMerger;
+    private JsonMergePatch patch;
+    private JsonNode patchTree;
+    private CertificateItem item;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        patchMerger = new PatchMerger(objectMapper);
+        patch = BenchmarkFixtures.mergePatch(BenchmarkFixtures.PATCH_JSON);
+        patchTree = objectMapper.readTree(BenchmarkFixtures.PATCH_JSON);
+        item = BenchmarkFixtures.certificateItem();
+    }
+
+    @Benchmark
+    public CertificateItem mergePatchTree() {
+        return patchMerger.mergePatch(patchTree, item, CertificateItem.class);
+    }
+
+    @Benchmark
+    public CertificateItem jsonValueRoundTripBaseline() {
+        final JsonValue target = objectMapper.convertValue(item, JsonValue.class);
+        final JsonValue patched = patch.apply(target);
+        return objectMapper.convertValue(patched, CertificateItem.class);
+    }
+}
@@ -0,0 +1,96 @@
+package uk.gov.companieshouse.certificates.orders.api.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the platform thread pool on which Tomcat handles requests by default (200 threads) with the virtual
+ * thread mode (see {@link VirtualThreads}), at high concurrency. Each operation is a burst of concurrent requests,
+ * each of which blocks for as long as a MongoDB or company profiles API call might take. The throughput of requests
+ * is that of bursts multiplied by <code>concurrency</code>; the sampled burst time is the latency of the slowest
+ * request of each burst. The <code>pinned</code> requests block within a <code>synchronized</code> section, which
+ * pins a virtual thread to its carrier thread, to show what any such section left on a request path costs. The
+ * virtual executor requires Java 21 or later: <code>mvn -Pbenchmark test-compile exec:exec -Djmh.args=VirtualThreadsBenchmark</code>.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class VirtualThreadsBenchmark {
+
+    /** The default maximum number of Tomcat request threads (<code>server.tomcat.max-threads</code>). */
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    private String executor;
+
+    @Param({"1000", "5000"})
+    private int concurrency;
+
+    @Param({"10"})
+    private long blockMillis;
+
+    @Param({"false", "true"})
+    private boolean pinned;
+
+    private ExecutorService requestExecutor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        requestExecutor = "virtual".equals(executor)
+                ? VirtualThreads.newThreadPerTaskExecutor("benchmark-virtual-")
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        requestExecutor.shutdown();
+        requestExecutor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    @Benchmark
+    public int burst() throws InterruptedException, ExecutionException {
+        final List<Future<Integer>> requests = new ArrayList<>(concurrency);
+        for (int request = 0; request < concurrency; request++) {
+            requests.add(requestExecutor.submit(this::handle));
+        }
+        int handled = 0;
+        for (final Future<Integer> request : requests) {
+            handled += request.get();
+        }
+        return handled;
+    }
+
+    private int handle() throws InterruptedException {
+        if (pinned) {
+            final Object monitor = new Object();
+            synchronized (monitor) {
+                Thread.sleep(blockMillis);
+            }
+        } else {
+            Thread.sleep(blockMillis);
+        }
+        return 1;
+    }
+}
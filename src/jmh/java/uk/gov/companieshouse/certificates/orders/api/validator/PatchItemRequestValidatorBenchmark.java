@@ -0,0 +1,115 @@
+package uk.gov.companieshouse.certificates.orders.api.validator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.companieshouse.certificates.orders.api.BenchmarkFixtures;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.model.DirectorOrSecretaryDetails;
+import uk.gov.companieshouse.certificates.orders.api.util.FieldNameConverter;
+
+import javax.validation.Validation;
+import java.beans.PropertyDescriptor;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Boolean.TRUE;
+
+/**
+ * Benchmarks the {@link PatchItemRequestValidator#getValidationErrors} overloads, and the precompiled
+ * director/secretary details checks inherited from {@link RequestValidator}, against the former reflective details
+ * checks as a baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PatchItemRequestValidatorBenchmark {
+
+    private final FieldNameConverter converter = new FieldNameConverter();
+
+    private PatchItemRequestValidator validator;
+    private JsonNode patchTree;
+    private CertificateItem patchedItem;
+    private DirectorOrSecretaryDetails validDetails;
+    private DirectorOrSecretaryDetails invalidDetails;
+
+    @Setup
+    public void setUp() throws IOException {
+        final ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        validator = new PatchItemRequestValidator(objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                converter);
+        patchTree = objectMapper.readTree(BenchmarkFixtures.PATCH_JSON);
+        patchedItem = BenchmarkFixtures.certificateItem();
+        validDetails = BenchmarkFixtures.directorOrSecretaryDetails(true);
+        invalidDetails = BenchmarkFixtures.directorOrSecretaryDetails(false);
+    }
+
+    @Benchmark
+    public List<String> validatePatchTree() {
+        return validator.getValidationErrors(patchTree);
+    }
+
+    @Benchmark
+    public List<String> validatePatchedItem() {
+        return validator.getValidationErrors(patchedItem);
+    }
+
+    @Benchmark
+    public List<String> validateValidDirectorDetails() {
+        return validator.getValidationErrors(validDetails, "director_details");
+    }
+
+    @Benchmark
+    public List<String> validateInvalidDirectorDetails() {
+        return validator.getValidationErrors(invalidDetails, "director_details");
+    }
+
+    @Benchmark
+    public List<String> validateInvalidDirectorDetailsReflectiveBaseline() throws Exception {
+        return reflectiveValidationErrors(invalidDetails, "director_details");
+    }
+
+    /**
+     * The reflective implementation formerly used by {@link RequestValidator}, retained for comparison only.
+     */
+    private List<String> reflectiveValidationErrors(final DirectorOrSecretaryDetails details,
+                                                    final String detailsFieldName) throws Exception {
+        final List<String> errors = new ArrayList<>();
+        if (details == null || TRUE.equals(details.getIncludeBasicInformation())) {
+            return errors;
+        }
+        final List<String> incorrectlySetFields = new ArrayList<>();
+        for (final Field field : details.getClass().getDeclaredFields()) {
+            if (!field.getName().equals("includeBasicInformation") &&
+                    field.getType().equals(Boolean.class) &&
+                    TRUE.equals(new PropertyDescriptor(field.getName(), details.getClass())
+                            .getReadMethod().invoke(details))) {
+                incorrectlySetFields.add(converter.toSnakeCase(field.getName()));
+            }
+        }
+        if (!incorrectlySetFields.isEmpty()) {
+            final String fieldList = incorrectlySetFields.toString().replace("[", "").replace("]", "");
+            errors.add(detailsFieldName + ": " + fieldList + " must not be true when include_basic_information is false");
+        }
+        if (details.getIncludeDobType() != null) {
+            errors.add(detailsFieldName + ": include_dob_type must not be non-null when include_basic_information is false");
+        }
+        return errors;
+    }
+}
@@ -7,6 +7,7 @@ import uk.gov.companieshouse.certificates.orders.api.service.CertificateCostCalc
 import uk.gov.companieshouse.certificates.orders.api.service.DescriptionProviderService;
 
 import java.util.Map;
+import java.util.Objects;
 
 import static uk.gov.companieshouse.certificates.orders.api.model.DeliveryTimescale.STANDARD;
 
@@ -66,7 +67,7 @@ public enum ItemType {
     }
 
     /**
-     * Populates the item costs fields.
+     * Populates the item costs fields, and the version of the tariff under which they are calculated.
      * @param item the item bearing the item costs
      * @param calculator the item costs calculator
      */
@@ -76,6 +77,31 @@ public enum ItemType {
         item.setPostageCost(calculation.getPostageCost());
         item.setItemCosts(calculation.getItemCosts());
         item.setTotalItemCost(calculation.getTotalItemCost());
+        item.setTariffVersion(calculation.getTariffVersion());
+    }
+
+    /**
+     * Determines whether the item costs fields hold the costs calculated under the current tariff.
+     * @param item the item bearing the item costs
+     * @param calculator the item costs calculator
+     * @return whether the item costs are current
+     */
+    public boolean hasCurrentItemCosts(final Item item, final CertificateCostCalculatorService calculator) {
+        return item.getItemCosts() != null &&
+               item.getTariffVersion() != null &&
+               item.getTariffVersion().equals(calculator.getTariffVersion());
+    }
+
+    /**
+     * Determines whether the items provided are costed alike, i.e., whether they have the same quantity and delivery
+     * timescale.
+     * @param item the item
+     * @param other the other item
+     * @return whether the items are costed alike
+     */
+    public boolean isCostedAlike(final Item item, final Item other) {
+        return Objects.equals(item.getQuantity(), other.getQuantity()) &&
+               getOrDefaultDeliveryTimescale(item) == getOrDefaultDeliveryTimescale(other);
     }
 
     /**
@@ -0,0 +1,32 @@
+package uk.gov.companieshouse.certificates.orders.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Configures the connections used by the internal API clients provided by
+ * {@link uk.gov.companieshouse.certificates.orders.api.service.ApiClientService}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "api-client")
+@Validated
+public class ApiClientConfig {
+
+    /**
+     * The maximum number of idle keep-alive connections held open to each API host. Should be at least the maximum
+     * number of concurrent API calls, so that every call can reuse an open connection.
+     */
+    @Min(1)
+    private int maxIdleConnections = 10;
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+}
@@ -1,8 +1,11 @@
 package uk.gov.companieshouse.certificates.orders.api.config;
 
 import static com.fasterxml.jackson.databind.PropertyNamingStrategy.SNAKE_CASE;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -16,31 +19,12 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import uk.gov.companieshouse.api.interceptor.CRUDAuthenticationInterceptor;
 import uk.gov.companieshouse.api.util.security.Permission.Key;
 import uk.gov.companieshouse.certificates.orders.api.interceptor.LoggingInterceptor;
+import uk.gov.companieshouse.certificates.orders.api.interceptor.RequestBodySizeFilter;
 import uk.gov.companieshouse.certificates.orders.api.interceptor.UserAuthenticationInterceptor;
 import uk.gov.companieshouse.certificates.orders.api.interceptor.UserAuthorisationInterceptor;
 
 @Configuration
-public class ApplicationConfiguration implements WebMvcConfigurer {
-
-    @Autowired
-    private LoggingInterceptor loggingInterceptor;
-
-    @Autowired
-    private UserAuthenticationInterceptor userAuthenticationInterceptor;
-
-    @Autowired
-    private UserAuthorisationInterceptor userAuthorisationInterceptor;
-
-    @Autowired
-    private CRUDAuthenticationInterceptor crudPermissionsInterceptor;
-
-    @Override
-    public void addInterceptors(final InterceptorRegistry registry) {
-        registry.addInterceptor(loggingInterceptor);
-        registry.addInterceptor(userAuthenticationInterceptor).addPathPatterns("/orderable/**");
-        registry.addInterceptor(userAuthorisationInterceptor).addPathPatterns("/orderable/certificates/**");
-        registry.addInterceptor(crudPermissionsInterceptor).addPathPatterns("/orderable/**");
-    }
+public class ApplicationConfiguration {
 
     @Bean
     public ObjectMapper objectMapper() {
@@ -52,9 +36,46 @@ public class ApplicationConfiguration implements WebMvcConfigurer {
                 .findAndRegisterModules();
     }
 
-    @Bean
-    public CRUDAuthenticationInterceptor crudPermissionsInterceptor() {
-        return new CRUDAuthenticationInterceptor(Key.USER_ORDERS);
+    /**
+     * Configures the interceptors and filters of the servlet stack, none of which the reactive stack uses.
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = SERVLET)
+    public static class ServletConfiguration implements WebMvcConfigurer {
+
+        @Autowired
+        private LoggingInterceptor loggingInterceptor;
+
+        @Autowired
+        private UserAuthenticationInterceptor userAuthenticationInterceptor;
+
+        @Autowired
+        private UserAuthorisationInterceptor userAuthorisationInterceptor;
+
+        @Autowired
+        private CRUDAuthenticationInterceptor crudPermissionsInterceptor;
+
+        @Override
+        public void addInterceptors(final InterceptorRegistry registry) {
+            registry.addInterceptor(loggingInterceptor);
+            registry.addInterceptor(userAuthenticationInterceptor).addPathPatterns("/orderable/**");
+            registry.addInterceptor(userAuthorisationInterceptor).addPathPatterns("/orderable/certificates/**");
+            registry.addInterceptor(crudPermissionsInterceptor).addPathPatterns("/orderable/**");
+        }
+
+        @Bean
+        public FilterRegistrationBean<RequestBodySizeFilter> batchRequestBodySizeFilter(
+                final BatchRequestConfig config, final ObjectMapper objectMapper) {
+            final FilterRegistrationBean<RequestBodySizeFilter> registration =
+                    new FilterRegistrationBean<>(new RequestBodySizeFilter(config.getMaxBodyBytes(), objectMapper));
+            registration.addUrlPatterns("/orderable/certificates/batch");
+            return registration;
+        }
+
+        @Bean
+        public CRUDAuthenticationInterceptor crudPermissionsInterceptor() {
+            return new CRUDAuthenticationInterceptor(Key.USER_ORDERS);
+        }
     }
 
 }
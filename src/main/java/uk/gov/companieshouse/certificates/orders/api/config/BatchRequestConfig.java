@@ -0,0 +1,29 @@
+package uk.gov.companieshouse.certificates.orders.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Configures the limits applied to batch create items requests, over and above the maximum number of items
+ * enforced by {@link uk.gov.companieshouse.certificates.orders.api.validator.CreateItemsBatchRequestValidator}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "batch-request")
+@Validated
+public class BatchRequestConfig {
+
+    /** The maximum size of the body of a batch create items request, in bytes. */
+    @Min(1)
+    private long maxBodyBytes = 1_048_576;
+
+    public long getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(long maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+}
@@ -0,0 +1,74 @@
+package uk.gov.companieshouse.certificates.orders.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Configures the in-process cache of certificate items held by
+ * {@link uk.gov.companieshouse.certificates.orders.api.service.CertificateItemCache}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "certificate-item-cache")
+@Validated
+public class CertificateItemCacheConfig {
+
+    /** Whether certificate items are cached at all. */
+    private boolean enabled = true;
+    /** The maximum number of certificate items held. */
+    @Min(1)
+    private long maximumSize = 10_000;
+    /** How long a certificate item is held before it expires, in seconds. */
+    @Min(1)
+    private long timeToLiveSeconds = 300;
+    /**
+     * Whether items changed by other instances of this API are invalidated through a MongoDB change stream, which
+     * requires MongoDB to run as a replica set. Should only be disabled where a single instance is deployed.
+     */
+    private boolean changeStreamEnabled = true;
+    /** How long after the change stream is opened and found not to be open any attempt to reopen it is made. */
+    @Min(1)
+    private long changeStreamRetrySeconds = 30;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public long getTimeToLiveSeconds() {
+        return timeToLiveSeconds;
+    }
+
+    public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    public boolean isChangeStreamEnabled() {
+        return changeStreamEnabled;
+    }
+
+    public void setChangeStreamEnabled(boolean changeStreamEnabled) {
+        this.changeStreamEnabled = changeStreamEnabled;
+    }
+
+    public long getChangeStreamRetrySeconds() {
+        return changeStreamRetrySeconds;
+    }
+
+    public void setChangeStreamRetrySeconds(long changeStreamRetrySeconds) {
+        this.changeStreamRetrySeconds = changeStreamRetrySeconds;
+    }
+}
@@ -0,0 +1,169 @@
+package uk.gov.companieshouse.certificates.orders.api.config;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import uk.gov.companieshouse.certificates.orders.api.util.VirtualThreads;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+/**
+ * Configures the executor on which company names are looked up (via
+ * {@link uk.gov.companieshouse.certificates.orders.api.service.CompanyService}) concurrently with the rest of the
+ * work of a create item request, and the limits placed by that service upon its calls to the company profiles API:
+ * a per call timeout, a bulkhead limiting the number of concurrent calls, and a circuit breaker that fails calls fast
+ * while the API is unhealthy.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "company-lookup")
+@Validated
+public class CompanyLookupConfig {
+
+    /** The name of the company lookup executor bean. */
+    public static final String COMPANY_LOOKUP_EXECUTOR = "companyLookupExecutor";
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    /** The maximum number of company lookups in progress at once, other than in the virtual thread mode. */
+    @Min(1)
+    private int threads = 20;
+    /**
+     * The maximum number of company lookups waiting for a thread, other than in the virtual thread mode. Any more are
+     * run on the requesting thread.
+     */
+    @Min(1)
+    private int queueCapacity = 100;
+    /** How long a company profiles API call may take before it is abandoned, in milliseconds. */
+    @Min(1)
+    private long timeoutMillis = 5_000;
+    /** The maximum number of company profiles API calls in progress at once. */
+    @Min(1)
+    private int maxConcurrentCalls = 10;
+    /** The maximum number of company profiles API calls waiting for the bulkhead. Any more are rejected. */
+    @Min(1)
+    private int maxQueuedCalls = 10;
+    /** The percentage of failed recent calls at or above which the circuit breaker opens. */
+    @Min(1)
+    @Max(100)
+    private float failureRateThreshold = 50;
+    /** The number of recent calls from which the failure rate is calculated. */
+    @Min(1)
+    private int slidingWindowSize = 20;
+    /** The minimum number of recent calls required before the failure rate is calculated. */
+    @Min(1)
+    private int minimumNumberOfCalls = 10;
+    /** How long the circuit breaker stays open before letting trial calls through again, in seconds. */
+    @Min(1)
+    private long waitInOpenStateSeconds = 30;
+
+    /**
+     * Creates the bounded executor on which company names are looked up. Should the executor become saturated,
+     * the lookup is run on the requesting thread instead, exactly as if it had not been made asynchronous. In the
+     * virtual thread mode, each lookup is run on a virtual thread of its own instead, the number of concurrent
+     * company profiles API calls still being limited by the bulkhead.
+     * @param registry the registry to which the executor utilisation metrics are published
+     * @param virtualThreads the virtual thread mode configuration
+     * @return the company lookup executor
+     */
+    @Bean(name = COMPANY_LOOKUP_EXECUTOR, destroyMethod = "shutdown")
+    @ConditionalOnWebApplication(type = SERVLET)
+    public ExecutorService companyLookupExecutor(final MeterRegistry registry,
+                                                 final VirtualThreadsConfig virtualThreads) {
+        if (virtualThreads.isEnabled()) {
+            return VirtualThreads.newThreadPerTaskExecutor("company-lookup-virtual-");
+        }
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                KEEP_ALIVE_SECONDS, SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new ThreadFactoryBuilder().setNameFormat("company-lookup-%d").setDaemon(true).build(),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(executor, "company_lookup", Tags.empty()).bindTo(registry);
+        return executor;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+    }
+
+    public int getMaxQueuedCalls() {
+        return maxQueuedCalls;
+    }
+
+    public void setMaxQueuedCalls(int maxQueuedCalls) {
+        this.maxQueuedCalls = maxQueuedCalls;
+    }
+
+    public float getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public void setFailureRateThreshold(float failureRateThreshold) {
+        this.failureRateThreshold = failureRateThreshold;
+    }
+
+    public int getSlidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    public void setSlidingWindowSize(int slidingWindowSize) {
+        this.slidingWindowSize = slidingWindowSize;
+    }
+
+    public int getMinimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+        this.minimumNumberOfCalls = minimumNumberOfCalls;
+    }
+
+    public long getWaitInOpenStateSeconds() {
+        return waitInOpenStateSeconds;
+    }
+
+    public void setWaitInOpenStateSeconds(long waitInOpenStateSeconds) {
+        this.waitInOpenStateSeconds = waitInOpenStateSeconds;
+    }
+}
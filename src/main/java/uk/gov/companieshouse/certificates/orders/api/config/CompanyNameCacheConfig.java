@@ -0,0 +1,65 @@
+package uk.gov.companieshouse.certificates.orders.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Configures the in-process cache of company names held by
+ * {@link uk.gov.companieshouse.certificates.orders.api.service.CompanyService}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "company-name-cache")
+@Validated
+public class CompanyNameCacheConfig {
+
+    /** The maximum number of company names held. */
+    @Min(1)
+    private long maximumSize = 10_000;
+    /** How long a company name is held before it expires, in seconds. */
+    @Min(1)
+    private long timeToLiveSeconds = 3_600;
+    /** How long after it is loaded a company name is refreshed ahead of its expiry, in seconds. */
+    @Min(1)
+    private long refreshAfterSeconds = 2_700;
+    /**
+     * The number of threads used to refresh company names in the background. Used by the servlet stack only, as the
+     * reactive stack needs no threads to refresh them.
+     */
+    @Min(1)
+    private int refreshThreads = 2;
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public long getTimeToLiveSeconds() {
+        return timeToLiveSeconds;
+    }
+
+    public void setTimeToLiveSeconds(long timeToLiveSeconds) {
+        this.timeToLiveSeconds = timeToLiveSeconds;
+    }
+
+    public long getRefreshAfterSeconds() {
+        return refreshAfterSeconds;
+    }
+
+    public void setRefreshAfterSeconds(long refreshAfterSeconds) {
+        this.refreshAfterSeconds = refreshAfterSeconds;
+    }
+
+    public int getRefreshThreads() {
+        return refreshThreads;
+    }
+
+    public void setRefreshThreads(int refreshThreads) {
+        this.refreshThreads = refreshThreads;
+    }
+}
@@ -0,0 +1,28 @@
+package uk.gov.companieshouse.certificates.orders.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the reloading of the costs from a watched file by
+ * {@link uk.gov.companieshouse.certificates.orders.api.service.CostsFileWatcher}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "costs-reload")
+public class CostsReloadConfig {
+
+    /**
+     * The path of a YAML file holding the costs in the same format as <code>costs.yaml</code>. Whenever the file
+     * changes, the costs it holds replace those in use. If not set, the costs in <code>costs.yaml</code> are used
+     * throughout.
+     */
+    private String file;
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+}
@@ -0,0 +1,69 @@
+package uk.gov.companieshouse.certificates.orders.api.config;
+
+/**
+ * An immutable snapshot of the configured costs, as published by
+ * {@link uk.gov.companieshouse.certificates.orders.api.service.CostsService}. Each snapshot published supersedes the
+ * previous one, and bears the next version number.
+ */
+public final class CostsSnapshot {
+
+    private final long version;
+    private final int standardCost;
+    private final int sameDayCost;
+    private final int standardDiscount;
+    private final int sameDayDiscount;
+
+    /**
+     * Constructor.
+     * @param version the version of the snapshot
+     * @param costs the configured costs, copied into the snapshot
+     */
+    public CostsSnapshot(final long version, final CostsConfig costs) {
+        this.version = version;
+        this.standardCost = costs.getStandardCost();
+        this.sameDayCost = costs.getSameDayCost();
+        this.standardDiscount = costs.getStandardDiscount();
+        this.sameDayDiscount = costs.getSameDayDiscount();
+    }
+
+    /**
+     * Determines whether the configured costs provided are those already held by this snapshot.
+     * @param costs the configured costs
+     * @return whether the costs are the same
+     */
+    public boolean hasSameCosts(final CostsConfig costs) {
+        return standardCost == costs.getStandardCost() &&
+               sameDayCost == costs.getSameDayCost() &&
+               standardDiscount == costs.getStandardDiscount() &&
+               sameDayDiscount == costs.getSameDayDiscount();
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getStandardCost() {
+        return standardCost;
+    }
+
+    public int getSameDayCost() {
+        return sameDayCost;
+    }
+
+    public int getStandardDiscount() {
+        return standardDiscount;
+    }
+
+    public int getSameDayDiscount() {
+        return sameDayDiscount;
+    }
+
+    @Override
+    public String toString() {
+        return "CostsSnapshot{version=" + version +
+                ", standardCost=" + standardCost +
+                ", sameDayCost=" + sameDayCost +
+                ", standardDiscount=" + standardDiscount +
+                ", sameDayDiscount=" + sameDayDiscount + "}";
+    }
+}
@@ -0,0 +1,51 @@
+package uk.gov.companieshouse.certificates.orders.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Min;
+
+/**
+ * Configures the batched write-back of re-priced certificate item costs performed by
+ * {@link uk.gov.companieshouse.certificates.orders.api.service.ItemCostsWriteBack}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "item-costs-write-back")
+@Validated
+public class ItemCostsWriteBackConfig {
+
+    /** The maximum number of items whose costs are written in a single bulk write. */
+    @Min(1)
+    private int batchSize = 100;
+    /** How long after each write-back the next one takes place, in milliseconds. */
+    @Min(1)
+    private long flushIntervalMillis = 1000;
+    /** The maximum number of items awaiting write-back, beyond which further items are dropped. */
+    @Min(1)
+    private int maximumPendingItems = 10_000;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public int getMaximumPendingItems() {
+        return maximumPendingItems;
+    }
+
+    public void setMaximumPendingItems(int maximumPendingItems) {
+        this.maximumPendingItems = maximumPendingItems;
+    }
+}
@@ -0,0 +1,51 @@
+package uk.gov.companieshouse.certificates.orders.api.config;
+
+import com.mongodb.MongoClientOptions;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.gov.companieshouse.certificates.orders.api.metrics.MongoCommandMetricsListener;
+
+/**
+ * Configures the publication of the metrics listed in
+ * {@link uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants}. The percentiles and histograms
+ * published for each timer are configured under <code>management.metrics.distribution</code>.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Times each method annotated with {@link io.micrometer.core.annotation.Timed}.
+     * @param registry the meter registry
+     * @return the aspect
+     */
+    @Bean
+    public TimedAspect timedAspect(final MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Times each command sent to MongoDB. Any options specified in the MongoDB connection string still apply.
+     * @param registry the meter registry
+     * @return the MongoDB client options
+     */
+    @Bean
+    public MongoClientOptions mongoClientOptions(final MeterRegistry registry) {
+        return MongoClientOptions.builder()
+                .addCommandListener(new MongoCommandMetricsListener(registry))
+                .build();
+    }
+
+    /**
+     * Times each command sent to MongoDB by the reactive stack, whose client is configured through its own settings
+     * rather than through {@link MongoClientOptions}.
+     * @param registry the meter registry
+     * @return the customizer of the reactive MongoDB client settings
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMetricsCustomizer(final MeterRegistry registry) {
+        return settings -> settings.addCommandListener(new MongoCommandMetricsListener(registry));
+    }
+}
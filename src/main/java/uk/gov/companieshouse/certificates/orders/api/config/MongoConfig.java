@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.certificates.orders.api.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.ConverterFactory;
@@ -23,11 +24,16 @@ public class MongoConfig {
      * when using spring data mongo it by default adds a _class key to your collection to be able to
      * handle inheritance. But if your domain model is simple and flat, you can remove it by overriding
      * the default MappingMongoConverter.
+     * <p>
+     * The reactive stack has no (blocking) {@link MongoDbFactory}, and so resolves no DBRefs, as the converter
+     * Spring Boot configures for it would not either.
      */
     @Bean
-    public MappingMongoConverter mappingMongoConverter(final MongoDbFactory factory,
+    public MappingMongoConverter mappingMongoConverter(final ObjectProvider<MongoDbFactory> factory,
                                                        final MongoMappingContext context) {
-        final DbRefResolver dbRefResolver = new DefaultDbRefResolver(factory);
+        final MongoDbFactory blockingFactory = factory.getIfAvailable();
+        final DbRefResolver dbRefResolver = blockingFactory != null ?
+                new DefaultDbRefResolver(blockingFactory) : NoOpDbRefResolver.INSTANCE;
         final MappingMongoConverter mappingConverter = new MappingMongoConverter(dbRefResolver, context);
 
         // Don't save _class to mongo
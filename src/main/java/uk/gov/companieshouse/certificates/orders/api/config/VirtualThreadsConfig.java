@@ -0,0 +1,78 @@
+package uk.gov.companieshouse.certificates.orders.api.config;
+
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import uk.gov.companieshouse.certificates.orders.api.util.VirtualThreads;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
+
+/**
+ * Configures the virtual thread mode, in which Tomcat handles each request, and the company lookup executor (see
+ * {@link CompanyLookupConfig}) runs each lookup, on a virtual thread of its own, rather than on one of a bounded pool
+ * of platform threads. A request blocked on MongoDB or on the company profiles API then holds no platform thread.
+ * The mode requires the API to be run on Java 21 or later; should it be enabled on an earlier JVM, the application
+ * fails to start.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "virtual-threads")
+@Validated
+public class VirtualThreadsConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
+
+    /** Whether requests and company lookups are run on virtual threads. */
+    private boolean enabled = false;
+
+    /**
+     * Checks that virtual threads can be created, should the virtual thread mode be enabled.
+     * @throws IllegalStateException should the mode be enabled on a JVM that does not support virtual threads
+     */
+    @PostConstruct
+    public void checkSupported() {
+        if (enabled && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("virtual-threads.enabled is set, but virtual threads require Java 21 or "
+                    + "later, and this JVM is Java " + System.getProperty("java.version"));
+        }
+    }
+
+    /**
+     * Has Tomcat run each request on a virtual thread of its own, should the virtual thread mode be enabled.
+     * @return the Tomcat customizer
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = SERVLET)
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadsTomcatCustomizer() {
+        return factory -> {
+            if (enabled) {
+                factory.addConnectorCustomizers(connector -> {
+                    final ProtocolHandler handler = connector.getProtocolHandler();
+                    if (handler instanceof AbstractProtocol) {
+                        ((AbstractProtocol<?>) handler)
+                                .setExecutor(VirtualThreads.newThreadPerTaskExecutor("http-virtual-"));
+                        LOGGER.info("Tomcat requests run on virtual threads");
+                    }
+                });
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
@@ -1,31 +1,57 @@
 package uk.gov.companieshouse.certificates.orders.api.controller;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.CREATED;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
 import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.CERTIFICATE_IDS_LOG_KEY;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.CERTIFICATE_ID_LOG_KEY;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.COMPANY_NUMBER_LOG_KEY;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.ERRORS_LOG_KEY;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.ITEM_COUNT_LOG_KEY;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.REQUEST_ID_HEADER_NAME;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.REQUEST_ID_LOG_KEY;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.STATUS_LOG_KEY;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.USER_ID_LOG_KEY;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.PATCHED_COMPANY_NUMBER;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.MESSAGE;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.CREATE_BATCH_REQUEST;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.CREATE_REQUEST;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.PATCHED_ITEM_REQUEST;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.PATCH_REQUEST;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.REQUEST_TAG;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.VALIDATION_FAILURES_COUNTER;
+import static java.util.Collections.singletonList;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
-import javax.json.JsonMergePatch;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -33,24 +59,44 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import uk.gov.companieshouse.certificates.orders.api.config.CompanyLookupConfig;
 import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemDTO;
+import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemSummaryDTO;
+import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemsPageDTO;
+import uk.gov.companieshouse.certificates.orders.api.logging.AsyncLogger;
 import uk.gov.companieshouse.certificates.orders.api.mapper.CertificateItemMapper;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemFilter;
+import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemKey;
 import uk.gov.companieshouse.certificates.orders.api.service.CertificateItemService;
 import uk.gov.companieshouse.certificates.orders.api.service.CompanyService;
 import uk.gov.companieshouse.certificates.orders.api.util.EricHeaderHelper;
+import uk.gov.companieshouse.certificates.orders.api.util.EtagHeaderHelper;
+import uk.gov.companieshouse.certificates.orders.api.util.NdjsonHttpMessageConverter;
 import uk.gov.companieshouse.certificates.orders.api.util.PatchMerger;
 import uk.gov.companieshouse.certificates.orders.api.validator.CreateItemRequestValidator;
+import uk.gov.companieshouse.certificates.orders.api.validator.CreateItemsBatchRequestValidator;
 import uk.gov.companieshouse.certificates.orders.api.validator.PatchItemRequestValidator;
-import uk.gov.companieshouse.logging.Logger;
-import uk.gov.companieshouse.logging.LoggerFactory;
 
 @RestController
+@ConditionalOnWebApplication(type = SERVLET)
 public class CertificateItemsController {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
+    private static final AsyncLogger LOGGER = AsyncLogger.getLogger(APPLICATION_NAMESPACE);
+
+    /** The number of times an update is attempted when the item is being modified concurrently. */
+    static final int MAX_UPDATE_ATTEMPTS = 3;
+
+    static final String ITEM_MODIFIED_ERROR = "certificate item has been modified by another request";
+
+    static final String DEFAULT_PAGE_SIZE = "20";
+    static final int MAX_PAGE_SIZE = 100;
+
+    static final String PAGE_SIZE_ERROR = "page_size must be between 1 and " + MAX_PAGE_SIZE;
+    static final String PAGE_TOKEN_ERROR = "page_token is not a valid page token";
 
     private final CreateItemRequestValidator createItemRequestValidator;
     private final PatchItemRequestValidator patchItemRequestValidator;
@@ -58,6 +104,9 @@ public class CertificateItemsController {
     private final PatchMerger patcher;
     private final CertificateItemService certificateItemService;
     private final CompanyService companyService;
+    private final CreateItemsBatchRequestValidator createItemsBatchRequestValidator;
+    private final MeterRegistry registry;
+    private final Executor companyLookupExecutor;
 
     /**
      * Constructor.
@@ -68,19 +117,30 @@ public class CertificateItemsController {
      * @param patcher the component used by this to apply JSON merge patches to
      *                {@link CertificateItem} instances
      * @param certificateItemService the service used by this to manage and store certificate items
+     * @param companyService the service used by this to look up company names
+     * @param createItemsBatchRequestValidator the validator this relies on for batch create request validations
+     * @param registry the registry to which this publishes its validation failure counts
+     * @param companyLookupExecutor the executor on which this looks up company names concurrently
      */
     public CertificateItemsController(final CreateItemRequestValidator createItemRequestValidator,
                                       final PatchItemRequestValidator patchItemRequestValidator,
                                       final CertificateItemMapper mapper,
                                       final PatchMerger patcher,
                                       final CertificateItemService certificateItemService,
-                                      final CompanyService companyService) {
+                                      final CompanyService companyService,
+                                      final CreateItemsBatchRequestValidator createItemsBatchRequestValidator,
+                                      final MeterRegistry registry,
+                                      final @Qualifier(CompanyLookupConfig.COMPANY_LOOKUP_EXECUTOR)
+                                              Executor companyLookupExecutor) {
         this.createItemRequestValidator = createItemRequestValidator;
         this.patchItemRequestValidator = patchItemRequestValidator;
         this.mapper = mapper;
         this.patcher = patcher;
         this.certificateItemService = certificateItemService;
         this.companyService = companyService;
+        this.createItemsBatchRequestValidator = createItemsBatchRequestValidator;
+        this.registry = registry;
+        this.companyLookupExecutor = companyLookupExecutor;
     }
 
     @PostMapping("${uk.gov.companieshouse.certificates.orders.api.certificates}")
@@ -92,17 +152,20 @@ public class CertificateItemsController {
 
         final List<String> errors = createItemRequestValidator.getValidationErrors(certificateItemDTO);
         if (!errors.isEmpty()) {
+            countValidationFailure(CREATE_REQUEST);
             logErrorsWithStatus(logMap, errors, BAD_REQUEST);
             LOGGER.errorRequest(request, "create certificate item validation errors", logMap);
             return ResponseEntity.status(BAD_REQUEST).body(new ApiError(BAD_REQUEST, errors));
         }
 
+        // Look up the company name while the item is being prepared, waiting for it only just before it is saved.
+        final CompletableFuture<String> companyName = CompletableFuture.supplyAsync(
+                () -> companyService.getCompanyName(certificateItemDTO.getCompanyNumber()), companyLookupExecutor);
+
         CertificateItem item = mapper.certificateItemDTOtoCertificateItem(certificateItemDTO);
         item.setUserId(EricHeaderHelper.getIdentity(request));
-        final String companyName = companyService.getCompanyName(item.getCompanyNumber());
-        item.setCompanyName(companyName);
 
-        item = certificateItemService.createCertificateItem(item);
+        item = certificateItemService.createCertificateItem(item, () -> join(companyName));
         final CertificateItemDTO createdCertificateItemDTO = mapper.certificateItemToCertificateItemDTO(item);
         
         logMap.put(USER_ID_LOG_KEY, item.getUserId());
@@ -114,21 +177,91 @@ public class CertificateItemsController {
         return ResponseEntity.status(CREATED).body(createdCertificateItemDTO);
     }
 
+    @PostMapping(path = "${uk.gov.companieshouse.certificates.orders.api.certificates}/batch",
+                 consumes = {MediaType.APPLICATION_JSON_VALUE, NdjsonHttpMessageConverter.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Object> createCertificateItems(final @RequestBody List<CertificateItemDTO> certificateItemDTOs,
+                                                         HttpServletRequest request,
+                                                         final @RequestHeader(REQUEST_ID_HEADER_NAME) String requestId) {
+        Map<String, Object> logMap = createLoggingDataMap(requestId);
+        LOGGER.infoRequest(request, "create certificate items batch request", logMap);
+
+        final List<String> errors = createItemsBatchRequestValidator.getValidationErrors(certificateItemDTOs);
+        if (!errors.isEmpty()) {
+            countValidationFailure(CREATE_BATCH_REQUEST);
+            logErrorsWithStatus(logMap, errors, BAD_REQUEST);
+            LOGGER.errorRequest(request, "create certificate items batch validation errors", logMap);
+            return ResponseEntity.status(BAD_REQUEST).body(new ApiError(BAD_REQUEST, errors));
+        }
+
+        final String userId = EricHeaderHelper.getIdentity(request);
+        // A company with no name is looked up once too, so its null name is held rather than computed again.
+        final Map<String, String> companyNames = new HashMap<>();
+        for (final CertificateItemDTO certificateItemDTO : certificateItemDTOs) {
+            final String companyNumber = certificateItemDTO.getCompanyNumber();
+            if (!companyNames.containsKey(companyNumber)) {
+                companyNames.put(companyNumber, companyService.getCompanyName(companyNumber));
+            }
+        }
+        final List<CertificateItem> items = new ArrayList<>(certificateItemDTOs.size());
+        for (final CertificateItemDTO certificateItemDTO : certificateItemDTOs) {
+            final CertificateItem item = mapper.certificateItemDTOtoCertificateItem(certificateItemDTO);
+            item.setUserId(userId);
+            item.setCompanyName(companyNames.get(item.getCompanyNumber()));
+            items.add(item);
+        }
+
+        final List<CertificateItem> createdItems = certificateItemService.createCertificateItems(items);
+        final List<CertificateItemDTO> createdCertificateItemDTOs = new ArrayList<>(createdItems.size());
+        final List<String> createdIds = new ArrayList<>(createdItems.size());
+        for (final CertificateItem item : createdItems) {
+            createdCertificateItemDTOs.add(mapper.certificateItemToCertificateItemDTO(item));
+            createdIds.add(item.getId());
+        }
+
+        logMap.put(USER_ID_LOG_KEY, userId);
+        logMap.put(ITEM_COUNT_LOG_KEY, createdItems.size());
+        logMap.put(CERTIFICATE_IDS_LOG_KEY, createdIds);
+        logMap.put(STATUS_LOG_KEY, CREATED);
+        logMap.remove(MESSAGE);
+        LOGGER.infoRequest(request, "certificate items batch created", logMap);
+        return ResponseEntity.status(CREATED).body(createdCertificateItemDTOs);
+    }
+
     @GetMapping("${uk.gov.companieshouse.certificates.orders.api.certificates}/{id}")
     public ResponseEntity<Object> getCertificateItem(final @PathVariable String id,
-                                                     final @RequestHeader(REQUEST_ID_HEADER_NAME) String requestId)
+                                                     final @RequestHeader(REQUEST_ID_HEADER_NAME) String requestId,
+                                                     final @RequestHeader(value = HttpHeaders.IF_NONE_MATCH,
+                                                                          required = false) String ifNoneMatch)
     {
         Map<String, Object> logMap = createLoggingDataMap(requestId);
-        logMap.put(CERTIFICATE_ID_LOG_KEY, id);        
+        logMap.put(CERTIFICATE_ID_LOG_KEY, id);
         LOGGER.info("get certificate item request", logMap);
         logMap.remove(MESSAGE);
-        Optional<CertificateItem> item = certificateItemService.getCertificateItemWithCosts(id);
+        // A user's request has already read the item's etag in looking up its owner: if the client copy is still
+        // current, the item itself need not be read at all.
+        final Optional<String> lookedUpEntityTag =
+                certificateItemService.getLookedUpEtagById(id).map(certificateItemService::getEntityTag);
+        if (lookedUpEntityTag.isPresent() && EtagHeaderHelper.matches(ifNoneMatch, lookedUpEntityTag.get())) {
+            logMap.put(STATUS_LOG_KEY, NOT_MODIFIED);
+            LOGGER.info("certificate item not modified", logMap);
+            return withCachingHeaders(ResponseEntity.status(NOT_MODIFIED), lookedUpEntityTag.get()).build();
+        }
+        Optional<CertificateItem> item = certificateItemService.getCertificateItemById(id);
         if(item.isPresent()) {
+            // Taken before the costs are populated, so that it never claims a later tariff than that of the costs.
+            final String entityTag = certificateItemService.getEntityTag(item.get().getEtag());
+            logMap.put(COMPANY_NUMBER_LOG_KEY, item.get().getCompanyNumber());
+            if (EtagHeaderHelper.matches(ifNoneMatch, entityTag)) {
+                // Client copy is still current: skip the cost calculation and serialisation altogether.
+                logMap.put(STATUS_LOG_KEY, NOT_MODIFIED);
+                LOGGER.info("certificate item not modified", logMap);
+                return withCachingHeaders(ResponseEntity.status(NOT_MODIFIED), entityTag).build();
+            }
+            certificateItemService.populateItemCosts(item.get());
             final CertificateItemDTO createdCertificateItemDTO = mapper.certificateItemToCertificateItemDTO(item.get());
-            logMap.put(COMPANY_NUMBER_LOG_KEY, createdCertificateItemDTO.getCompanyNumber());
             logMap.put(STATUS_LOG_KEY, OK);
             LOGGER.info("certificate item found", logMap);
-            return ResponseEntity.status(OK).body(createdCertificateItemDTO);
+            return withCachingHeaders(ResponseEntity.status(OK), entityTag).body(createdCertificateItemDTO);
         } else {
             String errorMsg = "certificate resource not found";
             final List<String> errors = new ArrayList<>();
@@ -139,55 +272,153 @@ public class CertificateItemsController {
         }
     }
 
+    /**
+     * Lists the certificate items matching the filters supplied, newest first, one page at a time. Each page
+     * continues from the position encoded in the page token returned with the previous page, so that the cost of
+     * getting a page does not grow with the number of pages before it. A user (as opposed to an internal API key)
+     * may only list their own items.
+     */
+    @GetMapping("${uk.gov.companieshouse.certificates.orders.api.certificates}")
+    public ResponseEntity<Object> getCertificateItems(
+            final @RequestParam(value = "user_id", required = false) String userId,
+            final @RequestParam(value = "company_number", required = false) String companyNumber,
+            final @RequestParam(value = "customer_reference", required = false) String customerReference,
+            final @RequestParam(value = "created_from", required = false)
+                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            final @RequestParam(value = "created_to", required = false)
+                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            final @RequestParam(value = "page_size", defaultValue = DEFAULT_PAGE_SIZE) int pageSize,
+            final @RequestParam(value = "page_token", required = false) String pageToken,
+            HttpServletRequest request,
+            final @RequestHeader(REQUEST_ID_HEADER_NAME) String requestId) {
+        Map<String, Object> logMap = createLoggingDataMap(requestId);
+        LOGGER.infoRequest(request, "get certificate items request", logMap);
+        logMap.remove(MESSAGE);
+
+        final String listedUserId = EricHeaderHelper.OAUTH2_IDENTITY_TYPE.equals(
+                EricHeaderHelper.getIdentityType(request)) ? EricHeaderHelper.getIdentity(request) : userId;
+        logMap.put(USER_ID_LOG_KEY, listedUserId);
+        logMap.put(COMPANY_NUMBER_LOG_KEY, companyNumber);
+
+        final List<String> errors = new ArrayList<>();
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            errors.add(PAGE_SIZE_ERROR);
+        }
+        CertificateItemKey after = null;
+        if (pageToken != null) {
+            try {
+                after = CertificateItemKey.fromToken(pageToken);
+            } catch (IllegalArgumentException iae) {
+                errors.add(PAGE_TOKEN_ERROR);
+            }
+        }
+        if (!errors.isEmpty()) {
+            logErrorsWithStatus(logMap, errors, BAD_REQUEST);
+            LOGGER.errorRequest(request, "get certificate items request had validation errors", logMap);
+            return ResponseEntity.status(BAD_REQUEST).body(new ApiError(BAD_REQUEST, errors));
+        }
+
+        final CertificateItemFilter filter =
+                new CertificateItemFilter(listedUserId, companyNumber, customerReference, createdFrom, createdTo);
+        // One more item than the page holds is requested to find out whether there is a next page.
+        final List<CertificateItem> items = certificateItemService.getCertificateItems(filter, after, pageSize + 1);
+        final boolean hasNextPage = items.size() > pageSize;
+        final List<CertificateItem> pageItems = hasNextPage ? items.subList(0, pageSize) : items;
+
+        final List<CertificateItemSummaryDTO> summaries = new ArrayList<>(pageItems.size());
+        for (final CertificateItem item : pageItems) {
+            summaries.add(mapper.certificateItemToCertificateItemSummaryDTO(item));
+        }
+        final String nextPageToken =
+                hasNextPage ? CertificateItemKey.of(pageItems.get(pageSize - 1)).toToken() : null;
+
+        logMap.put(ITEM_COUNT_LOG_KEY, summaries.size());
+        logMap.put(STATUS_LOG_KEY, OK);
+        LOGGER.infoRequest(request, "certificate items listed", logMap);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(new CertificateItemsPageDTO(summaries, nextPageToken));
+    }
+
     @PatchMapping(path = "${uk.gov.companieshouse.certificates.orders.api.certificates}/{id}",
                   consumes = "application/merge-patch+json")
     public ResponseEntity<Object> updateCertificateItem(
-            final @RequestBody JsonMergePatch mergePatchDocument,
+            final @RequestBody JsonNode mergePatchDocument,
             final @PathVariable("id") String id,
-            final @RequestHeader(REQUEST_ID_HEADER_NAME) String requestId) {
+            final @RequestHeader(REQUEST_ID_HEADER_NAME) String requestId,
+            final @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         Map<String, Object> logMap = createLoggingDataMap(requestId);
-        logMap.put(CERTIFICATE_ID_LOG_KEY, id);       
+        logMap.put(CERTIFICATE_ID_LOG_KEY, id);
         LOGGER.info("update certificate item request", logMap);
         logMap.remove(MESSAGE);
 
+        // The body has been parsed once only, into a tree that is both validated and merged.
         final List<String> errors = patchItemRequestValidator.getValidationErrors(mergePatchDocument);
         if (!errors.isEmpty()) {
+            countValidationFailure(PATCH_REQUEST);
             logErrorsWithStatus(logMap, errors, BAD_REQUEST);
             LOGGER.error("update certificate item request had validation errors", logMap);
             return ResponseEntity.status(BAD_REQUEST).body(new ApiError(BAD_REQUEST, errors));
         }
 
-        Optional<CertificateItem> certRetrieved = certificateItemService.getCertificateItemById(id);
-        if(!certRetrieved.isPresent()) {
-            logMap.put(STATUS_LOG_KEY, HttpStatus.NOT_FOUND);
-            LOGGER.error("certificate item not found", logMap);
-            return ResponseEntity.notFound().build();
-        }
-        final CertificateItem itemRetrieved = certRetrieved.get();
-        logMap.put(COMPANY_NUMBER_LOG_KEY, itemRetrieved.getCompanyNumber());
-        logMap.put(USER_ID_LOG_KEY, itemRetrieved.getUserId());
-
-        // Apply the patch
-        final CertificateItem patchedItem = patcher.mergePatch(mergePatchDocument, itemRetrieved, CertificateItem.class);
-        final List<String> patchedErrors = patchItemRequestValidator.getValidationErrors(patchedItem);
-        if (!patchedErrors.isEmpty()) {
-            logErrorsWithStatus(logMap, patchedErrors, BAD_REQUEST);
-            LOGGER.error("patched certificate item had validation errors", logMap);
-            return ResponseEntity.status(BAD_REQUEST).body(new ApiError(BAD_REQUEST, patchedErrors));
-        }
+        // The save only succeeds if the item is unchanged since it was retrieved. If it has been changed
+        // concurrently, it is retrieved and patched again, unless the client has made its own precondition.
+        for (int attempt = 1; ; attempt++) {
+            Optional<CertificateItem> certRetrieved = certificateItemService.getCertificateItemById(id);
+            if(!certRetrieved.isPresent()) {
+                logMap.put(STATUS_LOG_KEY, HttpStatus.NOT_FOUND);
+                LOGGER.error("certificate item not found", logMap);
+                return ResponseEntity.notFound().build();
+            }
+            final CertificateItem itemRetrieved = certRetrieved.get();
+            logMap.put(COMPANY_NUMBER_LOG_KEY, itemRetrieved.getCompanyNumber());
+            logMap.put(USER_ID_LOG_KEY, itemRetrieved.getUserId());
 
-        final String companyName = companyService.getCompanyName(patchedItem.getCompanyNumber());
-        logMap.put(PATCHED_COMPANY_NUMBER, patchedItem.getCompanyNumber());
-        patchedItem.setCompanyName(companyName);
-        final CertificateItem savedItem = certificateItemService.saveCertificateItem(patchedItem);
-        final CertificateItemDTO savedItemDTO = mapper.certificateItemToCertificateItemDTO(savedItem);
+            if (ifMatch != null && !EtagHeaderHelper.matchesStrongly(ifMatch,
+                    certificateItemService.getEntityTag(itemRetrieved.getEtag()))) {
+                final List<String> preconditionErrors = singletonList(ITEM_MODIFIED_ERROR);
+                logErrorsWithStatus(logMap, preconditionErrors, PRECONDITION_FAILED);
+                LOGGER.error("certificate item etag does not match If-Match", logMap);
+                return ResponseEntity.status(PRECONDITION_FAILED)
+                        .body(new ApiError(PRECONDITION_FAILED, preconditionErrors));
+            }
 
-        logMap.put(STATUS_LOG_KEY, OK);
-        LOGGER.info("update certificate item request completed", logMap);
+            // Apply the patch
+            final CertificateItem patchedItem =
+                    patcher.mergePatch(mergePatchDocument, itemRetrieved, CertificateItem.class);
+            final List<String> patchedErrors = patchItemRequestValidator.getValidationErrors(patchedItem);
+            if (!patchedErrors.isEmpty()) {
+                countValidationFailure(PATCHED_ITEM_REQUEST);
+                logErrorsWithStatus(logMap, patchedErrors, BAD_REQUEST);
+                LOGGER.error("patched certificate item had validation errors", logMap);
+                return ResponseEntity.status(BAD_REQUEST).body(new ApiError(BAD_REQUEST, patchedErrors));
+            }
+
+            final String companyName = companyService.getCompanyName(patchedItem.getCompanyNumber());
+            logMap.put(PATCHED_COMPANY_NUMBER, patchedItem.getCompanyNumber());
+            patchedItem.setCompanyName(companyName);
+            final Optional<CertificateItem> savedItem =
+                    certificateItemService.saveCertificateItem(itemRetrieved, patchedItem);
+            if (savedItem.isPresent()) {
+                final CertificateItemDTO savedItemDTO = mapper.certificateItemToCertificateItemDTO(savedItem.get());
+
+                logMap.put(STATUS_LOG_KEY, OK);
+                LOGGER.info("update certificate item request completed", logMap);
+
+                return withCachingHeaders(ResponseEntity.ok(),
+                        certificateItemService.getEntityTag(savedItem.get().getEtag())).body(savedItemDTO);
+            }
 
-        return ResponseEntity.ok().body(savedItemDTO);
+            if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                final List<String> conflictErrors = singletonList(ITEM_MODIFIED_ERROR);
+                logErrorsWithStatus(logMap, conflictErrors, CONFLICT);
+                LOGGER.error("certificate item update abandoned after repeated concurrent modifications", logMap);
+                return ResponseEntity.status(CONFLICT).body(new ApiError(CONFLICT, conflictErrors));
+            }
+            LOGGER.info("certificate item modified concurrently, retrying update", logMap);
+        }
     }
-    
+
     /**
      * method to set up a map for logging purposes and add a value for the 
      * request id
@@ -200,6 +431,48 @@ public class CertificateItemsController {
         return logMap;
     }
 
+    /**
+     * Waits for the company name lookup to complete, rethrowing any exception it raised (typically a
+     * {@link org.springframework.web.server.ResponseStatusException}) as-is, so that it is reported to the client
+     * exactly as it would have been had the lookup been made on the requesting thread.
+     * @param companyName the company name lookup
+     * @return the company name
+     */
+    private static String join(final CompletableFuture<String> companyName) {
+        try {
+            return companyName.join();
+        } catch (CompletionException ce) {
+            if (ce.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ce.getCause();
+            }
+            throw ce;
+        }
+    }
+
+    /**
+     * Adds the <code>ETag</code> and <code>Cache-Control</code> headers to the response being built. As items are
+     * specific to a user, and may change at any time, they may only be cached privately, and must be revalidated
+     * (using <code>If-None-Match</code>) before each reuse.
+     * @param response the response builder
+     * @param entityTag the entity tag of the item, if any
+     * @return the response builder
+     */
+    private ResponseEntity.BodyBuilder withCachingHeaders(final ResponseEntity.BodyBuilder response,
+                                                          final String entityTag) {
+        if (entityTag != null) {
+            response.eTag(entityTag);
+        }
+        return response.cacheControl(CacheControl.noCache().cachePrivate());
+    }
+
+    /**
+     * Counts a request rejected by validation.
+     * @param requestKind the kind of request (or item) rejected, e.g. <code>create</code>
+     */
+    private void countValidationFailure(final String requestKind) {
+        registry.counter(VALIDATION_FAILURES_COUNTER, REQUEST_TAG, requestKind).increment();
+    }
+
     /**
      * method to add errors and a bad request status to a map for logging
      * purposes
@@ -1,6 +1,7 @@
 package uk.gov.companieshouse.certificates.orders.api.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,14 +12,17 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+import uk.gov.companieshouse.certificates.orders.api.interceptor.RequestBodySizeFilter.RequestBodyTooLargeException;
 import uk.gov.companieshouse.certificates.orders.api.util.FieldNameConverter;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static java.util.Collections.singletonList;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
 
 @ControllerAdvice
+@ConditionalOnWebApplication(type = SERVLET)
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     private final FieldNameConverter converter;
@@ -49,6 +53,12 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
             return handleExceptionInternal(ex, apiError, headers, apiError.getStatus(), request);
         }
 
+        if (ex.getCause() instanceof RequestBodyTooLargeException) {
+            final ApiError apiError = new ApiError(HttpStatus.PAYLOAD_TOO_LARGE,
+                    singletonList(ex.getCause().getMessage()));
+            return handleExceptionInternal(ex, apiError, headers, apiError.getStatus(), request);
+        }
+
         return super.handleHttpMessageNotReadable(ex, headers, status, request);
     }
 
@@ -0,0 +1,331 @@
+package uk.gov.companieshouse.certificates.orders.api.controller;
+
+import static java.util.Collections.singletonList;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.CREATED;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static uk.gov.companieshouse.certificates.orders.api.controller.CertificateItemsController.ITEM_MODIFIED_ERROR;
+import static uk.gov.companieshouse.certificates.orders.api.controller.CertificateItemsController.MAX_UPDATE_ATTEMPTS;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.CERTIFICATE_ID_LOG_KEY;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.COMPANY_NUMBER_LOG_KEY;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.ERRORS_LOG_KEY;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.MESSAGE;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.PATCHED_COMPANY_NUMBER;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.REQUEST_ID_HEADER_NAME;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.REQUEST_ID_LOG_KEY;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.STATUS_LOG_KEY;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.USER_ID_LOG_KEY;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.CREATE_REQUEST;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.PATCHED_ITEM_REQUEST;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.PATCH_REQUEST;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.REQUEST_TAG;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.VALIDATION_FAILURES_COUNTER;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.validation.Valid;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemDTO;
+import uk.gov.companieshouse.certificates.orders.api.logging.AsyncLogger;
+import uk.gov.companieshouse.certificates.orders.api.mapper.CertificateItemMapper;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.service.ReactiveCertificateItemService;
+import uk.gov.companieshouse.certificates.orders.api.service.ReactiveCompanyService;
+import uk.gov.companieshouse.certificates.orders.api.util.EricHeaderHelper;
+import uk.gov.companieshouse.certificates.orders.api.util.EtagHeaderHelper;
+import uk.gov.companieshouse.certificates.orders.api.util.PatchMerger;
+import uk.gov.companieshouse.certificates.orders.api.validator.CreateItemRequestValidator;
+import uk.gov.companieshouse.certificates.orders.api.validator.PatchItemRequestValidator;
+
+/**
+ * Serves the create, get and update endpoints of {@link CertificateItemsController} from the reactive stack, with
+ * the same validations, conditional request handling, statuses and error bodies. Neither the item storage nor the
+ * company name lookup holds a thread while it waits.
+ */
+@RestController
+@ConditionalOnWebApplication(type = REACTIVE)
+public class ReactiveCertificateItemsController {
+
+    private static final AsyncLogger LOGGER = AsyncLogger.getLogger(APPLICATION_NAMESPACE);
+
+    private final CreateItemRequestValidator createItemRequestValidator;
+    private final PatchItemRequestValidator patchItemRequestValidator;
+    private final CertificateItemMapper mapper;
+    private final PatchMerger patcher;
+    private final ReactiveCertificateItemService certificateItemService;
+    private final ReactiveCompanyService companyService;
+    private final MeterRegistry registry;
+
+    /**
+     * Constructor.
+     * @param createItemRequestValidator the validator this relies on for some create request 'input' validations
+     * @param patchItemRequestValidator the validator this relies on for patch/update request 'input' validations
+     * @param mapper mapper used by this to map between {@link CertificateItemDTO} and
+     *               {@link CertificateItem} instances
+     * @param patcher the component used by this to apply JSON merge patches to
+     *                {@link CertificateItem} instances
+     * @param certificateItemService the service used by this to manage and store certificate items
+     * @param companyService the service used by this to look up company names
+     * @param registry the registry to which this publishes its validation failure counts
+     */
+    public ReactiveCertificateItemsController(final CreateItemRequestValidator createItemRequestValidator,
+                                              final PatchItemRequestValidator patchItemRequestValidator,
+                                              final CertificateItemMapper mapper,
+                                              final PatchMerger patcher,
+                                              final ReactiveCertificateItemService certificateItemService,
+                                              final ReactiveCompanyService companyService,
+                                              final MeterRegistry registry) {
+        this.createItemRequestValidator = createItemRequestValidator;
+        this.patchItemRequestValidator = patchItemRequestValidator;
+        this.mapper = mapper;
+        this.patcher = patcher;
+        this.certificateItemService = certificateItemService;
+        this.companyService = companyService;
+        this.registry = registry;
+    }
+
+    @PostMapping("${uk.gov.companieshouse.certificates.orders.api.certificates}")
+    public Mono<ResponseEntity<Object>> createCertificateItem(
+            final @Valid @RequestBody CertificateItemDTO certificateItemDTO,
+            final ServerHttpRequest request,
+            final @RequestHeader(REQUEST_ID_HEADER_NAME) String requestId) {
+        final Map<String, Object> logMap = createLoggingDataMap(requestId);
+        LOGGER.infoRequest(request, "create certficate item request", logMap);
+
+        final List<String> errors = createItemRequestValidator.getValidationErrors(certificateItemDTO);
+        if (!errors.isEmpty()) {
+            countValidationFailure(CREATE_REQUEST);
+            logErrorsWithStatus(logMap, errors, BAD_REQUEST);
+            LOGGER.errorRequest(request, "create certificate item validation errors", logMap);
+            return Mono.just(ResponseEntity.status(BAD_REQUEST).body(new ApiError(BAD_REQUEST, errors)));
+        }
+
+        // The lookup is subscribed to, and so made, only once the item has been prepared.
+        final Mono<String> companyName = companyService.getCompanyName(certificateItemDTO.getCompanyNumber());
+
+        final CertificateItem item = mapper.certificateItemDTOtoCertificateItem(certificateItemDTO);
+        item.setUserId(EricHeaderHelper.getIdentity(request));
+
+        return certificateItemService.createCertificateItem(item, companyName)
+                .<ResponseEntity<Object>>map(createdItem -> {
+                    logMap.put(USER_ID_LOG_KEY, createdItem.getUserId());
+                    logMap.put(COMPANY_NUMBER_LOG_KEY, createdItem.getCompanyNumber());
+                    logMap.put(CERTIFICATE_ID_LOG_KEY, createdItem.getId());
+                    logMap.put(STATUS_LOG_KEY, CREATED);
+                    logMap.remove(MESSAGE);
+                    LOGGER.infoRequest(request, "certificate item created", logMap);
+                    return ResponseEntity.status(CREATED)
+                            .body(mapper.certificateItemToCertificateItemDTO(createdItem));
+                });
+    }
+
+    @GetMapping("${uk.gov.companieshouse.certificates.orders.api.certificates}/{id}")
+    public Mono<ResponseEntity<Object>> getCertificateItem(
+            final @PathVariable String id,
+            final @RequestHeader(REQUEST_ID_HEADER_NAME) String requestId,
+            final @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        final Map<String, Object> logMap = createLoggingDataMap(requestId);
+        logMap.put(CERTIFICATE_ID_LOG_KEY, id);
+        LOGGER.info("get certificate item request", logMap);
+        logMap.remove(MESSAGE);
+        return certificateItemService.getCertificateItemById(id)
+                .<ResponseEntity<Object>>map(item -> {
+                    // Taken before the costs are populated, as CertificateItemsController does.
+                    final String entityTag = certificateItemService.getEntityTag(item.getEtag());
+                    logMap.put(COMPANY_NUMBER_LOG_KEY, item.getCompanyNumber());
+                    if (EtagHeaderHelper.matches(ifNoneMatch, entityTag)) {
+                        // Client copy is still current: skip the cost calculation and serialisation altogether.
+                        logMap.put(STATUS_LOG_KEY, NOT_MODIFIED);
+                        LOGGER.info("certificate item not modified", logMap);
+                        return withCachingHeaders(ResponseEntity.status(NOT_MODIFIED), entityTag).build();
+                    }
+                    certificateItemService.populateItemCosts(item);
+                    final CertificateItemDTO certificateItemDTO = mapper.certificateItemToCertificateItemDTO(item);
+                    logMap.put(STATUS_LOG_KEY, OK);
+                    LOGGER.info("certificate item found", logMap);
+                    return withCachingHeaders(ResponseEntity.status(OK), entityTag).body(certificateItemDTO);
+                })
+                .switchIfEmpty(Mono.<ResponseEntity<Object>>fromSupplier(() -> {
+                    final String errorMsg = "certificate resource not found";
+                    final List<String> errors = singletonList(errorMsg);
+                    logErrorsWithStatus(logMap, errors, NOT_FOUND);
+                    LOGGER.error(errorMsg, logMap);
+                    return ResponseEntity.status(NOT_FOUND).body(new ApiError(NOT_FOUND, errors));
+                }));
+    }
+
+    @PatchMapping(path = "${uk.gov.companieshouse.certificates.orders.api.certificates}/{id}",
+                  consumes = "application/merge-patch+json")
+    public Mono<ResponseEntity<Object>> updateCertificateItem(
+            final @RequestBody JsonNode mergePatchDocument,
+            final @PathVariable("id") String id,
+            final @RequestHeader(REQUEST_ID_HEADER_NAME) String requestId,
+            final @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        final Map<String, Object> logMap = createLoggingDataMap(requestId);
+        logMap.put(CERTIFICATE_ID_LOG_KEY, id);
+        LOGGER.info("update certificate item request", logMap);
+        logMap.remove(MESSAGE);
+
+        // The body has been parsed once only, into a tree that is both validated and merged.
+        final List<String> errors = patchItemRequestValidator.getValidationErrors(mergePatchDocument);
+        if (!errors.isEmpty()) {
+            countValidationFailure(PATCH_REQUEST);
+            logErrorsWithStatus(logMap, errors, BAD_REQUEST);
+            LOGGER.error("update certificate item request had validation errors", logMap);
+            return Mono.just(ResponseEntity.status(BAD_REQUEST).body(new ApiError(BAD_REQUEST, errors)));
+        }
+
+        return updateCertificateItem(mergePatchDocument, id, ifMatch, logMap, 1);
+    }
+
+    /**
+     * Makes an attempt to update the item. The save only succeeds if the item is unchanged since it was retrieved.
+     * If it has been changed concurrently, it is retrieved and patched again in a further attempt, unless the client
+     * has made its own precondition, or {@link CertificateItemsController#MAX_UPDATE_ATTEMPTS} have been made.
+     */
+    private Mono<ResponseEntity<Object>> updateCertificateItem(final JsonNode mergePatchDocument,
+                                                               final String id,
+                                                               final String ifMatch,
+                                                               final Map<String, Object> logMap,
+                                                               final int attempt) {
+        return certificateItemService.getCertificateItemById(id)
+                .<ResponseEntity<Object>>flatMap(itemRetrieved -> {
+                    logMap.put(COMPANY_NUMBER_LOG_KEY, itemRetrieved.getCompanyNumber());
+                    logMap.put(USER_ID_LOG_KEY, itemRetrieved.getUserId());
+
+                    if (ifMatch != null && !EtagHeaderHelper.matchesStrongly(ifMatch,
+                            certificateItemService.getEntityTag(itemRetrieved.getEtag()))) {
+                        final List<String> preconditionErrors = singletonList(ITEM_MODIFIED_ERROR);
+                        logErrorsWithStatus(logMap, preconditionErrors, PRECONDITION_FAILED);
+                        LOGGER.error("certificate item etag does not match If-Match", logMap);
+                        return Mono.just(ResponseEntity.status(PRECONDITION_FAILED)
+                                .body(new ApiError(PRECONDITION_FAILED, preconditionErrors)));
+                    }
+
+                    // Apply the patch
+                    final CertificateItem patchedItem =
+                            patcher.mergePatch(mergePatchDocument, itemRetrieved, CertificateItem.class);
+                    final List<String> patchedErrors = patchItemRequestValidator.getValidationErrors(patchedItem);
+                    if (!patchedErrors.isEmpty()) {
+                        countValidationFailure(PATCHED_ITEM_REQUEST);
+                        logErrorsWithStatus(logMap, patchedErrors, BAD_REQUEST);
+                        LOGGER.error("patched certificate item had validation errors", logMap);
+                        return Mono.just(ResponseEntity.status(BAD_REQUEST)
+                                .body(new ApiError(BAD_REQUEST, patchedErrors)));
+                    }
+
+                    logMap.put(PATCHED_COMPANY_NUMBER, patchedItem.getCompanyNumber());
+                    return companyService.getCompanyName(patchedItem.getCompanyNumber())
+                            .map(Optional::of)
+                            .defaultIfEmpty(Optional.<String>empty())
+                            .flatMap(companyName -> {
+                                patchedItem.setCompanyName(companyName.orElse(null));
+                                return certificateItemService.saveCertificateItem(itemRetrieved, patchedItem);
+                            })
+                            .<ResponseEntity<Object>>map(savedItem -> {
+                                logMap.put(STATUS_LOG_KEY, OK);
+                                LOGGER.info("update certificate item request completed", logMap);
+                                return withCachingHeaders(ResponseEntity.ok(),
+                                        certificateItemService.getEntityTag(savedItem.getEtag()))
+                                        .body(mapper.certificateItemToCertificateItemDTO(savedItem));
+                            })
+                            .switchIfEmpty(Mono.defer(() -> retryUpdate(mergePatchDocument, id, ifMatch, logMap,
+                                    attempt)));
+                })
+                .switchIfEmpty(Mono.<ResponseEntity<Object>>fromSupplier(() -> {
+                    logMap.put(STATUS_LOG_KEY, HttpStatus.NOT_FOUND);
+                    LOGGER.error("certificate item not found", logMap);
+                    return ResponseEntity.notFound().build();
+                }));
+    }
+
+    private Mono<ResponseEntity<Object>> retryUpdate(final JsonNode mergePatchDocument,
+                                                     final String id,
+                                                     final String ifMatch,
+                                                     final Map<String, Object> logMap,
+                                                     final int attempt) {
+        if (attempt >= MAX_UPDATE_ATTEMPTS) {
+            final List<String> conflictErrors = singletonList(ITEM_MODIFIED_ERROR);
+            logErrorsWithStatus(logMap, conflictErrors, CONFLICT);
+            LOGGER.error("certificate item update abandoned after repeated concurrent modifications", logMap);
+            return Mono.just(ResponseEntity.status(CONFLICT).body(new ApiError(CONFLICT, conflictErrors)));
+        }
+        LOGGER.info("certificate item modified concurrently, retrying update", logMap);
+        return updateCertificateItem(mergePatchDocument, id, ifMatch, logMap, attempt + 1);
+    }
+
+    /**
+     * method to set up a map for logging purposes and add a value for the
+     * request id
+     * @param requestId
+     * @return
+     */
+    private Map<String, Object> createLoggingDataMap(final String requestId) {
+        final Map<String, Object> logMap = new HashMap<>();
+        logMap.put(REQUEST_ID_LOG_KEY, requestId);
+        return logMap;
+    }
+
+    /**
+     * Adds the <code>ETag</code> and <code>Cache-Control</code> headers to the response being built, as
+     * {@link CertificateItemsController} does.
+     * @param response the response builder
+     * @param entityTag the entity tag of the item, if any
+     * @return the response builder
+     */
+    private ResponseEntity.BodyBuilder withCachingHeaders(final ResponseEntity.BodyBuilder response,
+                                                          final String entityTag) {
+        if (entityTag != null) {
+            response.eTag(entityTag);
+        }
+        return response.cacheControl(CacheControl.noCache().cachePrivate());
+    }
+
+    /**
+     * Counts a request rejected by validation.
+     * @param requestKind the kind of request (or item) rejected, e.g. <code>create</code>
+     */
+    private void countValidationFailure(final String requestKind) {
+        registry.counter(VALIDATION_FAILURES_COUNTER, REQUEST_TAG, requestKind).increment();
+    }
+
+    /**
+     * method to add errors and a status to a map for logging
+     * purposes
+     * @param logMap the map of logging data
+     * @param errors a list of errors
+     */
+    private void logErrorsWithStatus(final Map<String, Object> logMap,
+                                     final List<String> errors, final HttpStatus status) {
+        logMap.put(ERRORS_LOG_KEY, errors);
+        logMap.put(STATUS_LOG_KEY, status);
+    }
+}
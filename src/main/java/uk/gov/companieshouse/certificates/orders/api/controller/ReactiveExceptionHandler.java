@@ -0,0 +1,80 @@
+package uk.gov.companieshouse.certificates.orders.api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+import uk.gov.companieshouse.certificates.orders.api.util.FieldNameConverter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+
+/**
+ * Renders the request body binding and parsing failures of the reactive stack as the {@link ApiError} bodies that
+ * {@link GlobalExceptionHandler} renders for the servlet stack.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = REACTIVE)
+public class ReactiveExceptionHandler {
+
+    private final FieldNameConverter converter;
+
+    public ReactiveExceptionHandler(FieldNameConverter converter) {
+        this.converter = converter;
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleWebExchangeBind(final WebExchangeBindException ex) {
+        final ApiError apiError = buildBadRequestApiError(ex.getBindingResult());
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Object> handleServerWebInput(final ServerWebInputException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonProcessingException) {
+                final ApiError apiError = buildBadRequestApiError((JsonProcessingException) cause);
+                return ResponseEntity.status(apiError.getStatus()).body(apiError);
+            }
+        }
+        return ResponseEntity.status(ex.getStatus()).build();
+    }
+
+    /**
+     * Utility to build ApiError from the BindingResult of a WebExchangeBindException.
+     * @param bindingResult the result of the failed binding
+     * @return the resulting ApiError
+     */
+    ApiError buildBadRequestApiError(final BindingResult bindingResult) {
+        final List<String> errors = new ArrayList<>();
+        for (final FieldError error : bindingResult.getFieldErrors()) {
+            errors.add(converter.toSnakeCase(error.getField()) + ": " + error.getDefaultMessage());
+        }
+        for (final ObjectError error : bindingResult.getGlobalErrors()) {
+            errors.add(error.getObjectName() + ": " + error.getDefaultMessage());
+        }
+
+        return new ApiError(HttpStatus.BAD_REQUEST, errors);
+    }
+
+    /**
+     * Utility to build ApiError from JsonProcessingException.
+     * @param jpe the JsonProcessingException handled
+     * @return the resulting ApiError
+     */
+    ApiError buildBadRequestApiError(final JsonProcessingException jpe) {
+        final String errorMessage = jpe.getOriginalMessage();
+        return new ApiError(HttpStatus.BAD_REQUEST, singletonList(errorMessage));
+    }
+
+}
@@ -2,8 +2,8 @@ package uk.gov.companieshouse.certificates.orders.api.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
-import com.google.gson.Gson;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateItemOptions;
+import uk.gov.companieshouse.certificates.orders.api.util.GsonHelper;
 
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Null;
@@ -62,6 +62,6 @@ public class CertificateItemDTO extends ItemDTO {
     }
 
     @Override
-    public String toString() { return new Gson().toJson(this); }
+    public String toString() { return GsonHelper.toJson(this); }
 
 }
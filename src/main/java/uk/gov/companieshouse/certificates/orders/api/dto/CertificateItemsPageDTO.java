@@ -0,0 +1,37 @@
+package uk.gov.companieshouse.certificates.orders.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.util.List;
+
+/**
+ * An instance of this represents the JSON serializable page of a certificate items listing.
+ */
+@JsonPropertyOrder(alphabetic = true)
+public class CertificateItemsPageDTO {
+
+    @JsonProperty("items")
+    private final List<CertificateItemSummaryDTO> items;
+
+    @JsonProperty("next_page_token")
+    private final String nextPageToken;
+
+    /**
+     * Constructor.
+     * @param items the items on this page
+     * @param nextPageToken the token with which to request the next page, or <code>null</code> if this is the last
+     */
+    public CertificateItemsPageDTO(final List<CertificateItemSummaryDTO> items, final String nextPageToken) {
+        this.items = items;
+        this.nextPageToken = nextPageToken;
+    }
+
+    public List<CertificateItemSummaryDTO> getItems() {
+        return items;
+    }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+}
@@ -1,9 +1,9 @@
 package uk.gov.companieshouse.certificates.orders.api.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.google.gson.Gson;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateItemOptions;
 import uk.gov.companieshouse.certificates.orders.api.model.ItemCosts;
+import uk.gov.companieshouse.certificates.orders.api.util.GsonHelper;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Null;
@@ -51,7 +51,7 @@ public class PatchValidationCertificateItemDTO extends AbstractItemDTO {
     private String userId;
 
     @Override
-    public String toString() { return new Gson().toJson(this); }
+    public String toString() { return GsonHelper.toJson(this); }
 
     @Null
     @JsonProperty("id")
@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.certificates.orders.api.interceptor;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.ModelAndView;
@@ -11,9 +12,11 @@ import uk.gov.companieshouse.logging.util.RequestLogger;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
 
 @Component
+@ConditionalOnWebApplication(type = SERVLET)
 public class LoggingInterceptor extends HandlerInterceptorAdapter implements RequestLogger {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
@@ -0,0 +1,265 @@
+package uk.gov.companieshouse.certificates.orders.api.interceptor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.api.util.security.EricConstants;
+import uk.gov.companieshouse.api.util.security.InvalidTokenPermissionException;
+import uk.gov.companieshouse.api.util.security.Permission;
+import uk.gov.companieshouse.api.util.security.SecurityConstants;
+import uk.gov.companieshouse.api.util.security.TokenPermissions;
+import uk.gov.companieshouse.api.util.security.TokenPermissionsImpl;
+import uk.gov.companieshouse.certificates.orders.api.logging.AsyncLogger;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.service.ReactiveCertificateItemService;
+import uk.gov.companieshouse.certificates.orders.api.util.EricHeaderHelper;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.*;
+
+/**
+ * Applies to the reactive stack the checks that {@link UserAuthenticationInterceptor},
+ * {@link UserAuthorisationInterceptor} and the <code>CRUDAuthenticationInterceptor</code> apply to the servlet stack,
+ * in the same order and with the same outcomes. The ownership check reads the owner of the item without blocking.
+ */
+@Component
+@ConditionalOnWebApplication(type = REACTIVE)
+public class ReactiveAuthorisationFilter implements WebFilter {
+
+    private static final AsyncLogger LOGGER = AsyncLogger.getLogger(APPLICATION_NAMESPACE);
+
+    private static final PathPatternParser PARSER = new PathPatternParser();
+    private static final PathPattern ORDERABLE = PARSER.parse("/orderable/**");
+
+    private final ReactiveCertificateItemService service;
+    private final PathPattern certificates;
+    private final PathPattern certificate;
+
+    public ReactiveAuthorisationFilter(final ReactiveCertificateItemService service,
+                                       final @Value("${uk.gov.companieshouse.certificates.orders.api.certificates}")
+                                               String certificatesPath) {
+        this.service = service;
+        this.certificates = PARSER.parse(certificatesPath + "/**");
+        this.certificate = PARSER.parse(certificatesPath + "/{id}");
+    }
+
+    @Override
+    public Mono<Void> filter(final ServerWebExchange exchange, final WebFilterChain chain) {
+        final ServerHttpRequest request = exchange.getRequest();
+        final PathContainer path = request.getPath().pathWithinApplication();
+        if (!ORDERABLE.matches(path)) {
+            return chain.filter(exchange);
+        }
+        if (!isAuthenticated(request)) {
+            return reject(exchange, UNAUTHORIZED);
+        }
+        final Mono<HttpStatus> authorisation = certificates.matches(path)
+                ? authorise(request, path) : Mono.empty();
+        return authorisation
+                .flatMap(status -> reject(exchange, status))
+                .switchIfEmpty(Mono.defer(() -> hasPermission(request)
+                        ? chain.filter(exchange) : reject(exchange, UNAUTHORIZED)));
+    }
+
+    /**
+     * Checks that the request carries an identity, as {@link UserAuthenticationInterceptor} does.
+     * @param request the request
+     * @return whether the request is authenticated
+     */
+    private boolean isAuthenticated(final ServerHttpRequest request) {
+        if (EricHeaderHelper.getIdentityType(request) == null) {
+            LOGGER.infoRequest(request, "UserAuthenticationInterceptor error: no authorised identity type",
+                    statusLogMap(request, UNAUTHORIZED));
+            return false;
+        }
+        if (EricHeaderHelper.getIdentity(request) == null) {
+            LOGGER.infoRequest(request, "UserAuthenticationInterceptor error: no authorised identity",
+                    statusLogMap(request, UNAUTHORIZED));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the caller may access the certificate item(s), as {@link UserAuthorisationInterceptor} does.
+     * @param request the request
+     * @param path the path requested
+     * @return the status with which the request is rejected, or empty if it is authorised
+     */
+    private Mono<HttpStatus> authorise(final ServerHttpRequest request, final PathContainer path) {
+        final String identityType = EricHeaderHelper.getIdentityType(request);
+        if (EricHeaderHelper.API_KEY_IDENTITY_TYPE.equals(identityType)) {
+            if (SecurityConstants.INTERNAL_USER_ROLE.equals(
+                    request.getHeaders().getFirst(EricConstants.ERIC_AUTHORISED_KEY_ROLES))
+                    && GET.equals(request.getMethod())) {
+                LOGGER.info("internal API is permitted to view the resource", () -> requestLogMap(request));
+                return Mono.empty();
+            }
+            LOGGER.error("API is not permitted to perform a " + request.getMethodValue(),
+                    () -> statusLogMap(request, UNAUTHORIZED));
+            return Mono.just(UNAUTHORIZED);
+        } else if (EricHeaderHelper.OAUTH2_IDENTITY_TYPE.equals(identityType)) {
+            final PathPattern.PathMatchInfo match = certificate.matchAndExtract(path);
+            if (POST.equals(request.getMethod()) || match == null) {
+                // A creation, or a listing that the controller restricts to the user's own items.
+                return Mono.empty();
+            }
+            return authoriseOwner(request, match.getUriVariables().get("id"));
+        }
+        LOGGER.error("Unrecognised identity type", () -> requestLogMap(request));
+        return Mono.just(UNAUTHORIZED);
+    }
+
+    private Mono<HttpStatus> authoriseOwner(final ServerHttpRequest request, final String certificateId) {
+        final String identity = EricHeaderHelper.getIdentity(request);
+        // Only the owner of the item is read, from an index, rather than the whole item.
+        return service.getCertificateItemOwnerById(certificateId)
+                .map(item -> Optional.ofNullable(authoriseOwner(request, certificateId, identity, item)))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    LOGGER.error("Resource certificate item not found",
+                            () -> itemLogMap(request, certificateId, identity, null, NOT_FOUND));
+                    return Optional.of(NOT_FOUND);
+                }))
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+    }
+
+    /**
+     * Checks that the user making the request owns the certificate item.
+     * @return the status with which the request is rejected, or <code>null</code> if it is authorised
+     */
+    private static HttpStatus authoriseOwner(final ServerHttpRequest request,
+                                             final String certificateId,
+                                             final String identity,
+                                             final CertificateItem item) {
+        final String userId = item.getUserId();
+        if (userId == null) {
+            LOGGER.error("No user id found on certificate item, all certificates should have a user id",
+                    () -> itemLogMap(request, certificateId, identity, null, UNAUTHORIZED));
+            return UNAUTHORIZED;
+        }
+        if (userId.equals(identity)) {
+            LOGGER.info("User is permitted to view/edit the resource certificate userId",
+                    () -> itemLogMap(request, certificateId, identity, userId, null));
+            return null;
+        }
+        LOGGER.error("User is not permitted to view/edit the resource certificate userId",
+                () -> itemLogMap(request, certificateId, identity, userId, UNAUTHORIZED));
+        return UNAUTHORIZED;
+    }
+
+    /**
+     * Checks that an OAuth2 user's token grants the <code>user_orders</code> permission required by the request
+     * method, as the <code>CRUDAuthenticationInterceptor</code> does, reading the token permissions just as it does.
+     * API key requests are not subject to this check.
+     * @param request the request
+     * @return whether the request is permitted
+     */
+    private static boolean hasPermission(final ServerHttpRequest request) {
+        if (!EricHeaderHelper.OAUTH2_IDENTITY_TYPE.equals(EricHeaderHelper.getIdentityType(request))) {
+            return true;
+        }
+        final String required = requiredPermission(request.getMethod());
+        final String permissions = request.getHeaders().getFirst(EricConstants.ERIC_AUTHORISED_TOKEN_PERMISSIONS);
+        if (required != null && permissions != null) {
+            try {
+                final TokenPermissions tokenPermissions = new TokenPermissionsImpl(permissions);
+                if (tokenPermissions.hasPermission(Permission.Key.USER_ORDERS, required)) {
+                    return true;
+                }
+            } catch (InvalidTokenPermissionException ex) {
+                LOGGER.infoRequest(request, "invalid token permissions: " + ex.getMessage(),
+                        statusLogMap(request, UNAUTHORIZED));
+                return false;
+            }
+        }
+        LOGGER.infoRequest(request, "user does not have the user_orders permission required",
+                statusLogMap(request, UNAUTHORIZED));
+        return false;
+    }
+
+    private static String requiredPermission(final HttpMethod method) {
+        if (method == null) {
+            return null;
+        }
+        switch (method) {
+            case POST:
+                return Permission.Value.CREATE;
+            case GET:
+                return Permission.Value.READ;
+            case PUT:
+            case PATCH:
+                return Permission.Value.UPDATE;
+            case DELETE:
+                return Permission.Value.DELETE;
+            default:
+                return null;
+        }
+    }
+
+    private static Mono<Void> reject(final ServerWebExchange exchange, final HttpStatus status) {
+        exchange.getResponse().setStatusCode(status);
+        return exchange.getResponse().setComplete();
+    }
+
+    /**
+     * Builds the log map for a request, only once it is known that it is to be logged.
+     * @param request the request
+     * @return the log map, holding the request ID
+     */
+    private static Map<String, Object> requestLogMap(final ServerHttpRequest request) {
+        final Map<String, Object> logMap = new HashMap<>();
+        logMap.put(REQUEST_ID_LOG_KEY, request.getHeaders().getFirst(REQUEST_ID_HEADER_NAME));
+        return logMap;
+    }
+
+    private static Map<String, Object> statusLogMap(final ServerHttpRequest request, final HttpStatus status) {
+        final Map<String, Object> logMap = requestLogMap(request);
+        logMap.put(STATUS_LOG_KEY, status);
+        return logMap;
+    }
+
+    /**
+     * Builds the log map for a request for a certificate item, only once it is known that it is to be logged.
+     * @param request the request
+     * @param certificateId the ID of the item requested
+     * @param identity the identity of the user making the request
+     * @param userId the ID of the user owning the item, if known
+     * @param status the status of the response, if the request is rejected
+     * @return the log map
+     */
+    private static Map<String, Object> itemLogMap(final ServerHttpRequest request,
+                                                  final String certificateId,
+                                                  final String identity,
+                                                  final String userId,
+                                                  final HttpStatus status) {
+        final Map<String, Object> logMap = requestLogMap(request);
+        logMap.put(CERTIFICATE_ID_LOG_KEY, certificateId);
+        logMap.put(IDENTITY_LOG_KEY, identity);
+        if (userId != null) {
+            logMap.put(USER_ID_LOG_KEY, userId);
+        }
+        if (status != null) {
+            logMap.put(STATUS_LOG_KEY, status);
+        }
+        return logMap;
+    }
+}
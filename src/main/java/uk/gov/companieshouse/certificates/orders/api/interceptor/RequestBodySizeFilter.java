@@ -0,0 +1,144 @@
+package uk.gov.companieshouse.certificates.orders.api.interceptor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import uk.gov.companieshouse.certificates.orders.api.controller.ApiError;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static java.util.Collections.singletonList;
+import static org.springframework.http.HttpStatus.PAYLOAD_TOO_LARGE;
+
+/**
+ * Limits the size of the bodies of the requests filtered. A request declaring a larger body is rejected with
+ * <code>413 Payload Too Large</code> before any of it is read. A request of unknown length (e.g., a chunked NDJSON
+ * stream) is read until it exceeds the limit, at which point a {@link RequestBodyTooLargeException} is thrown.
+ */
+public class RequestBodySizeFilter extends OncePerRequestFilter {
+
+    private final long maxBodyBytes;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor.
+     * @param maxBodyBytes the maximum size of a request body, in bytes
+     * @param objectMapper the object mapper this relies upon to render the error body of a request rejected
+     */
+    public RequestBodySizeFilter(final long maxBodyBytes, final ObjectMapper objectMapper) {
+        this.maxBodyBytes = maxBodyBytes;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain chain) throws ServletException, IOException {
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            final ApiError error = new ApiError(PAYLOAD_TOO_LARGE, singletonList(getErrorMessage(maxBodyBytes)));
+            response.setStatus(PAYLOAD_TOO_LARGE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), error);
+            return;
+        }
+        chain.doFilter(new SizeLimitedRequest(request, maxBodyBytes), response);
+    }
+
+    static String getErrorMessage(final long maxBodyBytes) {
+        return "request body: must be no larger than " + maxBodyBytes + " bytes";
+    }
+
+    /**
+     * Thrown once more of a request body has been read than the limit allows.
+     */
+    public static class RequestBodyTooLargeException extends IOException {
+
+        public RequestBodyTooLargeException(final long maxBodyBytes) {
+            super(getErrorMessage(maxBodyBytes));
+        }
+    }
+
+    /**
+     * Presents the body of the request wrapped through a {@link SizeLimitedInputStream}.
+     */
+    private static final class SizeLimitedRequest extends HttpServletRequestWrapper {
+
+        private final long maxBodyBytes;
+        private ServletInputStream inputStream;
+
+        private SizeLimitedRequest(final HttpServletRequest request, final long maxBodyBytes) {
+            super(request);
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                inputStream = new SizeLimitedInputStream(super.getInputStream(), maxBodyBytes);
+            }
+            return inputStream;
+        }
+    }
+
+    /**
+     * Counts the bytes read from the stream wrapped, failing once they exceed the limit.
+     */
+    private static final class SizeLimitedInputStream extends ServletInputStream {
+
+        private final ServletInputStream inputStream;
+        private final long maxBodyBytes;
+        private long bytesRead;
+
+        private SizeLimitedInputStream(final ServletInputStream inputStream, final long maxBodyBytes) {
+            this.inputStream = inputStream;
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int value = inputStream.read();
+            if (value >= 0) {
+                count(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+            final int count = inputStream.read(buffer, offset, length);
+            if (count > 0) {
+                count(count);
+            }
+            return count;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return inputStream.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return inputStream.isReady();
+        }
+
+        @Override
+        public void setReadListener(final ReadListener readListener) {
+            inputStream.setReadListener(readListener);
+        }
+
+        private void count(final int count) throws RequestBodyTooLargeException {
+            bytesRead += count;
+            if (bytesRead > maxBodyBytes) {
+                throw new RequestBodyTooLargeException(maxBodyBytes);
+            }
+        }
+    }
+}
@@ -1,43 +1,55 @@
 package uk.gov.companieshouse.certificates.orders.api.interceptor;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+import uk.gov.companieshouse.certificates.orders.api.logging.AsyncLogger;
 import uk.gov.companieshouse.certificates.orders.api.util.EricHeaderHelper;
-import uk.gov.companieshouse.logging.Logger;
-import uk.gov.companieshouse.logging.LoggerFactory;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.*;
 
 @Component
+@ConditionalOnWebApplication(type = SERVLET)
 public class UserAuthenticationInterceptor extends HandlerInterceptorAdapter {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
+    private static final AsyncLogger LOGGER = AsyncLogger.getLogger(APPLICATION_NAMESPACE);
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        Map<String, Object> logMap = new HashMap<>();
-        logMap.put(REQUEST_ID_LOG_KEY, request.getHeader(REQUEST_ID_HEADER_NAME));
         final String identityType = EricHeaderHelper.getIdentityType(request);
         if(identityType == null) {
-            logMap.put(STATUS_LOG_KEY, UNAUTHORIZED);
-            LOGGER.infoRequest(request, "UserAuthenticationInterceptor error: no authorised identity type", logMap);
+            LOGGER.infoRequest(request, "UserAuthenticationInterceptor error: no authorised identity type",
+                    unauthorisedLogMap(request));
             response.setStatus(UNAUTHORIZED.value());
             return false;
         }
 
         final String identity = EricHeaderHelper.getIdentity(request);
         if(identity == null) {
-            logMap.put(STATUS_LOG_KEY, UNAUTHORIZED);
-            LOGGER.infoRequest(request, "UserAuthenticationInterceptor error: no authorised identity", logMap);
+            LOGGER.infoRequest(request, "UserAuthenticationInterceptor error: no authorised identity",
+                    unauthorisedLogMap(request));
             response.setStatus(UNAUTHORIZED.value());
             return false;
         }
         return true;
     }
+
+    /**
+     * Builds the log map for a request that is not authorised. Requests that are authorised build no log map at all.
+     * @param request the request
+     * @return the log map
+     */
+    private static Map<String, Object> unauthorisedLogMap(final HttpServletRequest request) {
+        final Map<String, Object> logMap = new HashMap<>();
+        logMap.put(REQUEST_ID_LOG_KEY, request.getHeader(REQUEST_ID_HEADER_NAME));
+        logMap.put(STATUS_LOG_KEY, UNAUTHORIZED);
+        return logMap;
+    }
 }
@@ -1,15 +1,17 @@
 package uk.gov.companieshouse.certificates.orders.api.interceptor;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 
 import uk.gov.companieshouse.api.util.security.AuthorisationUtil;
+import uk.gov.companieshouse.certificates.orders.api.logging.AsyncLogger;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.service.CertificateItemRequestContext;
 import uk.gov.companieshouse.certificates.orders.api.service.CertificateItemService;
 import uk.gov.companieshouse.certificates.orders.api.util.EricHeaderHelper;
-import uk.gov.companieshouse.logging.Logger;
-import uk.gov.companieshouse.logging.LoggerFactory;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -17,6 +19,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
 import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
@@ -24,11 +27,12 @@ import static org.springframework.http.HttpStatus.UNAUTHORIZED;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.*;
 
 @Component
+@ConditionalOnWebApplication(type = SERVLET)
 public class UserAuthorisationInterceptor extends HandlerInterceptorAdapter {
 
     private final CertificateItemService service;
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
+    private static final AsyncLogger LOGGER = AsyncLogger.getLogger(APPLICATION_NAMESPACE);
 
     public UserAuthorisationInterceptor(CertificateItemService service) {
         this.service = service;
@@ -46,22 +50,21 @@ public class UserAuthorisationInterceptor extends HandlerInterceptorAdapter {
         else if(isOAuth2Request) {
             return validateOAuth2(request, response);
         }
-        Map<String, Object> logMap = new HashMap<>();
-        logMap.put(REQUEST_ID_LOG_KEY, request.getHeader(REQUEST_ID_HEADER_NAME));
-        LOGGER.error("Unrecognised identity type", logMap);
+        LOGGER.error("Unrecognised identity type", () -> requestLogMap(request));
         response.setStatus(UNAUTHORIZED.value());
         return false;
     }
 
     private boolean validateAPI(HttpServletRequest request, HttpServletResponse response){
-        Map<String, Object> logMap = new HashMap<>();
-        logMap.put(REQUEST_ID_LOG_KEY, request.getHeader(REQUEST_ID_HEADER_NAME));
         if(AuthorisationUtil.hasInternalUserRole(request) && GET.matches(request.getMethod())) {
-            LOGGER.info("internal API is permitted to view the resource", logMap);
+            LOGGER.info("internal API is permitted to view the resource", () -> requestLogMap(request));
             return true;
         } else {
-            logMap.put(STATUS_LOG_KEY, UNAUTHORIZED);
-            LOGGER.error("API is not permitted to perform a "+request.getMethod(), logMap);
+            LOGGER.error("API is not permitted to perform a "+request.getMethod(), () -> {
+                final Map<String, Object> logMap = requestLogMap(request);
+                logMap.put(STATUS_LOG_KEY, UNAUTHORIZED);
+                return logMap;
+            });
             response.setStatus(UNAUTHORIZED.value());
             return false;
         }
@@ -70,38 +73,40 @@ public class UserAuthorisationInterceptor extends HandlerInterceptorAdapter {
     private boolean validateOAuth2(HttpServletRequest request, HttpServletResponse response) {
         if (!POST.matches(request.getMethod())) {
             final Map<String, String> pathVariables = (Map) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
-            final String certificateId = pathVariables.get("id");
+            final String certificateId = pathVariables == null ? null : pathVariables.get("id");
+            if (certificateId == null) {
+                // A listing rather than a single item: the controller restricts it to the user's own items.
+                return true;
+            }
 
             final String identity = EricHeaderHelper.getIdentity(request);
-            Optional<CertificateItem> item = service.getCertificateItemById(certificateId);
-            
-            Map<String, Object> logMap = new HashMap<>();
-            logMap.put(CERTIFICATE_ID_LOG_KEY, certificateId);
-            logMap.put(REQUEST_ID_LOG_KEY, request.getHeader(REQUEST_ID_HEADER_NAME));
-            logMap.put(IDENTITY_LOG_KEY, identity);
+            // Only the owner and etag of the item are read, from an index, rather than the whole item.
+            Optional<CertificateItem> item = service.getCertificateItemOwnerById(certificateId);
 
             if (item.isPresent()) {
                 String userId = item.get().getUserId();
                 if (userId == null) {
-                    logMap.put(STATUS_LOG_KEY,UNAUTHORIZED);
-                    LOGGER.error("No user id found on certificate item, all certificates should have a user id", logMap);
+                    LOGGER.error("No user id found on certificate item, all certificates should have a user id",
+                            () -> itemLogMap(request, certificateId, identity, null, UNAUTHORIZED));
                     response.setStatus(UNAUTHORIZED.value());
                     return false;
                 }
-                logMap.put(USER_ID_LOG_KEY, userId);
                 boolean authUserIsCreatedBy = userId.equals(identity);
                 if (authUserIsCreatedBy) {
-                    LOGGER.info("User is permitted to view/edit the resource certificate userId", logMap);
+                    LOGGER.info("User is permitted to view/edit the resource certificate userId",
+                            () -> itemLogMap(request, certificateId, identity, userId, null));
+                    // Held for the handler, which reuses the etag read rather than reading it again.
+                    request.setAttribute(CertificateItemRequestContext.CERTIFICATE_ITEM_OWNER_ATTRIBUTE, item.get());
                     return true;
                 } else {
-                   logMap.put(STATUS_LOG_KEY,UNAUTHORIZED);
-                    LOGGER.error("User is not permitted to view/edit the resource certificate userId", logMap);
+                    LOGGER.error("User is not permitted to view/edit the resource certificate userId",
+                            () -> itemLogMap(request, certificateId, identity, userId, UNAUTHORIZED));
                     response.setStatus(UNAUTHORIZED.value());
                     return false;
                 }
             } else {
-                logMap.put(STATUS_LOG_KEY,NOT_FOUND);
-                LOGGER.error("Resource certificate item not found", logMap);
+                LOGGER.error("Resource certificate item not found",
+                        () -> itemLogMap(request, certificateId, identity, null, NOT_FOUND));
                 response.setStatus(NOT_FOUND.value());
                 return false;
             }
@@ -109,4 +114,40 @@ public class UserAuthorisationInterceptor extends HandlerInterceptorAdapter {
         return true;
     }
 
+    /**
+     * Builds the log map for a request, only once it is known that it is to be logged.
+     * @param request the request
+     * @return the log map, holding the request ID
+     */
+    private static Map<String, Object> requestLogMap(final HttpServletRequest request) {
+        final Map<String, Object> logMap = new HashMap<>();
+        logMap.put(REQUEST_ID_LOG_KEY, request.getHeader(REQUEST_ID_HEADER_NAME));
+        return logMap;
+    }
+
+    /**
+     * Builds the log map for a request for a certificate item, only once it is known that it is to be logged.
+     * @param request the request
+     * @param certificateId the ID of the item requested
+     * @param identity the identity of the user making the request
+     * @param userId the ID of the user owning the item, if known
+     * @param status the status of the response, if the request is rejected
+     * @return the log map
+     */
+    private static Map<String, Object> itemLogMap(final HttpServletRequest request,
+                                                  final String certificateId,
+                                                  final String identity,
+                                                  final String userId,
+                                                  final HttpStatus status) {
+        final Map<String, Object> logMap = requestLogMap(request);
+        logMap.put(CERTIFICATE_ID_LOG_KEY, certificateId);
+        logMap.put(IDENTITY_LOG_KEY, identity);
+        if (userId != null) {
+            logMap.put(USER_ID_LOG_KEY, userId);
+        }
+        if (status != null) {
+            logMap.put(STATUS_LOG_KEY, status);
+        }
+        return logMap;
+    }
 }
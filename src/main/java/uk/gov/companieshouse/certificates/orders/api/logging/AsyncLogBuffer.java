@@ -0,0 +1,132 @@
+package uk.gov.companieshouse.certificates.orders.api.logging;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded ring buffer of log events, each of which is rendered and written by a single daemon writer thread rather
+ * than by the thread logging it. When the buffer is full, events logged at info level are dropped, whereas those
+ * logged at error level wait for space (backpressure) for a short while, and are then written by the thread logging
+ * them, so that no error is lost. Each of these outcomes is counted.
+ */
+final class AsyncLogBuffer {
+
+    /** The number of events the buffer holds. */
+    static final int CAPACITY = 8192;
+
+    /** How long an error event waits for space in a full buffer before it is written by the thread logging it. */
+    static final long ERROR_WAIT_MILLIS = 100;
+
+    /** The buffer shared by every {@link AsyncLogger}. */
+    static final AsyncLogBuffer SHARED = new AsyncLogBuffer(CAPACITY, ERROR_WAIT_MILLIS).start("async-logger-%d");
+
+    private final BlockingQueue<Runnable> events;
+    private final long errorWaitMillis;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong delayed = new AtomicLong();
+    private final AtomicLong inline = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    AsyncLogBuffer(final int capacity, final long errorWaitMillis) {
+        this.events = new ArrayBlockingQueue<>(capacity);
+        this.errorWaitMillis = errorWaitMillis;
+    }
+
+    /**
+     * Starts the writer thread.
+     * @param threadNameFormat the name format of the writer thread
+     * @return this buffer
+     */
+    AsyncLogBuffer start(final String threadNameFormat) {
+        new ThreadFactoryBuilder().setNameFormat(threadNameFormat).setDaemon(true).build()
+                .newThread(this::write)
+                .start();
+        return this;
+    }
+
+    /**
+     * Adds an event logged at info level, dropping it should the buffer be full.
+     * @param event writes the event
+     */
+    void offer(final Runnable event) {
+        if (!events.offer(event)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * Adds an event logged at error level, waiting for space should the buffer be full, and writing the event on the
+     * calling thread should there still be none.
+     * @param event writes the event
+     */
+    void offerOrWrite(final Runnable event) {
+        if (events.offer(event)) {
+            return;
+        }
+        delayed.incrementAndGet();
+        try {
+            if (events.offer(event, errorWaitMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        inline.incrementAndGet();
+        run(event);
+    }
+
+    /**
+     * Writes any events still buffered on the calling thread, e.g. as the application stops.
+     */
+    void flush() {
+        final List<Runnable> remaining = new ArrayList<>(events.size());
+        events.drainTo(remaining);
+        remaining.forEach(this::run);
+    }
+
+    int getBufferedCount() {
+        return events.size();
+    }
+
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    long getDelayedCount() {
+        return delayed.get();
+    }
+
+    long getInlineCount() {
+        return inline.get();
+    }
+
+    long getFailedCount() {
+        return failed.get();
+    }
+
+    private void write() {
+        try {
+            while (true) {
+                run(events.take());
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(final Runnable event) {
+        try {
+            event.run();
+        } catch (RuntimeException ex) {
+            // Nowhere left to log this: it is counted instead.
+            failed.incrementAndGet();
+        }
+    }
+}
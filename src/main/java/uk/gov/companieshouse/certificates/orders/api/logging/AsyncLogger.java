@@ -0,0 +1,176 @@
+package uk.gov.companieshouse.certificates.orders.api.logging;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Logs structured events through a {@link Logger}, off the calling thread. The calling thread only checks the level,
+ * captures the event data and adds the event to the {@link AsyncLogBuffer}; the JSON rendering and the writing of the
+ * event are left to the writer thread of the buffer. Event data may be supplied lazily, in which case it is only
+ * built should the level logged at be enabled for the namespace (see <code>logging.level</code>).
+ */
+public final class AsyncLogger {
+
+    private final Logger delegate;
+    private final org.slf4j.Logger levels;
+    private final AsyncLogBuffer buffer;
+
+    AsyncLogger(final Logger delegate, final org.slf4j.Logger levels, final AsyncLogBuffer buffer) {
+        this.delegate = delegate;
+        this.levels = levels;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Gets the logger for the namespace provided.
+     * @param namespace the namespace, usually {@link LoggingConstants#APPLICATION_NAMESPACE}
+     * @return the logger
+     */
+    public static AsyncLogger getLogger(final String namespace) {
+        return new AsyncLogger(LoggerFactory.getLogger(namespace), org.slf4j.LoggerFactory.getLogger(namespace),
+                AsyncLogBuffer.SHARED);
+    }
+
+    /**
+     * Logs an event at info level.
+     * @param message the message
+     * @param data the event data, copied as it is when logged, so it may be changed afterwards
+     */
+    public void info(final String message, final Map<String, Object> data) {
+        if (levels.isInfoEnabled()) {
+            final Map<String, Object> captured = new HashMap<>(data);
+            buffer.offer(() -> delegate.info(message, captured));
+        }
+    }
+
+    /**
+     * Logs an event at info level.
+     * @param message the message
+     * @param data supplies the event data, only should info level be enabled
+     */
+    public void info(final String message, final Supplier<Map<String, Object>> data) {
+        if (levels.isInfoEnabled()) {
+            final Map<String, Object> captured = data.get();
+            buffer.offer(() -> delegate.info(message, captured));
+        }
+    }
+
+    /**
+     * Logs an event at info level, along with the method and path of the request being handled.
+     * @param request the request, from which the method and path are captured on the calling thread
+     * @param message the message
+     * @param data the event data, copied as it is when logged, so it may be changed afterwards
+     */
+    public void infoRequest(final HttpServletRequest request,
+                            final String message,
+                            final Map<String, Object> data) {
+        if (levels.isInfoEnabled()) {
+            final Map<String, Object> captured = captureRequest(request, data);
+            buffer.offer(() -> delegate.info(message, captured));
+        }
+    }
+
+    /**
+     * Logs an event at info level, along with the method and path of the (reactive) request being handled.
+     * @param request the request, from which the method and path are captured on the calling thread
+     * @param message the message
+     * @param data the event data, copied as it is when logged, so it may be changed afterwards
+     */
+    public void infoRequest(final ServerHttpRequest request,
+                            final String message,
+                            final Map<String, Object> data) {
+        if (levels.isInfoEnabled()) {
+            final Map<String, Object> captured = captureRequest(request, data);
+            buffer.offer(() -> delegate.info(message, captured));
+        }
+    }
+
+    /**
+     * Logs an event at error level.
+     * @param message the message
+     * @param data the event data, copied as it is when logged, so it may be changed afterwards
+     */
+    public void error(final String message, final Map<String, Object> data) {
+        if (levels.isErrorEnabled()) {
+            final Map<String, Object> captured = new HashMap<>(data);
+            buffer.offerOrWrite(() -> delegate.error(message, captured));
+        }
+    }
+
+    /**
+     * Logs an event at error level.
+     * @param message the message
+     * @param data supplies the event data, only should error level be enabled
+     */
+    public void error(final String message, final Supplier<Map<String, Object>> data) {
+        if (levels.isErrorEnabled()) {
+            final Map<String, Object> captured = data.get();
+            buffer.offerOrWrite(() -> delegate.error(message, captured));
+        }
+    }
+
+    /**
+     * Logs an event at error level, along with the method and path of the request being handled.
+     * @param request the request, from which the method and path are captured on the calling thread
+     * @param message the message
+     * @param data the event data, copied as it is when logged, so it may be changed afterwards
+     */
+    public void errorRequest(final HttpServletRequest request,
+                             final String message,
+                             final Map<String, Object> data) {
+        if (levels.isErrorEnabled()) {
+            final Map<String, Object> captured = captureRequest(request, data);
+            buffer.offerOrWrite(() -> delegate.error(message, captured));
+        }
+    }
+
+    /**
+     * Logs an event at error level, along with the method and path of the (reactive) request being handled.
+     * @param request the request, from which the method and path are captured on the calling thread
+     * @param message the message
+     * @param data the event data, copied as it is when logged, so it may be changed afterwards
+     */
+    public void errorRequest(final ServerHttpRequest request,
+                             final String message,
+                             final Map<String, Object> data) {
+        if (levels.isErrorEnabled()) {
+            final Map<String, Object> captured = captureRequest(request, data);
+            buffer.offerOrWrite(() -> delegate.error(message, captured));
+        }
+    }
+
+    /**
+     * Captures the event data, together with the method and path of the request, neither of which may be read from
+     * the request once it has been handled.
+     * @param request the request being handled
+     * @param data the event data
+     * @return the captured event data
+     */
+    private static Map<String, Object> captureRequest(final HttpServletRequest request,
+                                                      final Map<String, Object> data) {
+        final Map<String, Object> captured = new HashMap<>(data);
+        captured.put(LoggingConstants.REQUEST_METHOD_LOG_KEY, request.getMethod());
+        captured.put(LoggingConstants.REQUEST_PATH_LOG_KEY, request.getRequestURI());
+        return captured;
+    }
+
+    /**
+     * Captures the event data, together with the method and path of the (reactive) request.
+     * @param request the request being handled
+     * @param data the event data
+     * @return the captured event data
+     */
+    private static Map<String, Object> captureRequest(final ServerHttpRequest request,
+                                                      final Map<String, Object> data) {
+        final Map<String, Object> captured = new HashMap<>(data);
+        captured.put(LoggingConstants.REQUEST_METHOD_LOG_KEY, request.getMethodValue());
+        captured.put(LoggingConstants.REQUEST_PATH_LOG_KEY, request.getPath().value());
+        return captured;
+    }
+}
@@ -0,0 +1,57 @@
+package uk.gov.companieshouse.certificates.orders.api.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.function.ToDoubleFunction;
+
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.ASYNC_LOGGING_BUFFERED_GAUGE;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.ASYNC_LOGGING_EVENTS_COUNTER;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.OUTCOME_TAG;
+
+/**
+ * Publishes the depth of the {@link AsyncLogBuffer} shared by every {@link AsyncLogger}, and the counts of the events
+ * it has dropped, delayed, written inline or failed to write. Writes any events still buffered as the application
+ * stops.
+ */
+@Component
+public class AsyncLoggingMetrics implements MeterBinder {
+
+    private final AsyncLogBuffer buffer;
+
+    public AsyncLoggingMetrics() {
+        this(AsyncLogBuffer.SHARED);
+    }
+
+    AsyncLoggingMetrics(final AsyncLogBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(ASYNC_LOGGING_BUFFERED_GAUGE, buffer, AsyncLogBuffer::getBufferedCount).register(registry);
+        count(registry, "dropped", AsyncLogBuffer::getDroppedCount);
+        count(registry, "delayed", AsyncLogBuffer::getDelayedCount);
+        count(registry, "inline", AsyncLogBuffer::getInlineCount);
+        count(registry, "failed", AsyncLogBuffer::getFailedCount);
+    }
+
+    /**
+     * Writes any events still buffered.
+     */
+    @PreDestroy
+    public void flush() {
+        buffer.flush();
+    }
+
+    private void count(final MeterRegistry registry,
+                       final String outcome,
+                       final ToDoubleFunction<AsyncLogBuffer> count) {
+        FunctionCounter.builder(ASYNC_LOGGING_EVENTS_COUNTER, buffer, count).tag(OUTCOME_TAG, outcome)
+                .register(registry);
+    }
+}
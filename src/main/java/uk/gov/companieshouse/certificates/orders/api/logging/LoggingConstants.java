@@ -17,5 +17,9 @@ public final class LoggingConstants {
     public static final String REQUEST_ID_HEADER_NAME = "X-Request-ID";
     public static final String PATCHED_COMPANY_NUMBER = "patched_company_number";
     public static final String MESSAGE = "message";
+    public static final String CERTIFICATE_IDS_LOG_KEY = "certificate_ids";
+    public static final String ITEM_COUNT_LOG_KEY = "item_count";
+    public static final String REQUEST_METHOD_LOG_KEY = "method";
+    public static final String REQUEST_PATH_LOG_KEY = "path";
 
 }
@@ -4,6 +4,7 @@ import org.mapstruct.AfterMapping;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
 import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemDTO;
+import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemSummaryDTO;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateType;
 import uk.gov.companieshouse.certificates.orders.api.model.DeliveryMethod;
@@ -13,6 +14,7 @@ import uk.gov.companieshouse.certificates.orders.api.model.DeliveryTimescale;
 public interface CertificateItemMapper {
     CertificateItem certificateItemDTOtoCertificateItem(CertificateItemDTO certificateItemDTO);
     CertificateItemDTO certificateItemToCertificateItemDTO(CertificateItem certificateItem);
+    CertificateItemSummaryDTO certificateItemToCertificateItemSummaryDTO(CertificateItem certificateItem);
 
     @AfterMapping
     default void setDefaults(CertificateItemDTO certificateItemDTO, @MappingTarget CertificateItem certificateItem){
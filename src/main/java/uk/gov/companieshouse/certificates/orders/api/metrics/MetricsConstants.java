@@ -0,0 +1,54 @@
+package uk.gov.companieshouse.certificates.orders.api.metrics;
+
+/**
+ * The names and tags of the metrics published by this API, in addition to those published by Spring Boot Actuator
+ * (including the <code>http.server.requests</code> timings of each endpoint).
+ */
+public final class MetricsConstants {
+
+    private MetricsConstants() {
+        // not called
+    }
+
+    /** Timings of the request validations. */
+    public static final String VALIDATION_TIMER = "certificates.validation";
+    /** Counts of the requests rejected by the request validations, tagged by request kind. */
+    public static final String VALIDATION_FAILURES_COUNTER = "certificates.validation.failures";
+    /** Timings of the company name lookups, whether or not satisfied by the company name cache. */
+    public static final String COMPANY_LOOKUP_TIMER = "certificates.company.lookup";
+    /** Counts of the errors received from the company profiles API, tagged by upstream status. */
+    public static final String COMPANY_LOOKUP_ERRORS_COUNTER = "certificates.company.lookup.errors";
+    /** Counts of the long-lived internal API clients created. */
+    public static final String API_CLIENTS_CREATED_COUNTER = "certificates.api.clients.created";
+    /** Timings of the item cost calculations. */
+    public static final String COST_CALCULATION_TIMER = "certificates.cost.calculation";
+    /** Timings of the application of merge patches to items. */
+    public static final String PATCH_MERGE_TIMER = "certificates.patch.merge";
+    /** The proportion of certificate item cache lookups that have found the item held. */
+    public static final String ITEM_CACHE_HIT_RATIO_GAUGE = "certificates.item.cache.hit.ratio";
+    /** Counts of the certificate items invalidated in the cache, tagged by the source of the invalidation. */
+    public static final String ITEM_CACHE_INVALIDATIONS_COUNTER = "certificates.item.cache.invalidations";
+    /** Counts of the re-priced certificate items awaiting write-back of their costs, tagged by outcome. */
+    public static final String ITEM_COSTS_WRITE_BACK_COUNTER = "certificates.item.costs.write.back";
+    /** The version of the costs in use, advanced whenever new costs are published. */
+    public static final String COSTS_VERSION_GAUGE = "certificates.costs.version";
+    /** The number of log events buffered, awaiting writing. */
+    public static final String ASYNC_LOGGING_BUFFERED_GAUGE = "certificates.logging.async.buffered";
+    /** Counts of the log events not written as buffered, tagged by outcome (dropped, delayed, inline or failed). */
+    public static final String ASYNC_LOGGING_EVENTS_COUNTER = "certificates.logging.async.events";
+    /** Timings of the commands sent to MongoDB, tagged by command and collection. */
+    public static final String MONGODB_COMMANDS_TIMER = "certificates.mongodb.commands";
+
+    public static final String REQUEST_TAG = "request";
+    public static final String STATUS_TAG = "status";
+    public static final String COMMAND_TAG = "command";
+    public static final String COLLECTION_TAG = "collection";
+    public static final String SOURCE_TAG = "source";
+    public static final String OUTCOME_TAG = "outcome";
+
+    public static final String CREATE_REQUEST = "create";
+    public static final String CREATE_BATCH_REQUEST = "create_batch";
+    public static final String PATCH_REQUEST = "patch";
+    public static final String PATCHED_ITEM_REQUEST = "patched_item";
+
+}
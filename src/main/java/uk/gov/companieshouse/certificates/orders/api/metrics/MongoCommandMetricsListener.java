@@ -0,0 +1,72 @@
+package uk.gov.companieshouse.certificates.orders.api.metrics;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.COLLECTION_TAG;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.COMMAND_TAG;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.MONGODB_COMMANDS_TIMER;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.STATUS_TAG;
+
+/**
+ * Times each command (<code>find</code>, <code>insert</code>, <code>update</code>, <code>findAndModify</code>
+ * etc.) that the repositories send to MongoDB, tagged with the command name, the collection it targets and whether
+ * it succeeded. Each repository operation results in one such command.
+ */
+public class MongoCommandMetricsListener implements CommandListener {
+
+    private static final String UNKNOWN_COLLECTION = "unknown";
+    private static final String SUCCESS = "success";
+    private static final String FAILED = "failed";
+
+    private final MeterRegistry registry;
+
+    /** The collection targeted by each command in flight, keyed by request ID. */
+    private final Map<Integer, String> collections = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     * @param registry the registry to which this publishes the command timings
+     */
+    public MongoCommandMetricsListener(final MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void commandStarted(final CommandStartedEvent event) {
+        final BsonValue collection = event.getCommand().get(event.getCommandName());
+        if (collection != null && collection.isString()) {
+            collections.put(event.getRequestId(), collection.asString().getValue());
+        }
+    }
+
+    @Override
+    public void commandSucceeded(final CommandSucceededEvent event) {
+        record(event.getRequestId(), event.getCommandName(), SUCCESS, event.getElapsedTime(NANOSECONDS));
+    }
+
+    @Override
+    public void commandFailed(final CommandFailedEvent event) {
+        record(event.getRequestId(), event.getCommandName(), FAILED, event.getElapsedTime(NANOSECONDS));
+    }
+
+    private void record(final int requestId, final String command, final String status, final long elapsedNanos) {
+        final String collection = collections.remove(requestId);
+        Timer.builder(MONGODB_COMMANDS_TIMER)
+                .description("Timings of the commands sent to MongoDB")
+                .tag(COMMAND_TAG, command)
+                .tag(COLLECTION_TAG, collection != null ? collection : UNKNOWN_COLLECTION)
+                .tag(STATUS_TAG, status)
+                .register(registry)
+                .record(elapsedNanos, NANOSECONDS);
+    }
+}
@@ -1,7 +1,7 @@
 package uk.gov.companieshouse.certificates.orders.api.model;
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
-import com.google.gson.Gson;
+import uk.gov.companieshouse.certificates.orders.api.util.GsonHelper;
 
 /**
  * An instance of this represents the item options for a certificate item.
@@ -140,6 +140,6 @@ public class CertificateItemOptions {
     }
 
     @Override
-    public String toString() { return new Gson().toJson(this); }
+    public String toString() { return GsonHelper.toJson(this); }
 
 }
@@ -1,7 +1,7 @@
 package uk.gov.companieshouse.certificates.orders.api.model;
 
 import com.fasterxml.jackson.annotation.JsonValue;
-import uk.gov.companieshouse.certificates.orders.api.config.CostsConfig;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsSnapshot;
 
 import static uk.gov.companieshouse.certificates.orders.api.converter.EnumValueNameConverter.convertEnumValueNameToJson;
 import static uk.gov.companieshouse.certificates.orders.api.model.ProductType.*;
@@ -14,12 +14,12 @@ public enum DeliveryTimescale {
     SAME_DAY {
 
         @Override
-        public int getIndividualCertificateCost(final CostsConfig costs) {
+        public int getIndividualCertificateCost(final CostsSnapshot costs) {
             return costs.getSameDayCost();
         }
 
         @Override
-        public int getExtraCertificateDiscount(final CostsConfig costs) {
+        public int getExtraCertificateDiscount(final CostsSnapshot costs) {
             return costs.getSameDayDiscount();
         }
 
@@ -34,11 +34,11 @@ public enum DeliveryTimescale {
         return convertEnumValueNameToJson(this);
     }
 
-    public int getIndividualCertificateCost(final CostsConfig costs) {
+    public int getIndividualCertificateCost(final CostsSnapshot costs) {
         return costs.getStandardCost();
     }
 
-    public int getExtraCertificateDiscount(final CostsConfig costs) {
+    public int getExtraCertificateDiscount(final CostsSnapshot costs) {
         return costs.getStandardDiscount();
     }
 
@@ -1,6 +1,6 @@
 package uk.gov.companieshouse.certificates.orders.api.model;
 
-import com.google.gson.Gson;
+import uk.gov.companieshouse.certificates.orders.api.util.GsonHelper;
 
 import java.util.Objects;
 
@@ -74,7 +74,7 @@ public class DirectorOrSecretaryDetails {
     }
 
     @Override
-    public String toString() { return new Gson().toJson(this); }
+    public String toString() { return GsonHelper.toJson(this); }
 
     @Override
     public boolean equals(Object o) {
@@ -1,8 +1,8 @@
 package uk.gov.companieshouse.certificates.orders.api.model;
 
-import com.google.gson.Gson;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import uk.gov.companieshouse.certificates.orders.api.util.GsonHelper;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -180,6 +180,14 @@ public class Item {
         data.setTotalItemCost(totalItemCost);
     }
 
+    public String getTariffVersion() {
+        return data.getTariffVersion();
+    }
+
+    public void setTariffVersion(String tariffVersion) {
+        data.setTariffVersion(tariffVersion);
+    }
+
     public String getUserId() {
         return userId;
     }
@@ -189,5 +197,5 @@ public class Item {
     }
 
     @Override
-    public String toString() { return new Gson().toJson(this); }
+    public String toString() { return GsonHelper.toJson(this); }
 }
@@ -1,7 +1,7 @@
 package uk.gov.companieshouse.certificates.orders.api.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.google.gson.Gson;
+import uk.gov.companieshouse.certificates.orders.api.util.GsonHelper;
 
 /**
  * An instance of this represents the item's costs.
@@ -66,6 +66,6 @@ public class ItemCosts {
     }
 
     @Override
-    public String toString() { return new Gson().toJson(this); }
+    public String toString() { return GsonHelper.toJson(this); }
 
 }
@@ -1,8 +1,8 @@
 package uk.gov.companieshouse.certificates.orders.api.model;
 
-import com.google.gson.Gson;
 import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.mapping.Field;
+import uk.gov.companieshouse.certificates.orders.api.util.GsonHelper;
 
 import java.util.List;
 import java.util.Map;
@@ -48,6 +48,8 @@ public class ItemData {
 
     private String totalItemCost;
 
+    private String tariffVersion;
+
     public String getId() {
         return id;
     }
@@ -176,6 +178,14 @@ public class ItemData {
         this.totalItemCost = totalItemCost;
     }
 
+    public String getTariffVersion() {
+        return tariffVersion;
+    }
+
+    public void setTariffVersion(String tariffVersion) {
+        this.tariffVersion = tariffVersion;
+    }
+
     @Override
-    public String toString() { return new Gson().toJson(this); }
+    public String toString() { return GsonHelper.toJson(this); }
 }
@@ -0,0 +1,55 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * The criteria by which certificate items are listed. Any criterion left <code>null</code> is not applied.
+ */
+public final class CertificateItemFilter {
+
+    private final String userId;
+    private final String companyNumber;
+    private final String customerReference;
+    private final LocalDateTime createdFrom;
+    private final LocalDateTime createdTo;
+
+    /**
+     * Constructor.
+     * @param userId the ID of the user who created the items
+     * @param companyNumber the number of the company the items are for
+     * @param customerReference the customer reference of the items
+     * @param createdFrom the earliest creation date time of the items (inclusive)
+     * @param createdTo the latest creation date time of the items (exclusive)
+     */
+    public CertificateItemFilter(final String userId,
+                                 final String companyNumber,
+                                 final String customerReference,
+                                 final LocalDateTime createdFrom,
+                                 final LocalDateTime createdTo) {
+        this.userId = userId;
+        this.companyNumber = companyNumber;
+        this.customerReference = customerReference;
+        this.createdFrom = createdFrom;
+        this.createdTo = createdTo;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getCompanyNumber() {
+        return companyNumber;
+    }
+
+    public String getCustomerReference() {
+        return customerReference;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+}
@@ -0,0 +1,105 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.unmodifiableList;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
+
+/**
+ * Owns the secondary indexes of the certificates collection. Each listing index ends with the
+ * <code>(created_at, _id)</code> keyset on which item listings are sorted and paginated, so that a listing filtered on
+ * any one indexed field is answered by walking a single index range, however large the collection grows. The owner
+ * index holds the <code>user_id</code> and the etag of each item alongside its <code>_id</code>, so that ownership
+ * checks, and the validation of the items cached, are answered from the index alone. The indexes are created (if need
+ * be) and then checked when the application starts, which fails should any of them be missing.
+ * <p>
+ * The reactive stack creates and checks the same indexes through {@link ReactiveCertificateItemIndexes}.
+ */
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+public class CertificateItemIndexes {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
+
+    static final String USER_ID_INDEX = "user_id_created_at";
+    static final String COMPANY_NUMBER_INDEX = "company_number_created_at";
+    static final String CUSTOMER_REFERENCE_INDEX = "customer_reference_created_at";
+    static final String CREATED_AT_INDEX = "created_at";
+    static final String OWNER_INDEX = "id_user_id_etag";
+
+    private static final String MONGO_ID_FIELD = "_id";
+
+    static final List<Index> INDEXES = unmodifiableList(Arrays.asList(
+            keyset(new Index().named(USER_ID_INDEX).on(CertificateItemRepositoryCustomImpl.USER_ID_FIELD, ASC)),
+            keyset(new Index().named(COMPANY_NUMBER_INDEX)
+                    .on(CertificateItemRepositoryCustomImpl.COMPANY_NUMBER_FIELD, ASC)),
+            keyset(new Index().named(CUSTOMER_REFERENCE_INDEX)
+                    .on(CertificateItemRepositoryCustomImpl.CUSTOMER_REFERENCE_FIELD, ASC)),
+            keyset(new Index().named(CREATED_AT_INDEX)),
+            new Index().named(OWNER_INDEX)
+                    .on(MONGO_ID_FIELD, ASC).on(CertificateItemRepositoryCustomImpl.USER_ID_FIELD, ASC)
+                    .on(CertificateItemRepositoryCustomImpl.ETAG_FIELD, ASC)));
+
+    private final MongoTemplate mongoTemplate;
+
+    public CertificateItemIndexes(final MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Creates any of the indexes not already present, and then checks that all of them are.
+     * @throws IllegalStateException should any of the indexes still be missing
+     */
+    @PostConstruct
+    public void ensureIndexes() {
+        final IndexOperations indexOperations = mongoTemplate.indexOps(CertificateItem.class);
+        INDEXES.forEach(indexOperations::ensureIndex);
+        checkIndexes(indexOperations.getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet()));
+    }
+
+    /**
+     * Checks that all of the indexes are present.
+     * @param present the names of the indexes present
+     * @throws IllegalStateException should any of the indexes be missing
+     */
+    static void checkIndexes(final Set<String> present) {
+        final List<String> expected = INDEXES.stream()
+                .map(index -> (String) index.getIndexOptions().get("name"))
+                .collect(Collectors.toList());
+
+        final Map<String, Object> logMap = new HashMap<>();
+        logMap.put("indexes", expected);
+        if (!present.containsAll(expected)) {
+            logMap.put("present_indexes", present);
+            LOGGER.error("certificates collection is missing indexes", logMap);
+            throw new IllegalStateException("certificates collection is missing indexes: expected " + expected
+                    + ", found " + present);
+        }
+        LOGGER.info("certificates collection indexes checked", logMap);
+    }
+
+    private static Index keyset(final Index index) {
+        return index.on(CertificateItemRepositoryCustomImpl.CREATED_AT_FIELD, DESC).on(MONGO_ID_FIELD, DESC);
+    }
+}
@@ -0,0 +1,71 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The <code>(created_at, _id)</code> position of an item in a listing, from which the next page of the listing
+ * continues. It is handed to clients as an opaque page token.
+ */
+public final class CertificateItemKey {
+
+    private static final String SEPARATOR = " ";
+
+    private final LocalDateTime createdAt;
+    private final String id;
+
+    public CertificateItemKey(final LocalDateTime createdAt, final String id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    /**
+     * Gets the position of the item in a listing.
+     * @param item the item, as listed
+     * @return the key of the item
+     */
+    public static CertificateItemKey of(final CertificateItem item) {
+        return new CertificateItemKey(item.getCreatedAt(), item.getId());
+    }
+
+    /**
+     * Parses a page token previously generated by {@link #toToken()}.
+     * @param token the page token
+     * @return the key encoded in the token
+     * @throws IllegalArgumentException should the token not be a valid page token
+     */
+    public static CertificateItemKey fromToken(final String token) {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(token), UTF_8);
+            final int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("invalid page token " + token);
+            }
+            return new CertificateItemKey(LocalDateTime.parse(decoded.substring(0, separator)),
+                    decoded.substring(separator + 1));
+        } catch (DateTimeParseException dtpe) {
+            throw new IllegalArgumentException("invalid page token " + token, dtpe);
+        }
+    }
+
+    /**
+     * @return the opaque page token encoding this key
+     */
+    public String toToken() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((createdAt + SEPARATOR + id).getBytes(UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
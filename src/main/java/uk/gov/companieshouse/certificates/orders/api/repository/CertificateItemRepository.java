@@ -6,4 +6,5 @@ import org.springframework.stereotype.Repository;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
 
 @Repository
-public interface CertificateItemRepository extends MongoRepository<CertificateItem, String> { }
+public interface CertificateItemRepository
+        extends MongoRepository<CertificateItem, String>, CertificateItemRepositoryCustom { }
@@ -0,0 +1,63 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom certificate item persistence operations not derivable by Spring Data from method names.
+ */
+public interface CertificateItemRepositoryCustom {
+
+    /**
+     * Updates the stored certificate item to match the updated item provided, provided that the stored item's etag
+     * is still that of the item as retrieved. Only those document paths that differ between the retrieved and the
+     * updated item are written. The etag check and the update are performed as a single atomic operation.
+     *
+     * @param retrievedItem the item as retrieved from the database, prior to its update
+     * @param updatedItem the updated item
+     * @return the item as stored, or <code>null</code> if no item with the ID and the expected etag was found
+     */
+    CertificateItem findAndModifyIfUnmodified(CertificateItem retrievedItem, CertificateItem updatedItem);
+
+    /**
+     * Lists the stored certificate items matching the filter, newest first, in <code>(created_at, _id)</code> order,
+     * starting immediately after the key provided. Only the summary fields of each item are read.
+     *
+     * @param filter the criteria the items must match
+     * @param after the key of the last item of the previous page, or <code>null</code> for the first page
+     * @param limit the maximum number of items to return
+     * @return the items found, which hold only their summary fields
+     */
+    List<CertificateItem> findPage(CertificateItemFilter filter, CertificateItemKey after, int limit);
+
+    /**
+     * Looks up who owns the stored certificate item, reading only its <code>user_id</code> and its current etag. The
+     * lookup is answered from the owner index, without the item document itself being read.
+     *
+     * @param id the ID of the certificate item
+     * @return the item, holding only its ID, user ID and etag, or {@link Optional#empty()} if no item with the ID was
+     * found
+     */
+    Optional<CertificateItem> findOwnerById(String id);
+
+    /**
+     * Looks up the current etag of the stored certificate item, reading only its etag. The lookup is answered from
+     * the owner index, without the item document itself being read.
+     *
+     * @param id the ID of the certificate item
+     * @return the item, holding only its ID and etag, or {@link Optional#empty()} if no item with the ID was found
+     */
+    Optional<CertificateItem> findEtagById(String id);
+
+    /**
+     * Updates the costs (and the tariff version under which they are calculated) of each of the stored certificate
+     * items, provided that the stored item's etag is still that of the item provided. No other field, not even the
+     * etag, is written. The updates are sent to the database as a single unordered bulk write.
+     *
+     * @param items the items, each holding its ID, its etag as read, and its costs
+     * @return the number of the items found with the expected etag, and so updated
+     */
+    int updateCostsIfUnmodified(List<CertificateItem> items);
+}
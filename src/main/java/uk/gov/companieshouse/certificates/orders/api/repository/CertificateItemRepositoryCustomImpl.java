@@ -0,0 +1,150 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Implements the {@link CertificateItemRepositoryCustom} operations, using {@link MongoTemplate}.
+ */
+public class CertificateItemRepositoryCustomImpl implements CertificateItemRepositoryCustom {
+
+    static final String ID_FIELD = "id";
+    static final String ETAG_FIELD = "data.etag";
+    static final String USER_ID_FIELD = "user_id";
+    static final String CREATED_AT_FIELD = "created_at";
+    static final String COMPANY_NUMBER_FIELD = "data.company_number";
+    static final String CUSTOMER_REFERENCE_FIELD = "data.customer_reference";
+
+    /**
+     * The owner index, as a hint. An <code>_id</code> equality query would otherwise be answered by the
+     * <code>_id</code> index, which then has to fetch the document.
+     */
+    static final String OWNER_INDEX_HINT = "{ \"_id\" : 1, \"user_id\" : 1, \"data.etag\" : 1 }";
+
+    /** The fields read for each item listed. */
+    static final String[] SUMMARY_FIELDS = {
+            ID_FIELD, CREATED_AT_FIELD, "updated_at", USER_ID_FIELD, COMPANY_NUMBER_FIELD, "data.company_name",
+            CUSTOMER_REFERENCE_FIELD, "data.description", ETAG_FIELD, "data.kind", "data.links"
+    };
+
+    /** The fields of the item data holding its costs, as stored. */
+    static final String[] COSTS_FIELDS = {"item_costs", "postage_cost", "total_item_cost", "tariff_version"};
+
+    private static final String DATA_FIELD = "data";
+
+    private final MongoTemplate mongoTemplate;
+
+    public CertificateItemRepositoryCustomImpl(final MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public CertificateItem findAndModifyIfUnmodified(final CertificateItem retrievedItem,
+                                                     final CertificateItem updatedItem) {
+        final Query idAndEtagQuery =
+                query(where(ID_FIELD).is(retrievedItem.getId()).and(ETAG_FIELD).is(retrievedItem.getEtag()));
+        final Update changes = DocumentDiff.toUpdate(toDocument(retrievedItem), toDocument(updatedItem));
+        return mongoTemplate.findAndModify(idAndEtagQuery,
+                changes,
+                FindAndModifyOptions.options().returnNew(true),
+                CertificateItem.class);
+    }
+
+    @Override
+    public List<CertificateItem> findPage(final CertificateItemFilter filter,
+                                          final CertificateItemKey after,
+                                          final int limit) {
+        final List<Criteria> criteria = new ArrayList<>();
+        if (filter.getUserId() != null) {
+            criteria.add(where(USER_ID_FIELD).is(filter.getUserId()));
+        }
+        if (filter.getCompanyNumber() != null) {
+            criteria.add(where(COMPANY_NUMBER_FIELD).is(filter.getCompanyNumber()));
+        }
+        if (filter.getCustomerReference() != null) {
+            criteria.add(where(CUSTOMER_REFERENCE_FIELD).is(filter.getCustomerReference()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            criteria.add(where(CREATED_AT_FIELD).gte(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            criteria.add(where(CREATED_AT_FIELD).lt(filter.getCreatedTo()));
+        }
+        if (after != null) {
+            // Seek past the previous page rather than skipping over it, so that every page costs the same.
+            criteria.add(new Criteria().orOperator(
+                    where(CREATED_AT_FIELD).lt(after.getCreatedAt()),
+                    where(CREATED_AT_FIELD).is(after.getCreatedAt()).and(ID_FIELD).lt(after.getId())));
+        }
+
+        final Query page = criteria.isEmpty() ?
+                new Query() : query(new Criteria().andOperator(criteria.toArray(new Criteria[0])));
+        page.with(Sort.by(Sort.Direction.DESC, CREATED_AT_FIELD, ID_FIELD)).limit(limit);
+        for (final String field : SUMMARY_FIELDS) {
+            page.fields().include(field);
+        }
+        return mongoTemplate.find(page, CertificateItem.class);
+    }
+
+    @Override
+    public Optional<CertificateItem> findOwnerById(final String id) {
+        final Query owner = query(where(ID_FIELD).is(id)).withHint(OWNER_INDEX_HINT);
+        owner.fields().include(ID_FIELD).include(USER_ID_FIELD).include(ETAG_FIELD);
+        return Optional.ofNullable(mongoTemplate.findOne(owner, CertificateItem.class));
+    }
+
+    @Override
+    public Optional<CertificateItem> findEtagById(final String id) {
+        final Query etag = query(where(ID_FIELD).is(id)).withHint(OWNER_INDEX_HINT);
+        etag.fields().include(ID_FIELD).include(ETAG_FIELD);
+        return Optional.ofNullable(mongoTemplate.findOne(etag, CertificateItem.class));
+    }
+
+    @Override
+    public int updateCostsIfUnmodified(final List<CertificateItem> items) {
+        if (items.isEmpty()) {
+            return 0;
+        }
+        final BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CertificateItem.class);
+        for (final CertificateItem item : items) {
+            updates.updateOne(query(where(ID_FIELD).is(item.getId()).and(ETAG_FIELD).is(item.getEtag())),
+                    toCostsUpdate(toDocument(item)));
+        }
+        return updates.execute().getMatchedCount();
+    }
+
+    /**
+     * Builds the update setting the costs of the item, and nothing else.
+     *
+     * @param item the item holding the costs, as stored
+     * @return the update
+     */
+    static Update toCostsUpdate(final Document item) {
+        final Document data = (Document) item.get(DATA_FIELD);
+        final Update costs = new Update();
+        for (final String field : COSTS_FIELDS) {
+            costs.set(DATA_FIELD + "." + field, data.get(field));
+        }
+        return costs;
+    }
+
+    private Document toDocument(final CertificateItem item) {
+        final Document document = new Document();
+        mongoTemplate.getConverter().write(item, document);
+        return document;
+    }
+}
@@ -0,0 +1,53 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import uk.gov.companieshouse.certificates.orders.api.model.DatabaseSequence;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Reserves blocks of values from the sequences held in the <code>database_sequences</code> collection. Each
+ * reservation atomically advances the high-water mark stored for the sequence, so that no two reservations, whether
+ * made by the same instance or by different ones, ever overlap, and an instance restarted always resumes beyond the
+ * values reserved before.
+ */
+@Repository
+@ConditionalOnWebApplication(type = SERVLET)
+public class DatabaseSequenceRepository {
+
+    static final String SEQUENCE_FIELD = "seq";
+
+    private final MongoTemplate mongoTemplate;
+
+    public DatabaseSequenceRepository(final MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Reserves the next block of values of the sequence, creating the sequence (starting from 0) if need be.
+     * @param sequenceName the name of the sequence
+     * @param count the number of values to reserve
+     * @return the first value of the block reserved, which runs up to (but excludes) this plus <code>count</code>
+     */
+    public long reserve(final String sequenceName, final long count) {
+        final Query sequenceQuery = query(where("_id").is(sequenceName));
+        final Update advance = new Update().inc(SEQUENCE_FIELD, count);
+        final FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true).upsert(true);
+        DatabaseSequence sequence;
+        try {
+            sequence = mongoTemplate.findAndModify(sequenceQuery, advance, options, DatabaseSequence.class);
+        } catch (DuplicateKeyException dke) {
+            // Another instance created the sequence concurrently; it now exists, and so can simply be advanced.
+            sequence = mongoTemplate.findAndModify(sequenceQuery, advance, options, DatabaseSequence.class);
+        }
+        return sequence.getSeq() - count;
+    }
+}
@@ -0,0 +1,62 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Works out the difference between the stored (<code>before</code>) and the updated (<code>after</code>) form of a
+ * document as an {@link Update} that <code>$set</code>s only those paths that have been added or changed, and
+ * <code>$unset</code>s only those paths that have been removed. Embedded documents are compared path by path; any
+ * other values (including arrays) are compared, and so set, as a whole.
+ */
+final class DocumentDiff {
+
+    private static final String ID_FIELD = "_id";
+
+    private DocumentDiff() { }
+
+    /**
+     * Builds the update that transforms the <code>before</code> document into the <code>after</code> document.
+     *
+     * @param before the document as stored
+     * @param after the document as updated
+     * @return the update, which will be empty if there are no differences
+     */
+    static Update toUpdate(final Document before, final Document after) {
+        final Update update = new Update();
+        addDifferences(null, before, after, update);
+        return update;
+    }
+
+    private static void addDifferences(final String prefix,
+                                       final Map<String, Object> before,
+                                       final Map<String, Object> after,
+                                       final Update update) {
+        for (final Map.Entry<String, Object> entry : after.entrySet()) {
+            final String key = entry.getKey();
+            if (prefix == null && ID_FIELD.equals(key)) {
+                continue;
+            }
+            final String path = path(prefix, key);
+            final Object beforeValue = before.get(key);
+            final Object afterValue = entry.getValue();
+            if (beforeValue instanceof Document && afterValue instanceof Document) {
+                addDifferences(path, (Document) beforeValue, (Document) afterValue, update);
+            } else if (!before.containsKey(key) || !Objects.equals(beforeValue, afterValue)) {
+                update.set(path, afterValue);
+            }
+        }
+        for (final String key : before.keySet()) {
+            if (!after.containsKey(key) && !(prefix == null && ID_FIELD.equals(key))) {
+                update.unset(path(prefix, key));
+            }
+        }
+    }
+
+    private static String path(final String prefix, final String key) {
+        return prefix == null ? key : prefix + "." + key;
+    }
+}
@@ -0,0 +1,47 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.ReactiveIndexOperations;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+
+import javax.annotation.PostConstruct;
+import java.util.stream.Collectors;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemIndexes.INDEXES;
+
+/**
+ * The counterpart of {@link CertificateItemIndexes} used by the reactive stack, which creates and checks the same
+ * indexes through {@link ReactiveMongoTemplate}.
+ */
+@Component
+@ConditionalOnWebApplication(type = REACTIVE)
+public class ReactiveCertificateItemIndexes {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveCertificateItemIndexes(final ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * Creates any of the indexes not already present, and then checks that all of them are. Called on the thread
+     * starting the application, which may block.
+     * @throws IllegalStateException should any of the indexes still be missing
+     */
+    @PostConstruct
+    public void ensureIndexes() {
+        final ReactiveIndexOperations indexOperations = mongoTemplate.indexOps(CertificateItem.class);
+        Flux.fromIterable(INDEXES)
+                .concatMap(indexOperations::ensureIndex)
+                .thenMany(indexOperations.getIndexInfo())
+                .map(IndexInfo::getName)
+                .collect(Collectors.toSet())
+                .doOnNext(CertificateItemIndexes::checkIndexes)
+                .block();
+    }
+}
@@ -0,0 +1,12 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+
+/**
+ * The non-blocking counterpart of {@link CertificateItemRepository}, used by the reactive stack.
+ */
+@Repository
+public interface ReactiveCertificateItemRepository
+        extends ReactiveMongoRepository<CertificateItem, String>, ReactiveCertificateItemRepositoryCustom { }
@@ -0,0 +1,38 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+
+import java.util.List;
+
+/**
+ * The non-blocking counterparts of those {@link CertificateItemRepositoryCustom} operations used by the reactive
+ * stack.
+ */
+public interface ReactiveCertificateItemRepositoryCustom {
+
+    /**
+     * As {@link CertificateItemRepositoryCustom#findAndModifyIfUnmodified(CertificateItem, CertificateItem)}.
+     *
+     * @param retrievedItem the item as retrieved from the database, prior to its update
+     * @param updatedItem the updated item
+     * @return the item as stored, or empty if no item with the ID and the expected etag was found
+     */
+    Mono<CertificateItem> findAndModifyIfUnmodified(CertificateItem retrievedItem, CertificateItem updatedItem);
+
+    /**
+     * As {@link CertificateItemRepositoryCustom#findOwnerById(String)}.
+     *
+     * @param id the ID of the certificate item
+     * @return the item, holding only its ID and user ID, or empty if no item with the ID was found
+     */
+    Mono<CertificateItem> findOwnerById(String id);
+
+    /**
+     * As {@link CertificateItemRepositoryCustom#updateCostsIfUnmodified(List)}.
+     *
+     * @param items the items, each holding its ID, its etag as read and its costs
+     * @return the number of items whose costs were written
+     */
+    Mono<Integer> updateCostsIfUnmodified(List<CertificateItem> items);
+}
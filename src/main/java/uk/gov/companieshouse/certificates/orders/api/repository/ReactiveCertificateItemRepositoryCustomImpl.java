@@ -0,0 +1,83 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemRepositoryCustomImpl.ETAG_FIELD;
+import static uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemRepositoryCustomImpl.ID_FIELD;
+import static uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemRepositoryCustomImpl.OWNER_INDEX_HINT;
+import static uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemRepositoryCustomImpl.USER_ID_FIELD;
+import static uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemRepositoryCustomImpl.toCostsUpdate;
+
+/**
+ * Implements the {@link ReactiveCertificateItemRepositoryCustom} operations, using {@link ReactiveMongoTemplate}.
+ * The queries and updates are exactly those made by {@link CertificateItemRepositoryCustomImpl}.
+ */
+public class ReactiveCertificateItemRepositoryCustomImpl implements ReactiveCertificateItemRepositoryCustom {
+
+    /** The ID field as stored, as the bulk write is made without the mapping of field names. */
+    private static final String ID_DOCUMENT_FIELD = "_id";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveCertificateItemRepositoryCustomImpl(final ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<CertificateItem> findAndModifyIfUnmodified(final CertificateItem retrievedItem,
+                                                           final CertificateItem updatedItem) {
+        final Query idAndEtagQuery =
+                query(where(ID_FIELD).is(retrievedItem.getId()).and(ETAG_FIELD).is(retrievedItem.getEtag()));
+        final Update changes = DocumentDiff.toUpdate(toDocument(retrievedItem), toDocument(updatedItem));
+        return mongoTemplate.findAndModify(idAndEtagQuery,
+                changes,
+                FindAndModifyOptions.options().returnNew(true),
+                CertificateItem.class);
+    }
+
+    @Override
+    public Mono<CertificateItem> findOwnerById(final String id) {
+        final Query owner = query(where(ID_FIELD).is(id)).withHint(OWNER_INDEX_HINT);
+        owner.fields().include(ID_FIELD).include(USER_ID_FIELD);
+        return mongoTemplate.findOne(owner, CertificateItem.class);
+    }
+
+    @Override
+    public Mono<Integer> updateCostsIfUnmodified(final List<CertificateItem> items) {
+        if (items.isEmpty()) {
+            return Mono.just(0);
+        }
+        // ReactiveMongoTemplate offers no bulk operations, so the bulk write is made on the collection itself.
+        final List<WriteModel<Document>> updates = new ArrayList<>(items.size());
+        for (final CertificateItem item : items) {
+            updates.add(new UpdateOneModel<>(
+                    new Document(ID_DOCUMENT_FIELD, item.getId()).append(ETAG_FIELD, item.getEtag()),
+                    toCostsUpdate(toDocument(item)).getUpdateObject()));
+        }
+        return mongoTemplate.execute(CertificateItem.class,
+                collection -> collection.bulkWrite(updates, new BulkWriteOptions().ordered(false)))
+                .next()
+                .map(BulkWriteResult::getMatchedCount);
+    }
+
+    private Document toDocument(final CertificateItem item) {
+        final Document document = new Document();
+        mongoTemplate.getConverter().write(item, document);
+        return document;
+    }
+}
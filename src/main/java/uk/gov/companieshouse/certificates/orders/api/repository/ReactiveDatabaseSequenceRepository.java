@@ -0,0 +1,48 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.certificates.orders.api.model.DatabaseSequence;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static uk.gov.companieshouse.certificates.orders.api.repository.DatabaseSequenceRepository.SEQUENCE_FIELD;
+
+/**
+ * The non-blocking counterpart of {@link DatabaseSequenceRepository}, used by the reactive stack. Its reservations
+ * are made exactly as those of {@link DatabaseSequenceRepository} are, so never overlap with them.
+ */
+@Repository
+@ConditionalOnWebApplication(type = REACTIVE)
+public class ReactiveDatabaseSequenceRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveDatabaseSequenceRepository(final ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    /**
+     * As {@link DatabaseSequenceRepository#reserve(String, long)}.
+     * @param sequenceName the name of the sequence
+     * @param count the number of values to reserve
+     * @return the first value of the block reserved, which runs up to (but excludes) this plus <code>count</code>
+     */
+    public Mono<Long> reserve(final String sequenceName, final long count) {
+        final Query sequenceQuery = query(where("_id").is(sequenceName));
+        final Update advance = new Update().inc(SEQUENCE_FIELD, count);
+        final FindAndModifyOptions options = FindAndModifyOptions.options().returnNew(true).upsert(true);
+        return mongoTemplate.findAndModify(sequenceQuery, advance, options, DatabaseSequence.class)
+                // Another instance created the sequence concurrently; it now exists, and so can simply be advanced.
+                .onErrorResume(DuplicateKeyException.class, dke ->
+                        mongoTemplate.findAndModify(sequenceQuery, advance, options, DatabaseSequence.class))
+                .map(sequence -> sequence.getSeq() - count);
+    }
+}
@@ -1,14 +1,82 @@
 package uk.gov.companieshouse.certificates.orders.api.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.api.InternalApiClient;
+import uk.gov.companieshouse.certificates.orders.api.config.ApiClientConfig;
 import uk.gov.companieshouse.sdk.manager.ApiSdkManager;
 
+import java.util.function.Supplier;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.API_CLIENTS_CREATED_COUNTER;
+
+/**
+ * Provides the internal API clients used to call other CH APIs. Clients are long-lived: each thread making API calls
+ * (in practice, one of the bounded pool of {@link CompanyService} bulkhead threads) is given its own client on its
+ * first call, and reuses it for all of its subsequent calls. Clients hold per request state, so are never shared
+ * between threads. The HTTP connections made by the clients are kept alive and pooled for reuse.
+ */
 @Service
+@ConditionalOnWebApplication(type = SERVLET)
 public class ApiClientService {
 
+    /** The JDK property limiting the number of idle keep-alive HTTP connections held open to each host. */
+    static final String MAX_CONNECTIONS_PROPERTY = "http.maxConnections";
+
+    private final Supplier<InternalApiClient> clientFactory;
+    private final Counter clientsCreated;
+    private final ThreadLocal<InternalApiClient> clients = ThreadLocal.withInitial(this::createInternalApiClient);
+
+    /**
+     * Constructor.
+     * @param config the configuration of the API client connections
+     * @param registry the registry to which this publishes the number of clients created
+     */
+    @Autowired
+    public ApiClientService(final ApiClientConfig config, final MeterRegistry registry) {
+        this(ApiSdkManager::getPrivateSDK, registry);
+        configureConnectionPool(config);
+    }
+
+    /**
+     * Constructor.
+     * @param clientFactory creates each new client
+     * @param registry the registry to which this publishes the number of clients created
+     */
+    ApiClientService(final Supplier<InternalApiClient> clientFactory, final MeterRegistry registry) {
+        this.clientFactory = clientFactory;
+        this.clientsCreated = Counter.builder(API_CLIENTS_CREATED_COUNTER)
+                .description("The number of internal API clients created")
+                .register(registry);
+    }
+
+    /**
+     * Gets the internal API client of the current thread, creating it if need be.
+     * @return the client
+     */
     public InternalApiClient getInternalApiClient() {
-        return ApiSdkManager.getPrivateSDK();
+        return clients.get();
+    }
+
+    private InternalApiClient createInternalApiClient() {
+        clientsCreated.increment();
+        return clientFactory.get();
+    }
+
+    /**
+     * Sizes the JDK's pool of keep-alive HTTP connections (keep-alive being on by default), through which all of the
+     * clients' connections are made, unless it has been sized explicitly on the command line. This takes effect provided it is done before the
+     * first HTTP connection is made, i.e., before any client is used.
+     * @param config the configuration of the API client connections
+     */
+    private static void configureConnectionPool(final ApiClientConfig config) {
+        if (System.getProperty(MAX_CONNECTIONS_PROPERTY) == null) {
+            System.setProperty(MAX_CONNECTIONS_PROPERTY, Integer.toString(config.getMaxIdleConnections()));
+        }
     }
 
 }
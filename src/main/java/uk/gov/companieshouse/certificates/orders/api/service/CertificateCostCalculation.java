@@ -12,11 +12,16 @@ public class CertificateCostCalculation {
     private final List<ItemCosts> itemCosts;
     private final String postageCost;
     private final String totalItemCost;
+    private final String tariffVersion;
 
-    public CertificateCostCalculation(List<ItemCosts> itemCosts, String postageCost, String totalItemCost) {
+    public CertificateCostCalculation(List<ItemCosts> itemCosts,
+                                      String postageCost,
+                                      String totalItemCost,
+                                      String tariffVersion) {
         this.itemCosts = itemCosts;
         this.postageCost = postageCost;
         this.totalItemCost = totalItemCost;
+        this.tariffVersion = tariffVersion;
     }
 
     public List<ItemCosts> getItemCosts() {
@@ -30,4 +35,8 @@ public class CertificateCostCalculation {
     public String getTotalItemCost() {
         return totalItemCost;
     }
+
+    public String getTariffVersion() {
+        return tariffVersion;
+    }
 }
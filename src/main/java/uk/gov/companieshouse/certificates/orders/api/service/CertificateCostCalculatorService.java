@@ -1,13 +1,16 @@
 package uk.gov.companieshouse.certificates.orders.api.service;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Service;
-import uk.gov.companieshouse.certificates.orders.api.config.CostsConfig;
+import org.springframework.util.DigestUtils;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsSnapshot;
 import uk.gov.companieshouse.certificates.orders.api.model.DeliveryTimescale;
-import uk.gov.companieshouse.certificates.orders.api.model.ItemCosts;
-import uk.gov.companieshouse.certificates.orders.api.model.ProductType;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.COST_CALCULATION_TIMER;
 
 /**
  * Service that calculates certificate item costs.
@@ -17,67 +20,56 @@ public class CertificateCostCalculatorService {
 
     private static final String POSTAGE_COST = "0";
 
-    private final CostsConfig costs;
+    private final CostsService costs;
+
+    /** The tariffs precomputed from the costs last seen in use, replaced whenever new costs are published. */
+    private volatile Tariffs tariffs;
 
     /**
      * Constructor.
-     * @param costs the configured costs used by this in its calculations
+     * @param costs provides the costs used by this in its calculations
      */
-    public CertificateCostCalculatorService(final CostsConfig costs) {
+    public CertificateCostCalculatorService(final CostsService costs) {
         this.costs = costs;
+        this.tariffs = new Tariffs(costs.getCosts());
+    }
+
+    /**
+     * Gets the version of the tariff currently applied by this, a fingerprint of the costs in use. Any costs
+     * calculated under a different tariff version are out of date.
+     * @return the tariff version
+     */
+    public String getTariffVersion() {
+        return getTariffs().version;
     }
 
     /**
-     * Calculates the certificate item costs given the quantity and delivery timescale.
+     * Calculates the certificate item costs given the quantity and delivery timescale. The outcome is looked up
+     * from the tariff precomputed for the delivery timescale, and is shared, so must not be modified.
      * @param quantity the quantity of certificate items specified. Assumed to be >= 1.
      * @param deliveryTimescale the delivery time scale specified
-     * @return the outcome of the costs calculations
+     * @return the outcome of the costs calculations, bearing the version of the tariff under which it is calculated
      */
+    @Timed(COST_CALCULATION_TIMER)
     public CertificateCostCalculation calculateCosts(final int quantity,
                                                      final DeliveryTimescale deliveryTimescale) {
         checkArguments(quantity, deliveryTimescale);
-        final List<ItemCosts> itemCosts = new ArrayList<>();
-        for (int certificateNumber = 1; certificateNumber <= quantity; certificateNumber++) {
-            final ItemCosts cost = calculateSingleItemCosts(certificateNumber, deliveryTimescale);
-            itemCosts.add(cost);
-        }
-        final String totalItemCost = calculateTotalItemCost(itemCosts, POSTAGE_COST);
-        return new CertificateCostCalculation(itemCosts, POSTAGE_COST, totalItemCost);
-    }
-
-    /**
-     * Calculates the costs for a single certificate.
-     * @param certificateNumber the number of the certificate, used to determine whether the certificate is the first
-     *                          and therefore full price, or an additional certificate, and therefore discounted
-     * @param deliveryTimescale the delivery timescale
-     * @return the costs for the certificate
-     */
-    private ItemCosts calculateSingleItemCosts(final int certificateNumber, final DeliveryTimescale deliveryTimescale) {
-        final ItemCosts cost = new ItemCosts();
-        final int discountApplied = certificateNumber > 1 ? deliveryTimescale.getExtraCertificateDiscount(costs) : 0;
-        cost.setDiscountApplied(Integer.toString(discountApplied));
-        cost.setItemCost(Integer.toString(deliveryTimescale.getIndividualCertificateCost(costs)));
-        final int calculatedCost = deliveryTimescale.getIndividualCertificateCost(costs) - discountApplied;
-        cost.setCalculatedCost(Integer.toString(calculatedCost));
-        final ProductType productType =
-                certificateNumber > 1 ? deliveryTimescale.getAdditionalCertificatesProductType() :
-                        deliveryTimescale.getFirstCertificateProductType();
-        cost.setProductType(productType);
-        return cost;
+        return getTariffs().byTimescale.get(deliveryTimescale).getCalculation(quantity);
     }
 
     /**
-     * Utility that calculates the total item cost from the item costs and postage cost provided. This is the total
-     * cost of all of the certificates, including postage.
-     * @param costs the item costs
-     * @param postageCost the postage cost
-     * @return the total item cost (as a String)
+     * Gets the tariffs for the costs currently in use, precomputing them first should the costs have changed. No
+     * lock is taken: should several threads see the change at once, each precomputes the same tariffs.
+     * @return the current tariffs
      */
-    private String calculateTotalItemCost(final List<ItemCosts> costs, final String postageCost) {
-        final int total = costs.stream()
-                .map(itemCosts -> Integer.parseInt(itemCosts.getCalculatedCost()))
-                .reduce(0, Integer::sum) + Integer.parseInt(postageCost);
-        return Integer.toString(total);
+    private Tariffs getTariffs() {
+        final CostsSnapshot costsInUse = costs.getCosts();
+        Tariffs current = tariffs;
+        if (current.costs != costsInUse) {
+            current = new Tariffs(costsInUse);
+            tariffs = current;
+        }
+        return current;
     }
 
     /**
@@ -94,4 +86,41 @@ public class CertificateCostCalculatorService {
             throw new IllegalArgumentException("deliveryTimescale must not be null!");
         }
     }
+
+    /**
+     * The tariff for each delivery timescale precomputed from a single snapshot of the costs, and their version.
+     */
+    private static final class Tariffs {
+
+        private final CostsSnapshot costs;
+        private final String version;
+        private final Map<DeliveryTimescale, CertificateTariff> byTimescale;
+
+        private Tariffs(final CostsSnapshot costs) {
+            this.costs = costs;
+            this.version = fingerprint(costs);
+            final Map<DeliveryTimescale, CertificateTariff> tariffsByTimescale =
+                    new EnumMap<>(DeliveryTimescale.class);
+            for (final DeliveryTimescale deliveryTimescale : DeliveryTimescale.values()) {
+                tariffsByTimescale.put(deliveryTimescale,
+                        new CertificateTariff(costs, deliveryTimescale, POSTAGE_COST, version));
+            }
+            this.byTimescale = tariffsByTimescale;
+        }
+
+        /**
+         * Derives the tariff version from every value the costs calculated depend upon. Unlike the version of the
+         * costs snapshot, this is the same for the same costs on every instance of this API.
+         * @param costs the costs
+         * @return the tariff version
+         */
+        private static String fingerprint(final CostsSnapshot costs) {
+            final String tariff = "standard_cost=" + costs.getStandardCost()
+                    + ";same_day_cost=" + costs.getSameDayCost()
+                    + ";standard_discount=" + costs.getStandardDiscount()
+                    + ";same_day_discount=" + costs.getSameDayDiscount()
+                    + ";postage_cost=" + POSTAGE_COST;
+            return DigestUtils.md5DigestAsHex(tariff.getBytes(UTF_8));
+        }
+    }
 }
@@ -0,0 +1,316 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import com.google.common.cache.AbstractCache;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.ForwardingCache;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest.ChangeStreamRequestOptions;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListener;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.certificates.orders.api.config.CertificateItemCacheConfig;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.ITEM_CACHE_HIT_RATIO_GAUGE;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.ITEM_CACHE_INVALIDATIONS_COUNTER;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.SOURCE_TAG;
+
+/**
+ * Read-through cache of certificate items keyed by ID, validated by etag. Every item held is checked against the
+ * current etag of the stored item, read from the owner index without the item document itself being read (or reused
+ * from the owner lookup already made for the request), before it is served, so that an item changed by another
+ * instance is never served, even before the change is reported. An item held that is found to be out of date counts
+ * as a miss rather than a hit. Items
+ * are also invalidated whenever written by this instance, and, through a MongoDB change stream, whenever written by
+ * any other instance, so that items changed elsewhere are seldom found to be stale. While the change stream is not
+ * open, the cache is bypassed, and the change stream is periodically reopened.
+ */
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+public class CertificateItemCache implements MessageListener<ChangeStreamDocument<Document>, Document> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
+
+    private static final String CERTIFICATE_ITEMS_CACHE = "certificate_items";
+    private static final String MONGO_ID_FIELD = "_id";
+
+    private static final String WRITE_SOURCE = "write";
+    private static final String CHANGE_STREAM_SOURCE = "change_stream";
+    private static final String VALIDATION_SOURCE = "validation";
+
+    private final CertificateItemCacheConfig config;
+    private final MongoTemplate mongoTemplate;
+    private final MongoConverter converter;
+
+    /** Items keyed by ID, each held as its stored document, so that every item served is a copy of its own. */
+    private final Cache<String, HeldItem> items;
+    /**
+     * The hits and misses of {@link #get}, recorded only once the item held (if any) has been validated. The items
+     * are looked up without the cache itself recording any.
+     */
+    private final AbstractCache.StatsCounter lookups = new AbstractCache.SimpleStatsCounter();
+    /** Advanced by every invalidation, so that an item loaded while an invalidation took place is not held. */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter writeInvalidations;
+    private final Counter changeStreamInvalidations;
+    private final Counter validationInvalidations;
+
+    /**
+     * Held while the change stream is opened, which is done on a request thread. A lock rather than a monitor, so
+     * that a virtual thread opening the change stream does not pin its carrier thread.
+     */
+    private final Lock changeStreamLock = new ReentrantLock();
+
+    private MessageListenerContainer container;
+    private volatile Subscription subscription;
+    /** The time (in milliseconds) at which the change stream may next be reopened, should it not be open. */
+    private volatile long nextOpenAttempt;
+
+    public CertificateItemCache(final CertificateItemCacheConfig config,
+                                final MongoTemplate mongoTemplate,
+                                final MeterRegistry registry) {
+        this.config = config;
+        this.mongoTemplate = mongoTemplate;
+        this.converter = mongoTemplate.getConverter();
+        this.items = CacheBuilder.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTimeToLiveSeconds(), SECONDS)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(registry, new ForwardingCache.SimpleForwardingCache<String, HeldItem>(items) {
+            @Override
+            public CacheStats stats() {
+                return getStats();
+            }
+        }, CERTIFICATE_ITEMS_CACHE);
+        Gauge.builder(ITEM_CACHE_HIT_RATIO_GAUGE, this, cache -> cache.getStats().hitRate()).register(registry);
+        this.writeInvalidations = registry.counter(ITEM_CACHE_INVALIDATIONS_COUNTER, SOURCE_TAG, WRITE_SOURCE);
+        this.changeStreamInvalidations =
+                registry.counter(ITEM_CACHE_INVALIDATIONS_COUNTER, SOURCE_TAG, CHANGE_STREAM_SOURCE);
+        this.validationInvalidations =
+                registry.counter(ITEM_CACHE_INVALIDATIONS_COUNTER, SOURCE_TAG, VALIDATION_SOURCE);
+    }
+
+    /**
+     * Opens the change stream on the certificates collection, if the cache is to be kept coherent with other
+     * instances.
+     */
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled() || !config.isChangeStreamEnabled()) {
+            return;
+        }
+        container = new DefaultMessageListenerContainer(mongoTemplate);
+        container.start();
+        openChangeStream();
+    }
+
+    /**
+     * Closes the change stream, if open.
+     */
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+    }
+
+    /**
+     * Gets the certificate item by its ID, loading it only if it is not already held with its current etag.
+     *
+     * @param id the ID of the certificate item
+     * @param loader loads the item from the database
+     * @param etagLoader looks up the current etag of the item stored, returning an item holding only that
+     * @return the item, which the caller is free to modify, or {@link Optional#empty()} if it was not found
+     */
+    public Optional<CertificateItem> get(final String id,
+                                         final Function<String, Optional<CertificateItem>> loader,
+                                         final Function<String, Optional<CertificateItem>> etagLoader) {
+        if (!isCoherent() || id == null) {
+            return loader.apply(id);
+        }
+        final HeldItem held = items.asMap().get(id);
+        if (held != null) {
+            final Optional<CertificateItem> current = etagLoader.apply(id);
+            if (current.isPresent() && Objects.equals(current.get().getEtag(), held.etag)) {
+                lookups.recordHits(1);
+                return Optional.of(converter.read(CertificateItem.class, held.document));
+            }
+            // Changed (or deleted) by another instance, and not yet reported by the change stream.
+            invalidate(id, validationInvalidations);
+            if (!current.isPresent()) {
+                lookups.recordMisses(1);
+                return Optional.empty();
+            }
+        }
+
+        lookups.recordMisses(1);
+        final long invalidationsBeforeLoad = invalidations.get();
+        final Optional<CertificateItem> loaded = loader.apply(id);
+        loaded.ifPresent(item -> {
+            final Document document = new Document();
+            converter.write(item, document);
+            items.put(id, new HeldItem(item.getEtag(), document));
+            if (invalidations.get() != invalidationsBeforeLoad) {
+                // The item may have been loaded before a change that has since been reported.
+                items.invalidate(id);
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Discards the certificate item, which is being written by this instance.
+     *
+     * @param id the ID of the certificate item
+     */
+    public void invalidate(final String id) {
+        invalidate(id, writeInvalidations);
+    }
+
+    /**
+     * Discards the certificate item written, as reported by the change stream. Inserts are ignored, as an item not
+     * yet inserted cannot be held.
+     *
+     * @param message the change stream event
+     */
+    @Override
+    public void onMessage(final Message<ChangeStreamDocument<Document>, Document> message) {
+        final ChangeStreamDocument<Document> change = message.getRaw();
+        if (change == null || change.getOperationType() == OperationType.INSERT) {
+            return;
+        }
+        final BsonDocument key = change.getDocumentKey();
+        if (key != null && key.isString(MONGO_ID_FIELD)) {
+            invalidate(key.getString(MONGO_ID_FIELD).getValue(), changeStreamInvalidations);
+        } else {
+            // e.g. the collection has been dropped
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Gets the hit, miss and eviction statistics of the certificate item cache.
+     * @return the cache statistics
+     */
+    public CacheStats getStats() {
+        return lookups.snapshot().plus(items.stats());
+    }
+
+    /**
+     * Discards all of the certificate items held.
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        items.invalidateAll();
+    }
+
+    /**
+     * @return whether any item held can be relied upon to be current
+     */
+    boolean isCoherent() {
+        if (!config.isEnabled()) {
+            return false;
+        }
+        if (!config.isChangeStreamEnabled()) {
+            return true;
+        }
+        if (subscription.isActive()) {
+            return true;
+        }
+        if (System.currentTimeMillis() >= nextOpenAttempt) {
+            reopenChangeStream();
+        }
+        return false;
+    }
+
+    private void openChangeStream() {
+        changeStreamLock.lock();
+        try {
+            nextOpenAttempt = System.currentTimeMillis() + SECONDS.toMillis(config.getChangeStreamRetrySeconds());
+            final ChangeStreamRequestOptions options = new ChangeStreamRequestOptions(
+                    mongoTemplate.getCollectionName(CertificateItem.class), ChangeStreamOptions.empty());
+            subscription = container.register(new ChangeStreamRequest<>(this, options), Document.class,
+                    this::handleChangeStreamError);
+        } finally {
+            changeStreamLock.unlock();
+        }
+    }
+
+    private void reopenChangeStream() {
+        // Requests finding the change stream being reopened by another request simply bypass the cache meanwhile.
+        if (!changeStreamLock.tryLock()) {
+            return;
+        }
+        try {
+            if (subscription.isActive() || System.currentTimeMillis() < nextOpenAttempt) {
+                return;
+            }
+            LOGGER.info("Reopening certificate item change stream");
+            container.remove(subscription);
+            // Anything held may have been changed elsewhere while the change stream was not open.
+            invalidateAll();
+            openChangeStream();
+        } finally {
+            changeStreamLock.unlock();
+        }
+    }
+
+    private void invalidate(final String id, final Counter source) {
+        invalidations.incrementAndGet();
+        items.invalidate(id);
+        source.increment();
+    }
+
+    private void handleChangeStreamError(final Throwable error) {
+        LOGGER.error("Certificate item change stream failed, certificate item cache bypassed until it is reopened",
+                error instanceof Exception ? (Exception) error : new Exception(error));
+        invalidateAll();
+    }
+
+    /**
+     * An item held, as its stored document, together with its etag, so that it is validated before it is read.
+     */
+    private static final class HeldItem {
+
+        private final String etag;
+        private final Document document;
+
+        private HeldItem(final String etag, final Document document) {
+            this.etag = etag;
+            this.document = document;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+
+import java.util.Optional;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+/**
+ * Holds the owner of the certificate item, as already looked up during the handling of the current HTTP request by
+ * {@link uk.gov.companieshouse.certificates.orders.api.interceptor.UserAuthorisationInterceptor}, so that the etag
+ * read with it can be reused rather than read again. The owner is held as a request attribute, and so does not
+ * outlive the request. Outside of a request, nothing is held.
+ */
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+public class CertificateItemRequestContext {
+
+    /** The request attribute holding the item looked up, which holds only its ID, user ID and etag. */
+    public static final String CERTIFICATE_ITEM_OWNER_ATTRIBUTE =
+            CertificateItemRequestContext.class.getName() + ".OWNER";
+
+    /**
+     * Gets the owner of the item looked up for the current request, provided its ID matches that sought.
+     *
+     * @param id the ID of the certificate item sought
+     * @return the item looked up, holding only its ID, user ID and etag, or {@link Optional#empty()} if none is held
+     * for the ID
+     */
+    public Optional<CertificateItem> getCertificateItemOwner(final String id) {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || id == null) {
+            return Optional.empty();
+        }
+        final Object owner = attributes.getAttribute(CERTIFICATE_ITEM_OWNER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (owner instanceof CertificateItem && id.equals(((CertificateItem) owner).getId())) {
+            return Optional.of((CertificateItem) owner);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Discards any owner held for the current request, e.g. once the etag read with it has been superseded by a save.
+     */
+    public void clear() {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(CERTIFICATE_ITEM_OWNER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
@@ -1,19 +1,27 @@
 package uk.gov.companieshouse.certificates.orders.api.service;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Service;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
 import uk.gov.companieshouse.certificates.orders.api.model.Item;
+import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemFilter;
+import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemKey;
 import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemRepository;
+import uk.gov.companieshouse.certificates.orders.api.util.EtagHeaderHelper;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
 import static uk.gov.companieshouse.certificates.orders.api.ItemType.CERTIFICATE;
 
 /**
  * Service for the management and storage of certificate items.
  */
 @Service
+@ConditionalOnWebApplication(type = SERVLET)
 public class CertificateItemService {
 
     private final CertificateItemRepository repository;
@@ -22,6 +30,9 @@ public class CertificateItemService {
     private final CertificateCostCalculatorService calculator;
     private final EtagGeneratorService etagGenerator;
     private final LinksGeneratorService linksGenerator;
+    private final CertificateItemRequestContext itemContext;
+    private final CertificateItemCache itemCache;
+    private final ItemCostsWriteBack costsWriteBack;
 
     public CertificateItemService(final CertificateItemRepository repository,
 
@@ -29,46 +40,120 @@ public class CertificateItemService {
                                   final IdGeneratorService idGenerator,
                                   final CertificateCostCalculatorService calculator,
                                   final EtagGeneratorService etagGenerator,
-                                  final LinksGeneratorService linksGenerator) {
+                                  final LinksGeneratorService linksGenerator,
+                                  final CertificateItemRequestContext itemContext,
+                                  final CertificateItemCache itemCache,
+                                  final ItemCostsWriteBack costsWriteBack) {
         this.repository = repository;
         this.idGenerator = idGenerator;
         this.descriptions = descriptions;
         this.calculator = calculator;
         this.etagGenerator = etagGenerator;
         this.linksGenerator = linksGenerator;
+        this.itemContext = itemContext;
+        this.itemCache = itemCache;
+        this.costsWriteBack = costsWriteBack;
     }
 
     /**
-     * Creates the certificate item in the database.
+     * Creates the certificate item, complete with its calculated costs, in the database, obtaining its company name
+     * only once all of the other fields of the item have been populated, immediately prior to its storage. This allows
+     * the company name to be looked up concurrently. The item is inserted, rather than saved, so that it can never
+     * overwrite an item already stored under the same ID.
      *
      * @param item the item to be created
+     * @param companyName supplies the company name, blocking until it is available if need be
      * @return the created item
      */
-    public CertificateItem createCertificateItem(final CertificateItem item) {
+    public CertificateItem createCertificateItem(final CertificateItem item, final Supplier<String> companyName) {
+        populateCreatedFields(item);
+        item.setCompanyName(companyName.get());
+        final CertificateItem itemSaved = repository.insert(item);
+        itemCache.invalidate(itemSaved.getId());
+        return itemSaved;
+    }
+
+    /**
+     * Creates the certificate items, complete with their calculated costs, in the database, using a single bulk
+     * insert.
+     *
+     * @param items the items to be created
+     * @return the created items, in the order provided
+     */
+    public List<CertificateItem> createCertificateItems(final List<CertificateItem> items) {
+        items.forEach(this::populateCreatedFields);
+        final List<CertificateItem> itemsSaved = repository.insert(items);
+        itemsSaved.forEach(item -> itemCache.invalidate(item.getId()));
+        return itemsSaved;
+    }
+
+    /**
+     * Saves the changes made to the certificate item to the database, provided that the item stored has not been
+     * updated by anyone else since it was retrieved, i.e., that its etag is still that of the item retrieved. Only the
+     * changed fields (including the derived etag, updated at and description fields) are written. The check and the
+     * save are performed as a single atomic database operation. The costs of the item are recalculated (and so
+     * saved) only if the update changes its quantity or delivery timescale; otherwise those retrieved are kept, and
+     * re-priced only if out of date.
+     *
+     * @param retrievedCertificateItem the certificate item as retrieved, prior to its update
+     * @param updatedCertificateItem the certificate item to save
+     * @return the latest certificate item state resulting from the save, or {@link Optional#empty()} if the item
+     * stored no longer has the etag expected (or no longer exists)
+     */
+    public Optional<CertificateItem> saveCertificateItem(final CertificateItem retrievedCertificateItem,
+                                                         final CertificateItem updatedCertificateItem) {
+        populateUpdatedFields(retrievedCertificateItem, updatedCertificateItem);
+        final CertificateItem itemSaved =
+                repository.findAndModifyIfUnmodified(retrievedCertificateItem, updatedCertificateItem);
+        // Whether saved or not, the etag read for the request (and any item cached) is now out of date.
+        itemContext.clear();
+        itemCache.invalidate(retrievedCertificateItem.getId());
+        if (itemSaved == null) {
+            return Optional.empty();
+        }
+        return Optional.of(populateItemCosts(itemSaved));
+    }
+
+    /**
+     * Sets the read only fields, the ID, the creation 'timestamps', the etag, the links and the costs on the item
+     * being created.
+     *
+     * @param item the item being created
+     */
+    void populateCreatedFields(final CertificateItem item) {
         CERTIFICATE.populateReadOnlyFields(item, descriptions);
         item.setId(idGenerator.autoGenerateId());
         setCreationDateTimes(item);
         item.setEtag(etagGenerator.generateEtag());
         item.setLinks(linksGenerator.generateLinks(item.getId()));
-        final CertificateItem itemSaved = repository.save(item);
-        CERTIFICATE.populateItemCosts(itemSaved, calculator);
-        return itemSaved;
+        CERTIFICATE.populateItemCosts(item, calculator);
     }
 
     /**
-     * Saves the certificate item, assumed to have been updated, to the database.
+     * Sets the updated at 'timestamp', the derived description fields and a new etag on the item being updated, and
+     * recalculates its costs should the update change its quantity or delivery timescale.
      *
-     * @param updatedCertificateItem the certificate item to save
-     * @return the latest certificate item state resulting from the save
+     * @param retrievedCertificateItem the item as retrieved, prior to its update
+     * @param updatedCertificateItem the item being updated
      */
-    public CertificateItem saveCertificateItem(final CertificateItem updatedCertificateItem) {
+    void populateUpdatedFields(final CertificateItem retrievedCertificateItem,
+                               final CertificateItem updatedCertificateItem) {
+        populateUpdatedFields(updatedCertificateItem);
+        if (!CERTIFICATE.isCostedAlike(retrievedCertificateItem, updatedCertificateItem)) {
+            CERTIFICATE.populateItemCosts(updatedCertificateItem, calculator);
+        }
+    }
+
+    /**
+     * Sets the updated at 'timestamp', the derived description fields and a new etag on the item being updated.
+     *
+     * @param updatedCertificateItem the item being updated
+     */
+    private void populateUpdatedFields(final CertificateItem updatedCertificateItem) {
         final LocalDateTime now = LocalDateTime.now();
         updatedCertificateItem.setUpdatedAt(now);
         CERTIFICATE.populateDerivedDescriptionFields(updatedCertificateItem, descriptions);
         updatedCertificateItem.setEtag(etagGenerator.generateEtag());
-        final CertificateItem itemSaved = repository.save(updatedCertificateItem);
-        CERTIFICATE.populateItemCosts(itemSaved, calculator);
-        return itemSaved;
     }
 
     /**
@@ -84,25 +169,89 @@ public class CertificateItemService {
 
     /**
      * Gets the certificate item by its ID, and returns it as-is, without decorating it in any way.
-     * (Compare with {@link #getCertificateItemWithCosts(String)}).
+     * Reuses the item cached, if it is held with its current etag, which is itself reused from the owner lookup made
+     * for the current request, if there is one.
      *
      * @param id the ID of the certificate item to be retrieved
      * @return the undecorated item retrieved from the DB
      */
     public Optional<CertificateItem> getCertificateItemById(String id) {
-        return repository.findById(id);
+        return itemCache.get(id, repository::findById, this::getCurrentEtagById);
     }
 
     /**
-     * Gets the certificate item by its ID, calculating its costs on the fly.
-     * (Compare with {@link #getCertificateItemById(String)}).
+     * Looks up who owns the certificate item, and its current etag, without reading the item itself.
      *
-     * @param id the ID of the certificate item to be retrieved
-     * @return the item, complete with its calculated costs
+     * @param id the ID of the certificate item
+     * @return the item, holding only its ID, user ID and etag, or {@link Optional#empty()} if it was not found
+     */
+    public Optional<CertificateItem> getCertificateItemOwnerById(final String id) {
+        return repository.findOwnerById(id);
+    }
+
+    /**
+     * Gets the current etag of the certificate item as already read by the owner lookup made for the current
+     * request, without reading anything from the database.
+     *
+     * @param id the ID of the certificate item
+     * @return the etag, or {@link Optional#empty()} if no owner lookup of the item has been made for the request
+     */
+    public Optional<String> getLookedUpEtagById(final String id) {
+        return itemContext.getCertificateItemOwner(id).map(CertificateItem::getEtag);
+    }
+
+    /**
+     * Gets the current etag of the certificate item, reusing that read by the owner lookup made for the current
+     * request, if there is one, and otherwise reading it from the owner index.
+     *
+     * @param id the ID of the certificate item
+     * @return the item, holding only its etag (and ID), or {@link Optional#empty()} if it was not found
+     */
+    private Optional<CertificateItem> getCurrentEtagById(final String id) {
+        final Optional<CertificateItem> owner = itemContext.getCertificateItemOwner(id);
+        return owner.isPresent() ? owner : repository.findEtagById(id);
+    }
+
+    /**
+     * Lists the certificate items matching the filter, newest first. The items listed hold only their summary fields,
+     * and have no costs calculated.
+     *
+     * @param filter the criteria the items must match
+     * @param after the key of the last item already listed, or <code>null</code> to start from the newest item
+     * @param limit the maximum number of items to list
+     * @return the items found
+     */
+    public List<CertificateItem> getCertificateItems(final CertificateItemFilter filter,
+                                                     final CertificateItemKey after,
+                                                     final int limit) {
+        return repository.findPage(filter, after, limit);
+    }
+
+    /**
+     * Ensures that the certificate item already retrieved, e.g. via {@link #getCertificateItemById(String)}, holds
+     * its current costs. The costs stored with the item are kept if calculated under the current tariff. Otherwise
+     * (e.g. should the configured costs have changed since), they are recalculated, and queued to be written back.
+     *
+     * @param item the item retrieved
+     * @return the same item, complete with its current costs
+     */
+    public CertificateItem populateItemCosts(final CertificateItem item) {
+        if (!CERTIFICATE.hasCurrentItemCosts(item, calculator)) {
+            CERTIFICATE.populateItemCosts(item, calculator);
+            costsWriteBack.add(item);
+        }
+        return item;
+    }
+
+    /**
+     * Gets the entity tag under which the certificate item is served, and against which conditional requests for it
+     * are evaluated. This changes whenever either the item or the tariff under which its costs are calculated
+     * changes.
+     *
+     * @param itemEtag the etag stored with the item
+     * @return the entity tag, or <code>null</code> if the item has no etag
      */
-    public Optional<CertificateItem> getCertificateItemWithCosts(final String id) {
-        final Optional<CertificateItem> retrievedItem = repository.findById(id);
-        retrievedItem.ifPresent(item -> CERTIFICATE.populateItemCosts(item, calculator));
-        return retrievedItem;
+    public String getEntityTag(final String itemEtag) {
+        return EtagHeaderHelper.toEntityTag(itemEtag, calculator.getTariffVersion());
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import uk.gov.companieshouse.certificates.orders.api.config.CostsSnapshot;
+import uk.gov.companieshouse.certificates.orders.api.model.DeliveryTimescale;
+import uk.gov.companieshouse.certificates.orders.api.model.ItemCosts;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * An immutable table of the certificate costs for a single delivery timescale, computed once from the configured
+ * costs. The costs for any quantity of certificates are then resolved by lookup rather than calculated per request.
+ * The {@link ItemCosts} instances held are shared by all of the calculations this provides, and must not be
+ * modified.
+ */
+final class CertificateTariff {
+
+    /** The number of quantities (from 1 upwards) for which the cost calculations are built up front. */
+    static final int PRECOMPUTED_QUANTITIES = 100;
+
+    private final ItemCosts firstCertificateCosts;
+    private final ItemCosts additionalCertificateCosts;
+    private final int firstCertificateCalculatedCost;
+    private final int additionalCertificateCalculatedCost;
+    private final int postageCost;
+    private final String postageCostString;
+    private final String tariffVersion;
+    private final CertificateCostCalculation[] calculations;
+
+    /**
+     * Constructor.
+     * @param costs the configured costs
+     * @param deliveryTimescale the delivery timescale the tariff is for
+     * @param postageCost the postage cost
+     * @param tariffVersion the version of the tariff, borne by each of the calculations it provides
+     */
+    CertificateTariff(final CostsSnapshot costs,
+                      final DeliveryTimescale deliveryTimescale,
+                      final String postageCost,
+                      final String tariffVersion) {
+        final int individualCost = deliveryTimescale.getIndividualCertificateCost(costs);
+        final int extraDiscount = deliveryTimescale.getExtraCertificateDiscount(costs);
+        final String individualCostString = Integer.toString(individualCost);
+
+        firstCertificateCalculatedCost = individualCost;
+        additionalCertificateCalculatedCost = individualCost - extraDiscount;
+        firstCertificateCosts = new ItemCosts("0",
+                individualCostString,
+                individualCostString,
+                deliveryTimescale.getFirstCertificateProductType());
+        additionalCertificateCosts = new ItemCosts(Integer.toString(extraDiscount),
+                individualCostString,
+                Integer.toString(additionalCertificateCalculatedCost),
+                deliveryTimescale.getAdditionalCertificatesProductType());
+        this.postageCost = Integer.parseInt(postageCost);
+        this.postageCostString = postageCost;
+        this.tariffVersion = tariffVersion;
+
+        calculations = new CertificateCostCalculation[PRECOMPUTED_QUANTITIES];
+        for (int quantity = 1; quantity <= PRECOMPUTED_QUANTITIES; quantity++) {
+            calculations[quantity - 1] = createCalculation(quantity);
+        }
+    }
+
+    /**
+     * Gets the costs calculation for the quantity of certificates provided.
+     * @param quantity the quantity of certificates, assumed to be >= 1
+     * @return the costs calculation
+     */
+    CertificateCostCalculation getCalculation(final int quantity) {
+        return quantity <= PRECOMPUTED_QUANTITIES ? calculations[quantity - 1] : createCalculation(quantity);
+    }
+
+    /**
+     * Creates the costs calculation for the quantity of certificates provided. The item costs list is a view over
+     * the shared first and additional certificate costs, so its size does not affect the allocation required.
+     * @param quantity the quantity of certificates
+     * @return the costs calculation
+     */
+    private CertificateCostCalculation createCalculation(final int quantity) {
+        final int totalItemCost = firstCertificateCalculatedCost
+                + (quantity - 1) * additionalCertificateCalculatedCost
+                + postageCost;
+        return new CertificateCostCalculation(
+                new ItemCostsList(quantity, firstCertificateCosts, additionalCertificateCosts),
+                postageCostString,
+                Integer.toString(totalItemCost),
+                tariffVersion);
+    }
+
+    /**
+     * Unmodifiable list of the costs of each of a quantity of certificates: the first certificate costs followed by
+     * the additional certificate costs for each of the others.
+     */
+    private static final class ItemCostsList extends AbstractList<ItemCosts> implements RandomAccess {
+
+        private final int size;
+        private final ItemCosts first;
+        private final ItemCosts additional;
+
+        private ItemCostsList(final int size, final ItemCosts first, final ItemCosts additional) {
+            this.size = size;
+            this.first = first;
+            this.additional = additional;
+        }
+
+        @Override
+        public ItemCosts get(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return index == 0 ? first : additional;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
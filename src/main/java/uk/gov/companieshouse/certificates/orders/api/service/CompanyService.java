@@ -1,5 +1,29 @@
 package uk.gov.companieshouse.certificates.orders.api.service;
 
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedThreadPoolBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedTimeLimiterMetrics;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -7,12 +31,27 @@ import org.springframework.web.util.UriTemplate;
 import uk.gov.companieshouse.api.ApiClient;
 import uk.gov.companieshouse.api.error.ApiErrorResponseException;
 import uk.gov.companieshouse.api.handler.exception.URIValidationException;
+import uk.gov.companieshouse.certificates.orders.api.config.CompanyLookupConfig;
+import uk.gov.companieshouse.certificates.orders.api.config.CompanyNameCacheConfig;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.COMPANY_LOOKUP_ERRORS_COUNTER;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.COMPANY_LOOKUP_TIMER;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.STATUS_TAG;
 
 @Service
+@ConditionalOnWebApplication(type = SERVLET)
 public class CompanyService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
@@ -21,18 +60,147 @@ public class CompanyService {
             GET_COMPANY_URI =
             new UriTemplate("/company/{companyNumber}");
 
+    private static final String COMPANY_NAMES_CACHE = "company_names";
+
+    /** The name under which the limits on the company profiles API calls publish their metrics. */
+    private static final String COMPANY_PROFILES_API = "company_profiles_api";
+
+    private static final String TIMEOUT_STATUS = "timeout";
+    private static final String REJECTED_STATUS = "rejected";
+    private static final String CIRCUIT_OPEN_STATUS = "circuit_open";
+
     private final ApiClientService apiClientService;
+    private final MeterRegistry registry;
+
+    /** Fails calls fast while the company profiles API is failing or timing out. */
+    private final CircuitBreaker circuitBreaker;
+    /** Limits the number of concurrent company profiles API calls. Each call is made on one of its threads. */
+    private final ThreadPoolBulkhead bulkhead;
+    /** Abandons any company profiles API call that takes too long. */
+    private final TimeLimiter timeLimiter;
+
+    /**
+     * Company names keyed by company number. Concurrent lookups of a company number not yet held result in a
+     * single call to the company profiles API. Names are refreshed in the background ahead of their expiry.
+     */
+    private final LoadingCache<String, String> companyNames;
 
-    public CompanyService(final ApiClientService apiClientService) {
+    public CompanyService(final ApiClientService apiClientService,
+                          final CompanyNameCacheConfig cacheConfig,
+                          final CompanyLookupConfig lookupConfig,
+                          final MeterRegistry registry) {
         this.apiClientService = apiClientService;
+        this.registry = registry;
+        this.circuitBreaker = createCircuitBreaker(lookupConfig, registry);
+        this.bulkhead = createBulkhead(lookupConfig, registry);
+        this.timeLimiter = createTimeLimiter(lookupConfig, registry);
+        final ExecutorService refreshExecutor = Executors.newFixedThreadPool(cacheConfig.getRefreshThreads(),
+                new ThreadFactoryBuilder().setNameFormat("company-name-refresh-%d").setDaemon(true).build());
+        this.companyNames = CacheBuilder.newBuilder()
+                .maximumSize(cacheConfig.getMaximumSize())
+                .expireAfterWrite(cacheConfig.getTimeToLiveSeconds(), SECONDS)
+                .refreshAfterWrite(cacheConfig.getRefreshAfterSeconds(), SECONDS)
+                .recordStats()
+                .build(CacheLoader.asyncReloading(CacheLoader.from(this::getCompanyNameFromApiWithinLimits),
+                        refreshExecutor));
+        GuavaCacheMetrics.monitor(registry, companyNames, COMPANY_NAMES_CACHE);
     }
 
     /**
-     * Interrogates the company profiles API to get the company name for the company number provided.
+     * Gets the company name for the company number provided, interrogating the company profiles API only
+     * if the name is not already held.
      * @param companyNumber the number of the company
      * @return the name for the company
      */
+    @Timed(COMPANY_LOOKUP_TIMER)
     public String getCompanyName(final String companyNumber) {
+        if (companyNumber == null) {
+            return getCompanyNameFromApiWithinLimits(null);
+        }
+        try {
+            return companyNames.getUnchecked(companyNumber);
+        } catch (UncheckedExecutionException ex) {
+            if (ex.getCause() instanceof ResponseStatusException) {
+                throw (ResponseStatusException) ex.getCause();
+            }
+            throw ex;
+        } catch (CacheLoader.InvalidCacheLoadException ex) {
+            // The company profiles API provided no name, which is not held.
+            return null;
+        }
+    }
+
+    /**
+     * Gets the hit, miss and load time statistics of the company name cache.
+     * @return the cache statistics
+     */
+    public CacheStats getCompanyNameCacheStats() {
+        return companyNames.stats();
+    }
+
+    /**
+     * Discards all of the company names held.
+     */
+    void invalidateCompanyNames() {
+        companyNames.invalidateAll();
+    }
+
+    /**
+     * Closes the circuit breaker, discarding the outcomes of the calls made so far.
+     */
+    void resetCircuitBreaker() {
+        circuitBreaker.reset();
+    }
+
+    /**
+     * Interrogates the company profiles API to get the company name for the company number provided, subject to the
+     * circuit breaker, bulkhead and timeout. The call is made on a bulkhead thread, so that the requesting thread
+     * can stop waiting for it once the timeout has elapsed.
+     * @param companyNumber the number of the company
+     * @return the name for the company
+     * @throws ResponseStatusException exactly as {@link #getCompanyNameFromApi(String)} would, or with a
+     * {@link HttpStatus#SERVICE_UNAVAILABLE} status should the call time out, be rejected by the bulkhead, or not be
+     * permitted by the (open) circuit breaker
+     */
+    private String getCompanyNameFromApiWithinLimits(final String companyNumber) {
+        try {
+            return circuitBreaker.executeCallable(() -> {
+                try {
+                    return timeLimiter.executeFutureSupplier(() -> bulkhead
+                            .executeSupplier(() -> getCompanyNameFromApi(companyNumber))
+                            .toCompletableFuture());
+                } catch (CompletionException | ExecutionException ex) {
+                    throw unwrap(ex);
+                }
+            });
+        } catch (TimeoutException ex) {
+            throw getServiceUnavailableException(TIMEOUT_STATUS,
+                    "Timed out getting company name for company number " + companyNumber, ex);
+        } catch (BulkheadFullException ex) {
+            throw getServiceUnavailableException(REJECTED_STATUS,
+                    "Too many concurrent requests to get company names, rejected request for company number "
+                            + companyNumber, ex);
+        } catch (CallNotPermittedException ex) {
+            throw getServiceUnavailableException(CIRCUIT_OPEN_STATUS,
+                    "Company names temporarily unavailable, rejected request for company number "
+                            + companyNumber, ex);
+        } catch (RuntimeException ex) {
+            // Includes the ResponseStatusExceptions thrown by getCompanyNameFromApi().
+            throw ex;
+        } catch (Exception ex) {
+            // Should this happen (unlikely), it is a broken contract, hence 500.
+            final String error = "Error getting company name for company number " + companyNumber;
+            LOGGER.error(error, ex);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, error);
+        }
+    }
+
+    /**
+     * Interrogates the company profiles API to get the company name for the company number provided.
+     * @param companyNumber the number of the company
+     * @return the name for the company
+     */
+    private String getCompanyNameFromApi(final String companyNumber) {
 
         final ApiClient apiClient = apiClientService.getInternalApiClient();
         final String uri = GET_COMPANY_URI.expand(companyNumber).toString();
@@ -52,6 +220,21 @@ public class CompanyService {
         return companyName;
     }
 
+    /**
+     * Creates an exception to report that the company profiles API call was not made, or was abandoned.
+     * @param status the status with which the failure is counted
+     * @param error the error message
+     * @param cause the exception caught
+     * @return the {@link ResponseStatusException} exception to report the problem
+     */
+    private ResponseStatusException getServiceUnavailableException(final String status,
+                                                                    final String error,
+                                                                    final Exception cause) {
+        registry.counter(COMPANY_LOOKUP_ERRORS_COUNTER, STATUS_TAG, status).increment();
+        LOGGER.error(error, cause);
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, error);
+    }
+
     /**
      * Creates an appropriate exception to report the underlying problem.
      * @param apiException the API exception caught
@@ -65,6 +248,8 @@ public class CompanyService {
                                                                final String companyNumber,
                                                                final String uri) {
 
+        registry.counter(COMPANY_LOOKUP_ERRORS_COUNTER,
+                STATUS_TAG, Integer.toString(apiException.getStatusCode())).increment();
         final ResponseStatusException propagatedException;
         if (apiException.getStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR.value()) {
             final String error = "Error sending request to "
@@ -79,4 +264,56 @@ public class CompanyService {
         return propagatedException;
     }
 
+    /**
+     * Gets the exception thrown by the company profiles API call from the wrapper(s) in which it has been delivered
+     * to the requesting thread.
+     * @param wrapper the wrapping exception
+     * @return the underlying exception
+     */
+    private static Exception unwrap(final Exception wrapper) {
+        Throwable cause = wrapper;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return (Exception) cause;
+    }
+
+    private static CircuitBreaker createCircuitBreaker(final CompanyLookupConfig config, final MeterRegistry registry) {
+        final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(config.getFailureRateThreshold())
+                .slidingWindowSize(config.getSlidingWindowSize())
+                .minimumNumberOfCalls(config.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(Duration.ofSeconds(config.getWaitInOpenStateSeconds()))
+                // Company not found etc. (400) says nothing about the health of the API.
+                .recordException(ex -> !(ex instanceof ResponseStatusException)
+                        || ((ResponseStatusException) ex).getStatus().is5xxServerError())
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(registry);
+        return circuitBreakers.circuitBreaker(COMPANY_PROFILES_API);
+    }
+
+    private static ThreadPoolBulkhead createBulkhead(final CompanyLookupConfig config, final MeterRegistry registry) {
+        final ThreadPoolBulkheadRegistry bulkheads = ThreadPoolBulkheadRegistry.of(ThreadPoolBulkheadConfig.custom()
+                .coreThreadPoolSize(config.getMaxConcurrentCalls())
+                .maxThreadPoolSize(config.getMaxConcurrentCalls())
+                .queueCapacity(config.getMaxQueuedCalls())
+                .build());
+        TaggedThreadPoolBulkheadMetrics.ofThreadPoolBulkheadRegistry(bulkheads).bindTo(registry);
+        return bulkheads.bulkhead(COMPANY_PROFILES_API);
+    }
+
+    private static TimeLimiter createTimeLimiter(final CompanyLookupConfig config, final MeterRegistry registry) {
+        final TimeLimiterRegistry timeLimiters = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(config.getTimeoutMillis()))
+                .cancelRunningFuture(true)
+                .build());
+        TaggedTimeLimiterMetrics.ofTimeLimiterRegistry(timeLimiters).bindTo(registry);
+        return timeLimiters.timeLimiter(COMPANY_PROFILES_API);
+    }
+
 }
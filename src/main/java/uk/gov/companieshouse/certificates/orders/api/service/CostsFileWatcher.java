@@ -0,0 +1,105 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsConfig;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsReloadConfig;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsSnapshot;
+import uk.gov.companieshouse.certificates.orders.api.util.FileWatcher;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
+
+/**
+ * Reloads the costs from the file configured by {@link CostsReloadConfig}, if any, whenever that file changes, and
+ * publishes them through the {@link CostsService}. Costs found not to be valid are rejected, leaving those in use
+ * unchanged.
+ */
+@Component
+public class CostsFileWatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
+
+    private static final String COSTS_PREFIX = "costs";
+
+    private final CostsReloadConfig config;
+    private final CostsService costs;
+
+    private Path file;
+    private FileWatcher watcher;
+
+    public CostsFileWatcher(final CostsReloadConfig config, final CostsService costs) {
+        this.config = config;
+        this.costs = costs;
+    }
+
+    /**
+     * Loads the costs from the file, if it already exists, and starts watching it for changes. The application fails
+     * to start should the costs in the file not be valid.
+     * @throws IOException should the file not be readable, or its directory not be watchable
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        if (!StringUtils.hasText(config.getFile())) {
+            return;
+        }
+        file = Paths.get(config.getFile()).toAbsolutePath();
+        if (Files.exists(file)) {
+            reload();
+        }
+        watcher = FileWatcher.watch(file, "costs-file-watcher", this::reloadChangedFile);
+    }
+
+    /**
+     * Stops watching the file.
+     * @throws IOException should the watch service fail to close
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    /**
+     * Loads the costs from the file, and publishes them.
+     * @return the costs now in use
+     * @throws IOException should the file not be readable
+     * @throws IllegalArgumentException should the file hold no costs, or costs that are not valid
+     */
+    public CostsSnapshot reload() throws IOException {
+        final List<PropertySource<?>> sources =
+                new YamlPropertySourceLoader().load(file.toString(), new FileSystemResource(file.toFile()));
+        if (sources.isEmpty()) {
+            throw new IllegalArgumentException("no costs found in " + file);
+        }
+        final CostsConfig candidate = new Binder(ConfigurationPropertySources.from(sources.get(0)))
+                .bind(COSTS_PREFIX, Bindable.of(CostsConfig.class))
+                .orElseThrow(() -> new IllegalArgumentException("no costs found in " + file));
+        return costs.publish(candidate);
+    }
+
+    private void reloadChangedFile() {
+        try {
+            reload();
+        } catch (IOException | RuntimeException ex) {
+            // The file may have been read part way through being written, in which case it is reloaded once written.
+            LOGGER.error("Error reloading costs from " + file, ex);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsConfig;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsSnapshot;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.COSTS_VERSION_GAUGE;
+
+/**
+ * Holds the costs in use, as an immutable {@link CostsSnapshot}, starting with those configured in
+ * <code>costs.yaml</code>. New costs may be published at any time without a restart, e.g. by
+ * {@link CostsFileWatcher}. Readers are never blocked: each simply gets the snapshot current at the time.
+ */
+@Service
+public class CostsService implements MeterBinder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
+
+    private final Validator validator;
+    private final AtomicReference<CostsSnapshot> costs;
+
+    /**
+     * Constructor.
+     * @param costs the costs configured in <code>costs.yaml</code>, already validated
+     * @param validator validates any costs published
+     */
+    public CostsService(final CostsConfig costs, final Validator validator) {
+        this.validator = validator;
+        this.costs = new AtomicReference<>(new CostsSnapshot(1, costs));
+    }
+
+    /**
+     * @return the costs currently in use
+     */
+    public CostsSnapshot getCosts() {
+        return costs.get();
+    }
+
+    /**
+     * Validates the costs provided, and, if they differ from those currently in use, publishes them as the next
+     * version of the costs.
+     * @param candidate the costs to be published
+     * @return the costs now in use
+     * @throws IllegalArgumentException should the costs provided not be valid, in which case the costs in use are
+     * left unchanged
+     */
+    public CostsSnapshot publish(final CostsConfig candidate) {
+        final Set<ConstraintViolation<CostsConfig>> violations = validator.validate(candidate);
+        if (!violations.isEmpty()) {
+            final String errors = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+            final Map<String, Object> logMap = new HashMap<>();
+            logMap.put("errors", errors);
+            LOGGER.error("Costs rejected", logMap);
+            throw new IllegalArgumentException("invalid costs: " + errors);
+        }
+
+        final CostsSnapshot published = costs.updateAndGet(current -> current.hasSameCosts(candidate) ?
+                current : new CostsSnapshot(current.getVersion() + 1, candidate));
+        final Map<String, Object> logMap = new HashMap<>();
+        logMap.put("costs", published.toString());
+        LOGGER.info("Costs in use", logMap);
+        return published;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        Gauge.builder(COSTS_VERSION_GAUGE, costs, current -> current.get().getVersion()).register(registry);
+    }
+}
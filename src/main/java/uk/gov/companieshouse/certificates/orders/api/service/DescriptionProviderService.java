@@ -1,23 +1,30 @@
 package uk.gov.companieshouse.certificates.orders.api.service;
 
-import org.apache.commons.lang.text.StrSubstitutor;
 import org.springframework.stereotype.Service;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import uk.gov.companieshouse.certificates.orders.api.util.FileWatcher;
 import uk.gov.companieshouse.logging.Logger;
 import uk.gov.companieshouse.logging.LoggerFactory;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Map;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singletonMap;
 import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
 
 /**
- * Service that provides the description fields to facilitate UI text rendering.
+ * Service that provides the description fields to facilitate UI text rendering. The orders descriptions file is
+ * watched once the service starts, and its description reloaded whenever it changes. Should the changed file appear
+ * incomplete, the description previously loaded remains in use. A file read part way through being written is taken
+ * to be incomplete if it does not end with a line break, or if its description holds no
+ * <code>{company_number}</code> placeholder. Neither check is applied to the description loaded at start up.
  */
 @Service
 public class DescriptionProviderService {
@@ -32,15 +39,82 @@ public class DescriptionProviderService {
 
     private static final String LOG_MESSAGE_FILE_KEY = "file";
 
-    private final String companyCertificateDescription;
+    private static final String LINE_BREAK = "\n";
+
+    private final File ordersDescriptionsFile;
+
+    private volatile DescriptionTemplate companyCertificateDescription;
+
+    private FileWatcher watcher;
 
     public DescriptionProviderService() {
-        final File ordersDescriptionsFile = new File(ORDERS_DESCRIPTIONS_FILEPATH);
-        companyCertificateDescription = getCompanyCertificateDescription(ordersDescriptionsFile);
+        this(new File(ORDERS_DESCRIPTIONS_FILEPATH));
     }
 
     public DescriptionProviderService(final File ordersDescriptionsFile) {
-        companyCertificateDescription = getCompanyCertificateDescription(ordersDescriptionsFile);
+        this.ordersDescriptionsFile = ordersDescriptionsFile;
+        final String ordersDescriptions = readOrdersDescriptions();
+        companyCertificateDescription =
+                ordersDescriptions != null ? getCompanyCertificateDescription(ordersDescriptions) : null;
+    }
+
+    /**
+     * Starts watching the orders descriptions file for changes, provided its directory exists.
+     * @throws IOException should the directory of the file not be watchable
+     */
+    @PostConstruct
+    public void start() throws IOException {
+        final File directory = ordersDescriptionsFile.getAbsoluteFile().getParentFile();
+        if (directory == null || !directory.isDirectory()) {
+            logOrdersDescriptionsConfigError("Orders descriptions directory not found, file not watched",
+                    LOG_MESSAGE_FILE_KEY,
+                    ordersDescriptionsFile.getAbsolutePath());
+            return;
+        }
+        watcher = FileWatcher.watch(ordersDescriptionsFile.toPath(), "orders-descriptions-watcher", this::reload);
+    }
+
+    /**
+     * Stops watching the orders descriptions file.
+     * @throws IOException should the watch service fail to close
+     */
+    @PreDestroy
+    public void stop() throws IOException {
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    /**
+     * Reloads the description from the orders descriptions file, replacing the description in use only if a complete
+     * one is found.
+     */
+    void reload() {
+        final String ordersDescriptions = readOrdersDescriptions();
+        if (ordersDescriptions == null) {
+            return;
+        }
+        if (!ordersDescriptions.endsWith(LINE_BREAK)) {
+            logOrdersDescriptionsConfigError("Orders descriptions file does not end with a line break, not reloaded",
+                    LOG_MESSAGE_FILE_KEY,
+                    ordersDescriptionsFile.getAbsolutePath());
+            return;
+        }
+        final DescriptionTemplate reloaded = getCompanyCertificateDescription(ordersDescriptions);
+        if (reloaded == null) {
+            return;
+        }
+        if (!reloaded.hasPlaceholder(COMPANY_NUMBER_KEY)) {
+            logOrdersDescriptionsConfigError(
+                    "Company certificate description holds no company number placeholder, not reloaded",
+                    LOG_MESSAGE_FILE_KEY,
+                    ordersDescriptionsFile.getAbsolutePath());
+            return;
+        }
+        companyCertificateDescription = reloaded;
+        final Map<String, Object> logMap = new HashMap<>();
+        logMap.put(LOG_MESSAGE_FILE_KEY, ordersDescriptionsFile.getAbsolutePath());
+        LOGGER.info("Orders descriptions reloaded", logMap);
     }
 
     /**
@@ -49,37 +123,32 @@ public class DescriptionProviderService {
      * @return the configured description, or <code>null</code> if none found.
      */
     public String getDescription(final String companyNumber) {
-        if (companyCertificateDescription == null) {
+        final DescriptionTemplate description = companyCertificateDescription;
+        if (description == null) {
             // Error logged again here at time description is requested.
             logOrdersDescriptionsConfigError("Company certificate description not found in orders descriptions file",
                     COMPANY_CERTIFICATE_DESCRIPTION_KEY,
                     COMPANY_CERTIFICATE_DESCRIPTION_KEY);
             return null;
         }
-        final Map<String, String> descriptionValues = singletonMap(COMPANY_NUMBER_KEY, companyNumber);
-        return StrSubstitutor.replace(companyCertificateDescription, descriptionValues, "{", "}");
+        return description.render(singletonMap(COMPANY_NUMBER_KEY, companyNumber));
     }
 
     /**
      * Gets the description values.
      * @param companyNumber the company number making up part of the description values
      * @param itemType the item type, usually a value of certificate, certified-copy, scan-on-demand
-     * @return the description values
+     * @return the description values, which cannot be changed
      */
     public Map<String, String> getDescriptionValues(final String companyNumber, String itemType) {
-        Map<String, String> descriptionValues = new HashMap<>();
-        descriptionValues.put(itemType, getDescription(companyNumber));
-        descriptionValues.put(COMPANY_NUMBER_KEY, companyNumber);
-        return descriptionValues;
+        return DescriptionValues.of(itemType, getDescription(companyNumber), COMPANY_NUMBER_KEY, companyNumber);
     }
 
     /**
-     * Looks up the company certificate description by its key 'company-certificate' under the
-     * 'certificate-description' section of the orders descriptions YAML file.
-     * @param ordersDescriptionsFile the orders descriptions YAML file
-     * @return the value found or <code>null</code> if none found.
+     * Reads the orders descriptions file.
+     * @return the contents of the file, or <code>null</code> if it is not found or cannot be read
      */
-    private String getCompanyCertificateDescription(final File ordersDescriptionsFile) {
+    private String readOrdersDescriptions() {
 
         if (!ordersDescriptionsFile.exists()) {
             logOrdersDescriptionsConfigError("Orders descriptions file not found",
@@ -88,10 +157,34 @@ public class DescriptionProviderService {
             return null;
         }
 
-        String companyCertificateDesc = null;
-        try(final InputStream inputStream = new FileInputStream(ordersDescriptionsFile)) {
+        try {
+            return new String(Files.readAllBytes(ordersDescriptionsFile.toPath()), UTF_8);
+        } catch (IOException ioe) {
+            // This is very unlikely to happen here given File.exists() check above, unless the file is removed
+            // in the meantime, in which case it is reloaded once replaced.
+            LOGGER.error("Error reading orders descriptions file " + ordersDescriptionsFile.getAbsolutePath(), ioe);
+            return null;
+        }
+    }
+
+    /**
+     * Looks up the company certificate description by its key 'company-certificate' under the
+     * 'certificate-description' section of the orders descriptions YAML.
+     * @param ordersDescriptions the contents of the orders descriptions YAML file
+     * @return the value found, compiled, or <code>null</code> if none found.
+     */
+    private DescriptionTemplate getCompanyCertificateDescription(final String ordersDescriptions) {
+
+        final String companyCertificateDesc;
+        try {
             final Yaml yaml = new Yaml();
-            final Map<String, Object> orderDescriptions = yaml.load(inputStream);
+            final Map<String, Object> orderDescriptions = yaml.load(ordersDescriptions);
+            if (orderDescriptions == null) {
+                logOrdersDescriptionsConfigError("Orders descriptions file is empty",
+                        LOG_MESSAGE_FILE_KEY,
+                        ordersDescriptionsFile.getAbsolutePath());
+                return null;
+            }
             final Map<String, String> certificateDescriptions =
                     (Map<String, String>) orderDescriptions.get(CERTIFICATE_DESCRIPTION_KEY);
             if (certificateDescriptions == null) {
@@ -106,12 +199,14 @@ public class DescriptionProviderService {
                 logOrdersDescriptionsConfigError("Company certificate description not found in orders descriptions file",
                         COMPANY_CERTIFICATE_DESCRIPTION_KEY,
                         COMPANY_CERTIFICATE_DESCRIPTION_KEY);
+                return null;
             }
-        } catch (IOException ioe) {
-            // This is very unlikely to happen here given File.exists() check above,
-            // and that it is not likely to encounter an error closing the stream either.
+        } catch (YAMLException | ClassCastException ex) {
+            // The file may have been read part way through being changed, in which case it is reloaded once changed.
+            LOGGER.error("Error reading orders descriptions file " + ordersDescriptionsFile.getAbsolutePath(), ex);
+            return null;
         }
-        return companyCertificateDesc;
+        return DescriptionTemplate.compile(companyCertificateDesc);
     }
 
     /**
@@ -0,0 +1,93 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A description template, such as <code>certificate for company {company_number}</code>, compiled once into its
+ * literal and placeholder segments so that rendering it only appends those segments to a single builder sized to fit.
+ * A placeholder with no value is rendered as it appears in the template.
+ */
+final class DescriptionTemplate {
+
+    private static final char PLACEHOLDER_PREFIX = '{';
+    private static final char PLACEHOLDER_SUFFIX = '}';
+
+    private final String template;
+    private final String[] literals;
+    private final String[] placeholders;
+
+    private DescriptionTemplate(final String template, final String[] literals, final String[] placeholders) {
+        this.template = template;
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    /**
+     * Compiles the template.
+     * @param template the template, in which each placeholder is a name within braces
+     * @return the compiled template
+     */
+    static DescriptionTemplate compile(final String template) {
+        final List<String> literals = new ArrayList<>();
+        final List<String> placeholders = new ArrayList<>();
+        int literalStart = 0;
+        int prefix = template.indexOf(PLACEHOLDER_PREFIX);
+        while (prefix >= 0) {
+            final int suffix = template.indexOf(PLACEHOLDER_SUFFIX, prefix + 1);
+            if (suffix < 0) {
+                break;
+            }
+            final int nestedPrefix = template.lastIndexOf(PLACEHOLDER_PREFIX, suffix);
+            literals.add(template.substring(literalStart, nestedPrefix));
+            placeholders.add(template.substring(nestedPrefix + 1, suffix));
+            literalStart = suffix + 1;
+            prefix = template.indexOf(PLACEHOLDER_PREFIX, literalStart);
+        }
+        literals.add(template.substring(literalStart));
+        return new DescriptionTemplate(template,
+                literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    /**
+     * Renders the template.
+     * @param values the placeholder values, by placeholder name
+     * @return the template with each placeholder replaced by its value
+     */
+    String render(final Map<String, String> values) {
+        final String[] renderedValues = new String[placeholders.length];
+        int length = 0;
+        for (int index = 0; index < placeholders.length; index++) {
+            final String value = values.get(placeholders[index]);
+            renderedValues[index] = value != null ? value : PLACEHOLDER_PREFIX + placeholders[index] + PLACEHOLDER_SUFFIX;
+            length += literals[index].length() + renderedValues[index].length();
+        }
+        length += literals[placeholders.length].length();
+
+        final StringBuilder rendered = new StringBuilder(length);
+        for (int index = 0; index < placeholders.length; index++) {
+            rendered.append(literals[index]).append(renderedValues[index]);
+        }
+        return rendered.append(literals[placeholders.length]).toString();
+    }
+
+    /**
+     * Determines whether the template holds the placeholder named.
+     * @param name the placeholder name
+     * @return whether the placeholder appears, complete, in the template
+     */
+    boolean hasPlaceholder(final String name) {
+        for (final String placeholder : placeholders) {
+            if (placeholder.equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
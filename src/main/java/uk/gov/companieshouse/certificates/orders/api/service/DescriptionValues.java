@@ -0,0 +1,78 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The description values of an item: its description, keyed by its item type, and its company number. These are held
+ * in two fields rather than a hash table, and cannot be changed. Unlike most immutable maps, either value may be
+ * <code>null</code>.
+ */
+final class DescriptionValues extends AbstractMap<String, String> {
+
+    private final Entry<String, String> description;
+    private final Entry<String, String> companyNumber;
+
+    private DescriptionValues(final Entry<String, String> description, final Entry<String, String> companyNumber) {
+        this.description = description;
+        this.companyNumber = companyNumber;
+    }
+
+    /**
+     * Gets the description values.
+     * @param descriptionKey the key of the description, usually the item type
+     * @param description the description
+     * @param companyNumberKey the key of the company number
+     * @param companyNumber the company number
+     * @return the description values, of which the company number is kept should the keys be the same
+     */
+    static Map<String, String> of(final String descriptionKey,
+                                  final String description,
+                                  final String companyNumberKey,
+                                  final String companyNumber) {
+        if (Objects.equals(descriptionKey, companyNumberKey)) {
+            return Collections.singletonMap(companyNumberKey, companyNumber);
+        }
+        return new DescriptionValues(new SimpleImmutableEntry<>(descriptionKey, description),
+                new SimpleImmutableEntry<>(companyNumberKey, companyNumber));
+    }
+
+    @Override
+    public String get(final Object key) {
+        if (Objects.equals(key, companyNumber.getKey())) {
+            return companyNumber.getValue();
+        }
+        return Objects.equals(key, description.getKey()) ? description.getValue() : null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return Objects.equals(key, description.getKey()) || Objects.equals(key, companyNumber.getKey());
+    }
+
+    @Override
+    public int size() {
+        return 2;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<Entry<String, String>>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return Collections.unmodifiableList(Arrays.asList(description, companyNumber)).iterator();
+            }
+
+            @Override
+            public int size() {
+                return 2;
+            }
+        };
+    }
+}
@@ -1,22 +1,164 @@
 package uk.gov.companieshouse.certificates.orders.api.service;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Service;
+import uk.gov.companieshouse.certificates.orders.api.repository.DatabaseSequenceRepository;
 
-import java.security.SecureRandom;
-import java.util.Calendar;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongUnaryOperator;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
+/**
+ * Generates certificate item IDs of the form <code>CRT-XXXXXX-XXXXXX</code> from a single sequence shared by all of
+ * the running instances of this API. Each instance leases blocks of {@link #LEASE_SIZE} values from the sequence,
+ * whose high-water mark is held in the database, and issues the values of its current lease without any further
+ * coordination. IDs are therefore unique across threads, across instances and across restarts, none of which need
+ * any configuration to tell them apart. At worst, the unissued remainder of a lease is lost on a restart.
+ * <p>
+ * The legacy IDs were made up of 4 random digits followed by 8 digits of time, in units of 100 seconds since the
+ * Unix epoch, and so all end with a number between 10000000 and 19999999 (for any time between 2001 and 2033). The
+ * IDs generated here always end with a number of 20000000 or above, so can never be one of the legacy IDs.
+ * <p>
+ * The reactive stack generates its IDs from the same sequence through {@link ReactiveIdGeneratorService}.
+ */
 @Service
+@ConditionalOnWebApplication(type = SERVLET)
 public class IdGeneratorService {
 
+    static final String SEQUENCE_NAME = "certificate_item_ids";
+    static final long LEASE_SIZE = 1_000L;
+
+    /** The trailing 8 digits of an ID run from 20000000 to 99999999, giving 8 * 10^7 values for each leading 4. */
+    private static final long TRAILING_DIGITS_OFFSET = 20_000_000L;
+    private static final long TRAILING_VALUES = 80_000_000L;
+    private static final long TRAILING_MODULUS = 100_000_000L;
+    /** The number of values in the sequence, for all of the 10^4 possible leading digits. */
+    static final long SEQUENCE_LIMIT = 10_000L * TRAILING_VALUES;
+
+    private static final char[] PREFIX = {'C', 'R', 'T', '-'};
+
+    private final LongUnaryOperator leases;
+    private final AtomicReference<Lease> lease = new AtomicReference<>(Lease.NONE);
+    private final Lock leaseLock = new ReentrantLock();
+
+    @Autowired
+    public IdGeneratorService(final DatabaseSequenceRepository sequences) {
+        this(count -> sequences.reserve(SEQUENCE_NAME, count));
+    }
+
+    /**
+     * Constructor.
+     * @param leases reserves the number of values given from the sequence, returning the first of them
+     */
+    IdGeneratorService(final LongUnaryOperator leases) {
+        this.leases = leases;
+    }
+
     public String autoGenerateId() {
-        SecureRandom random = new SecureRandom();
-        byte[] values = new byte[4];
-        random.nextBytes(values);
-        String rand = String.format("%04d", random.nextInt(9999));
-        String time = String.format("%08d", Calendar.getInstance().getTimeInMillis() / 100000L);
-        String rawId = rand + time;
-        String[] tranId = rawId.split("(?<=\\G.{6})");
-        return "CRT-" + String.join("-", tranId);
+        return toId(nextValue());
+    }
+
+    /**
+     * Takes the next value of the current lease, leasing a further block of values once it is used up.
+     * @return the value, unique to this call
+     */
+    private long nextValue() {
+        while (true) {
+            final Lease current = lease.get();
+            final long value = current.take();
+            if (value >= 0) {
+                return value;
+            }
+            renewLease(current);
+        }
+    }
+
+    /**
+     * Leases a further block of values, unless another thread has already replaced the lease used up.
+     * @param usedUp the lease found to be used up
+     * @throws IllegalStateException should the sequence itself be used up
+     */
+    private void renewLease(final Lease usedUp) {
+        leaseLock.lock();
+        try {
+            if (lease.get() == usedUp) {
+                lease.set(Lease.of(leases.applyAsLong(LEASE_SIZE)));
+            }
+        } finally {
+            leaseLock.unlock();
+        }
+    }
+
+    /**
+     * Converts the value taken from the sequence into its ID.
+     * @param value the value
+     * @return the ID
+     */
+    static String toId(final long value) {
+        return format((value / TRAILING_VALUES) * TRAILING_MODULUS + TRAILING_DIGITS_OFFSET + value % TRAILING_VALUES);
+    }
+
+    /**
+     * Formats the 12 digit number provided as <code>CRT-XXXXXX-XXXXXX</code>.
+     * @param digits the number to format
+     * @return the formatted ID
+     */
+    private static String format(long digits) {
+        final char[] id = new char[17];
+        System.arraycopy(PREFIX, 0, id, 0, PREFIX.length);
+        id[10] = '-';
+        for (int position = 16; position >= 4; position--) {
+            if (position == 10) {
+                continue;
+            }
+            id[position] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        return new String(id);
+    }
+
+    /**
+     * A block of values leased from the sequence, from which values are taken until it is used up.
+     */
+    static final class Lease {
+
+        /** A lease already used up, held until the first lease is taken out. */
+        static final Lease NONE = new Lease(0L, 0L);
+
+        private final AtomicLong next;
+        private final long end;
+
+        private Lease(final long start, final long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+
+        /**
+         * Creates the lease of the {@link #LEASE_SIZE} values reserved from the sequence.
+         * @param start the first of the values reserved
+         * @return the lease
+         * @throws IllegalStateException should the sequence be used up
+         */
+        static Lease of(final long start) {
+            if (start + LEASE_SIZE > SEQUENCE_LIMIT) {
+                throw new IllegalStateException("Certificate item ID sequence used up at " + start + "!");
+            }
+            return new Lease(start, start + LEASE_SIZE);
+        }
+
+        /**
+         * Takes the next value of the lease.
+         * @return the value, unique to this call, or -1 should the lease be used up
+         */
+        long take() {
+            final long value = next.getAndIncrement();
+            return value < end ? value : -1L;
+        }
     }
 
 }
@@ -0,0 +1,149 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.certificates.orders.api.config.ItemCostsWriteBackConfig;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemRepository;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.ITEM_COSTS_WRITE_BACK_COUNTER;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.OUTCOME_TAG;
+
+/**
+ * Writes back the costs of certificate items re-priced on read (because the tariff has changed since the costs were
+ * stored), so that each item is re-priced only once per tariff change. The items are written in batches, as bulk
+ * writes, by a single background thread. Each write is conditional upon the item's etag being unchanged, so that the
+ * costs of an item updated in the meantime are never overwritten. Should the write-back fall behind, or fail, the
+ * items affected are simply re-priced again when next read.
+ * <p>
+ * The reactive stack writes back its items through {@link ReactiveItemCostsWriteBack}.
+ */
+@Component
+@ConditionalOnWebApplication(type = SERVLET)
+public class ItemCostsWriteBack {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
+
+    static final String WRITTEN_OUTCOME = "written";
+    static final String SUPERSEDED_OUTCOME = "superseded";
+    static final String DROPPED_OUTCOME = "dropped";
+    static final String FAILED_OUTCOME = "failed";
+
+    private final ItemCostsWriteBackConfig config;
+    private final CertificateItemRepository repository;
+    private final CertificateItemCache itemCache;
+
+    private final PendingItemCosts pending;
+
+    /**
+     * Held while items are written back, so that only one thread writes at a time. A lock rather than a monitor, so
+     * that a virtual thread blocked on a write does not pin its carrier thread.
+     */
+    private final Lock flushLock = new ReentrantLock();
+
+    private final Counter written;
+    private final Counter superseded;
+    private final Counter dropped;
+    private final Counter failed;
+
+    private ScheduledExecutorService flusher;
+
+    public ItemCostsWriteBack(final ItemCostsWriteBackConfig config,
+                              final CertificateItemRepository repository,
+                              final CertificateItemCache itemCache,
+                              final MeterRegistry registry) {
+        this.config = config;
+        this.repository = repository;
+        this.itemCache = itemCache;
+        this.pending = new PendingItemCosts(config);
+        this.written = registry.counter(ITEM_COSTS_WRITE_BACK_COUNTER, OUTCOME_TAG, WRITTEN_OUTCOME);
+        this.superseded = registry.counter(ITEM_COSTS_WRITE_BACK_COUNTER, OUTCOME_TAG, SUPERSEDED_OUTCOME);
+        this.dropped = registry.counter(ITEM_COSTS_WRITE_BACK_COUNTER, OUTCOME_TAG, DROPPED_OUTCOME);
+        this.failed = registry.counter(ITEM_COSTS_WRITE_BACK_COUNTER, OUTCOME_TAG, FAILED_OUTCOME);
+    }
+
+    /**
+     * Starts the background thread that periodically writes back the items awaiting write-back.
+     */
+    @PostConstruct
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("item-costs-write-back-%d").setDaemon(true).build());
+        flusher.scheduleWithFixedDelay(this::flush,
+                config.getFlushIntervalMillis(), config.getFlushIntervalMillis(), MILLISECONDS);
+    }
+
+    /**
+     * Stops the background thread, and writes back any items still awaiting write-back.
+     */
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        flush();
+    }
+
+    /**
+     * Queues the costs of the re-priced item for write-back. Should the item already be queued, only its latest costs
+     * are written.
+     *
+     * @param item the item, holding its etag as read and its re-priced costs
+     */
+    public void add(final CertificateItem item) {
+        if (!pending.add(item)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Writes back all of the items awaiting write-back, in batches.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<CertificateItem> batch = pending.nextBatch(config.getBatchSize());
+            while (!batch.isEmpty()) {
+                write(batch);
+                batch = pending.nextBatch(config.getBatchSize());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of items awaiting write-back
+     */
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    private void write(final List<CertificateItem> batch) {
+        try {
+            final int updated = repository.updateCostsIfUnmodified(batch);
+            written.increment(updated);
+            superseded.increment((double) batch.size() - updated);
+        } catch (RuntimeException ex) {
+            failed.increment(batch.size());
+            LOGGER.error("Error writing back the costs of " + batch.size() + " certificate items", ex);
+        }
+        batch.forEach(item -> itemCache.invalidate(item.getId()));
+    }
+}
@@ -0,0 +1,78 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import uk.gov.companieshouse.certificates.orders.api.config.ItemCostsWriteBackConfig;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The re-priced certificate item costs awaiting write-back, shared by {@link ItemCostsWriteBack} and
+ * {@link ReactiveItemCostsWriteBack}. Each item is held only once, with its latest costs.
+ */
+final class PendingItemCosts {
+
+    /** The items awaiting write-back keyed by ID, each holding only its ID, its etag as read and its costs. */
+    private final ConcurrentMap<String, CertificateItem> pending = new ConcurrentHashMap<>();
+
+    private final ItemCostsWriteBackConfig config;
+
+    PendingItemCosts(final ItemCostsWriteBackConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Queues the costs of the re-priced item. Should the item already be queued, only its latest costs are kept.
+     *
+     * @param item the item, holding its etag as read and its re-priced costs
+     * @return <code>false</code> should the item have been dropped because too many items are already queued,
+     * otherwise <code>true</code>
+     */
+    boolean add(final CertificateItem item) {
+        if (item.getId() == null || item.getEtag() == null || item.getItemCosts() == null) {
+            return true;
+        }
+        if (pending.size() >= config.getMaximumPendingItems() && !pending.containsKey(item.getId())) {
+            return false;
+        }
+        final CertificateItem costs = new CertificateItem();
+        costs.setId(item.getId());
+        costs.setEtag(item.getEtag());
+        costs.setItemCosts(new ArrayList<>(item.getItemCosts()));
+        costs.setPostageCost(item.getPostageCost());
+        costs.setTotalItemCost(item.getTotalItemCost());
+        costs.setTariffVersion(item.getTariffVersion());
+        pending.put(item.getId(), costs);
+        return true;
+    }
+
+    /**
+     * Takes the next batch of items off the queue.
+     *
+     * @param batchSize the maximum number of items to take
+     * @return the items taken, none should the queue be empty
+     */
+    List<CertificateItem> nextBatch(final int batchSize) {
+        final List<CertificateItem> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        for (final Map.Entry<String, CertificateItem> entry : pending.entrySet()) {
+            if (batch.size() == batchSize) {
+                break;
+            }
+            // Only removed if not replaced in the meantime by the item's latest costs, which are then left queued.
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * @return the number of items awaiting write-back
+     */
+    int size() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,142 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.repository.ReactiveCertificateItemRepository;
+import uk.gov.companieshouse.certificates.orders.api.util.EtagHeaderHelper;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static uk.gov.companieshouse.certificates.orders.api.ItemType.CERTIFICATE;
+
+/**
+ * The non-blocking counterpart of {@link CertificateItemService}, used by the reactive stack. The fields of the items
+ * are populated exactly as they are by {@link CertificateItemService}; only their storage, and the leasing of their
+ * IDs, differ.
+ */
+@Service
+@ConditionalOnWebApplication(type = REACTIVE)
+public class ReactiveCertificateItemService {
+
+    private final ReactiveCertificateItemRepository repository;
+    private final ReactiveIdGeneratorService idGenerator;
+    private final DescriptionProviderService descriptions;
+    private final CertificateCostCalculatorService calculator;
+    private final EtagGeneratorService etagGenerator;
+    private final LinksGeneratorService linksGenerator;
+    private final ReactiveItemCostsWriteBack costsWriteBack;
+
+    public ReactiveCertificateItemService(final ReactiveCertificateItemRepository repository,
+                                          final ReactiveIdGeneratorService idGenerator,
+                                          final DescriptionProviderService descriptions,
+                                          final CertificateCostCalculatorService calculator,
+                                          final EtagGeneratorService etagGenerator,
+                                          final LinksGeneratorService linksGenerator,
+                                          final ReactiveItemCostsWriteBack costsWriteBack) {
+        this.repository = repository;
+        this.idGenerator = idGenerator;
+        this.descriptions = descriptions;
+        this.calculator = calculator;
+        this.etagGenerator = etagGenerator;
+        this.linksGenerator = linksGenerator;
+        this.costsWriteBack = costsWriteBack;
+    }
+
+    /**
+     * Creates the certificate item, complete with its calculated costs, in the database, obtaining its company name
+     * only once all of the other fields of the item have been populated, immediately prior to its storage. The
+     * company name is looked up concurrently with the generation of the item's ID.
+     *
+     * @param item the item to be created
+     * @param companyName the company name, which may be empty
+     * @return the created item
+     */
+    public Mono<CertificateItem> createCertificateItem(final CertificateItem item, final Mono<String> companyName) {
+        CERTIFICATE.populateReadOnlyFields(item, descriptions);
+        final LocalDateTime now = LocalDateTime.now();
+        item.setCreatedAt(now);
+        item.setUpdatedAt(now);
+        item.setEtag(etagGenerator.generateEtag());
+        CERTIFICATE.populateItemCosts(item, calculator);
+        return Mono.zip(idGenerator.generateId(), companyName.map(Optional::of).defaultIfEmpty(Optional.empty()))
+                .flatMap(idAndName -> {
+                    item.setId(idAndName.getT1());
+                    item.setLinks(linksGenerator.generateLinks(item.getId()));
+                    item.setCompanyName(idAndName.getT2().orElse(null));
+                    return repository.insert(item);
+                });
+    }
+
+    /**
+     * Gets the certificate item by its ID, and returns it as-is, without decorating it in any way.
+     *
+     * @param id the ID of the certificate item to be retrieved
+     * @return the undecorated item retrieved from the DB, or empty if it was not found
+     */
+    public Mono<CertificateItem> getCertificateItemById(final String id) {
+        return repository.findById(id);
+    }
+
+    /**
+     * Looks up who owns the certificate item, without reading the item itself.
+     *
+     * @param id the ID of the certificate item
+     * @return the item, holding only its ID and user ID, or empty if it was not found
+     */
+    public Mono<CertificateItem> getCertificateItemOwnerById(final String id) {
+        return repository.findOwnerById(id);
+    }
+
+    /**
+     * Ensures that the certificate item retrieved holds its current costs, as
+     * {@link CertificateItemService#populateItemCosts(CertificateItem)} does.
+     *
+     * @param item the item retrieved
+     * @return the same item, complete with its current costs
+     */
+    public CertificateItem populateItemCosts(final CertificateItem item) {
+        if (!CERTIFICATE.hasCurrentItemCosts(item, calculator)) {
+            CERTIFICATE.populateItemCosts(item, calculator);
+            costsWriteBack.add(item);
+        }
+        return item;
+    }
+
+    /**
+     * Gets the entity tag under which the certificate item is served, and against which conditional requests for it
+     * are evaluated. This changes whenever either the item or the tariff under which its costs are calculated
+     * changes.
+     *
+     * @param itemEtag the etag stored with the item
+     * @return the entity tag, or <code>null</code> if the item has no etag
+     */
+    public String getEntityTag(final String itemEtag) {
+        return EtagHeaderHelper.toEntityTag(itemEtag, calculator.getTariffVersion());
+    }
+
+    /**
+     * Saves the changes made to the certificate item to the database, provided that the item stored has not been
+     * updated by anyone else since it was retrieved, as
+     * {@link CertificateItemService#saveCertificateItem(CertificateItem, CertificateItem)} does.
+     *
+     * @param retrievedCertificateItem the certificate item as retrieved, prior to its update
+     * @param updatedCertificateItem the certificate item to save
+     * @return the latest certificate item state resulting from the save, or empty if the item stored no longer has
+     * the etag expected (or no longer exists)
+     */
+    public Mono<CertificateItem> saveCertificateItem(final CertificateItem retrievedCertificateItem,
+                                                     final CertificateItem updatedCertificateItem) {
+        updatedCertificateItem.setUpdatedAt(LocalDateTime.now());
+        CERTIFICATE.populateDerivedDescriptionFields(updatedCertificateItem, descriptions);
+        updatedCertificateItem.setEtag(etagGenerator.generateEtag());
+        if (!CERTIFICATE.isCostedAlike(retrievedCertificateItem, updatedCertificateItem)) {
+            CERTIFICATE.populateItemCosts(updatedCertificateItem, calculator);
+        }
+        return repository.findAndModifyIfUnmodified(retrievedCertificateItem, updatedCertificateItem)
+                .map(this::populateItemCosts);
+    }
+}
@@ -0,0 +1,300 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriTemplate;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.certificates.orders.api.config.CompanyLookupConfig;
+import uk.gov.companieshouse.certificates.orders.api.config.CompanyNameCacheConfig;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static uk.gov.companieshouse.certificates.orders.api.environment.RequiredEnvironmentVariables.API_URL;
+import static uk.gov.companieshouse.certificates.orders.api.environment.RequiredEnvironmentVariables.CHS_API_KEY;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.COMPANY_LOOKUP_ERRORS_COUNTER;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.STATUS_TAG;
+
+/**
+ * The non-blocking counterpart of {@link CompanyService}, used by the reactive stack. The company profiles API is
+ * called through a {@link WebClient}, so that no thread waits on the call. The call is subject to the same circuit
+ * breaker settings and timeout as those of {@link CompanyService}; its concurrency is limited by a semaphore rather
+ * than by a pool of threads, none being needed. Failures are reported with the same statuses and messages.
+ * <p>
+ * Company names are held exactly as they are by {@link CompanyService}: concurrent lookups of a company number not yet
+ * held result in a single call, names are refreshed in the background ahead of their expiry (the name held being
+ * kept should the refresh fail), and neither errors nor missing names are held.
+ */
+@Service
+@ConditionalOnWebApplication(type = REACTIVE)
+public class ReactiveCompanyService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
+
+    private static final UriTemplate
+            GET_COMPANY_URI =
+            new UriTemplate("/company/{companyNumber}");
+
+    private static final String COMPANY_NAME_FIELD = "company_name";
+
+    private static final String COMPANY_NAMES_CACHE = "company_names";
+
+    /** The name under which the limits on the company profiles API calls publish their metrics. */
+    private static final String COMPANY_PROFILES_API = "company_profiles_api";
+
+    private static final String TIMEOUT_STATUS = "timeout";
+    private static final String REJECTED_STATUS = "rejected";
+    private static final String CIRCUIT_OPEN_STATUS = "circuit_open";
+
+    private final WebClient webClient;
+    private final MeterRegistry registry;
+    private final Duration timeout;
+
+    /** Fails calls fast while the company profiles API is failing or timing out. */
+    private final CircuitBreaker circuitBreaker;
+    /** Limits the number of concurrent company profiles API calls. */
+    private final Bulkhead bulkhead;
+
+    /** Company names, each with the time at which it was loaded, keyed by company number. */
+    private final Cache<String, CompanyName> companyNames;
+    /** The lookup of each company number under way, shared by all of those awaiting its outcome. */
+    private final ConcurrentMap<String, Mono<String>> lookups = new ConcurrentHashMap<>();
+    /** How long after it is loaded a company name is refreshed ahead of its expiry, in nanoseconds. */
+    private final long refreshAfterNanos;
+    private final Ticker ticker;
+
+    public ReactiveCompanyService(final WebClient.Builder webClientBuilder,
+                                  final CompanyNameCacheConfig cacheConfig,
+                                  final CompanyLookupConfig lookupConfig,
+                                  final MeterRegistry registry) {
+        this(webClientBuilder
+                        .baseUrl(System.getenv(API_URL.getName()))
+                        .defaultHeaders(headers -> headers.setBasicAuth(System.getenv(CHS_API_KEY.getName()), ""))
+                        .build(),
+                cacheConfig, lookupConfig, registry, Ticker.systemTicker());
+    }
+
+    /**
+     * Constructor.
+     * @param webClient the client of the company profiles API
+     * @param cacheConfig the company name cache configuration
+     * @param lookupConfig the company profiles API call limits
+     * @param registry the meter registry
+     * @param ticker the time source by which company names expire and are refreshed
+     */
+    ReactiveCompanyService(final WebClient webClient,
+                           final CompanyNameCacheConfig cacheConfig,
+                           final CompanyLookupConfig lookupConfig,
+                           final MeterRegistry registry,
+                           final Ticker ticker) {
+        this.webClient = webClient;
+        this.registry = registry;
+        this.timeout = Duration.ofMillis(lookupConfig.getTimeoutMillis());
+        this.circuitBreaker = createCircuitBreaker(lookupConfig, registry);
+        this.bulkhead = createBulkhead(lookupConfig, registry);
+        this.ticker = ticker;
+        this.refreshAfterNanos = SECONDS.toNanos(cacheConfig.getRefreshAfterSeconds());
+        this.companyNames = CacheBuilder.newBuilder()
+                .maximumSize(cacheConfig.getMaximumSize())
+                .expireAfterWrite(cacheConfig.getTimeToLiveSeconds(), SECONDS)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        GuavaCacheMetrics.monitor(registry, companyNames, COMPANY_NAMES_CACHE);
+    }
+
+    /**
+     * Gets the company name for the company number provided, interrogating the company profiles API only
+     * if the name is not already held.
+     * @param companyNumber the number of the company
+     * @return the name for the company, or empty should the company profiles API provide no name
+     */
+    public Mono<String> getCompanyName(final String companyNumber) {
+        if (companyNumber == null) {
+            return getCompanyNameFromApiWithinLimits(null);
+        }
+        return Mono.defer(() -> {
+            final CompanyName companyName = companyNames.getIfPresent(companyNumber);
+            if (companyName == null) {
+                return lookUpCompanyName(companyNumber);
+            }
+            if (ticker.read() - companyName.loadedAt >= refreshAfterNanos) {
+                // The outcome of the refresh is awaited by no one: any error has already been reported.
+                lookUpCompanyName(companyNumber).subscribe(name -> { }, ex -> { });
+            }
+            return Mono.just(companyName.name);
+        });
+    }
+
+    /**
+     * Looks up the company name, and holds it, joining any lookup of the same company number already under way.
+     * @param companyNumber the number of the company
+     * @return the name for the company, or empty should the company profiles API provide no name
+     */
+    private Mono<String> lookUpCompanyName(final String companyNumber) {
+        return lookups.computeIfAbsent(companyNumber, number -> getCompanyNameFromApiWithinLimits(number)
+                .doOnNext(name -> companyNames.put(number, new CompanyName(name, ticker.read())))
+                .doFinally(signal -> lookups.remove(number))
+                .cache());
+    }
+
+    /**
+     * Discards all of the company names held.
+     */
+    void invalidateCompanyNames() {
+        companyNames.invalidateAll();
+    }
+
+    /**
+     * Interrogates the company profiles API to get the company name for the company number provided, subject to the
+     * circuit breaker, bulkhead and timeout.
+     * @param companyNumber the number of the company
+     * @return the name for the company, or an error exactly as {@link CompanyService#getCompanyName(String)} would
+     * throw
+     */
+    private Mono<String> getCompanyNameFromApiWithinLimits(final String companyNumber) {
+        final String uri = GET_COMPANY_URI.expand(companyNumber).toString();
+        return webClient.get()
+                .uri(uri)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .flatMap(company -> Mono.justOrEmpty(company.hasNonNull(COMPANY_NAME_FIELD)
+                        ? company.get(COMPANY_NAME_FIELD).asText() : null))
+                .onErrorMap(WebClientResponseException.class,
+                        ex -> getResponseStatusException(ex, companyNumber, uri))
+                .timeout(timeout)
+                .transform(BulkheadOperator.of(bulkhead))
+                .transform(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorMap(TimeoutException.class, ex -> getServiceUnavailableException(TIMEOUT_STATUS,
+                        "Timed out getting company name for company number " + companyNumber, ex))
+                .onErrorMap(BulkheadFullException.class, ex -> getServiceUnavailableException(REJECTED_STATUS,
+                        "Too many concurrent requests to get company names, rejected request for company number "
+                                + companyNumber, ex))
+                .onErrorMap(CallNotPermittedException.class, ex -> getServiceUnavailableException(
+                        CIRCUIT_OPEN_STATUS,
+                        "Company names temporarily unavailable, rejected request for company number "
+                                + companyNumber, ex))
+                .onErrorMap(ex -> !(ex instanceof ResponseStatusException), ex -> {
+                    // Connection failures and the like, reported as CompanyService reports a 500 from the API.
+                    final String error = "Error sending request to " + System.getenv(API_URL.getName()) + uri
+                            + ": " + ex.getMessage();
+                    LOGGER.error(error, asException(ex));
+                    return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, error);
+                });
+    }
+
+    /**
+     * Creates an exception to report that the company profiles API call was not made, or was abandoned.
+     * @param status the status with which the failure is counted
+     * @param error the error message
+     * @param cause the exception caught
+     * @return the {@link ResponseStatusException} exception to report the problem
+     */
+    private ResponseStatusException getServiceUnavailableException(final String status,
+                                                                    final String error,
+                                                                    final Exception cause) {
+        registry.counter(COMPANY_LOOKUP_ERRORS_COUNTER, STATUS_TAG, status).increment();
+        LOGGER.error(error, cause);
+        return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, error);
+    }
+
+    /**
+     * Creates an appropriate exception to report the underlying problem.
+     * @param responseException the error response received
+     * @param companyNumber the number of the company looked up
+     * @param uri the URI used to communicate with the company profiles API
+     * @return the {@link ResponseStatusException} exception to report the problem
+     */
+    private ResponseStatusException getResponseStatusException(final WebClientResponseException responseException,
+                                                               final String companyNumber,
+                                                               final String uri) {
+
+        registry.counter(COMPANY_LOOKUP_ERRORS_COUNTER,
+                STATUS_TAG, Integer.toString(responseException.getRawStatusCode())).increment();
+        final ResponseStatusException propagatedException;
+        if (responseException.getRawStatusCode() == HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            final String error = "Error sending request to "
+                    + System.getenv(API_URL.getName()) + uri + ": " + responseException.getStatusText();
+            LOGGER.error(error, responseException);
+            propagatedException = new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, error);
+        } else {
+            final String error = "Error getting company name for company number " + companyNumber;
+            LOGGER.error(error, responseException);
+            propagatedException =  new ResponseStatusException(HttpStatus.BAD_REQUEST, error);
+        }
+        return propagatedException;
+    }
+
+    private static Exception asException(final Throwable throwable) {
+        return throwable instanceof Exception ? (Exception) throwable : new RuntimeException(throwable);
+    }
+
+    private static CircuitBreaker createCircuitBreaker(final CompanyLookupConfig config, final MeterRegistry registry) {
+        final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(config.getFailureRateThreshold())
+                .slidingWindowSize(config.getSlidingWindowSize())
+                .minimumNumberOfCalls(config.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(Duration.ofSeconds(config.getWaitInOpenStateSeconds()))
+                // Company not found etc. (400) says nothing about the health of the API.
+                .recordException(ex -> !(ex instanceof ResponseStatusException)
+                        || ((ResponseStatusException) ex).getStatus().is5xxServerError())
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(registry);
+        return circuitBreakers.circuitBreaker(COMPANY_PROFILES_API);
+    }
+
+    private static Bulkhead createBulkhead(final CompanyLookupConfig config, final MeterRegistry registry) {
+        final BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(config.getMaxConcurrentCalls())
+                // Never block the event loop waiting for a permit.
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(registry);
+        return bulkheads.bulkhead(COMPANY_PROFILES_API);
+    }
+
+    /**
+     * A company name held, with the time at which it was loaded.
+     */
+    private static final class CompanyName {
+
+        private final String name;
+        private final long loadedAt;
+
+        private CompanyName(final String name, final long loadedAt) {
+            this.name = name;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.certificates.orders.api.repository.ReactiveDatabaseSequenceRepository;
+import uk.gov.companieshouse.certificates.orders.api.service.IdGeneratorService.Lease;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongFunction;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static uk.gov.companieshouse.certificates.orders.api.service.IdGeneratorService.LEASE_SIZE;
+import static uk.gov.companieshouse.certificates.orders.api.service.IdGeneratorService.SEQUENCE_NAME;
+
+/**
+ * The non-blocking counterpart of {@link IdGeneratorService}, used by the reactive stack. IDs are leased from the
+ * same sequence, and so are unique across both stacks. No caller ever waits on a thread for a lease: those callers
+ * that find the current lease used up all await the same single renewal of it.
+ */
+@Service
+@ConditionalOnWebApplication(type = REACTIVE)
+public class ReactiveIdGeneratorService {
+
+    private final LongFunction<Mono<Long>> leases;
+    private final AtomicReference<Lease> lease = new AtomicReference<>(Lease.NONE);
+    private final AtomicReference<Renewal> renewal = new AtomicReference<>();
+
+    @Autowired
+    public ReactiveIdGeneratorService(final ReactiveDatabaseSequenceRepository sequences) {
+        this(count -> sequences.reserve(SEQUENCE_NAME, count));
+    }
+
+    /**
+     * Constructor.
+     * @param leases reserves the number of values given from the sequence, emitting the first of them
+     */
+    ReactiveIdGeneratorService(final LongFunction<Mono<Long>> leases) {
+        this.leases = leases;
+    }
+
+    /**
+     * Generates the next ID, leasing a further block of values from the sequence first should the current lease be
+     * used up.
+     * @return the ID, unique to this call, or an {@link IllegalStateException} should the sequence be used up
+     */
+    public Mono<String> generateId() {
+        return Mono.defer(() -> {
+            final Lease current = lease.get();
+            final long value = current.take();
+            if (value >= 0) {
+                return Mono.just(IdGeneratorService.toId(value));
+            }
+            return renewLease(current).then(generateId());
+        });
+    }
+
+    /**
+     * Renews the lease found to be used up, unless it has already been replaced, joining any renewal of it already
+     * under way.
+     * @param usedUp the lease found to be used up
+     * @return completes once the lease has been replaced
+     */
+    private Mono<Lease> renewLease(final Lease usedUp) {
+        while (true) {
+            final Renewal underWay = renewal.get();
+            if (underWay != null && underWay.usedUp == usedUp) {
+                return underWay.renewed;
+            }
+            if (lease.get() != usedUp) {
+                return Mono.empty();
+            }
+            final Renewal next = new Renewal(usedUp);
+            if (renewal.compareAndSet(underWay, next)) {
+                return next.renewed;
+            }
+        }
+    }
+
+    /**
+     * The renewal of a lease used up, shared by all of those callers finding it used up.
+     */
+    private final class Renewal {
+
+        private final Lease usedUp;
+        private final Mono<Lease> renewed;
+
+        private Renewal(final Lease usedUp) {
+            this.usedUp = usedUp;
+            this.renewed = leases.apply(LEASE_SIZE)
+                    .map(Lease::of)
+                    .doOnNext(next -> lease.compareAndSet(usedUp, next))
+                    // A failed renewal is not shared any further: the next caller to find the lease used up retries.
+                    .doOnError(ex -> renewal.compareAndSet(this, null))
+                    .cache();
+        }
+    }
+}
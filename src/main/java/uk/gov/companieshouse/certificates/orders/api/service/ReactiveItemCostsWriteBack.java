@@ -0,0 +1,131 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.certificates.orders.api.config.ItemCostsWriteBackConfig;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.repository.ReactiveCertificateItemRepository;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.ITEM_COSTS_WRITE_BACK_COUNTER;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.OUTCOME_TAG;
+import static uk.gov.companieshouse.certificates.orders.api.service.ItemCostsWriteBack.DROPPED_OUTCOME;
+import static uk.gov.companieshouse.certificates.orders.api.service.ItemCostsWriteBack.FAILED_OUTCOME;
+import static uk.gov.companieshouse.certificates.orders.api.service.ItemCostsWriteBack.SUPERSEDED_OUTCOME;
+import static uk.gov.companieshouse.certificates.orders.api.service.ItemCostsWriteBack.WRITTEN_OUTCOME;
+
+/**
+ * The non-blocking counterpart of {@link ItemCostsWriteBack}, used by the reactive stack. The items are queued,
+ * batched and written back exactly as they are by {@link ItemCostsWriteBack}, and counted by the same metrics, but
+ * the periodic write-back is a timer rather than a thread of its own, and the bulk writes never block.
+ */
+@Component
+@ConditionalOnWebApplication(type = REACTIVE)
+public class ReactiveItemCostsWriteBack {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
+
+    private final ItemCostsWriteBackConfig config;
+    private final ReactiveCertificateItemRepository repository;
+    private final PendingItemCosts pending;
+
+    private final Counter written;
+    private final Counter superseded;
+    private final Counter dropped;
+    private final Counter failed;
+
+    private Disposable flusher;
+
+    public ReactiveItemCostsWriteBack(final ItemCostsWriteBackConfig config,
+                                      final ReactiveCertificateItemRepository repository,
+                                      final MeterRegistry registry) {
+        this.config = config;
+        this.repository = repository;
+        this.pending = new PendingItemCosts(config);
+        this.written = registry.counter(ITEM_COSTS_WRITE_BACK_COUNTER, OUTCOME_TAG, WRITTEN_OUTCOME);
+        this.superseded = registry.counter(ITEM_COSTS_WRITE_BACK_COUNTER, OUTCOME_TAG, SUPERSEDED_OUTCOME);
+        this.dropped = registry.counter(ITEM_COSTS_WRITE_BACK_COUNTER, OUTCOME_TAG, DROPPED_OUTCOME);
+        this.failed = registry.counter(ITEM_COSTS_WRITE_BACK_COUNTER, OUTCOME_TAG, FAILED_OUTCOME);
+    }
+
+    /**
+     * Starts the timer that periodically writes back the items awaiting write-back. Ticks falling due while a
+     * write-back is still under way are skipped, so that only one write-back takes place at a time.
+     */
+    @PostConstruct
+    public void start() {
+        flusher = Flux.interval(Duration.ofMillis(config.getFlushIntervalMillis()))
+                .onBackpressureDrop()
+                .concatMap(tick -> flush(), 1)
+                .subscribe();
+    }
+
+    /**
+     * Stops the timer, and writes back any items still awaiting write-back. Called on the thread closing the
+     * application context, which may block.
+     */
+    @PreDestroy
+    public void stop() {
+        if (flusher != null) {
+            flusher.dispose();
+        }
+        flush().block();
+    }
+
+    /**
+     * Queues the costs of the re-priced item for write-back, as {@link ItemCostsWriteBack#add(CertificateItem)} does.
+     *
+     * @param item the item, holding its etag as read and its re-priced costs
+     */
+    public void add(final CertificateItem item) {
+        if (!pending.add(item)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Writes back all of the items awaiting write-back, in batches, one batch after another.
+     *
+     * @return completes once the items have been written back, or have failed to be
+     */
+    public Mono<Void> flush() {
+        return Mono.defer(() -> {
+            final List<CertificateItem> batch = pending.nextBatch(config.getBatchSize());
+            return batch.isEmpty() ? Mono.empty() : write(batch).then(flush());
+        });
+    }
+
+    /**
+     * @return the number of items awaiting write-back
+     */
+    int getPendingCount() {
+        return pending.size();
+    }
+
+    private Mono<Void> write(final List<CertificateItem> batch) {
+        return repository.updateCostsIfUnmodified(batch)
+                .doOnNext(updated -> {
+                    written.increment(updated);
+                    superseded.increment((double) batch.size() - updated);
+                })
+                .onErrorResume(RuntimeException.class, ex -> {
+                    failed.increment(batch.size());
+                    LOGGER.error("Error writing back the costs of " + batch.size() + " certificate items", ex);
+                    return Mono.empty();
+                })
+                .then();
+    }
+}
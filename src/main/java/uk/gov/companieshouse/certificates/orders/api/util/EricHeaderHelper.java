@@ -1,6 +1,7 @@
 package uk.gov.companieshouse.certificates.orders.api.util;
 
 import org.apache.commons.lang.StringUtils;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -22,8 +23,23 @@ public class EricHeaderHelper {
         return getHeader(request, ERIC_IDENTITY_TYPE);
     }
 
+    public static String getIdentity(ServerHttpRequest request) {
+        return getHeader(request, ERIC_IDENTITY);
+    }
+
+    public static String getIdentityType(ServerHttpRequest request) {
+        return getHeader(request, ERIC_IDENTITY_TYPE);
+    }
+
     private static String getHeader(HttpServletRequest request, String headerName) {
-        String headerValue = request.getHeader(headerName);
+        return blankToNull(request.getHeader(headerName));
+    }
+
+    private static String getHeader(ServerHttpRequest request, String headerName) {
+        return blankToNull(request.getHeaders().getFirst(headerName));
+    }
+
+    private static String blankToNull(String headerValue) {
         if (StringUtils.isNotBlank(headerValue)) {
             return headerValue;
         } else {
@@ -0,0 +1,88 @@
+package uk.gov.companieshouse.certificates.orders.api.util;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Helper for the evaluation of the <code>ETag</code> based conditional request headers
+ * (<code>If-None-Match</code>, <code>If-Match</code>) against the entity tag of a certificate item.
+ */
+public class EtagHeaderHelper {
+
+    public static final String ANY_ETAG = "*";
+
+    private static final String WEAK_ETAG_PREFIX = "W/";
+
+    private static final String TARIFF_VERSION_SEPARATOR = "-";
+
+    private EtagHeaderHelper() { }
+
+    /**
+     * Builds the entity tag of a certificate item as served, from the etag stored with the item and the version of
+     * the tariff under which its costs are calculated. The costs of an item may change without its stored etag
+     * changing, e.g. when new costs are published, so the stored etag alone does not identify the representation.
+     *
+     * @param itemEtag the etag stored with the item, if any
+     * @param tariffVersion the version of the tariff in use, if any
+     * @return the entity tag, or <code>null</code> if the item has no etag
+     */
+    public static String toEntityTag(final String itemEtag, final String tariffVersion) {
+        if (StringUtils.isBlank(itemEtag) || StringUtils.isBlank(tariffVersion)) {
+            return itemEtag;
+        }
+        return itemEtag + TARIFF_VERSION_SEPARATOR + tariffVersion;
+    }
+
+    /**
+     * Determines whether the conditional request header value provided matches the etag provided, using the weak
+     * comparison required for <code>If-None-Match</code> (RFC 7232, section 3.2). The header value may be a comma
+     * separated list of (optionally quoted, optionally weak) entity tags, or <code>*</code>.
+     *
+     * @param headerValue the <code>If-None-Match</code> header value, if any
+     * @param etag the current etag of the resource, if any
+     * @return whether the header value matches the etag
+     */
+    public static boolean matches(final String headerValue, final String etag) {
+        return matches(headerValue, etag, true);
+    }
+
+    /**
+     * Determines whether the conditional request header value provided matches the etag provided, using the strong
+     * comparison required for <code>If-Match</code> (RFC 7232, section 3.1). The header value may be a comma
+     * separated list of (optionally quoted) entity tags, or <code>*</code>. A weak entity tag never matches.
+     *
+     * @param headerValue the <code>If-Match</code> header value, if any
+     * @param etag the current etag of the resource, if any
+     * @return whether the header value matches the etag
+     */
+    public static boolean matchesStrongly(final String headerValue, final String etag) {
+        return matches(headerValue, etag, false);
+    }
+
+    private static boolean matches(final String headerValue, final String etag, final boolean weakTagsMatch) {
+        if (StringUtils.isBlank(headerValue) || StringUtils.isBlank(etag)) {
+            return false;
+        }
+        for (final String candidate : headerValue.split(",")) {
+            final String tag = candidate.trim();
+            if (ANY_ETAG.equals(tag)) {
+                return true;
+            }
+            if (!tag.startsWith(WEAK_ETAG_PREFIX)) {
+                if (etag.equals(unquote(tag))) {
+                    return true;
+                }
+            } else if (weakTagsMatch && etag.equals(unquote(tag.substring(WEAK_ETAG_PREFIX.length())))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String unquote(final String tag) {
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            return tag.substring(1, tag.length() - 1);
+        }
+        return tag;
+    }
+
+}
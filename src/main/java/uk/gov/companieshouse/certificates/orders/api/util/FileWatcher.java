@@ -0,0 +1,180 @@
+package uk.gov.companieshouse.certificates.orders.api.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import uk.gov.companieshouse.logging.Logger;
+import uk.gov.companieshouse.logging.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.APPLICATION_NAMESPACE;
+
+/**
+ * Watches a single file, using a {@link WatchService} on its directory, and calls back from a daemon thread of its
+ * own whenever the file is created or modified, until closed.
+ * <p>
+ * Any event in the directory, whatever the name of the entry it concerns, causes the file to be looked at again: its
+ * real path, size and last modified time are compared with those last seen. A file replaced by swapping a symbolic
+ * link somewhere along its path, as Kubernetes does to update a mounted ConfigMap (via its <code>..data</code> link),
+ * is therefore seen to change, as is a file written in place or moved into the directory. A ConfigMap mounted using
+ * <code>subPath</code> is never updated by Kubernetes, so cannot be watched for changes.
+ * <p>
+ * The call back waits until the directory has seen no further events for {@link #SETTLE_MILLIS}, so that a file
+ * still being written is not normally read part way through. That cannot be guaranteed, however, so whatever is
+ * called back must still reject a file found to be incomplete; the file is looked at again once it next changes.
+ */
+public final class FileWatcher implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(APPLICATION_NAMESPACE);
+
+    /** How long the directory must go without events before the file is looked at again. */
+    static final long SETTLE_MILLIS = 200;
+
+    private final Path file;
+    private final Runnable onChange;
+    private final WatchService watchService;
+
+    private FileState lastSeen;
+
+    private FileWatcher(final Path file, final Runnable onChange, final WatchService watchService) {
+        this.file = file;
+        this.onChange = onChange;
+        this.watchService = watchService;
+        this.lastSeen = FileState.of(file);
+    }
+
+    /**
+     * Starts watching the file.
+     * @param file the file, whose directory must already exist
+     * @param threadName the name of the thread calling back
+     * @param onChange called back whenever the file is created, modified or replaced. Any error it throws is logged.
+     * @return the watcher, to be closed once the file no longer needs watching
+     * @throws IOException should the directory of the file not be watchable
+     */
+    public static FileWatcher watch(final Path file, final String threadName, final Runnable onChange)
+            throws IOException {
+        final Path absoluteFile = file.toAbsolutePath();
+        final WatchService watchService = absoluteFile.getFileSystem().newWatchService();
+        absoluteFile.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        final FileWatcher watcher = new FileWatcher(absoluteFile, onChange, watchService);
+        new ThreadFactoryBuilder().setNameFormat(threadName + "-%d").setDaemon(true).build()
+                .newThread(watcher::run)
+                .start();
+        return watcher;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                discardEvents(watchService.take());
+                // Lets the directory settle before looking at the file, as one change may raise a number of events.
+                WatchKey further;
+                while ((further = watchService.poll(SETTLE_MILLIS, MILLISECONDS)) != null) {
+                    discardEvents(further);
+                }
+                if (hasChanged()) {
+                    handleChange();
+                }
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException cwse) {
+            // Closed.
+        }
+    }
+
+    private static void discardEvents(final WatchKey key) {
+        key.pollEvents();
+        key.reset();
+    }
+
+    /**
+     * Looks at the file again, noting what is seen.
+     * @return whether the file now exists, and differs from when last seen
+     */
+    private boolean hasChanged() {
+        final FileState seen = FileState.of(file);
+        final boolean changed = seen != null && !seen.equals(lastSeen);
+        lastSeen = seen;
+        return changed;
+    }
+
+    private void handleChange() {
+        try {
+            onChange.run();
+        } catch (RuntimeException ex) {
+            LOGGER.error("Error handling change to " + file, ex);
+        }
+    }
+
+    /**
+     * What is seen of the file when it is looked at: where it really is, once any symbolic links have been followed,
+     * how big it is, and when it was last modified.
+     */
+    private static final class FileState {
+
+        private final Path realPath;
+        private final long size;
+        private final FileTime lastModifiedTime;
+
+        private FileState(final Path realPath, final BasicFileAttributes attributes) {
+            this.realPath = realPath;
+            this.size = attributes.size();
+            this.lastModifiedTime = attributes.lastModifiedTime();
+        }
+
+        /**
+         * Looks at the file.
+         * @param file the file
+         * @return what is seen of the file, or <code>null</code> should it not exist, or not be readable
+         */
+        private static FileState of(final Path file) {
+            try {
+                final Path realPath = file.toRealPath();
+                return new FileState(realPath, Files.readAttributes(realPath, BasicFileAttributes.class));
+            } catch (NoSuchFileException nsfe) {
+                return null;
+            } catch (IOException ioe) {
+                LOGGER.error("Error looking at " + file, ioe);
+                return null;
+            }
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final FileState that = (FileState) o;
+            return size == that.size &&
+                    realPath.equals(that.realPath) &&
+                    lastModifiedTime.equals(that.lastModifiedTime);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(realPath, size, lastModifiedTime);
+        }
+    }
+}
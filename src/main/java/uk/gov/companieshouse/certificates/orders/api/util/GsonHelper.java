@@ -0,0 +1,23 @@
+package uk.gov.companieshouse.certificates.orders.api.util;
+
+import com.google.gson.Gson;
+
+/**
+ * Helper for the JSON rendering of model objects in their <code>toString()</code> methods. A single {@link Gson}
+ * instance is shared, as it is thread safe and caches the type adapters it builds for each class rendered.
+ */
+public class GsonHelper {
+
+    private static final Gson GSON = new Gson();
+
+    private GsonHelper() { }
+
+    /**
+     * Renders the object provided as JSON.
+     * @param object the object
+     * @return the JSON rendering of the object
+     */
+    public static String toJson(final Object object) {
+        return GSON.toJson(object);
+    }
+}
@@ -0,0 +1,112 @@
+package uk.gov.companieshouse.certificates.orders.api.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.certificates.orders.api.validator.CreateItemsBatchRequestValidator;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * HTTP message converter that reads a newline delimited JSON (NDJSON) stream as a {@link List} of the list's
+ * element type, one element per line. The stream is read one element at a time, and rejected as soon as it is found
+ * to hold more than {@link CreateItemsBatchRequestValidator#MAX_BATCH_SIZE} elements, so that no more than this are
+ * ever held in memory.
+ * <p>
+ * Only supports the {@code application/x-ndjson} media type, and reading only.
+ */
+@Component
+public class NdjsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf(APPLICATION_NDJSON_VALUE);
+
+    private final ObjectMapper objectMapper;
+    private final int maxElements;
+
+    /**
+     * Constructor.
+     * @param objectMapper the object mapper this relies upon to deserialise each line
+     */
+    @Autowired
+    public NdjsonHttpMessageConverter(final ObjectMapper objectMapper) {
+        this(objectMapper, CreateItemsBatchRequestValidator.MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Constructor.
+     * @param objectMapper the object mapper this relies upon to deserialise each line
+     * @param maxElements the maximum number of elements the stream may hold
+     */
+    NdjsonHttpMessageConverter(final ObjectMapper objectMapper, final int maxElements) {
+        super(APPLICATION_NDJSON);
+        this.objectMapper = objectMapper;
+        this.maxElements = maxElements;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return type instanceof ParameterizedType &&
+                List.class.isAssignableFrom((Class<?>) ((ParameterizedType) type).getRawType()) &&
+                canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        final JavaType elementType =
+                objectMapper.constructType(((ParameterizedType) type).getActualTypeArguments()[0]);
+        try (MappingIterator<Object> elements =
+                     objectMapper.readerFor(elementType).readValues(inputMessage.getBody())) {
+            final List<Object> list = new ArrayList<>();
+            while (elements.hasNextValue()) {
+                if (list.size() == maxElements) {
+                    throw JsonMappingException.from(elements.getParser(),
+                            "items: must contain no more than " + maxElements + " items");
+                }
+                list.add(elements.nextValue());
+            }
+            return list;
+        } catch (JsonProcessingException jpe) {
+            throw new HttpMessageNotReadableException(jpe.getOriginalMessage(), jpe, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Element type of " + clazz + " is unknown", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) {
+        throw new UnsupportedOperationException("Writing NDJSON is not supported");
+    }
+}
@@ -1,11 +1,17 @@
 package uk.gov.companieshouse.certificates.orders.api.util;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
 
-import javax.json.JsonMergePatch;
-import javax.json.JsonValue;
+import java.util.Iterator;
+import java.util.Map;
+
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.PATCH_MERGE_TIMER;
 
 @Component
 public class PatchMerger {
@@ -14,7 +20,7 @@ public class PatchMerger {
 
     /**
      * Constructor.
-     * @param objectMapper mapper used by this to convert between {@link JsonMergePatch} and
+     * @param objectMapper mapper used by this to convert between JSON trees and
      *                     {@link CertificateItem} instances
      */
     public PatchMerger(final ObjectMapper objectMapper) {
@@ -22,23 +28,47 @@ public class PatchMerger {
     }
 
     /**
-     * Applies the changes captured in the merge patch to the target bean.
-     * See <a href="https://cassiomolin.com/2019/06/10/using-http-patch-in-spring/">Using HTTP PATCH in Spring</a>.
-     * @param mergePatch JSON merge patch
+     * Applies the changes captured in the merge patch document to the target bean, following the
+     * <a href="https://tools.ietf.org/html/rfc7396">RFC 7396</a> rules. The target bean is converted to a single
+     * Jackson tree, which is patched in place and then bound to a new bean. The target bean itself is not modified.
+     * @param mergePatch JSON merge patch document
      * @param targetBean the bean to be patched
      * @param beanClass the class of the bean to be patched
      * @param <T> the type of the bean
      * @return the patched bean
      */
-    public <T> T mergePatch(final JsonMergePatch mergePatch, final T targetBean, final Class<T> beanClass) {
-
-        // Convert the Java bean to a JSON document
-        JsonValue target = objectMapper.convertValue(targetBean, JsonValue.class);
-
-        // Apply the JSON Merge Patch to the JSON document
-        JsonValue patched = mergePatch.apply(target);
+    @Timed(PATCH_MERGE_TIMER)
+    public <T> T mergePatch(final JsonNode mergePatch, final T targetBean, final Class<T> beanClass) {
+        final JsonNode patched = applyMergePatch(mergePatch, objectMapper.valueToTree(targetBean));
+        try {
+            return objectMapper.treeToValue(patched, beanClass);
+        } catch (JsonProcessingException jpe) {
+            throw new IllegalArgumentException(jpe.getMessage(), jpe);
+        }
+    }
 
-        // Convert the JSON document to a Java bean and return it
-        return objectMapper.convertValue(patched, beanClass);
+    /**
+     * Implements the RFC 7396 MergePatch(Target, Patch) function, modifying the target tree in place where it is an
+     * object. The patch tree is never modified.
+     * @param patch the patch (sub)document
+     * @param target the target (sub)document, which may be <code>null</code>
+     * @return the patched (sub)document
+     */
+    private JsonNode applyMergePatch(final JsonNode patch, final JsonNode target) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+        final ObjectNode result = target != null && target.isObject() ?
+                (ObjectNode) target : objectMapper.createObjectNode();
+        final Iterator<Map.Entry<String, JsonNode>> members = patch.fields();
+        while (members.hasNext()) {
+            final Map.Entry<String, JsonNode> member = members.next();
+            if (member.getValue().isNull()) {
+                result.remove(member.getKey());
+            } else {
+                result.set(member.getKey(), applyMergePatch(member.getValue(), result.get(member.getKey())));
+            }
+        }
+        return result;
     }
 }
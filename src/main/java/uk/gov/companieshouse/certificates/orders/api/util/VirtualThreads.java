@@ -0,0 +1,94 @@
+package uk.gov.companieshouse.certificates.orders.api.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates virtual threads, where the JVM running this API supports them (Java 21 or later). The build targets an
+ * earlier Java release, so the virtual thread API is reached reflectively; on an earlier JVM, {@link #isSupported()}
+ * is <code>false</code> and no virtual threads can be created.
+ */
+public final class VirtualThreads {
+
+    private static final String THREAD_BUILDER_CLASS = "java.lang.Thread$Builder";
+
+    private static final boolean SUPPORTED = checkSupported();
+
+    private VirtualThreads() { }
+
+    /**
+     * @return whether virtual threads can be created on this JVM
+     */
+    public static boolean isSupported() {
+        return SUPPORTED;
+    }
+
+    /**
+     * Creates an executor that runs each task on a new virtual thread.
+     * @param namePrefix the prefix of the names of the threads, each being suffixed with its sequence number
+     * @return the executor
+     * @throws IllegalStateException should virtual threads not be supported on this JVM
+     */
+    public static ExecutorService newThreadPerTaskExecutor(final String namePrefix) {
+        final ThreadFactory factory = newThreadFactory(namePrefix);
+        try {
+            final Method newThreadPerTaskExecutor =
+                    Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newThreadPerTaskExecutor.invoke(null, factory);
+        } catch (ReflectiveOperationException roe) {
+            throw new IllegalStateException("Unable to create virtual thread per task executor", roe);
+        }
+    }
+
+    /**
+     * Creates a factory of virtual threads.
+     * @param namePrefix the prefix of the names of the threads, each being suffixed with its sequence number
+     * @return the thread factory
+     * @throws IllegalStateException should virtual threads not be supported on this JVM
+     */
+    public static ThreadFactory newThreadFactory(final String namePrefix) {
+        if (!SUPPORTED) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later, but this JVM is Java "
+                    + System.getProperty("java.version"));
+        }
+        try {
+            final Class<?> builderClass = Class.forName(THREAD_BUILDER_CLASS);
+            final Object builder = builderClass.getMethod("name", String.class, long.class)
+                    .invoke(Thread.class.getMethod("ofVirtual").invoke(null), namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException roe) {
+            throw new IllegalStateException("Unable to create virtual thread factory", roe);
+        }
+    }
+
+    /**
+     * @param thread the thread
+     * @return whether the thread is a virtual thread
+     */
+    public static boolean isVirtual(final Thread thread) {
+        if (!SUPPORTED) {
+            return false;
+        }
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException roe) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks that a virtual thread builder can actually be obtained, as it cannot on the Java releases in which
+     * virtual threads were a preview feature, unless that was enabled.
+     * @return whether virtual threads are supported
+     */
+    private static boolean checkSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual").invoke(null);
+            return true;
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.certificates.orders.api.validator;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemDTO;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateItemOptions;
@@ -8,20 +9,20 @@ import uk.gov.companieshouse.certificates.orders.api.util.FieldNameConverter;
 import java.util.ArrayList;
 import java.util.List;
 
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.VALIDATION_TIMER;
+
 /**
  * Implements validation of the request payload specific to the the create item request only.
  */
 @Component
 public class CreateItemRequestValidator extends RequestValidator {
 
-    private final FieldNameConverter converter;
-
     /**
      * Constructor.
      * @param converter the converter this uses to present field names as they appear in the request JSON payload
      */
     public CreateItemRequestValidator(FieldNameConverter converter) {
-        this.converter = converter;
+        super(converter);
     }
 
     /**
@@ -29,13 +30,14 @@ public class CreateItemRequestValidator extends RequestValidator {
      * @param item the item to be validated
      * @return the errors found, which will be empty if the item is found to be valid
      */
+    @Timed(VALIDATION_TIMER)
     public List<String> getValidationErrors(final CertificateItemDTO item) {
         final List<String> errors = new ArrayList<>();
         if (item.getId() != null) {
             errors.add("id: must be null in a create item request");
         }
         final CertificateItemOptions options = item.getItemOptions();
-        errors.addAll(getValidationErrors(options, converter));
+        errors.addAll(getValidationErrors(options));
         return errors;
     }
 
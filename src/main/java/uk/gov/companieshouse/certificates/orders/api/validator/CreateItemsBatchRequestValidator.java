@@ -0,0 +1,78 @@
+package uk.gov.companieshouse.certificates.orders.api.validator;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.stereotype.Component;
+import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemDTO;
+import uk.gov.companieshouse.certificates.orders.api.util.FieldNameConverter;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Collections.singletonList;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.VALIDATION_TIMER;
+
+/**
+ * Implements validation of the request payload specific to the batch create items request only.
+ */
+@Component
+public class CreateItemsBatchRequestValidator {
+
+    /** The maximum number of items that may be created by a single batch create items request. */
+    public static final int MAX_BATCH_SIZE = 100;
+
+    private final CreateItemRequestValidator itemValidator;
+    private final Validator validator;
+    private final FieldNameConverter converter;
+
+    /**
+     * Constructor.
+     * @param itemValidator the validator this relies upon to validate each item as a create item request would
+     * @param validator the validator this relies upon to validate DTOs
+     * @param converter the converter this uses to present field names as they appear in the request JSON payload
+     */
+    public CreateItemsBatchRequestValidator(final CreateItemRequestValidator itemValidator,
+                                            final Validator validator,
+                                            final FieldNameConverter converter) {
+        this.itemValidator = itemValidator;
+        this.validator = validator;
+        this.converter = converter;
+    }
+
+    /**
+     * Validates the items provided, returning any errors found. Each error is prefixed with the position of the
+     * item in the request, e.g. <code>items[2].quantity: must be greater than or equal to 1</code>.
+     * @param items the items to be validated
+     * @return the errors found, which will be empty if all of the items are found to be valid
+     */
+    @Timed(VALIDATION_TIMER)
+    public List<String> getValidationErrors(final List<CertificateItemDTO> items) {
+        if (items == null || items.isEmpty()) {
+            return singletonList("items: must contain at least 1 item");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            return singletonList("items: must contain no more than " + MAX_BATCH_SIZE + " items");
+        }
+        final List<String> errors = new ArrayList<>();
+        for (int index = 0; index < items.size(); index++) {
+            final String prefix = "items[" + index + "]";
+            final CertificateItemDTO item = items.get(index);
+            if (item == null) {
+                errors.add(prefix + ": must not be null");
+                continue;
+            }
+            final Set<ConstraintViolation<CertificateItemDTO>> violations = validator.validate(item);
+            for (final ConstraintViolation<CertificateItemDTO> violation : violations) {
+                errors.add(prefix + "." + converter.toSnakeCase(violation.getPropertyPath().toString())
+                        + ": " + violation.getMessage());
+            }
+            for (final String error : itemValidator.getValidationErrors(item)) {
+                errors.add(prefix + "." + error);
+            }
+        }
+        return errors;
+    }
+
+}
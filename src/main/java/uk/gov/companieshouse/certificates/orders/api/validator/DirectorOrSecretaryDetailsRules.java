@@ -0,0 +1,115 @@
+package uk.gov.companieshouse.certificates.orders.api.validator;
+
+import uk.gov.companieshouse.certificates.orders.api.model.DirectorOrSecretaryDetails;
+import uk.gov.companieshouse.certificates.orders.api.util.FieldNameConverter;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static java.lang.Boolean.TRUE;
+
+/**
+ * The rules applied to {@link DirectorOrSecretaryDetails} when <code>include_basic_information</code> is not true,
+ * compiled once into a table of generated getter lambdas and precomputed snake case field names. Evaluating the rules
+ * involves no reflection. The table lists the {@link Boolean} fields in their declaration order, so that errors are
+ * reported in the same order as they always have been.
+ */
+final class DirectorOrSecretaryDetailsRules {
+
+    private static final String INCLUDE_BASIC_INFORMATION_FIELD = "includeBasicInformation";
+
+    private final List<Rule> rules;
+
+    private DirectorOrSecretaryDetailsRules(final List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Builds the rule table.
+     * @param converter the converter used to present field names as they appear in the request JSON payload
+     * @return the compiled rules
+     * @throws IllegalStateException should a {@link Boolean} field have no usable getter
+     */
+    static DirectorOrSecretaryDetailsRules compile(final FieldNameConverter converter) {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final List<Rule> rules = new ArrayList<>();
+        for (final Field field : DirectorOrSecretaryDetails.class.getDeclaredFields()) {
+            if (!field.getName().equals(INCLUDE_BASIC_INFORMATION_FIELD) && field.getType().equals(Boolean.class)) {
+                rules.add(new Rule(converter.toSnakeCase(field.getName()), getter(lookup, field)));
+            }
+        }
+        return new DirectorOrSecretaryDetailsRules(Collections.unmodifiableList(rules));
+    }
+
+    /**
+     * Validates the details provided in a single pass over the rule table, returning any errors found, prefixed with
+     * the supplied details field name.
+     * @param details the details to be validated
+     * @param detailsFieldName the field name of the details to be validated
+     * @return the resulting errors, which will be empty if the details are found to be valid
+     */
+    List<String> getValidationErrors(final DirectorOrSecretaryDetails details, final String detailsFieldName) {
+        if (details == null || TRUE.equals(details.getIncludeBasicInformation())) {
+            return new ArrayList<>();
+        }
+        final List<String> errors = new ArrayList<>(2);
+        StringBuilder incorrectlySetFields = null;
+        for (final Rule rule : rules) {
+            if (TRUE.equals(rule.getter.apply(details))) {
+                if (incorrectlySetFields == null) {
+                    incorrectlySetFields = new StringBuilder(detailsFieldName).append(": ");
+                } else {
+                    incorrectlySetFields.append(", ");
+                }
+                incorrectlySetFields.append(rule.fieldName);
+            }
+        }
+        if (incorrectlySetFields != null) {
+            errors.add(incorrectlySetFields.append(" must not be true when include_basic_information is false")
+                    .toString());
+        }
+        if (details.getIncludeDobType() != null) {
+            errors.add(detailsFieldName + ": include_dob_type must not be non-null when include_basic_information is false");
+        }
+        return errors;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<DirectorOrSecretaryDetails, Boolean> getter(final MethodHandles.Lookup lookup,
+                                                                       final Field field) {
+        try {
+            final MethodHandle getter = lookup.unreflect(
+                    new PropertyDescriptor(field.getName(), DirectorOrSecretaryDetails.class).getReadMethod());
+            final CallSite site = LambdaMetafactory.metafactory(lookup,
+                    "apply",
+                    MethodType.methodType(Function.class),
+                    MethodType.methodType(Object.class, Object.class),
+                    getter,
+                    getter.type());
+            return (Function<DirectorOrSecretaryDetails, Boolean>) site.getTarget().invokeExact();
+        } catch (Throwable t) {
+            // This should only arise should someone alter or remove the getter for a field.
+            throw new IllegalStateException("Unable to compile getter for "
+                    + DirectorOrSecretaryDetails.class.getSimpleName() + "." + field.getName(), t);
+        }
+    }
+
+    private static final class Rule {
+        private final String fieldName;
+        private final Function<DirectorOrSecretaryDetails, Boolean> getter;
+
+        private Rule(final String fieldName, final Function<DirectorOrSecretaryDetails, Boolean> getter) {
+            this.fieldName = fieldName;
+            this.getter = getter;
+        }
+    }
+}
@@ -1,23 +1,23 @@
 package uk.gov.companieshouse.certificates.orders.api.validator;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.stereotype.Component;
 import uk.gov.companieshouse.certificates.orders.api.dto.PatchValidationCertificateItemDTO;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateItemOptions;
 import uk.gov.companieshouse.certificates.orders.api.util.FieldNameConverter;
 
-import javax.json.JsonMergePatch;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
-import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import static java.util.Collections.EMPTY_LIST;
 import static java.util.Collections.singletonList;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.VALIDATION_TIMER;
 
 /**
  * Implements validation of the request payload specific to the the patch item request only.
@@ -25,6 +25,8 @@ import static java.util.Collections.singletonList;
 @Component
 public class PatchItemRequestValidator extends RequestValidator {
 
+    static final String PATCH_NOT_OBJECT_ERROR = "merge patch must be a JSON object";
+
     private final ObjectMapper objectMapper;
     private final Validator validator;
     private final FieldNameConverter converter;
@@ -38,20 +40,27 @@ public class PatchItemRequestValidator extends RequestValidator {
     public PatchItemRequestValidator(final ObjectMapper objectMapper,
                                      final Validator validator,
                                      final FieldNameConverter converter) {
+        super(converter);
         this.objectMapper = objectMapper;
         this.validator = validator;
         this.converter = converter;
     }
 
     /**
-     * Validates the patch provided, returning any errors found.
+     * Validates the patch provided, as already parsed from the request body, returning any errors found. The patch
+     * tree is bound directly to the validation DTO, without being serialised and parsed again. A patch that is not a
+     * JSON object (e.g. <code>null</code>) would replace the whole item, and so is rejected before it is bound.
      * @param patch the item to be validated
      * @return the errors found, which will be empty if the item is found to be valid
      */
-    public List<String> getValidationErrors(final JsonMergePatch patch) {
+    @Timed(VALIDATION_TIMER)
+    public List<String> getValidationErrors(final JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            return singletonList(PATCH_NOT_OBJECT_ERROR);
+        }
         try {
             final PatchValidationCertificateItemDTO dto =
-                    objectMapper.readValue(patch.toJsonValue().toString(), PatchValidationCertificateItemDTO.class);
+                    objectMapper.treeToValue(patch, PatchValidationCertificateItemDTO.class);
             final Set<ConstraintViolation<PatchValidationCertificateItemDTO>> violations = validator.validate(dto);
             return violations.stream()
                     .map(violation -> converter.toSnakeCase(violation.getPropertyPath().toString())
@@ -59,9 +68,6 @@ public class PatchItemRequestValidator extends RequestValidator {
                     .collect(Collectors.toList());
         } catch (JsonProcessingException jpe) {
             return singletonList(jpe.getOriginalMessage());
-        } catch (IOException ex) {
-            // This exception will not occur because there are no low-level IO operations here.
-            return EMPTY_LIST;
         }
     }
 
@@ -70,9 +76,10 @@ public class PatchItemRequestValidator extends RequestValidator {
      * @param patchedItem the item to be validated
      * @return the errors found, which will be empty if the item is found to be valid
      */
+    @Timed(VALIDATION_TIMER)
     public List<String> getValidationErrors(final CertificateItem patchedItem) {
         final CertificateItemOptions options = patchedItem.getItemOptions();
-        return getValidationErrors(options, converter);
+        return getValidationErrors(options);
     }
 
 }
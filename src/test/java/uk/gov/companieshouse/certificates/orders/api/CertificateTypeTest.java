@@ -33,6 +33,7 @@ class CertificateTypeTest {
 
     private static final String POSTAGE_COST = "0";
     private static final String TOTAL_ITEM_COST = "100";
+    private static final String TARIFF_VERSION = "5d41402abc4b2a76b9719d911017c592";
 
     @Mock
     private DescriptionProviderService descriptions;
@@ -92,7 +93,8 @@ class CertificateTypeTest {
         item.setQuantity(1);
         final List<ItemCosts> costs = new ArrayList<>();
         when(calculator.calculateCosts(anyInt(),
-                eq(STANDARD))).thenReturn(new CertificateCostCalculation(costs, POSTAGE_COST, TOTAL_ITEM_COST));
+                eq(STANDARD))).thenReturn(
+                        new CertificateCostCalculation(costs, POSTAGE_COST, TOTAL_ITEM_COST, TARIFF_VERSION));
 
         // When
         CERTIFICATE.populateItemCosts(item, calculator);
@@ -102,6 +104,42 @@ class CertificateTypeTest {
         assertThat(item.getItemCosts(), is(costs));
         assertThat(item.getPostageCost(), is(POSTAGE_COST));
         assertThat(item.getTotalItemCost(), is(TOTAL_ITEM_COST));
+        assertThat(item.getTariffVersion(), is(TARIFF_VERSION));
+    }
+
+    @Test
+    @DisplayName("Item costs are current only if calculated under the current tariff")
+    void itemCostsAreCurrentOnlyUnderCurrentTariff() {
+        // Given
+        final Item item = new Item();
+        item.setItemCosts(new ArrayList<>());
+        when(calculator.getTariffVersion()).thenReturn(TARIFF_VERSION);
+
+        // When and then
+        assertThat(CERTIFICATE.hasCurrentItemCosts(item, calculator), is(false));
+        item.setTariffVersion("7d793037a0760186574b0282f2f435e7");
+        assertThat(CERTIFICATE.hasCurrentItemCosts(item, calculator), is(false));
+        item.setTariffVersion(TARIFF_VERSION);
+        assertThat(CERTIFICATE.hasCurrentItemCosts(item, calculator), is(true));
+    }
+
+    @Test
+    @DisplayName("Items are costed alike only if of the same quantity and delivery timescale")
+    void itemsAreCostedAlikeOnlyIfOfSameQuantityAndTimescale() {
+        // Given
+        final Item item = new Item();
+        item.setQuantity(2);
+        final Item other = new Item();
+        other.setQuantity(2);
+        other.setItemOptions(new CertificateItemOptions());
+
+        // When and then
+        assertThat(CERTIFICATE.isCostedAlike(item, other), is(true));
+        other.getItemOptions().setDeliveryTimescale(SAME_DAY);
+        assertThat(CERTIFICATE.isCostedAlike(item, other), is(false));
+        other.getItemOptions().setDeliveryTimescale(STANDARD);
+        other.setQuantity(3);
+        assertThat(CERTIFICATE.isCostedAlike(item, other), is(false));
     }
 
     /**
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.server.ResponseStatusException;
@@ -14,6 +16,7 @@ import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemDTO;
 import uk.gov.companieshouse.certificates.orders.api.environment.RequiredEnvironmentVariables;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateItemOptions;
 import uk.gov.companieshouse.certificates.orders.api.model.ItemCosts;
+import uk.gov.companieshouse.certificates.orders.api.repository.ReactiveCertificateItemRepository;
 import uk.gov.companieshouse.certificates.orders.api.service.CompanyService;
 
 import java.util.ArrayList;
@@ -21,6 +24,9 @@ import java.util.HashMap;
 import java.util.List;
 
 import static java.util.Arrays.stream;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
@@ -55,6 +61,9 @@ class CertificatesApiApplicationTest {
 	@Autowired
 	private WebTestClient webTestClient;
 
+	@Autowired
+	private ApplicationContext context;
+
 	@Rule
 	public EnvironmentVariables environmentVariables = new EnvironmentVariables();
 
@@ -64,6 +73,13 @@ class CertificatesApiApplicationTest {
 		// No implementation required here to test that context loads.
 	}
 
+	@Test
+	@DisplayName("The servlet stack starts none of the MongoDB beans of the reactive stack")
+	void startsNoReactiveMongoBeans() {
+		assertThat(context.getBeanNamesForType(ReactiveMongoTemplate.class), is(emptyArray()));
+		assertThat(context.getBeanNamesForType(ReactiveCertificateItemRepository.class), is(emptyArray()));
+	}
+
 	@Test
 	@DisplayName("Create rejects read only company name")
 	void createCertificateItemRejectsReadOnlyCompanyName() {
@@ -35,7 +35,7 @@ class ApplicationConfigurationTest {
     private CRUDAuthenticationInterceptor crudPermissionInterceptor;
 
     @InjectMocks
-    private ApplicationConfiguration config;
+    private ApplicationConfiguration.ServletConfiguration config;
 
     @Test
     void addInterceptors() {
@@ -0,0 +1,151 @@
+package uk.gov.companieshouse.certificates.orders.api.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemRepository;
+import uk.gov.companieshouse.certificates.orders.api.service.CertificateCostCalculatorService;
+import uk.gov.companieshouse.certificates.orders.api.service.CertificateItemCache;
+import uk.gov.companieshouse.certificates.orders.api.service.CompanyService;
+import uk.gov.companieshouse.certificates.orders.api.util.EtagHeaderHelper;
+import uk.gov.companieshouse.certificates.orders.api.util.PatchMediaType;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_AUTHORISED_USER_HEADER_NAME;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_AUTHORISED_USER_VALUE;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_HEADER_NAME;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_TYPE_HEADER_NAME;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_TYPE_OAUTH2_VALUE;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_VALUE;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.REQUEST_ID_HEADER_NAME;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.TOKEN_REQUEST_ID_VALUE;
+
+/**
+ * Integration tests counting the MongoDB reads made by each user request for a certificate item. The
+ * {@link uk.gov.companieshouse.certificates.orders.api.interceptor.UserAuthorisationInterceptor} reads only the owner
+ * and etag of the item, from the owner index, and that etag is reused rather than read again. The item cache is
+ * enabled, without the change stream, which the embedded MongoDB cannot open.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {"certificate-item-cache.enabled=true",
+                              "certificate-item-cache.change-stream-enabled=false"})
+class CertificateItemRequestContextIntegrationTest {
+
+    private static final String CERTIFICATES_URL = "/orderable/certificates/";
+    private static final String EXPECTED_ITEM_ID = "CRT-123456-123456";
+    private static final String COMPANY_NUMBER = "00006400";
+    private static final String COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST";
+    private static final String ETAG = "9d39ea69b64c80ca42ed72328b48c303c4445e28";
+    private static final String TOKEN_PERMISSION_VALUE = "user_orders=%s";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CertificateItemCache itemCache;
+
+    @Autowired
+    private CertificateCostCalculatorService calculator;
+
+    @SpyBean
+    private CertificateItemRepository repository;
+
+    @MockBean
+    private CompanyService companyService;
+
+    @BeforeEach
+    void setUp() {
+        final CertificateItem item = new CertificateItem();
+        item.setId(EXPECTED_ITEM_ID);
+        item.setCompanyNumber(COMPANY_NUMBER);
+        item.setCompanyName(COMPANY_NAME);
+        item.setQuantity(1);
+        item.setUserId(ERIC_IDENTITY_VALUE);
+        item.setEtag(ETAG);
+        repository.save(item);
+        itemCache.invalidateAll();
+        clearInvocations(repository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.findById(EXPECTED_ITEM_ID).ifPresent(repository::delete);
+    }
+
+    @Test
+    @DisplayName("Get certificate item reads the item once, and then only its owner while it is cached")
+    void getCertificateItemReadsItemOnce() throws Exception {
+        // When
+        mockMvc.perform(oauth2(get(CERTIFICATES_URL + EXPECTED_ITEM_ID), "read")).andExpect(status().isOk());
+        mockMvc.perform(oauth2(get(CERTIFICATES_URL + EXPECTED_ITEM_ID), "read")).andExpect(status().isOk());
+
+        // Then
+        verify(repository, times(2)).findOwnerById(EXPECTED_ITEM_ID);
+        verify(repository, times(1)).findById(anyString());
+        verify(repository, never()).findEtagById(anyString());
+    }
+
+    @Test
+    @DisplayName("Get certificate item reads only the owner when the client copy is current")
+    void getCertificateItemNotModifiedReadsOwnerOnly() throws Exception {
+        // When
+        mockMvc.perform(oauth2(get(CERTIFICATES_URL + EXPECTED_ITEM_ID), "read")
+                .header(HttpHeaders.IF_NONE_MATCH,
+                        "\"" + EtagHeaderHelper.toEntityTag(ETAG, calculator.getTariffVersion()) + "\""))
+                .andExpect(status().isNotModified());
+
+        // Then
+        verify(repository, times(1)).findOwnerById(EXPECTED_ITEM_ID);
+        verify(repository, never()).findById(anyString());
+        verify(repository, never()).findEtagById(anyString());
+    }
+
+    @Test
+    @DisplayName("Update certificate item reads the item from the database once only")
+    void updateCertificateItemReadsItemOnce() throws Exception {
+        // Given
+        when(companyService.getCompanyName(COMPANY_NUMBER)).thenReturn(COMPANY_NAME);
+
+        // When
+        mockMvc.perform(oauth2(patch(CERTIFICATES_URL + EXPECTED_ITEM_ID), "update")
+                .contentType(PatchMediaType.APPLICATION_MERGE_PATCH)
+                .content("{\"quantity\":2}"))
+                .andExpect(status().isOk());
+
+        // Then
+        verify(repository, times(1)).findOwnerById(EXPECTED_ITEM_ID);
+        verify(repository, times(1)).findById(anyString());
+        verify(repository, never()).findEtagById(anyString());
+    }
+
+    private static MockHttpServletRequestBuilder oauth2(final MockHttpServletRequestBuilder request,
+                                                        final String permission) {
+        return request
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, permission))
+                .contentType(MediaType.APPLICATION_JSON);
+    }
+}
@@ -11,12 +11,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 
 import uk.gov.companieshouse.api.interceptor.CRUDAuthenticationInterceptor;
+import uk.gov.companieshouse.certificates.orders.api.config.BatchRequestConfig;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsConfig;
 import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemDTO;
 import uk.gov.companieshouse.certificates.orders.api.dto.PatchValidationCertificateItemDTO;
 import uk.gov.companieshouse.certificates.orders.api.interceptor.LoggingInterceptor;
@@ -36,12 +39,18 @@ import uk.gov.companieshouse.certificates.orders.api.model.Links;
 import uk.gov.companieshouse.certificates.orders.api.model.ProductType;
 import uk.gov.companieshouse.certificates.orders.api.model.RegisteredOfficeAddressDetails;
 import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemRepository;
+import uk.gov.companieshouse.certificates.orders.api.service.CertificateCostCalculatorService;
 import uk.gov.companieshouse.certificates.orders.api.service.CompanyService;
+import uk.gov.companieshouse.certificates.orders.api.service.CostsService;
 import uk.gov.companieshouse.certificates.orders.api.service.EtagGeneratorService;
 import uk.gov.companieshouse.certificates.orders.api.service.IdGeneratorService;
+import uk.gov.companieshouse.certificates.orders.api.util.EtagHeaderHelper;
+import uk.gov.companieshouse.certificates.orders.api.util.NdjsonHttpMessageConverter;
 import uk.gov.companieshouse.certificates.orders.api.util.PatchMediaType;
+import uk.gov.companieshouse.certificates.orders.api.validator.CreateItemsBatchRequestValidator;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -51,16 +60,22 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.PAYLOAD_TOO_LARGE;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME;
@@ -92,6 +107,18 @@ class CertificateItemsControllerIntegrationTest {
     @Autowired
     private MongoTemplate mongoTemplate;
 
+    @Autowired
+    private BatchRequestConfig batchRequestConfig;
+
+    @Autowired
+    private CostsConfig costs;
+
+    @Autowired
+    private CostsService costsService;
+
+    @Autowired
+    private CertificateCostCalculatorService calculator;
+
     @Autowired
     UserAuthenticationInterceptor userAuthenticationInterceptor;
     @Autowired
@@ -143,6 +170,7 @@ class CertificateItemsControllerIntegrationTest {
     private static final String COMPANY_NAME = "Phillips & Daughters";
     private static final String UPDATED_COMPANY_NAME = "Philips & Daughters";
     private static final String TOKEN_ETAG = "9d39ea69b64c80ca42ed72328b48c303c4445e28";
+    private static final String UPDATED_ETAG = "ae9c20cf7ec1a0e8ba0ed4b0b2c2b7a4bcd1a1ef";
     private static final CertificateType CERTIFICATE_TYPE = CertificateType.INCORPORATION;
     private static final CertificateType UPDATED_CERTIFICATE_TYPE = CertificateType.INCORPORATION_WITH_ALL_NAME_CHANGES;
     private static final String INVALID_CERTIFICATE_TYPE_MESSAGE =
@@ -292,9 +320,20 @@ class CertificateItemsControllerIntegrationTest {
         }
     }
 
+    /**
+     * Gets the entity tag, as quoted in the <code>ETag</code> header, under which an item with the etag provided is
+     * currently served.
+     * @param etag the etag stored with the item
+     * @return the quoted entity tag
+     */
+    private String entityTag(final String etag) {
+        return "\"" + EtagHeaderHelper.toEntityTag(etag, calculator.getTariffVersion()) + "\"";
+    }
+
     @AfterEach
     void tearDown() {
         repository.findById(EXPECTED_ITEM_ID).ifPresent(repository::delete);
+        repository.findById(UPDATED_ITEM_ID).ifPresent(repository::delete);
     }
 
     @Test
@@ -868,6 +907,189 @@ class CertificateItemsControllerIntegrationTest {
         assertItemWasNotSaved(EXPECTED_ITEM_ID);
     }
 
+    @Test
+    @DisplayName("Successfully creates a batch of certificate items, looking up each company once")
+    void createCertificateItemsSuccessfullyCreatesCertificateItems() throws Exception {
+        // Given
+        final List<CertificateItemDTO> newItems = asList(createBatchItem(), createBatchItem());
+
+        when(etagGenerator.generateEtag()).thenReturn(TOKEN_ETAG);
+        when(companyService.getCompanyName(COMPANY_NUMBER)).thenReturn(EXPECTED_COMPANY_NAME);
+        when(idGeneratorService.autoGenerateId()).thenReturn(EXPECTED_ITEM_ID, UPDATED_ITEM_ID);
+
+        // When and Then
+        mockMvc.perform(post(CERTIFICATES_URL + "batch")
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "create"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newItems)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].id", is(EXPECTED_ITEM_ID)))
+                .andExpect(jsonPath("$[1].id", is(UPDATED_ITEM_ID)))
+                .andExpect(jsonPath("$[0].company_name", is(EXPECTED_COMPANY_NAME)))
+                .andExpect(jsonPath("$[1].company_name", is(EXPECTED_COMPANY_NAME)))
+                .andExpect(jsonPath("$[1].total_item_cost",
+                        is(calculateExpectedTotalItemCost(generateExpectedCosts(QUANTITY, DELIVERY_TIMESCALE),
+                                POSTAGE_COST))))
+                .andDo(MockMvcResultHandlers.print());
+
+        // Then
+        assertItemSavedCorrectly(EXPECTED_ITEM_ID);
+        assertItemSavedCorrectly(UPDATED_ITEM_ID);
+        verify(companyService, times(1)).getCompanyName(COMPANY_NUMBER);
+    }
+
+    @Test
+    @DisplayName("Successfully creates a batch of certificate items, looking up once a company that has no name")
+    void createCertificateItemsLooksUpCompanyWithNoNameOnce() throws Exception {
+        // Given
+        final List<CertificateItemDTO> newItems = asList(createBatchItem(), createBatchItem());
+
+        when(etagGenerator.generateEtag()).thenReturn(TOKEN_ETAG);
+        when(companyService.getCompanyName(COMPANY_NUMBER)).thenReturn(null);
+        when(idGeneratorService.autoGenerateId()).thenReturn(EXPECTED_ITEM_ID, UPDATED_ITEM_ID);
+
+        // When and Then
+        mockMvc.perform(post(CERTIFICATES_URL + "batch")
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "create"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newItems)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andDo(MockMvcResultHandlers.print());
+
+        // Then
+        verify(companyService, times(1)).getCompanyName(COMPANY_NUMBER);
+    }
+
+    @Test
+    @DisplayName("Successfully creates a batch of certificate items from an NDJSON stream")
+    void createCertificateItemsSuccessfullyCreatesCertificateItemsFromNdjson() throws Exception {
+        // Given
+        final String ndjson = objectMapper.writeValueAsString(createBatchItem()) + "\n" +
+                objectMapper.writeValueAsString(createBatchItem()) + "\n";
+
+        when(etagGenerator.generateEtag()).thenReturn(TOKEN_ETAG);
+        when(companyService.getCompanyName(COMPANY_NUMBER)).thenReturn(EXPECTED_COMPANY_NAME);
+        when(idGeneratorService.autoGenerateId()).thenReturn(EXPECTED_ITEM_ID, UPDATED_ITEM_ID);
+
+        // When and Then
+        mockMvc.perform(post(CERTIFICATES_URL + "batch")
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "create"))
+                .contentType(NdjsonHttpMessageConverter.APPLICATION_NDJSON)
+                .content(ndjson))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[0].id", is(EXPECTED_ITEM_ID)))
+                .andExpect(jsonPath("$[1].id", is(UPDATED_ITEM_ID)))
+                .andDo(MockMvcResultHandlers.print());
+
+        // Then
+        assertItemSavedCorrectly(EXPECTED_ITEM_ID);
+        assertItemSavedCorrectly(UPDATED_ITEM_ID);
+    }
+
+    @Test
+    @DisplayName("Fails to create any of a batch of certificate items if any one of them is invalid")
+    void createCertificateItemsFailsToCreateAnyCertificateItems() throws Exception {
+        // Given
+        final CertificateItemDTO invalidItem = createBatchItem();
+        invalidItem.setQuantity(INVALID_QUANTITY);
+        final List<CertificateItemDTO> newItems = asList(createBatchItem(), invalidItem);
+
+        final ApiError expectedValidationError =
+                new ApiError(BAD_REQUEST, singletonList("items[1].quantity: must be greater than or equal to 1"));
+
+        // When and Then
+        mockMvc.perform(post(CERTIFICATES_URL + "batch")
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "create"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(newItems)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedValidationError)))
+                .andDo(MockMvcResultHandlers.print());
+
+        // Then
+        assertItemWasNotSaved(EXPECTED_ITEM_ID);
+        assertItemWasNotSaved(UPDATED_ITEM_ID);
+    }
+
+    @Test
+    @DisplayName("Rejects an NDJSON stream of more certificate items than a batch may hold, without reading it all")
+    void createCertificateItemsRejectsOversizedNdjsonBatch() throws Exception {
+        // Given
+        final String item = objectMapper.writeValueAsString(createBatchItem()) + "\n";
+        final StringBuilder ndjson = new StringBuilder();
+        for (int index = 0; index <= CreateItemsBatchRequestValidator.MAX_BATCH_SIZE; index++) {
+            ndjson.append(item);
+        }
+        // Anything beyond the first item too many is never parsed.
+        ndjson.append("not JSON\n");
+
+        final ApiError expectedValidationError = new ApiError(BAD_REQUEST,
+                singletonList("items: must contain no more than " + CreateItemsBatchRequestValidator.MAX_BATCH_SIZE
+                        + " items"));
+
+        // When and Then
+        mockMvc.perform(post(CERTIFICATES_URL + "batch")
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "create"))
+                .contentType(NdjsonHttpMessageConverter.APPLICATION_NDJSON)
+                .content(ndjson.toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedValidationError)))
+                .andDo(MockMvcResultHandlers.print());
+
+        // Then
+        verify(idGeneratorService, never()).autoGenerateId();
+    }
+
+    @Test
+    @DisplayName("Rejects a batch create request whose body is larger than allowed before reading it")
+    void createCertificateItemsRejectsOversizedBody() throws Exception {
+        // Given
+        final byte[] body = new byte[(int) batchRequestConfig.getMaxBodyBytes() + 1];
+        Arrays.fill(body, (byte) ' ');
+
+        final ApiError expectedError = new ApiError(PAYLOAD_TOO_LARGE, singletonList(
+                "request body: must be no larger than " + batchRequestConfig.getMaxBodyBytes() + " bytes"));
+
+        // When and Then
+        mockMvc.perform(post(CERTIFICATES_URL + "batch")
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "create"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedError)))
+                .andDo(MockMvcResultHandlers.print());
+
+        // Then
+        verify(idGeneratorService, never()).autoGenerateId();
+    }
+
     @Test
     @DisplayName("Successfully gets a certificate item")
     void getCertificateItemSuccessfully() throws Exception {
@@ -912,6 +1134,106 @@ class CertificateItemsControllerIntegrationTest {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    @DisplayName("Successfully gets a certificate item with ETag and Cache-Control headers")
+    void getCertificateItemReturnsCachingHeaders() throws Exception {
+        // Given
+        final CertificateItem newItem = new CertificateItem();
+        newItem.setCompanyNumber(COMPANY_NUMBER);
+        newItem.setId(EXPECTED_ITEM_ID);
+        newItem.setQuantity(QUANTITY);
+        newItem.setUserId(ERIC_IDENTITY_VALUE);
+        newItem.setEtag(TOKEN_ETAG);
+        repository.save(newItem);
+
+        // When and then
+        mockMvc.perform(get(CERTIFICATES_URL+EXPECTED_ITEM_ID)
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "read"))
+                .header(HttpHeaders.IF_NONE_MATCH, "\"an out of date etag\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, entityTag(TOKEN_ETAG)))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(jsonPath("$.etag").value(TOKEN_ETAG))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("Returns not modified when the certificate item etag matches If-None-Match")
+    void getCertificateItemReturnsNotModified() throws Exception {
+        // Given
+        final CertificateItem newItem = new CertificateItem();
+        newItem.setCompanyNumber(COMPANY_NUMBER);
+        newItem.setId(EXPECTED_ITEM_ID);
+        newItem.setQuantity(QUANTITY);
+        newItem.setUserId(ERIC_IDENTITY_VALUE);
+        newItem.setEtag(TOKEN_ETAG);
+        repository.save(newItem);
+
+        // When and then
+        mockMvc.perform(get(CERTIFICATES_URL+EXPECTED_ITEM_ID)
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "read"))
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag(TOKEN_ETAG))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, entityTag(TOKEN_ETAG)))
+                .andExpect(content().string(""))
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @DisplayName("Returns the certificate item with its new costs despite If-None-Match once new costs are published")
+    void getCertificateItemReturnsNewCostsOncePublished() throws Exception {
+        // Given
+        final CertificateItem newItem = new CertificateItem();
+        newItem.setCompanyNumber(COMPANY_NUMBER);
+        newItem.setId(EXPECTED_ITEM_ID);
+        newItem.setQuantity(QUANTITY);
+        newItem.setUserId(ERIC_IDENTITY_VALUE);
+        newItem.setEtag(TOKEN_ETAG);
+        repository.save(newItem);
+        final String entityTagServed = entityTag(TOKEN_ETAG);
+
+        final CostsConfig changedCosts = new CostsConfig();
+        changedCosts.setStandardCost(costs.getStandardCost() + 1);
+        changedCosts.setSameDayCost(costs.getSameDayCost());
+        changedCosts.setStandardDiscount(costs.getStandardDiscount());
+        changedCosts.setSameDayDiscount(costs.getSameDayDiscount());
+
+        try {
+            costsService.publish(changedCosts);
+            final String expectedTotalItemCost =
+                    calculator.calculateCosts(QUANTITY, DeliveryTimescale.STANDARD).getTotalItemCost();
+
+            // When and then
+            mockMvc.perform(get(CERTIFICATES_URL+EXPECTED_ITEM_ID)
+                    .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                    .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                    .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                    .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                    .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME,
+                            String.format(TOKEN_PERMISSION_VALUE, "read"))
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTagServed)
+                    .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, entityTag(TOKEN_ETAG)))
+                    .andExpect(header().string(HttpHeaders.ETAG, not(entityTagServed)))
+                    .andExpect(jsonPath("$.etag").value(TOKEN_ETAG))
+                    .andExpect(jsonPath("$.total_item_cost").value(expectedTotalItemCost))
+                    .andDo(MockMvcResultHandlers.print());
+        } finally {
+            costsService.publish(costs);
+        }
+    }
+
     @Test
     @DisplayName("Return not found when a certificate item does not exist")
     void getCertificateItemReturnsNotFound() throws Exception {
@@ -1122,10 +1444,7 @@ class CertificateItemsControllerIntegrationTest {
                 is(UPDATED_SURNAME));
         assertThat(retrievedCertificateItem.get().getLinks(), is(LINKS));
 
-        // Costs are calculated on the fly and are NOT to be saved to the DB.
-        assertThat(retrievedCertificateItem.get().getItemCosts(), is(nullValue()));
-        assertThat(retrievedCertificateItem.get().getPostageCost(), is(nullValue()));
-        assertThat(retrievedCertificateItem.get().getTotalItemCost(), is(nullValue()));
+        assertCostsSaved(retrievedCertificateItem.get(), UPDATED_QUANTITY, UPDATED_DELIVERY_TIMESCALE);
 
         assertItemOptionsEnumValueNamesSavedCorrectly(ITEM_OPTIONS_ENUM_FIELDS);
 
@@ -1133,6 +1452,127 @@ class CertificateItemsControllerIntegrationTest {
         verify(companyService).getCompanyName(UPDATED_COMPANY_NUMBER);
     }
 
+    @Test
+    @DisplayName("Successfully updates certificate item when If-Match matches its etag")
+    void updateCertificateItemWithMatchingIfMatchSuccessfully() throws Exception {
+        // Given
+        final CertificateItem savedItem = new CertificateItem();
+        savedItem.setCompanyNumber(COMPANY_NUMBER);
+        savedItem.setId(EXPECTED_ITEM_ID);
+        savedItem.setQuantity(QUANTITY);
+        savedItem.setUserId(ERIC_IDENTITY_VALUE);
+        savedItem.setEtag(TOKEN_ETAG);
+        repository.save(savedItem);
+
+        final PatchValidationCertificateItemDTO itemUpdate = new PatchValidationCertificateItemDTO();
+        itemUpdate.setCustomerReference(UPDATED_CUSTOMER_REFERENCE);
+
+        when(etagGenerator.generateEtag()).thenReturn(UPDATED_ETAG);
+        when(companyService.getCompanyName(COMPANY_NUMBER)).thenReturn(EXPECTED_COMPANY_NAME);
+
+        // When and then
+        mockMvc.perform(patch(CERTIFICATES_URL + EXPECTED_ITEM_ID)
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "update"))
+                .header(HttpHeaders.IF_MATCH, entityTag(TOKEN_ETAG))
+                .contentType(PatchMediaType.APPLICATION_MERGE_PATCH)
+                .content(objectMapper.writeValueAsString(itemUpdate)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, entityTag(UPDATED_ETAG)))
+                .andExpect(jsonPath("$.customer_reference").value(UPDATED_CUSTOMER_REFERENCE))
+                .andDo(MockMvcResultHandlers.print());
+
+        // Then
+        final Optional<CertificateItem> retrievedCertificateItem = repository.findById(EXPECTED_ITEM_ID);
+        assertThat(retrievedCertificateItem.isPresent(), is(true));
+        assertThat(retrievedCertificateItem.get().getCustomerReference(), is(UPDATED_CUSTOMER_REFERENCE));
+        assertThat(retrievedCertificateItem.get().getEtag(), is(UPDATED_ETAG));
+    }
+
+    @Test
+    @DisplayName("Fails to update certificate item when If-Match does not match its etag")
+    void updateCertificateItemWithMismatchedIfMatchFails() throws Exception {
+        // Given
+        final CertificateItem savedItem = new CertificateItem();
+        savedItem.setCompanyNumber(COMPANY_NUMBER);
+        savedItem.setId(EXPECTED_ITEM_ID);
+        savedItem.setQuantity(QUANTITY);
+        savedItem.setUserId(ERIC_IDENTITY_VALUE);
+        savedItem.setCustomerReference(CUSTOMER_REFERENCE);
+        savedItem.setEtag(UPDATED_ETAG);
+        repository.save(savedItem);
+
+        final PatchValidationCertificateItemDTO itemUpdate = new PatchValidationCertificateItemDTO();
+        itemUpdate.setCustomerReference(UPDATED_CUSTOMER_REFERENCE);
+
+        final ApiError expectedError = new ApiError(PRECONDITION_FAILED,
+                singletonList("certificate item has been modified by another request"));
+
+        // When and then
+        mockMvc.perform(patch(CERTIFICATES_URL + EXPECTED_ITEM_ID)
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "update"))
+                .header(HttpHeaders.IF_MATCH, entityTag(TOKEN_ETAG))
+                .contentType(PatchMediaType.APPLICATION_MERGE_PATCH)
+                .content(objectMapper.writeValueAsString(itemUpdate)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedError)))
+                .andDo(MockMvcResultHandlers.print());
+
+        // Then
+        final Optional<CertificateItem> retrievedCertificateItem = repository.findById(EXPECTED_ITEM_ID);
+        assertThat(retrievedCertificateItem.isPresent(), is(true));
+        assertThat(retrievedCertificateItem.get().getCustomerReference(), is(CUSTOMER_REFERENCE));
+        assertThat(retrievedCertificateItem.get().getEtag(), is(UPDATED_ETAG));
+        verify(etagGenerator, never()).generateEtag();
+    }
+
+    @Test
+    @DisplayName("Fails to update certificate item when If-Match holds its etag only as a weak validator")
+    void updateCertificateItemWithWeakIfMatchFails() throws Exception {
+        // Given
+        final CertificateItem savedItem = new CertificateItem();
+        savedItem.setCompanyNumber(COMPANY_NUMBER);
+        savedItem.setId(EXPECTED_ITEM_ID);
+        savedItem.setQuantity(QUANTITY);
+        savedItem.setUserId(ERIC_IDENTITY_VALUE);
+        savedItem.setCustomerReference(CUSTOMER_REFERENCE);
+        savedItem.setEtag(TOKEN_ETAG);
+        repository.save(savedItem);
+
+        final PatchValidationCertificateItemDTO itemUpdate = new PatchValidationCertificateItemDTO();
+        itemUpdate.setCustomerReference(UPDATED_CUSTOMER_REFERENCE);
+
+        final ApiError expectedError = new ApiError(PRECONDITION_FAILED,
+                singletonList("certificate item has been modified by another request"));
+
+        // When and then
+        mockMvc.perform(patch(CERTIFICATES_URL + EXPECTED_ITEM_ID)
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "update"))
+                .header(HttpHeaders.IF_MATCH, "W/" + entityTag(TOKEN_ETAG))
+                .contentType(PatchMediaType.APPLICATION_MERGE_PATCH)
+                .content(objectMapper.writeValueAsString(itemUpdate)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedError)))
+                .andDo(MockMvcResultHandlers.print());
+
+        // Then
+        final Optional<CertificateItem> retrievedCertificateItem = repository.findById(EXPECTED_ITEM_ID);
+        assertThat(retrievedCertificateItem.isPresent(), is(true));
+        assertThat(retrievedCertificateItem.get().getCustomerReference(), is(CUSTOMER_REFERENCE));
+        verify(etagGenerator, never()).generateEtag();
+    }
+
     @Test
     @DisplayName("Fails to create certificate item with incorrect token permission")
     void updateCertificateItemUnauthorizedTokenPermission() throws Exception {
@@ -1333,6 +1773,36 @@ class CertificateItemsControllerIntegrationTest {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    @DisplayName("Rejects update request whose merge patch is not a JSON object")
+    void updateCertificateItemRejectsNullPatch() throws Exception {
+        // Given
+        final CertificateItem savedItem = new CertificateItem();
+        savedItem.setId(EXPECTED_ITEM_ID);
+        savedItem.setQuantity(QUANTITY);
+        savedItem.setUserId(ERIC_IDENTITY_VALUE);
+        repository.save(savedItem);
+
+        final ApiError expectedValidationError =
+                new ApiError(BAD_REQUEST, singletonList("merge patch must be a JSON object"));
+
+        // When and then
+        mockMvc.perform(patch(CERTIFICATES_URL + EXPECTED_ITEM_ID)
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "update"))
+                .contentType(PatchMediaType.APPLICATION_MERGE_PATCH)
+                .content("null"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().json(objectMapper.writeValueAsString(expectedValidationError)))
+                .andDo(MockMvcResultHandlers.print());
+
+        // Then
+        assertThat(repository.findById(EXPECTED_ITEM_ID).get().getQuantity(), is(QUANTITY));
+    }
+
     @Test
     @DisplayName("Rejects update request containing an invalid delivery timescale")
     void updateCertificateItemRejectsInvalidDeliveryTimescale() throws Exception {
@@ -1956,24 +2426,55 @@ class CertificateItemsControllerIntegrationTest {
         return objectMapper.writeValueAsString(itemUpdate).replace("current", "unknown");
     }
 
+    /**
+     * Creates a valid item for inclusion in a batch create request.
+     * @return the item
+     */
+    private CertificateItemDTO createBatchItem() {
+        final CertificateItemDTO newItem = new CertificateItemDTO();
+        newItem.setCompanyNumber(COMPANY_NUMBER);
+        final CertificateItemOptions options = new CertificateItemOptions();
+        options.setCertificateType(CERTIFICATE_TYPE);
+        options.setCollectionLocation(COLLECTION_LOCATION);
+        options.setDeliveryMethod(DELIVERY_METHOD);
+        options.setDeliveryTimescale(DELIVERY_TIMESCALE);
+        newItem.setItemOptions(options);
+        newItem.setQuantity(QUANTITY);
+        newItem.setCustomerReference(CUSTOMER_REFERENCE);
+        return newItem;
+    }
+
     /**
      * Verifies that the item assumed to have been created by the create item POST request can be retrieved
-     * from the database using its expected ID value. Also verifies that item costs have NOT been saved to the DB.
+     * from the database using its expected ID value. Also verifies that item costs have been saved to the DB.
      * @param expectedItemId the expected ID of the newly created item
      */
     private void assertItemSavedCorrectly(final String expectedItemId) {
         final Optional<CertificateItem> retrievedCertificateItem = repository.findById(expectedItemId);
         assertThat(retrievedCertificateItem.isPresent(), is(true));
         assertThat(retrievedCertificateItem.get().getId(), is(expectedItemId));
-
-        // Costs are calculated on the fly and are NOT to be saved to the DB.
-        assertThat(retrievedCertificateItem.get().getItemCosts(), is(nullValue()));
-        assertThat(retrievedCertificateItem.get().getPostageCost(), is(nullValue()));
-        assertThat(retrievedCertificateItem.get().getTotalItemCost(), is(nullValue()));
+        assertCostsSaved(retrievedCertificateItem.get(), QUANTITY, DELIVERY_TIMESCALE);
 
         assertItemOptionsEnumValueNamesSavedCorrectly(ITEM_OPTIONS_ENUM_FIELDS);
     }
 
+    /**
+     * Verifies that the costs of the item have been saved to the DB, together with the version of the tariff under
+     * which they were calculated.
+     * @param item the item as retrieved from the DB
+     * @param quantity the quantity of certificates
+     * @param deliveryTimescale the delivery timescale
+     */
+    private void assertCostsSaved(final CertificateItem item,
+                                  final int quantity,
+                                  final DeliveryTimescale deliveryTimescale) {
+        final List<ItemCosts> costs = generateExpectedCosts(quantity, deliveryTimescale);
+        assertThat(item.getItemCosts().size(), is(quantity));
+        assertThat(item.getPostageCost(), is(POSTAGE_COST));
+        assertThat(item.getTotalItemCost(), is(calculateExpectedTotalItemCost(costs, POSTAGE_COST)));
+        assertThat(item.getTariffVersion(), is(notNullValue()));
+    }
+
     /**
      * Verifies that the item that could have been created by the create item POST request cannot in fact be retrieved
      * from the database.
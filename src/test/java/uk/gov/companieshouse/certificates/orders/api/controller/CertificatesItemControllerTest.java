@@ -1,31 +1,65 @@
 package uk.gov.companieshouse.certificates.orders.api.controller;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.CREATE_REQUEST;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.PATCHED_ITEM_REQUEST;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.PATCH_REQUEST;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.REQUEST_TAG;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.VALIDATION_FAILURES_COUNTER;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_HEADER_NAME;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_TYPE_API_KEY_VALUE;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_TYPE_HEADER_NAME;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_TYPE_OAUTH2_VALUE;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_VALUE;
 import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.TOKEN_REQUEST_ID_VALUE;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
-import javax.json.JsonMergePatch;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import javax.servlet.http.HttpServletRequest;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
 
 import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemDTO;
+import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemSummaryDTO;
+import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemsPageDTO;
 import uk.gov.companieshouse.certificates.orders.api.mapper.CertificateItemMapper;
 import uk.gov.companieshouse.certificates.orders.api.service.CertificateItemService;
 import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemFilter;
+import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemKey;
 import uk.gov.companieshouse.certificates.orders.api.service.CompanyService;
 import uk.gov.companieshouse.certificates.orders.api.util.PatchMerger;
 import uk.gov.companieshouse.certificates.orders.api.validator.CreateItemRequestValidator;
@@ -38,12 +72,14 @@ import uk.gov.companieshouse.certificates.orders.api.validator.PatchItemRequestV
 public class CertificatesItemControllerTest {
 
     private static final String ITEM_ID = "CHS00000000000000001";
+    private static final String ETAG = "9d39ea69b64c80ca42ed72328b48c303c4445e28";
+    private static final String ENTITY_TAG = ETAG + "-5d41402abc4b2a76b9719d911017c592";
 
     @InjectMocks
     private CertificateItemsController controllerUnderTest;
 
     @Mock
-    private JsonMergePatch patch;
+    private JsonNode patch;
 
     @Mock
     private CertificateItemService certificateItemService;
@@ -72,22 +108,107 @@ public class CertificatesItemControllerTest {
     @Mock
     private HttpServletRequest request;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private Executor companyLookupExecutor;
+
     @Test
     @DisplayName("Update request updates successfully")
     void updateUpdatesSuccessfully() throws Exception {
         // Given
         when(certificateItemService.getCertificateItemById(ITEM_ID)).thenReturn(Optional.of(item));
         when(merger.mergePatch(patch, item, CertificateItem.class)).thenReturn(item);
-        when(certificateItemService.saveCertificateItem(item)).thenReturn(item);
+        when(certificateItemService.saveCertificateItem(item, item)).thenReturn(Optional.of(item));
+        when(mapper.certificateItemToCertificateItemDTO(item)).thenReturn(dto);
+
+        // When
+        final ResponseEntity<Object> response = controllerUnderTest.updateCertificateItem(patch, ITEM_ID,
+                TOKEN_REQUEST_ID_VALUE, null);
+
+        // Then
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(response.getBody(), is(dto));
+    }
+
+    @Test
+    @DisplayName("Update request with matching If-Match updates successfully")
+    void updateWithMatchingIfMatchUpdatesSuccessfully() {
+        // Given
+        when(item.getEtag()).thenReturn(ETAG);
+        when(certificateItemService.getEntityTag(ETAG)).thenReturn(ENTITY_TAG);
+        when(certificateItemService.getCertificateItemById(ITEM_ID)).thenReturn(Optional.of(item));
+        when(merger.mergePatch(patch, item, CertificateItem.class)).thenReturn(item);
+        when(certificateItemService.saveCertificateItem(item, item)).thenReturn(Optional.of(item));
+        when(mapper.certificateItemToCertificateItemDTO(item)).thenReturn(dto);
+
+        // When
+        final ResponseEntity<Object> response = controllerUnderTest.updateCertificateItem(patch, ITEM_ID,
+                TOKEN_REQUEST_ID_VALUE, "\"" + ENTITY_TAG + "\"");
+
+        // Then
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(response.getBody(), is(dto));
+        assertThat(response.getHeaders().getETag(), is("\"" + ENTITY_TAG + "\""));
+    }
+
+    @Test
+    @DisplayName("Update request with mismatched If-Match reports precondition failed")
+    void updateWithMismatchedIfMatchReportsPreconditionFailed() {
+        // Given
+        when(item.getEtag()).thenReturn(ETAG);
+        when(certificateItemService.getEntityTag(ETAG)).thenReturn(ENTITY_TAG);
+        when(certificateItemService.getCertificateItemById(ITEM_ID)).thenReturn(Optional.of(item));
+
+        // When
+        final ResponseEntity<Object> response = controllerUnderTest.updateCertificateItem(patch, ITEM_ID,
+                TOKEN_REQUEST_ID_VALUE, "\"an out of date etag\"");
+
+        // Then
+        assertThat(response.getStatusCode(), is(HttpStatus.PRECONDITION_FAILED));
+        verify(merger, never()).mergePatch(patch, item, CertificateItem.class);
+        verify(certificateItemService, never()).saveCertificateItem(item, item);
+    }
+
+    @Test
+    @DisplayName("Update request without If-Match retries update after concurrent modification")
+    void updateWithoutIfMatchRetriesAfterConcurrentModification() {
+        // Given
+        when(certificateItemService.getCertificateItemById(ITEM_ID)).thenReturn(Optional.of(item));
+        when(merger.mergePatch(patch, item, CertificateItem.class)).thenReturn(item);
+        when(certificateItemService.saveCertificateItem(item, item))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(item));
         when(mapper.certificateItemToCertificateItemDTO(item)).thenReturn(dto);
 
         // When
         final ResponseEntity<Object> response = controllerUnderTest.updateCertificateItem(patch, ITEM_ID,
-                TOKEN_REQUEST_ID_VALUE);
+                TOKEN_REQUEST_ID_VALUE, null);
 
         // Then
         assertThat(response.getStatusCode(), is(HttpStatus.OK));
         assertThat(response.getBody(), is(dto));
+        verify(certificateItemService, times(2)).getCertificateItemById(ITEM_ID);
+        verify(certificateItemService, times(2)).saveCertificateItem(item, item);
+    }
+
+    @Test
+    @DisplayName("Update request without If-Match reports conflict after repeated concurrent modifications")
+    void updateWithoutIfMatchReportsConflictAfterRepeatedConcurrentModifications() {
+        // Given
+        when(certificateItemService.getCertificateItemById(ITEM_ID)).thenReturn(Optional.of(item));
+        when(merger.mergePatch(patch, item, CertificateItem.class)).thenReturn(item);
+        when(certificateItemService.saveCertificateItem(item, item)).thenReturn(Optional.empty());
+
+        // When
+        final ResponseEntity<Object> response = controllerUnderTest.updateCertificateItem(patch, ITEM_ID,
+                TOKEN_REQUEST_ID_VALUE, null);
+
+        // Then
+        assertThat(response.getStatusCode(), is(HttpStatus.CONFLICT));
+        verify(certificateItemService, times(CertificateItemsController.MAX_UPDATE_ATTEMPTS))
+                .saveCertificateItem(item, item);
     }
 
     @Test
@@ -95,7 +216,7 @@ public class CertificatesItemControllerTest {
     void updateReportsResourceNotFound() {
         when(certificateItemService.getCertificateItemById(ITEM_ID)).thenReturn(Optional.empty());
         final ResponseEntity<Object> response = controllerUnderTest.updateCertificateItem(patch, ITEM_ID,
-                TOKEN_REQUEST_ID_VALUE);
+                TOKEN_REQUEST_ID_VALUE, null);
         assertThat(response.getStatusCode(), is(HttpStatus.NOT_FOUND));
         
     }
@@ -107,8 +228,9 @@ public class CertificatesItemControllerTest {
         errors.add("error");
         when(validator.getValidationErrors(patch)).thenReturn(errors);
         ResponseEntity<Object> response = controllerUnderTest.updateCertificateItem(patch, ITEM_ID,
-                TOKEN_REQUEST_ID_VALUE);
+                TOKEN_REQUEST_ID_VALUE, null);
         assertThat(response.getStatusCode(), is(HttpStatus.BAD_REQUEST));
+        assertThat(validationFailures(PATCH_REQUEST), is(1.0));
     }
     
     @Test
@@ -121,26 +243,87 @@ public class CertificatesItemControllerTest {
         lenient().when(validator.getValidationErrors(item)).thenReturn(errors);
         
         ResponseEntity<Object> response = controllerUnderTest.updateCertificateItem(patch, ITEM_ID,
-                TOKEN_REQUEST_ID_VALUE);
+                TOKEN_REQUEST_ID_VALUE, null);
         assertThat(response.getStatusCode(), is(HttpStatus.BAD_REQUEST));
+        assertThat(validationFailures(PATCHED_ITEM_REQUEST), is(1.0));
     }
     
     @Test
     @DisplayName("Get certificate item resource returned")
     void getCertificateItemIsPresent() {
-        when(certificateItemService.getCertificateItemWithCosts(ITEM_ID)).thenReturn(Optional.of(item));
+        when(certificateItemService.getCertificateItemById(ITEM_ID)).thenReturn(Optional.of(item));
         when(mapper.certificateItemToCertificateItemDTO(item)).thenReturn(dto);
-        ResponseEntity<Object> response = controllerUnderTest.getCertificateItem(ITEM_ID, TOKEN_REQUEST_ID_VALUE);
+        ResponseEntity<Object> response = controllerUnderTest.getCertificateItem(ITEM_ID, TOKEN_REQUEST_ID_VALUE, null);
         
         assertThat(response.getStatusCode(), is(HttpStatus.OK));
         assertThat(response.getBody(), is(dto));
+        verify(certificateItemService).populateItemCosts(item);
     }
-    
+
+    @Test
+    @DisplayName("Get certificate item resource returns ETag and Cache-Control headers")
+    void getCertificateItemReturnsCachingHeaders() {
+        // Given
+        when(item.getEtag()).thenReturn(ETAG);
+        when(certificateItemService.getEntityTag(ETAG)).thenReturn(ENTITY_TAG);
+        when(certificateItemService.getCertificateItemById(ITEM_ID)).thenReturn(Optional.of(item));
+        when(mapper.certificateItemToCertificateItemDTO(item)).thenReturn(dto);
+
+        // When
+        ResponseEntity<Object> response =
+                controllerUnderTest.getCertificateItem(ITEM_ID, TOKEN_REQUEST_ID_VALUE, "\"other\"");
+
+        // Then
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(response.getHeaders().getETag(), is("\"" + ENTITY_TAG + "\""));
+        assertThat(response.getHeaders().getCacheControl(), is("no-cache, private"));
+    }
+
+    @Test
+    @DisplayName("Get certificate item resource returns HTTP NOT MODIFIED without calculating costs")
+    void getCertificateItemNotModified() {
+        // Given
+        when(item.getEtag()).thenReturn(ETAG);
+        when(certificateItemService.getEntityTag(ETAG)).thenReturn(ENTITY_TAG);
+        when(certificateItemService.getCertificateItemById(ITEM_ID)).thenReturn(Optional.of(item));
+
+        // When
+        ResponseEntity<Object> response =
+                controllerUnderTest.getCertificateItem(ITEM_ID, TOKEN_REQUEST_ID_VALUE, "\"" + ENTITY_TAG + "\"");
+
+        // Then
+        assertThat(response.getStatusCode(), is(HttpStatus.NOT_MODIFIED));
+        assertThat(response.getBody(), is(nullValue()));
+        assertThat(response.getHeaders().getETag(), is("\"" + ENTITY_TAG + "\""));
+        verify(certificateItemService, never()).populateItemCosts(item);
+        verify(mapper, never()).certificateItemToCertificateItemDTO(item);
+    }
+
+    @Test
+    @DisplayName("Get certificate item resource returns item with its costs once the tariff has changed")
+    void getCertificateItemModifiedByTariffChange() {
+        // Given
+        when(item.getEtag()).thenReturn(ETAG);
+        when(certificateItemService.getEntityTag(ETAG)).thenReturn(ENTITY_TAG);
+        when(certificateItemService.getCertificateItemById(ITEM_ID)).thenReturn(Optional.of(item));
+        when(mapper.certificateItemToCertificateItemDTO(item)).thenReturn(dto);
+
+        // When
+        ResponseEntity<Object> response =
+                controllerUnderTest.getCertificateItem(ITEM_ID, TOKEN_REQUEST_ID_VALUE, "\"" + ETAG + "\"");
+
+        // Then
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(response.getBody(), is(dto));
+        assertThat(response.getHeaders().getETag(), is("\"" + ENTITY_TAG + "\""));
+        verify(certificateItemService).populateItemCosts(item);
+    }
+
     @Test
     @DisplayName("Get certificate item resouce returns HTTP NOT FOUND")
     void getCertificateItemNotFound() {
-        when(certificateItemService.getCertificateItemWithCosts(ITEM_ID)).thenReturn(Optional.empty());
-        ResponseEntity<Object> response = controllerUnderTest.getCertificateItem(ITEM_ID, TOKEN_REQUEST_ID_VALUE);
+        when(certificateItemService.getCertificateItemById(ITEM_ID)).thenReturn(Optional.empty());
+        ResponseEntity<Object> response = controllerUnderTest.getCertificateItem(ITEM_ID, TOKEN_REQUEST_ID_VALUE, null);
         
         assertThat(response.getStatusCode(), is(HttpStatus.NOT_FOUND));
     }
@@ -148,10 +331,16 @@ public class CertificatesItemControllerTest {
     @Test
     @DisplayName("Create certificate item is successful")
     void createCertificateItemSuccessful() {
+        runCompanyLookupsOnRequestingThread();
+        when(dto.getCompanyNumber()).thenReturn("number");
         when(mapper.certificateItemDTOtoCertificateItem(dto)).thenReturn(item);
         when(item.getCompanyNumber()).thenReturn("number");
         when(companyService.getCompanyName("number")).thenReturn("name");
-        when(certificateItemService.createCertificateItem(item)).thenReturn(item);
+        when(certificateItemService.createCertificateItem(eq(item), any())).thenAnswer(invocation -> {
+            final Supplier<String> companyName = invocation.getArgument(1);
+            assertThat(companyName.get(), is("name"));
+            return item;
+        });
         when(mapper.certificateItemToCertificateItemDTO(item)).thenReturn(dto);
         
         ResponseEntity<Object> response = controllerUnderTest.createCertificateItem(dto, request, TOKEN_REQUEST_ID_VALUE);
@@ -159,6 +348,28 @@ public class CertificatesItemControllerTest {
         assertThat(response.getStatusCode(), is(HttpStatus.CREATED));
         assertThat(response.getBody(), is(dto));
     }
+
+    @Test
+    @DisplayName("Create certificate item propagates company lookup error as-is")
+    void createCertificateItemPropagatesCompanyLookupError() {
+        // Given
+        final ResponseStatusException lookupError =
+                new ResponseStatusException(HttpStatus.BAD_REQUEST, "Error getting company name");
+        runCompanyLookupsOnRequestingThread();
+        when(dto.getCompanyNumber()).thenReturn("number");
+        when(mapper.certificateItemDTOtoCertificateItem(dto)).thenReturn(item);
+        when(companyService.getCompanyName("number")).thenThrow(lookupError);
+        when(certificateItemService.createCertificateItem(eq(item), any())).thenAnswer(invocation -> {
+            final Supplier<String> companyName = invocation.getArgument(1);
+            companyName.get();
+            return item;
+        });
+
+        // When and then
+        final ResponseStatusException exception = assertThrows(ResponseStatusException.class,
+                () -> controllerUnderTest.createCertificateItem(dto, request, TOKEN_REQUEST_ID_VALUE));
+        assertThat(exception, is(lookupError));
+    }
     
     @Test
     @DisplayName("Create certificate item has validation errors")
@@ -168,6 +379,94 @@ public class CertificatesItemControllerTest {
         when(createValidator.getValidationErrors(dto)).thenReturn(errors);
         ResponseEntity<Object> response = controllerUnderTest.createCertificateItem(dto, request, TOKEN_REQUEST_ID_VALUE);
         assertThat(response.getStatusCode(), is(HttpStatus.BAD_REQUEST));
+        assertThat(validationFailures(CREATE_REQUEST), is(1.0));
+    }
+
+    @Test
+    @DisplayName("Get certificate items returns a page of summaries and the token of the next page")
+    void getCertificateItemsReturnsPageAndNextPageToken() {
+        // Given
+        final CertificateItem newest = listedItem("CRT-000001-000002", LocalDateTime.of(2020, 6, 1, 12, 1));
+        final CertificateItem next = listedItem("CRT-000001-000001", LocalDateTime.of(2020, 6, 1, 12, 0));
+        final CertificateItem beyondPage = listedItem("CRT-000001-000000", LocalDateTime.of(2020, 6, 1, 11, 0));
+        final CertificateItemSummaryDTO newestSummary = new CertificateItemSummaryDTO();
+        final CertificateItemSummaryDTO nextSummary = new CertificateItemSummaryDTO();
+        when(request.getHeader(ERIC_IDENTITY_TYPE_HEADER_NAME)).thenReturn(ERIC_IDENTITY_TYPE_API_KEY_VALUE);
+        when(certificateItemService.getCertificateItems(any(CertificateItemFilter.class), isNull(), eq(3)))
+                .thenReturn(Arrays.asList(newest, next, beyondPage));
+        when(mapper.certificateItemToCertificateItemSummaryDTO(newest)).thenReturn(newestSummary);
+        when(mapper.certificateItemToCertificateItemSummaryDTO(next)).thenReturn(nextSummary);
+
+        // When
+        final ResponseEntity<Object> response = controllerUnderTest.getCertificateItems(null, "00006400", null,
+                null, null, 2, null, request, TOKEN_REQUEST_ID_VALUE);
+
+        // Then
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        final CertificateItemsPageDTO page = (CertificateItemsPageDTO) response.getBody();
+        assertThat(page.getItems(), contains(newestSummary, nextSummary));
+        final CertificateItemKey nextPageKey = CertificateItemKey.fromToken(page.getNextPageToken());
+        assertThat(nextPageKey.getId(), is(next.getId()));
+        assertThat(nextPageKey.getCreatedAt(), is(next.getCreatedAt()));
+    }
+
+    @Test
+    @DisplayName("Get certificate items lists only the user's own items, continuing from the page token")
+    void getCertificateItemsListsOnlyUsersOwnItems() {
+        // Given
+        final CertificateItemKey after = new CertificateItemKey(LocalDateTime.of(2020, 6, 1, 12, 0), ITEM_ID);
+        final ArgumentCaptor<CertificateItemFilter> filter = ArgumentCaptor.forClass(CertificateItemFilter.class);
+        final ArgumentCaptor<CertificateItemKey> key = ArgumentCaptor.forClass(CertificateItemKey.class);
+        when(request.getHeader(ERIC_IDENTITY_TYPE_HEADER_NAME)).thenReturn(ERIC_IDENTITY_TYPE_OAUTH2_VALUE);
+        when(request.getHeader(ERIC_IDENTITY_HEADER_NAME)).thenReturn(ERIC_IDENTITY_VALUE);
+        when(certificateItemService.getCertificateItems(filter.capture(), key.capture(), eq(21)))
+                .thenReturn(new ArrayList<>());
+
+        // When
+        final ResponseEntity<Object> response = controllerUnderTest.getCertificateItems("another-user", null, null,
+                null, null, 20, after.toToken(), request, TOKEN_REQUEST_ID_VALUE);
+
+        // Then
+        assertThat(response.getStatusCode(), is(HttpStatus.OK));
+        assertThat(filter.getValue().getUserId(), is(ERIC_IDENTITY_VALUE));
+        assertThat(key.getValue().getId(), is(ITEM_ID));
+        assertThat(((CertificateItemsPageDTO) response.getBody()).getNextPageToken(), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("Get certificate items rejects an invalid page size and page token")
+    void getCertificateItemsRejectsInvalidPaging() {
+        // Given
+        when(request.getHeader(ERIC_IDENTITY_TYPE_HEADER_NAME)).thenReturn(ERIC_IDENTITY_TYPE_API_KEY_VALUE);
+
+        // When
+        final ResponseEntity<Object> response = controllerUnderTest.getCertificateItems(null, null, null,
+                null, null, 0, "not a token", request, TOKEN_REQUEST_ID_VALUE);
+
+        // Then
+        assertThat(response.getStatusCode(), is(HttpStatus.BAD_REQUEST));
+        assertThat(((ApiError) response.getBody()).getErrors(), contains(
+                CertificateItemsController.PAGE_SIZE_ERROR, CertificateItemsController.PAGE_TOKEN_ERROR));
+        verify(certificateItemService, never()).getCertificateItems(any(), any(), anyInt());
+    }
+
+    private static CertificateItem listedItem(final String id, final LocalDateTime createdAt) {
+        final CertificateItem listedItem = new CertificateItem();
+        listedItem.setId(id);
+        listedItem.setCreatedAt(createdAt);
+        return listedItem;
+    }
+
+    private void runCompanyLookupsOnRequestingThread() {
+        doAnswer(invocation -> {
+            final Runnable lookup = invocation.getArgument(0);
+            lookup.run();
+            return null;
+        }).when(companyLookupExecutor).execute(any(Runnable.class));
+    }
+
+    private double validationFailures(final String requestKind) {
+        return meterRegistry.counter(VALIDATION_FAILURES_COUNTER, REQUEST_TAG, requestKind).count();
     }
 
 }
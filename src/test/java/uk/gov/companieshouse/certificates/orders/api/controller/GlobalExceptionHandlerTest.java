@@ -15,6 +15,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.context.request.WebRequest;
+import uk.gov.companieshouse.certificates.orders.api.interceptor.RequestBodySizeFilter.RequestBodyTooLargeException;
 import uk.gov.companieshouse.certificates.orders.api.util.FieldNameConverter;
 
 import java.util.Collections;
@@ -122,6 +123,23 @@ public class GlobalExceptionHandlerTest {
         assertThat(error.getErrors().get(0), is(ORIGINAL_MESSAGE));
     }
 
+    @Test
+    void buildsPayloadTooLargeApiErrorFromRequestBodyTooLargeException() {
+
+        // Given
+        when(hex.getCause()).thenReturn(new RequestBodyTooLargeException(10));
+
+        // When
+        final ResponseEntity<Object> response =
+                handlerUnderTest.handleHttpMessageNotReadable(hex, headers, ORIGINAL_STATUS, request);
+
+        // Then
+        final ApiError error = (ApiError) response.getBody();
+        assertThat(error, is(notNullValue()));
+        assertThat(error.getStatus(), is(HttpStatus.PAYLOAD_TOO_LARGE));
+        assertThat(error.getErrors().get(0), is("request body: must be no larger than 10 bytes"));
+    }
+
     @Test
     void delegatesHandlingOfNonJsonProcessingExceptionsToSpring() {
 
@@ -0,0 +1,347 @@
+package uk.gov.companieshouse.certificates.orders.api.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemDTO;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItemOptions;
+import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemRepository;
+import uk.gov.companieshouse.certificates.orders.api.repository.ReactiveCertificateItemRepository;
+import uk.gov.companieshouse.certificates.orders.api.service.CertificateCostCalculatorService;
+import uk.gov.companieshouse.certificates.orders.api.service.CompanyService;
+import uk.gov.companieshouse.certificates.orders.api.service.ReactiveCompanyService;
+import uk.gov.companieshouse.certificates.orders.api.util.EtagHeaderHelper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.PRECONDITION_FAILED;
+import static org.springframework.web.reactive.function.BodyInserters.fromObject;
+import static uk.gov.companieshouse.certificates.orders.api.model.DeliveryTimescale.STANDARD;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_AUTHORISED_USER_HEADER_NAME;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_AUTHORISED_USER_VALUE;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_HEADER_NAME;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_TYPE_HEADER_NAME;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_TYPE_OAUTH2_VALUE;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_VALUE;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.REQUEST_ID_HEADER_NAME;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.TOKEN_REQUEST_ID_VALUE;
+
+/**
+ * Integration tests the {@link ReactiveCertificateItemsController} class, together with the reactive authorisation
+ * filter and exception handler, running on the reactive stack selected by the <code>reactive</code> profile.
+ */
+@ActiveProfiles("reactive")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveCertificateItemsControllerIntegrationTest {
+
+    private static final String CERTIFICATES_URL = "/orderable/certificates";
+    private static final String ITEM_ID = "CRT-123456-123456";
+    private static final String ITEM_URL = CERTIFICATES_URL + "/" + ITEM_ID;
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    private static final String COMPANY_NUMBER = "00006400";
+    private static final String COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST";
+    private static final String COMPANY_NOT_FOUND_ERROR =
+            "Error getting company name for company number " + COMPANY_NUMBER;
+    private static final String TOKEN_PERMISSION_VALUE = "user_orders=%s";
+    private static final String ETAG = "b6cd1c85c4f6b0ce8bea2e6a0b1fa3e0b3f8a4f2";
+    private static final String OTHER_USER = "abc123";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveCertificateItemRepository repository;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private CertificateCostCalculatorService calculator;
+
+    @MockBean
+    private ReactiveCompanyService companyService;
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteById(ITEM_ID).block();
+    }
+
+    @Test
+    @DisplayName("The reactive stack starts none of the blocking beans of the servlet stack")
+    void startsNoBlockingBeans() {
+        assertThat(context.getBeanNamesForType(MongoTemplate.class), is(emptyArray()));
+        assertThat(context.getBeanNamesForType(CertificateItemRepository.class), is(emptyArray()));
+        assertThat(context.getBeanNamesForType(CompanyService.class), is(emptyArray()));
+    }
+
+    @Test
+    @DisplayName("Create creates the certificate item, with the company name looked up")
+    void createCertificateItemCreatesItem() {
+
+        // Given
+        when(companyService.getCompanyName(COMPANY_NUMBER)).thenReturn(Mono.just(COMPANY_NAME));
+
+        // When and Then
+        final CertificateItemDTO created = post(createValidNewItem(), "create")
+                .expectStatus().isCreated()
+                .expectBody(CertificateItemDTO.class)
+                .returnResult().getResponseBody();
+        assertThat(created.getCompanyName(), is(COMPANY_NAME));
+        assertThat(repository.findById(created.getId()).block().getUserId(), is(ERIC_IDENTITY_VALUE));
+        repository.deleteById(created.getId()).block();
+    }
+
+    @Test
+    @DisplayName("Create renders validation errors as the servlet stack does")
+    void createCertificateItemRejectsMissingCompanyNumber() {
+
+        // Given
+        final CertificateItemDTO newItem = createValidNewItem();
+        newItem.setCompanyNumber(null);
+
+        // When and Then
+        post(newItem, "create")
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("BAD_REQUEST")
+                .jsonPath("$.errors[0]").isEqualTo("company_number: must not be null");
+    }
+
+    @Test
+    @DisplayName("Create reports company not found as bad request")
+    void createCertificateItemReportsCompanyNotFoundAsBadRequest() {
+
+        // Given
+        when(companyService.getCompanyName(COMPANY_NUMBER))
+                .thenReturn(Mono.error(new ResponseStatusException(BAD_REQUEST, COMPANY_NOT_FOUND_ERROR)));
+
+        // When and Then
+        post(createValidNewItem(), "create")
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("400")
+                .jsonPath("$.message").isEqualTo(COMPANY_NOT_FOUND_ERROR);
+    }
+
+    @Test
+    @DisplayName("Create rejects a token without the create permission")
+    void createCertificateItemRejectsWrongPermission() {
+        post(createValidNewItem(), "read").expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Create rejects a request without an identity")
+    void createCertificateItemRejectsMissingIdentity() {
+        webTestClient.post().uri(CERTIFICATES_URL)
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(fromObject(createValidNewItem()))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Get returns the certificate item with its etag and caching headers")
+    void getCertificateItemReturnsItem() {
+
+        // Given
+        saveItem(ERIC_IDENTITY_VALUE);
+
+        // When and Then
+        get(ITEM_URL)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, entityTag())
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "no-cache, private")
+                .expectBody()
+                .jsonPath("$.company_number").isEqualTo(COMPANY_NUMBER);
+    }
+
+    @Test
+    @DisplayName("Get returns not modified when the client copy is current")
+    void getCertificateItemReturnsNotModified() {
+
+        // Given
+        saveItem(ERIC_IDENTITY_VALUE);
+
+        // When and Then
+        get(ITEM_URL)
+                .header(HttpHeaders.IF_NONE_MATCH, entityTag())
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("Get returns the certificate item when the client copy predates the tariff in use")
+    void getCertificateItemReturnsItemCostedUnderOtherTariff() {
+
+        // Given
+        saveItem(ERIC_IDENTITY_VALUE);
+
+        // When and Then
+        get(ITEM_URL)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + ETAG + "\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, entityTag());
+    }
+
+    @Test
+    @DisplayName("Get rejects a user who does not own the certificate item")
+    void getCertificateItemRejectsOtherUser() {
+
+        // Given
+        saveItem(OTHER_USER);
+
+        // When and Then
+        get(ITEM_URL).exchange().expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("Get reports an unknown certificate item as not found")
+    void getCertificateItemReportsNotFound() {
+        get(ITEM_URL).exchange().expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("Update saves the patched certificate item")
+    void updateCertificateItemSavesItem() {
+
+        // Given
+        saveItem(ERIC_IDENTITY_VALUE);
+        when(companyService.getCompanyName(COMPANY_NUMBER)).thenReturn(Mono.just(COMPANY_NAME));
+
+        // When and Then
+        patch("{\"quantity\": 3}", null)
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.quantity").isEqualTo(3)
+                .jsonPath("$.company_name").isEqualTo(COMPANY_NAME);
+        assertThat(repository.findById(ITEM_ID).block().getQuantity(), is(3));
+    }
+
+    @Test
+    @DisplayName("Update saves the patched certificate item when If-Match holds the entity tag served")
+    void updateCertificateItemWithCurrentIfMatchSavesItem() {
+
+        // Given
+        saveItem(ERIC_IDENTITY_VALUE);
+        when(companyService.getCompanyName(COMPANY_NUMBER)).thenReturn(Mono.just(COMPANY_NAME));
+
+        // When and Then
+        patch("{\"quantity\": 3}", entityTag())
+                .expectStatus().isOk();
+        assertThat(repository.findById(ITEM_ID).block().getQuantity(), is(3));
+    }
+
+    @Test
+    @DisplayName("Update rejects a stale If-Match as precondition failed")
+    void updateCertificateItemRejectsStaleIfMatch() {
+
+        // Given
+        saveItem(ERIC_IDENTITY_VALUE);
+
+        // When and Then
+        patch("{\"quantity\": 3}", "\"stale\"")
+                .expectStatus().isEqualTo(PRECONDITION_FAILED)
+                .expectBody()
+                .jsonPath("$.errors[0]").isEqualTo(CertificateItemsController.ITEM_MODIFIED_ERROR);
+    }
+
+    @Test
+    @DisplayName("Update renders an unparseable patch as the servlet stack does")
+    void updateCertificateItemRejectsInvalidJson() {
+
+        // Given
+        saveItem(ERIC_IDENTITY_VALUE);
+
+        // When and Then
+        patch("{\"quantity\": }", null)
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("BAD_REQUEST");
+    }
+
+    private String entityTag() {
+        return "\"" + EtagHeaderHelper.toEntityTag(ETAG, calculator.getTariffVersion()) + "\"";
+    }
+
+    private WebTestClient.ResponseSpec post(final CertificateItemDTO item, final String permission) {
+        return webTestClient.post().uri(CERTIFICATES_URL)
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, permission))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(fromObject(item))
+                .exchange();
+    }
+
+    private WebTestClient.RequestHeadersSpec<?> get(final String url) {
+        return webTestClient.get().uri(url)
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "read"));
+    }
+
+    private WebTestClient.ResponseSpec patch(final String mergePatch, final String ifMatch) {
+        final WebTestClient.RequestBodySpec request = webTestClient.patch().uri(ITEM_URL)
+                .header(REQUEST_ID_HEADER_NAME, TOKEN_REQUEST_ID_VALUE)
+                .header(ERIC_IDENTITY_TYPE_HEADER_NAME, ERIC_IDENTITY_TYPE_OAUTH2_VALUE)
+                .header(ERIC_IDENTITY_HEADER_NAME, ERIC_IDENTITY_VALUE)
+                .header(ERIC_AUTHORISED_USER_HEADER_NAME, ERIC_AUTHORISED_USER_VALUE)
+                .header(ERIC_AUTHORISED_TOKEN_PERMISSIONS_HEADER_NAME, String.format(TOKEN_PERMISSION_VALUE, "update"))
+                .contentType(MediaType.valueOf(MERGE_PATCH_JSON));
+        if (ifMatch != null) {
+            request.header(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return request.syncBody(mergePatch).exchange();
+    }
+
+    private void saveItem(final String userId) {
+        final CertificateItem item = new CertificateItem();
+        item.setId(ITEM_ID);
+        item.setUserId(userId);
+        item.setEtag(ETAG);
+        item.setCompanyNumber(COMPANY_NUMBER);
+        item.setQuantity(1);
+        final CertificateItemOptions options = new CertificateItemOptions();
+        options.setDeliveryTimescale(STANDARD);
+        item.setItemOptions(options);
+        repository.save(item).block();
+    }
+
+    /**
+     * Factory method that produces a DTO for a valid create item request payload.
+     * @return a valid item DTO
+     */
+    private CertificateItemDTO createValidNewItem() {
+        final CertificateItemDTO newCertificateItemDTO = new CertificateItemDTO();
+        newCertificateItemDTO.setCompanyNumber(COMPANY_NUMBER);
+        final CertificateItemOptions options = new CertificateItemOptions();
+        options.setDeliveryTimescale(STANDARD);
+        newCertificateItemDTO.setItemOptions(options);
+        newCertificateItemDTO.setQuantity(5);
+        return newCertificateItemDTO;
+    }
+}
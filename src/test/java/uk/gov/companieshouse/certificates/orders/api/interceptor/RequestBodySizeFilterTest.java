@@ -0,0 +1,84 @@
+package uk.gov.companieshouse.certificates.orders.api.interceptor;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import uk.gov.companieshouse.certificates.orders.api.interceptor.RequestBodySizeFilter.RequestBodyTooLargeException;
+
+import javax.servlet.FilterChain;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests the {@link RequestBodySizeFilter} class.
+ */
+class RequestBodySizeFilterTest {
+
+    private static final long MAX_BODY_BYTES = 10;
+
+    private final RequestBodySizeFilter filterUnderTest = new RequestBodySizeFilter(MAX_BODY_BYTES, new ObjectMapper());
+
+    @Test
+    @DisplayName("A request declaring a body larger than allowed is rejected before it reaches the handler")
+    void rejectsRequestDeclaringOversizedBody() throws Exception {
+
+        // Given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(new byte[(int) MAX_BODY_BYTES + 1]);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final FilterChain chain = (filteredRequest, filteredResponse) -> {
+            throw new AssertionError("Request should not have been passed on");
+        };
+
+        // When
+        filterUnderTest.doFilter(request, response, chain);
+
+        // Then
+        assertThat(response.getStatus(), is(413));
+        final JsonNode error = new ObjectMapper().readTree(response.getContentAsString());
+        assertThat(error.get("status").asText(), is("PAYLOAD_TOO_LARGE"));
+        assertThat(error.get("errors").get(0).asText(), is("request body: must be no larger than 10 bytes"));
+    }
+
+    @Test
+    @DisplayName("A body of unknown length can be read up to the limit, but no further")
+    void limitsBodyOfUnknownLength() throws Exception {
+
+        // Given
+        final MockHttpServletRequest withinLimit = new UnknownLengthRequest(new byte[(int) MAX_BODY_BYTES]);
+        final MockHttpServletRequest overLimit = new UnknownLengthRequest(new byte[(int) MAX_BODY_BYTES + 1]);
+
+        // When and Then
+        filterUnderTest.doFilter(withinLimit, new MockHttpServletResponse(), (filteredRequest, filteredResponse) ->
+                assertThat(StreamUtils.copyToByteArray(filteredRequest.getInputStream()).length, is(10)));
+        filterUnderTest.doFilter(overLimit, new MockHttpServletResponse(), (filteredRequest, filteredResponse) ->
+                assertThrows(RequestBodyTooLargeException.class,
+                        () -> StreamUtils.copyToByteArray(filteredRequest.getInputStream())));
+    }
+
+    /**
+     * A request, such as a chunked one, whose body length is not known up front.
+     */
+    private static final class UnknownLengthRequest extends MockHttpServletRequest {
+
+        private UnknownLengthRequest(final byte[] content) {
+            setContent(content);
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+    }
+}
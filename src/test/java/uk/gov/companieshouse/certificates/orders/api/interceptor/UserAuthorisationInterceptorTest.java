@@ -2,7 +2,10 @@ package uk.gov.companieshouse.certificates.orders.api.interceptor;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_HEADER_NAME;
 import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.ERIC_IDENTITY_TYPE_API_KEY_VALUE;
@@ -26,6 +29,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpMethod;
 import org.springframework.web.servlet.HandlerMapping;
 
+import uk.gov.companieshouse.certificates.orders.api.service.CertificateItemRequestContext;
 import uk.gov.companieshouse.certificates.orders.api.service.CertificateItemService;
 import uk.gov.companieshouse.api.util.security.EricConstants;
 import uk.gov.companieshouse.api.util.security.SecurityConstants;
@@ -64,9 +68,22 @@ public class UserAuthorisationInterceptorTest {
         when(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE)).thenReturn(map);
         doReturn(ERIC_IDENTITY_VALUE).when(request).getHeader(ERIC_IDENTITY_HEADER_NAME);
         doReturn(ERIC_IDENTITY_TYPE_OAUTH2_VALUE).when(request).getHeader(ERIC_IDENTITY_TYPE_HEADER_NAME);
-        when(service.getCertificateItemById(ITEM_ID)).thenReturn(Optional.of(item));
+        when(service.getCertificateItemOwnerById(ITEM_ID)).thenReturn(Optional.of(item));
 
         assertTrue(userAuthorisationInterceptor.preHandle(request, response, null));
+        verify(service, never()).getCertificateItemById(any());
+        verify(request).setAttribute(CertificateItemRequestContext.CERTIFICATE_ITEM_OWNER_ATTRIBUTE, item);
+    }
+
+    @Test
+    @DisplayName("Authorise a user's listing request without looking up an item")
+    public void willAuthoriseListingRequestForAUser() {
+        when(request.getMethod()).thenReturn(HttpMethod.GET.toString());
+        when(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE)).thenReturn(new HashMap<>());
+        doReturn(ERIC_IDENTITY_TYPE_OAUTH2_VALUE).when(request).getHeader(ERIC_IDENTITY_TYPE_HEADER_NAME);
+
+        assertTrue(userAuthorisationInterceptor.preHandle(request, response, null));
+        verify(service, never()).getCertificateItemOwnerById(any());
     }
 
     @Test
@@ -92,9 +109,11 @@ public class UserAuthorisationInterceptorTest {
         when(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE)).thenReturn(map);
         doReturn(ERIC_IDENTITY_VALUE).when(request).getHeader(ERIC_IDENTITY_HEADER_NAME);
         doReturn(ERIC_IDENTITY_TYPE_OAUTH2_VALUE).when(request).getHeader(ERIC_IDENTITY_TYPE_HEADER_NAME);
-        when(service.getCertificateItemById(ITEM_ID)).thenReturn(Optional.of(item));
+        when(service.getCertificateItemOwnerById(ITEM_ID)).thenReturn(Optional.of(item));
 
         assertFalse(userAuthorisationInterceptor.preHandle(request, response, null));
+        verify(service, never()).getCertificateItemById(any());
+        verify(request, never()).setAttribute(any(), any());
     }
 
     @Test
@@ -116,7 +135,7 @@ public class UserAuthorisationInterceptorTest {
         when(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE)).thenReturn(map);
         doReturn(ERIC_IDENTITY_VALUE).when(request).getHeader(ERIC_IDENTITY_HEADER_NAME);
         doReturn(ERIC_IDENTITY_TYPE_OAUTH2_VALUE).when(request).getHeader(ERIC_IDENTITY_TYPE_HEADER_NAME);
-        when(service.getCertificateItemById(ITEM_ID)).thenReturn(Optional.empty());
+        when(service.getCertificateItemOwnerById(ITEM_ID)).thenReturn(Optional.empty());
 
         assertFalse(userAuthorisationInterceptor.preHandle(request, response, null));
     }
@@ -0,0 +1,160 @@
+package uk.gov.companieshouse.certificates.orders.api.logging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.logging.Logger;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.REQUEST_ID_LOG_KEY;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.REQUEST_METHOD_LOG_KEY;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.REQUEST_PATH_LOG_KEY;
+import static uk.gov.companieshouse.certificates.orders.api.logging.LoggingConstants.STATUS_LOG_KEY;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.ASYNC_LOGGING_EVENTS_COUNTER;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.OUTCOME_TAG;
+
+/**
+ * Unit tests the {@link AsyncLogger} class, and the {@link AsyncLogBuffer} and {@link AsyncLoggingMetrics} classes
+ * it relies on.
+ */
+@ExtendWith(MockitoExtension.class)
+class AsyncLoggerTest {
+
+    private static final String MESSAGE = "certificate item found";
+    private static final String REQUEST_ID = "fe3d7c84-f1c7-4f53-a3a6-b4b25d2a1bcf";
+    private static final long WRITE_TIMEOUT_MILLIS = 10_000;
+
+    @Mock
+    private Logger delegate;
+
+    @Mock
+    private org.slf4j.Logger levels;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(levels.isInfoEnabled()).thenReturn(true);
+        lenient().when(levels.isErrorEnabled()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("Events are written by the writer thread, with their data as it was when logged")
+    void eventsAreWrittenWithDataAsLogged() {
+
+        // Given
+        final AsyncLogger loggerUnderTest = new AsyncLogger(delegate, levels,
+                new AsyncLogBuffer(AsyncLogBuffer.CAPACITY, AsyncLogBuffer.ERROR_WAIT_MILLIS).start("test-logger-%d"));
+        final Map<String, Object> logMap = logMap();
+
+        // When
+        loggerUnderTest.info(MESSAGE, logMap);
+        logMap.put(STATUS_LOG_KEY, "OK");
+
+        // Then
+        verify(delegate, timeout(WRITE_TIMEOUT_MILLIS)).info(MESSAGE, logMap());
+    }
+
+    @Test
+    @DisplayName("Event data supplied lazily is not built when the level is not enabled")
+    void lazyDataIsNotBuiltWhenLevelDisabled() {
+
+        // Given
+        when(levels.isInfoEnabled()).thenReturn(false);
+        final AsyncLogBuffer buffer = new AsyncLogBuffer(1, 0);
+        final AsyncLogger loggerUnderTest = new AsyncLogger(delegate, levels, buffer);
+
+        // When
+        loggerUnderTest.info(MESSAGE, () -> {
+            throw new AssertionError("event data built");
+        });
+
+        // Then
+        assertThat(buffer.getBufferedCount(), is(0));
+        verifyZeroInteractions(delegate);
+    }
+
+    @Test
+    @DisplayName("Request events capture the method and path of the request when logged")
+    void requestEventsCaptureMethodAndPath() {
+
+        // Given
+        when(request.getMethod()).thenReturn("GET");
+        when(request.getRequestURI()).thenReturn("/orderable/certificates");
+        final AsyncLogBuffer buffer = new AsyncLogBuffer(1, 0);
+        final AsyncLogger loggerUnderTest = new AsyncLogger(delegate, levels, buffer);
+
+        // When
+        loggerUnderTest.infoRequest(request, MESSAGE, logMap());
+        buffer.flush();
+
+        // Then
+        final Map<String, Object> expected = logMap();
+        expected.put(REQUEST_METHOD_LOG_KEY, "GET");
+        expected.put(REQUEST_PATH_LOG_KEY, "/orderable/certificates");
+        verify(delegate).info(MESSAGE, expected);
+    }
+
+    @Test
+    @DisplayName("Info events are dropped, and counted, when the buffer is full")
+    void infoEventsAreDroppedWhenFull() {
+
+        // Given
+        final AsyncLogBuffer buffer = new AsyncLogBuffer(1, 0);
+        final AsyncLogger loggerUnderTest = new AsyncLogger(delegate, levels, buffer);
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        new AsyncLoggingMetrics(buffer).bindTo(registry);
+
+        // When
+        loggerUnderTest.info(MESSAGE, logMap());
+        loggerUnderTest.info(MESSAGE, logMap());
+        buffer.flush();
+
+        // Then
+        verify(delegate, times(1)).info(MESSAGE, logMap());
+        assertThat(registry.get(ASYNC_LOGGING_EVENTS_COUNTER).tag(OUTCOME_TAG, "dropped").functionCounter().count(),
+                is(1.0));
+    }
+
+    @Test
+    @DisplayName("Error events wait for space, then are written by the logging thread, when the buffer is full")
+    void errorEventsAreWrittenInlineWhenFull() {
+
+        // Given
+        final AsyncLogBuffer buffer = new AsyncLogBuffer(1, 10);
+        final AsyncLogger loggerUnderTest = new AsyncLogger(delegate, levels, buffer);
+        loggerUnderTest.info(MESSAGE, logMap());
+
+        // When
+        loggerUnderTest.error(MESSAGE, logMap());
+
+        // Then
+        verify(delegate).error(MESSAGE, logMap());
+        assertThat(buffer.getDelayedCount(), is(1L));
+        assertThat(buffer.getInlineCount(), is(1L));
+        assertThat(buffer.getDroppedCount(), is(0L));
+    }
+
+    private static Map<String, Object> logMap() {
+        final Map<String, Object> logMap = new HashMap<>();
+        logMap.put(REQUEST_ID_LOG_KEY, REQUEST_ID);
+        return logMap;
+    }
+}
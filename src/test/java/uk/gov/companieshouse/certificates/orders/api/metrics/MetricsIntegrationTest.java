@@ -0,0 +1,63 @@
+package uk.gov.companieshouse.certificates.orders.api.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemRepository;
+import uk.gov.companieshouse.certificates.orders.api.service.CertificateCostCalculatorService;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.gov.companieshouse.certificates.orders.api.model.DeliveryTimescale.STANDARD;
+
+/**
+ * Integration tests the publication of the metrics listed in {@link MetricsConstants}.
+ */
+@AutoConfigureMockMvc
+@SpringBootTest
+class MetricsIntegrationTest {
+
+    private static final String PROMETHEUS_URL = "/actuator/prometheus";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CertificateCostCalculatorService calculator;
+
+    @Autowired
+    private CertificateItemRepository repository;
+
+    @Test
+    @DisplayName("Publishes timed method percentiles through the Prometheus endpoint")
+    void publishesTimedMethodPercentiles() throws Exception {
+
+        // Given
+        calculator.calculateCosts(1, STANDARD);
+
+        // When and then
+        mockMvc.perform(get(PROMETHEUS_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("certificates_cost_calculation_seconds_count")))
+                .andExpect(content().string(containsString("quantile=\"0.99\"")));
+    }
+
+    @Test
+    @DisplayName("Publishes MongoDB command timings through the Prometheus endpoint")
+    void publishesMongoDbCommandTimings() throws Exception {
+
+        // Given
+        repository.findById("CRT-000000-000000");
+
+        // When and then
+        mockMvc.perform(get(PROMETHEUS_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("certificates_mongodb_commands_seconds_count")))
+                .andExpect(content().string(containsString("collection=\"certificates\",command=\"find\"")));
+    }
+}
@@ -6,6 +6,7 @@ import org.hamcrest.MatcherAssert;
 import org.hamcrest.core.Is;
 import org.junit.jupiter.api.Test;
 import uk.gov.companieshouse.certificates.orders.api.config.CostsConfig;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsSnapshot;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
@@ -16,14 +17,15 @@ import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.*
  */
 class DeliveryTimescaleTest {
 
-    private static final CostsConfig COSTS;
+    private static final CostsSnapshot COSTS;
 
     static {
-        COSTS = new CostsConfig();
-        COSTS.setStandardCost(STANDARD_INDIVIDUAL_CERTIFICATE_COST);
-        COSTS.setSameDayCost(SAME_DAY_INDIVIDUAL_CERTIFICATE_COST);
-        COSTS.setStandardDiscount(STANDARD_EXTRA_CERTIFICATE_DISCOUNT);
-        COSTS.setSameDayDiscount(SAME_DAY_EXTRA_CERTIFICATE_DISCOUNT);
+        final CostsConfig config = new CostsConfig();
+        config.setStandardCost(STANDARD_INDIVIDUAL_CERTIFICATE_COST);
+        config.setSameDayCost(SAME_DAY_INDIVIDUAL_CERTIFICATE_COST);
+        config.setStandardDiscount(STANDARD_EXTRA_CERTIFICATE_DISCOUNT);
+        config.setSameDayDiscount(SAME_DAY_EXTRA_CERTIFICATE_DISCOUNT);
+        COSTS = new CostsSnapshot(1, config);
     }
 
    @Test
@@ -0,0 +1,305 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItemOptions;
+import uk.gov.companieshouse.certificates.orders.api.model.ItemCosts;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static java.util.Collections.singletonList;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Integration tests the {@link CertificateItemRepositoryCustomImpl} operations.
+ */
+@SpringBootTest
+class CertificateItemRepositoryIntegrationTest {
+
+    private static final String ITEM_ID = "CRT-123456-123456";
+    private static final String ETAG = "9d39ea69b64c80ca42ed72328b48c303c4445e28";
+    private static final String UPDATED_ETAG = "ae9c20cf7ec1a0e8ba0ed4b0b2c2b7a4bcd1a1ef";
+    private static final String COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST";
+    private static final String CONCURRENTLY_UPDATED_COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST LIMITED";
+    private static final String CUSTOMER_REFERENCE = "Certificate ordered by NJ.";
+    private static final String UPDATED_CUSTOMER_REFERENCE = "Certificate ordered by PJ.";
+
+    private static final String LISTED_USER_ID = "listed-user";
+    private static final String LISTED_COMPANY_NUMBER = "00006400";
+    private static final String OLDEST_ITEM_ID = "CRT-000001-000003";
+    private static final String TIED_ITEM_ID_1 = "CRT-000001-000001";
+    private static final String TIED_ITEM_ID_2 = "CRT-000001-000002";
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2020, 6, 1, 12, 0);
+
+    private static final String TARIFF_VERSION = "5d41402abc4b2a76b9719d911017c592";
+    private static final String TOTAL_ITEM_COST = "15";
+
+    @Autowired
+    private CertificateItemRepository repository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        final CertificateItem item = new CertificateItem();
+        item.setId(ITEM_ID);
+        item.setCompanyName(COMPANY_NAME);
+        item.setCustomerReference(CUSTOMER_REFERENCE);
+        item.setQuantity(1);
+        item.setEtag(ETAG);
+        repository.save(item);
+
+        repository.save(listedItem(TIED_ITEM_ID_1, CREATED_AT));
+        repository.save(listedItem(TIED_ITEM_ID_2, CREATED_AT));
+        repository.save(listedItem(OLDEST_ITEM_ID, CREATED_AT.minusMinutes(1)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteById(ITEM_ID);
+        repository.deleteById(TIED_ITEM_ID_1);
+        repository.deleteById(TIED_ITEM_ID_2);
+        repository.deleteById(OLDEST_ITEM_ID);
+    }
+
+    @Test
+    @DisplayName("insert fails rather than overwrite an item already stored under the same ID")
+    void insertDoesNotOverwriteItem() {
+
+        // Given
+        final CertificateItem item = new CertificateItem();
+        item.setId(ITEM_ID);
+        item.setCompanyName(CONCURRENTLY_UPDATED_COMPANY_NAME);
+
+        // When and Then
+        assertThrows(DuplicateKeyException.class, () -> repository.insert(item));
+        assertThat(repository.findById(ITEM_ID).get().getCompanyName(), is(COMPANY_NAME));
+    }
+
+    @Test
+    @DisplayName("findAndModifyIfUnmodified writes only the changed fields")
+    void findAndModifyIfUnmodifiedWritesOnlyChangedFields() {
+
+        // Given
+        final CertificateItem retrievedItem = repository.findById(ITEM_ID).get();
+        final CertificateItem updatedItem = repository.findById(ITEM_ID).get();
+        updatedItem.setCustomerReference(UPDATED_CUSTOMER_REFERENCE);
+        updatedItem.setQuantity(null);
+        updatedItem.setEtag(UPDATED_ETAG);
+        // A field not changed by this update is written (without an etag change) by someone else.
+        mongoTemplate.updateFirst(query(where("id").is(ITEM_ID)),
+                Update.update("data.company_name", CONCURRENTLY_UPDATED_COMPANY_NAME), CertificateItem.class);
+
+        // When
+        final CertificateItem savedItem = repository.findAndModifyIfUnmodified(retrievedItem, updatedItem);
+
+        // Then
+        assertThat(savedItem.getCustomerReference(), is(UPDATED_CUSTOMER_REFERENCE));
+        assertThat(savedItem.getQuantity(), is(nullValue()));
+        assertThat(savedItem.getEtag(), is(UPDATED_ETAG));
+        assertThat(savedItem.getCompanyName(), is(CONCURRENTLY_UPDATED_COMPANY_NAME));
+        assertThat(repository.findById(ITEM_ID).get().getCustomerReference(), is(UPDATED_CUSTOMER_REFERENCE));
+    }
+
+    @Test
+    @DisplayName("findAndModifyIfUnmodified does not write changes if etag has changed")
+    void findAndModifyIfUnmodifiedDoesNotWriteIfEtagChanged() {
+
+        // Given
+        final CertificateItem retrievedItem = repository.findById(ITEM_ID).get();
+        retrievedItem.setEtag(UPDATED_ETAG);
+        final CertificateItem updatedItem = repository.findById(ITEM_ID).get();
+        updatedItem.setCustomerReference(UPDATED_CUSTOMER_REFERENCE);
+
+        // When
+        final CertificateItem savedItem = repository.findAndModifyIfUnmodified(retrievedItem, updatedItem);
+
+        // Then
+        assertThat(savedItem, is(nullValue()));
+        assertThat(repository.findById(ITEM_ID).get().getCustomerReference(), is(CUSTOMER_REFERENCE));
+    }
+
+    @Test
+    @DisplayName("The listing indexes are created at startup")
+    void listingIndexesAreCreatedAtStartup() {
+
+        // When
+        final List<String> indexes = mongoTemplate.indexOps(CertificateItem.class).getIndexInfo().stream()
+                .map(IndexInfo::getName)
+                .collect(Collectors.toList());
+
+        // Then
+        assertThat(indexes, hasItems(CertificateItemIndexes.USER_ID_INDEX,
+                CertificateItemIndexes.COMPANY_NUMBER_INDEX,
+                CertificateItemIndexes.CUSTOMER_REFERENCE_INDEX,
+                CertificateItemIndexes.CREATED_AT_INDEX,
+                CertificateItemIndexes.OWNER_INDEX));
+    }
+
+    @Test
+    @DisplayName("findPage pages through the matching items newest first, ordering items created together by ID")
+    void findPagePagesThroughItemsInKeysetOrder() {
+
+        // Given
+        final CertificateItemFilter filter = new CertificateItemFilter(LISTED_USER_ID, null, null, null, null);
+
+        // When
+        final List<CertificateItem> firstPage = repository.findPage(filter, null, 2);
+        final List<CertificateItem> secondPage =
+                repository.findPage(filter, CertificateItemKey.of(firstPage.get(1)), 2);
+        final List<CertificateItem> thirdPage =
+                repository.findPage(filter, CertificateItemKey.of(secondPage.get(0)), 2);
+
+        // Then
+        assertThat(ids(firstPage), contains(TIED_ITEM_ID_2, TIED_ITEM_ID_1));
+        assertThat(ids(secondPage), contains(OLDEST_ITEM_ID));
+        assertThat(thirdPage, is(empty()));
+    }
+
+    @Test
+    @DisplayName("findPage applies the company number and created range filters")
+    void findPageAppliesFilters() {
+
+        // Given
+        final CertificateItemFilter filter = new CertificateItemFilter(null, LISTED_COMPANY_NUMBER, null,
+                CREATED_AT.minusMinutes(1), CREATED_AT);
+
+        // When
+        final List<CertificateItem> page = repository.findPage(filter, null, 10);
+
+        // Then
+        assertThat(ids(page), contains(OLDEST_ITEM_ID));
+    }
+
+    @Test
+    @DisplayName("findPage reads only the summary fields of each item")
+    void findPageReadsOnlySummaryFields() {
+
+        // Given
+        final CertificateItemFilter filter = new CertificateItemFilter(LISTED_USER_ID, null, null, null, null);
+
+        // When
+        final CertificateItem listedItem = repository.findPage(filter, null, 1).get(0);
+
+        // Then
+        assertThat(listedItem.getId(), is(TIED_ITEM_ID_2));
+        assertThat(listedItem.getUserId(), is(LISTED_USER_ID));
+        assertThat(listedItem.getCompanyNumber(), is(LISTED_COMPANY_NUMBER));
+        assertThat(listedItem.getCreatedAt(), is(CREATED_AT));
+        assertThat(listedItem.getItemOptions(), is(nullValue()));
+        assertThat(listedItem.getQuantity(), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("findOwnerById reads only the ID, user ID and etag of the item")
+    void findOwnerByIdReadsOnlyOwnerAndEtag() {
+
+        // When
+        final CertificateItem owner = repository.findOwnerById(TIED_ITEM_ID_1).get();
+
+        // Then
+        assertThat(owner.getId(), is(TIED_ITEM_ID_1));
+        assertThat(owner.getUserId(), is(LISTED_USER_ID));
+        assertThat(owner.getEtag(), is(ETAG));
+        assertThat(owner.getCompanyNumber(), is(nullValue()));
+        assertThat(owner.getQuantity(), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("findOwnerById finds nothing for an unknown item")
+    void findOwnerByIdFindsNothingForUnknownItem() {
+        assertThat(repository.findOwnerById("CRT-999999-999999").isPresent(), is(false));
+    }
+
+    @Test
+    @DisplayName("findEtagById reads only the ID and etag of the item")
+    void findEtagByIdReadsOnlyEtag() {
+
+        // When
+        final CertificateItem etag = repository.findEtagById(ITEM_ID).get();
+
+        // Then
+        assertThat(etag.getId(), is(ITEM_ID));
+        assertThat(etag.getEtag(), is(ETAG));
+        assertThat(etag.getCompanyName(), is(nullValue()));
+        assertThat(etag.getCustomerReference(), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("findEtagById finds nothing for an unknown item")
+    void findEtagByIdFindsNothingForUnknownItem() {
+        assertThat(repository.findEtagById("CRT-999999-999999").isPresent(), is(false));
+    }
+
+    @Test
+    @DisplayName("updateCostsIfUnmodified writes only the costs of the items whose etag is unchanged")
+    void updateCostsIfUnmodifiedWritesOnlyCostsOfUnmodifiedItems() {
+
+        // Given
+        final CertificateItem unmodifiedItem = costs(ITEM_ID, ETAG);
+        final CertificateItem modifiedItem = costs(TIED_ITEM_ID_1, UPDATED_ETAG);
+
+        // When
+        final int updated = repository.updateCostsIfUnmodified(Arrays.asList(unmodifiedItem, modifiedItem));
+
+        // Then
+        assertThat(updated, is(1));
+        final CertificateItem storedItem = repository.findById(ITEM_ID).get();
+        assertThat(storedItem.getTariffVersion(), is(TARIFF_VERSION));
+        assertThat(storedItem.getTotalItemCost(), is(TOTAL_ITEM_COST));
+        assertThat(storedItem.getPostageCost(), is("0"));
+        assertThat(storedItem.getItemCosts().get(0).getCalculatedCost(), is(TOTAL_ITEM_COST));
+        assertThat(storedItem.getEtag(), is(ETAG));
+        assertThat(storedItem.getCompanyName(), is(COMPANY_NAME));
+        assertThat(repository.findById(TIED_ITEM_ID_1).get().getTariffVersion(), is(nullValue()));
+    }
+
+    private static CertificateItem costs(final String id, final String etag) {
+        final CertificateItem item = new CertificateItem();
+        item.setId(id);
+        item.setEtag(etag);
+        item.setItemCosts(singletonList(new ItemCosts("0", TOTAL_ITEM_COST, TOTAL_ITEM_COST, null)));
+        item.setPostageCost("0");
+        item.setTotalItemCost(TOTAL_ITEM_COST);
+        item.setTariffVersion(TARIFF_VERSION);
+        return item;
+    }
+
+    private static CertificateItem listedItem(final String id, final LocalDateTime createdAt) {
+        final CertificateItem item = new CertificateItem();
+        item.setId(id);
+        item.setUserId(LISTED_USER_ID);
+        item.setCompanyNumber(LISTED_COMPANY_NUMBER);
+        item.setCreatedAt(createdAt);
+        item.setUpdatedAt(createdAt);
+        item.setItemOptions(new CertificateItemOptions());
+        item.setQuantity(1);
+        item.setEtag(ETAG);
+        return item;
+    }
+
+    private static List<String> ids(final List<CertificateItem> items) {
+        return items.stream().map(CertificateItem::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,48 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import uk.gov.companieshouse.certificates.orders.api.model.DatabaseSequence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Integration tests the {@link DatabaseSequenceRepository}.
+ */
+@SpringBootTest
+class DatabaseSequenceRepositoryIntegrationTest {
+
+    private static final String SEQUENCE_NAME = "test_sequence";
+
+    @Autowired
+    private DatabaseSequenceRepository repositoryUnderTest;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.remove(query(where("_id").is(SEQUENCE_NAME)), DatabaseSequence.class);
+    }
+
+    @Test
+    @DisplayName("reserve creates the sequence, and then reserves consecutive blocks of it")
+    void reserveReservesConsecutiveBlocks() {
+
+        // When
+        final long first = repositoryUnderTest.reserve(SEQUENCE_NAME, 1000);
+        final long second = repositoryUnderTest.reserve(SEQUENCE_NAME, 1000);
+
+        // Then
+        assertThat(first, is(0L));
+        assertThat(second, is(1000L));
+        assertThat(mongoTemplate.findById(SEQUENCE_NAME, DatabaseSequence.class).getSeq(), is(2000L));
+    }
+}
@@ -0,0 +1,96 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Unit tests the {@link DocumentDiff} class.
+ */
+class DocumentDiffTest {
+
+    @Test
+    @DisplayName("toUpdate sets changed and added fields only")
+    void toUpdateSetsChangedAndAddedFieldsOnly() {
+
+        // Given
+        final Document before = new Document("_id", "CRT-123456-123456")
+                .append("user_id", "user")
+                .append("data", new Document("customer_reference", "before")
+                        .append("quantity", 1));
+        final Document after = new Document("_id", "CRT-123456-123456")
+                .append("user_id", "user")
+                .append("data", new Document("customer_reference", "after")
+                        .append("quantity", 1)
+                        .append("etag", "etag"));
+
+        // When
+        final Update update = DocumentDiff.toUpdate(before, after);
+
+        // Then
+        final Document set = (Document) update.getUpdateObject().get("$set");
+        assertThat(set, is(new Document("data.customer_reference", "after").append("data.etag", "etag")));
+        assertThat(update.getUpdateObject().get("$unset"), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("toUpdate unsets removed fields")
+    void toUpdateUnsetsRemovedFields() {
+
+        // Given
+        final Document before = new Document("_id", "CRT-123456-123456")
+                .append("data", new Document("customer_reference", "before")
+                        .append("item_options", new Document("surname", "Smith").append("forename", "John")));
+        final Document after = new Document("_id", "CRT-123456-123456")
+                .append("data", new Document("item_options", new Document("forename", "John")));
+
+        // When
+        final Update update = DocumentDiff.toUpdate(before, after);
+
+        // Then
+        final Document unset = (Document) update.getUpdateObject().get("$unset");
+        assertThat(unset.keySet(), is(new Document("data.customer_reference", 1)
+                .append("data.item_options.surname", 1).keySet()));
+        assertThat(update.getUpdateObject().get("$set"), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("toUpdate sets changed arrays and replaced embedded documents as a whole")
+    void toUpdateSetsArraysAndReplacedDocumentsAsAWhole() {
+
+        // Given
+        final Document before = new Document("data", new Document("item_costs", asList("1", "2"))
+                .append("links", "none"));
+        final Document after = new Document("data", new Document("item_costs", asList("1", "3"))
+                .append("links", new Document("self", "/orderable/certificates/CRT-123456-123456")));
+
+        // When
+        final Update update = DocumentDiff.toUpdate(before, after);
+
+        // Then
+        final Document set = (Document) update.getUpdateObject().get("$set");
+        assertThat(set, is(new Document("data.item_costs", asList("1", "3"))
+                .append("data.links", new Document("self", "/orderable/certificates/CRT-123456-123456"))));
+    }
+
+    @Test
+    @DisplayName("toUpdate never updates the _id field")
+    void toUpdateNeverUpdatesId() {
+
+        // Given
+        final Document before = new Document("_id", "CRT-123456-123456");
+        final Document after = new Document("_id", "CRT-654321-654321");
+
+        // When
+        final Update update = DocumentDiff.toUpdate(before, after);
+
+        // Then
+        assertThat(update.getUpdateObject().isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,105 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.model.ItemCosts;
+import uk.gov.companieshouse.certificates.orders.api.service.ReactiveCompanyService;
+
+import java.util.Arrays;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Integration tests the {@link ReactiveCertificateItemRepositoryCustomImpl} operations not already covered through
+ * the reactive controller.
+ */
+@ActiveProfiles("reactive")
+@SpringBootTest
+class ReactiveCertificateItemRepositoryIntegrationTest {
+
+    private static final String ITEM_ID = "CRT-123456-123456";
+    private static final String OTHER_ITEM_ID = "CRT-123456-123457";
+    private static final String ETAG = "9d39ea69b64c80ca42ed72328b48c303c4445e28";
+    private static final String UPDATED_ETAG = "ae9c20cf7ec1a0e8ba0ed4b0b2c2b7a4bcd1a1ef";
+    private static final String COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST";
+    private static final String TARIFF_VERSION = "5d41402abc4b2a76b9719d911017c592";
+    private static final String TOTAL_ITEM_COST = "15";
+
+    @Autowired
+    private ReactiveCertificateItemRepository repository;
+
+    @MockBean
+    private ReactiveCompanyService companyService;
+
+    @BeforeEach
+    void setUp() {
+        repository.save(storedItem(ITEM_ID)).block();
+        repository.save(storedItem(OTHER_ITEM_ID)).block();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteById(ITEM_ID).block();
+        repository.deleteById(OTHER_ITEM_ID).block();
+    }
+
+    @Test
+    @DisplayName("updateCostsIfUnmodified writes only the costs of the items whose etag is unchanged")
+    void updateCostsIfUnmodifiedWritesOnlyCostsOfUnmodifiedItems() {
+
+        // Given
+        final CertificateItem unmodifiedItem = costs(ITEM_ID, ETAG);
+        final CertificateItem modifiedItem = costs(OTHER_ITEM_ID, UPDATED_ETAG);
+
+        // When
+        final int updated = repository.updateCostsIfUnmodified(Arrays.asList(unmodifiedItem, modifiedItem)).block();
+
+        // Then
+        assertThat(updated, is(1));
+        final CertificateItem storedItem = repository.findById(ITEM_ID).block();
+        assertThat(storedItem.getTariffVersion(), is(TARIFF_VERSION));
+        assertThat(storedItem.getTotalItemCost(), is(TOTAL_ITEM_COST));
+        assertThat(storedItem.getPostageCost(), is("0"));
+        assertThat(storedItem.getItemCosts().get(0).getCalculatedCost(), is(TOTAL_ITEM_COST));
+        assertThat(storedItem.getEtag(), is(ETAG));
+        assertThat(storedItem.getCompanyName(), is(COMPANY_NAME));
+        assertThat(repository.findById(OTHER_ITEM_ID).block().getTariffVersion(), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("updateCostsIfUnmodified writes nothing for no items")
+    void updateCostsIfUnmodifiedWritesNothingForNoItems() {
+        assertThat(repository.updateCostsIfUnmodified(emptyList()).block(), is(0));
+    }
+
+    private static CertificateItem storedItem(final String id) {
+        final CertificateItem item = new CertificateItem();
+        item.setId(id);
+        item.setCompanyName(COMPANY_NAME);
+        item.setQuantity(1);
+        item.setEtag(ETAG);
+        return item;
+    }
+
+    private static CertificateItem costs(final String id, final String etag) {
+        final CertificateItem item = new CertificateItem();
+        item.setId(id);
+        item.setEtag(etag);
+        item.setItemCosts(singletonList(new ItemCosts("0", TOTAL_ITEM_COST, TOTAL_ITEM_COST, null)));
+        item.setPostageCost("0");
+        item.setTotalItemCost(TOTAL_ITEM_COST);
+        item.setTariffVersion(TARIFF_VERSION);
+        return item;
+    }
+}
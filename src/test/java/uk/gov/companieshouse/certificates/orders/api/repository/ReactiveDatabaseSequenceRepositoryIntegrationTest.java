@@ -0,0 +1,55 @@
+package uk.gov.companieshouse.certificates.orders.api.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import uk.gov.companieshouse.certificates.orders.api.model.DatabaseSequence;
+import uk.gov.companieshouse.certificates.orders.api.service.ReactiveCompanyService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Integration tests the {@link ReactiveDatabaseSequenceRepository}.
+ */
+@ActiveProfiles("reactive")
+@SpringBootTest
+class ReactiveDatabaseSequenceRepositoryIntegrationTest {
+
+    private static final String SEQUENCE_NAME = "test_sequence";
+
+    @Autowired
+    private ReactiveDatabaseSequenceRepository repositoryUnderTest;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @MockBean
+    private ReactiveCompanyService companyService;
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.remove(query(where("_id").is(SEQUENCE_NAME)), DatabaseSequence.class).block();
+    }
+
+    @Test
+    @DisplayName("reserve creates the sequence, and then reserves consecutive blocks of it")
+    void reserveReservesConsecutiveBlocks() {
+
+        // When
+        final long first = repositoryUnderTest.reserve(SEQUENCE_NAME, 1000).block();
+        final long second = repositoryUnderTest.reserve(SEQUENCE_NAME, 1000).block();
+
+        // Then
+        assertThat(first, is(0L));
+        assertThat(second, is(1000L));
+        assertThat(mongoTemplate.findById(SEQUENCE_NAME, DatabaseSequence.class).block().getSeq(), is(2000L));
+    }
+}
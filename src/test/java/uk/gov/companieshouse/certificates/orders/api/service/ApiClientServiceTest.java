@@ -0,0 +1,54 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.api.InternalApiClient;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.API_CLIENTS_CREATED_COUNTER;
+
+/**
+ * Unit tests the {@link ApiClientService} class.
+ */
+class ApiClientServiceTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ApiClientService serviceUnderTest =
+            new ApiClientService(() -> mock(InternalApiClient.class), registry);
+
+    @Test
+    @DisplayName("getInternalApiClient() reuses the client of the calling thread")
+    void getInternalApiClientReusesClientOfCallingThread() {
+
+        // When
+        final InternalApiClient firstClient = serviceUnderTest.getInternalApiClient();
+        final InternalApiClient secondClient = serviceUnderTest.getInternalApiClient();
+
+        // Then
+        assertThat(secondClient, is(sameInstance(firstClient)));
+        assertThat(registry.counter(API_CLIENTS_CREATED_COUNTER).count(), is(1.0));
+    }
+
+    @Test
+    @DisplayName("getInternalApiClient() does not share a client between threads")
+    void getInternalApiClientDoesNotShareClientBetweenThreads() throws Exception {
+
+        // When
+        final InternalApiClient client = serviceUnderTest.getInternalApiClient();
+        final InternalApiClient otherThreadClient =
+                CompletableFuture.supplyAsync(serviceUnderTest::getInternalApiClient).get();
+
+        // Then
+        assertThat(otherThreadClient, is(not(sameInstance(client))));
+        assertThat(registry.counter(API_CLIENTS_CREATED_COUNTER).count(), is(2.0));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsConfig;
 import uk.gov.companieshouse.certificates.orders.api.model.DeliveryTimescale;
 import uk.gov.companieshouse.certificates.orders.api.model.ItemCosts;
 import uk.gov.companieshouse.certificates.orders.api.model.ProductType;
@@ -13,6 +14,8 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
 import static uk.gov.companieshouse.certificates.orders.api.model.ProductType.*;
 import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.*;
 
@@ -35,6 +38,12 @@ public class CertificateCostCalculatorServiceTest {
     @Autowired
     private CertificateCostCalculatorService calculatorUnderTest;
 
+    @Autowired
+    private CostsConfig costs;
+
+    @Autowired
+    private CostsService costsService;
+
     @Test
     @DisplayName("Calculates standard delivery single certificate cost correctly")
     void calculatesStandardSingleCertificateCostCorrectly() {
@@ -140,6 +149,43 @@ public class CertificateCostCalculatorServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Calculates costs correctly for a quantity beyond those precomputed")
+    void calculatesCostsCorrectlyBeyondPrecomputedQuantities() {
+
+        // Given
+        final int quantity = CertificateTariff.PRECOMPUTED_QUANTITIES + 50;
+
+        // When
+        final CertificateCostCalculation calculation =
+                calculatorUnderTest.calculateCosts(quantity, DeliveryTimescale.STANDARD);
+        final List<ItemCosts> costs = calculation.getItemCosts();
+
+        // Then
+        assertThat(costs.size(), is(quantity));
+        assertThat(costs.get(0).getProductType(), is(CERTIFICATE));
+        assertThat(costs.get(0).getDiscountApplied(), is(NO_DISCOUNT));
+        final ItemCosts lastCost = costs.get(quantity - 1);
+        assertThat(lastCost.getProductType(), is(CERTIFICATE_ADDITIONAL_COPY));
+        assertThat(lastCost.getDiscountApplied(), is(Integer.toString(STANDARD_EXTRA_CERTIFICATE_DISCOUNT)));
+        assertThat(calculation.getPostageCost(), is(POSTAGE_COST));
+        assertThat(calculation.getTotalItemCost(), is(calculateExpectedTotalItemCost(costs, POSTAGE_COST)));
+    }
+
+    @Test
+    @DisplayName("Repeated calculations for the same quantity and delivery timescale share the same outcome")
+    void repeatedCalculationsShareTheSameOutcome() {
+
+        // Given and when
+        final CertificateCostCalculation first =
+                calculatorUnderTest.calculateCosts(MULTIPLE_QUANTITY, DeliveryTimescale.SAME_DAY);
+        final CertificateCostCalculation second =
+                calculatorUnderTest.calculateCosts(MULTIPLE_QUANTITY, DeliveryTimescale.SAME_DAY);
+
+        // Then
+        assertThat(second, is(sameInstance(first)));
+    }
+
     @Test
     @DisplayName("Too few items result in an IllegalArgumentException")
     void tooFewItemsTriggerIllegalArgumentException() {
@@ -158,6 +204,37 @@ public class CertificateCostCalculatorServiceTest {
         assertThat(exception.getMessage(), is("deliveryTimescale must not be null!"));
     }
 
+    @Test
+    @DisplayName("Costs published are applied to the calculations, which bear the new tariff version")
+    void costsPublishedAreApplied() {
+
+        // Given
+        final String tariffVersion = calculatorUnderTest.getTariffVersion();
+        final CostsConfig changedCosts = new CostsConfig();
+        changedCosts.setStandardCost(costs.getStandardCost() + 1);
+        changedCosts.setSameDayCost(costs.getSameDayCost());
+        changedCosts.setStandardDiscount(costs.getStandardDiscount());
+        changedCosts.setSameDayDiscount(costs.getSameDayDiscount());
+
+        try {
+            // When
+            costsService.publish(changedCosts);
+            final CertificateCostCalculation calculation =
+                    calculatorUnderTest.calculateCosts(SINGLE_QUANTITY, DeliveryTimescale.STANDARD);
+
+            // Then
+            assertThat(calculation.getItemCosts().get(0).getItemCost(),
+                    is(Integer.toString(STANDARD_INDIVIDUAL_CERTIFICATE_COST + 1)));
+            assertThat(calculation.getTariffVersion(), is(not(tariffVersion)));
+            assertThat(calculation.getTariffVersion(), is(calculatorUnderTest.getTariffVersion()));
+        } finally {
+            costsService.publish(costs);
+        }
+
+        // The tariff version is derived from the costs alone.
+        assertThat(calculatorUnderTest.getTariffVersion(), is(tariffVersion));
+    }
+
     /**
      * Utility that calculates the expected total item cost for the item costs and postage cost provided.
      * @param costs the item costs
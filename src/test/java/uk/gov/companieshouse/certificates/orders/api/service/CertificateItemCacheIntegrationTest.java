@@ -0,0 +1,97 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemRepository;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Integration tests the {@link CertificateItemCache} change stream, which requires MongoDB to run as a replica set.
+ * These tests are only run when <code>MONGODB_REPLICA_SET_URL</code> is set, for example to
+ * <code>mongodb://localhost:27017/certificates?replicaSet=rs0</code> for a local single node replica set started with
+ * <code>mongod --replSet rs0</code> and initiated with <code>rs.initiate()</code>.
+ */
+@EnabledIfEnvironmentVariable(named = "MONGODB_REPLICA_SET_URL", matches = ".+")
+@SpringBootTest(properties = {"spring.data.mongodb.uri=${MONGODB_REPLICA_SET_URL}",
+                              "certificate-item-cache.enabled=true",
+                              "certificate-item-cache.change-stream-enabled=true"})
+class CertificateItemCacheIntegrationTest {
+
+    private static final String ITEM_ID = "CRT-123456-123456";
+    private static final String COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST";
+    private static final String UPDATED_COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST LIMITED";
+    private static final long CHANGE_STREAM_TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private CertificateItemCache cache;
+
+    @Autowired
+    private CertificateItemService service;
+
+    @Autowired
+    private CertificateItemRepository repository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        final CertificateItem item = new CertificateItem();
+        item.setId(ITEM_ID);
+        item.setCompanyName(COMPANY_NAME);
+        item.setQuantity(1);
+        repository.save(item);
+        awaitChangeStream();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteById(ITEM_ID);
+        cache.invalidateAll();
+    }
+
+    @Test
+    @DisplayName("An item changed by another instance is invalidated through the change stream")
+    void itemChangedElsewhereIsInvalidated() throws InterruptedException {
+
+        // Given
+        assertThat(service.getCertificateItemById(ITEM_ID).get().getCompanyName(), is(COMPANY_NAME));
+        final long hits = cache.getStats().hitCount();
+        assertThat(service.getCertificateItemById(ITEM_ID).get().getCompanyName(), is(COMPANY_NAME));
+        assertThat(cache.getStats().hitCount(), is(hits + 1));
+
+        // When
+        // Written directly, as another instance would, without this instance invalidating the item.
+        mongoTemplate.updateFirst(query(where("id").is(ITEM_ID)),
+                Update.update("data.company_name", UPDATED_COMPANY_NAME), CertificateItem.class);
+
+        // Then
+        final long deadline = System.currentTimeMillis() + CHANGE_STREAM_TIMEOUT_MILLIS;
+        String companyName = service.getCertificateItemById(ITEM_ID).get().getCompanyName();
+        while (!UPDATED_COMPANY_NAME.equals(companyName) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            companyName = service.getCertificateItemById(ITEM_ID).get().getCompanyName();
+        }
+        assertThat(companyName, is(UPDATED_COMPANY_NAME));
+    }
+
+    private void awaitChangeStream() throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + CHANGE_STREAM_TIMEOUT_MILLIS;
+        while (!cache.isCoherent() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(cache.isCoherent(), is(true));
+    }
+}
@@ -0,0 +1,251 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import uk.gov.companieshouse.certificates.orders.api.config.CertificateItemCacheConfig;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.model.NoIsSnakeCaseFieldNamingStrategy;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.ITEM_CACHE_HIT_RATIO_GAUGE;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.ITEM_CACHE_INVALIDATIONS_COUNTER;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.SOURCE_TAG;
+
+/**
+ * Unit tests the {@link CertificateItemCache} class. The change stream is covered by
+ * {@link CertificateItemCacheIntegrationTest}.
+ */
+@ExtendWith(MockitoExtension.class)
+class CertificateItemCacheTest {
+
+    private static final String ITEM_ID = "CRT-123456-123456";
+    private static final String COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST";
+    private static final String UPDATED_COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST LIMITED";
+    private static final String ETAG = "9d39ea69b64c80ca42ed72328b48c303c4445e28";
+    private static final String UPDATED_ETAG = "ae9c20cf7ec1a0e8ba0ed4b0b2c2b7a4bcd1a1ef";
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private final CertificateItemCacheConfig config = new CertificateItemCacheConfig();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    /** The etag of the item as stored, or <code>null</code> once it has been deleted. */
+    private String storedEtag = ETAG;
+
+    private CertificateItemCache cacheUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        final MongoMappingContext context = new MongoMappingContext();
+        context.setFieldNamingStrategy(new NoIsSnakeCaseFieldNamingStrategy());
+        context.afterPropertiesSet();
+        final MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        config.setChangeStreamEnabled(false);
+        cacheUnderTest = new CertificateItemCache(config, mongoTemplate, registry);
+    }
+
+    @Test
+    @DisplayName("get loads an item only once, serving a copy of it thereafter")
+    void getLoadsItemOnce() {
+
+        // When
+        final CertificateItem loaded = cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag).get();
+        final CertificateItem held = cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag).get();
+
+        // Then
+        assertThat(loads.get(), is(1));
+        assertThat(held, is(not(sameInstance(loaded))));
+        assertThat(held.getId(), is(ITEM_ID));
+        assertThat(held.getCompanyName(), is(COMPANY_NAME));
+        assertThat(registry.get(ITEM_CACHE_HIT_RATIO_GAUGE).gauge().value(), is(0.5));
+    }
+
+    @Test
+    @DisplayName("Changes made to an item served are not held")
+    void changesToItemServedAreNotHeld() {
+
+        // Given
+        cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag).get().setCompanyName(UPDATED_COMPANY_NAME);
+
+        // When
+        final CertificateItem held = cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag).get();
+
+        // Then
+        assertThat(held.getCompanyName(), is(COMPANY_NAME));
+    }
+
+    @Test
+    @DisplayName("invalidate discards the item, which is then loaded again")
+    void invalidateDiscardsItem() {
+
+        // Given
+        cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag);
+
+        // When
+        cacheUnderTest.invalidate(ITEM_ID);
+        cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag);
+
+        // Then
+        assertThat(loads.get(), is(2));
+        assertThat(registry.get(ITEM_CACHE_INVALIDATIONS_COUNTER).tag(SOURCE_TAG, "write").counter().count(),
+                is(1.0));
+    }
+
+    @Test
+    @DisplayName("An item loaded while an invalidation takes place is not held")
+    void itemLoadedDuringInvalidationIsNotHeld() {
+
+        // Given
+        cacheUnderTest.get(ITEM_ID, id -> {
+            cacheUnderTest.invalidate(id);
+            return load(id);
+        }, this::loadEtag);
+
+        // When
+        cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag);
+
+        // Then
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("Items not found are not held")
+    void itemsNotFoundAreNotHeld() {
+
+        // When
+        cacheUnderTest.get(ITEM_ID, id -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        }, this::loadEtag);
+        cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag);
+
+        // Then
+        assertThat(loads.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("An item held that has since been changed elsewhere is loaded again rather than served")
+    void itemChangedElsewhereIsLoadedAgain() {
+
+        // Given
+        cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag);
+        storedEtag = UPDATED_ETAG;
+
+        // When
+        final CertificateItem served = cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag).get();
+
+        // Then
+        assertThat(loads.get(), is(2));
+        assertThat(served.getEtag(), is(UPDATED_ETAG));
+        assertThat(registry.get(ITEM_CACHE_INVALIDATIONS_COUNTER).tag(SOURCE_TAG, "validation").counter().count(),
+                is(1.0));
+    }
+
+    @Test
+    @DisplayName("An item held that is found to be out of date counts as a miss, not a hit")
+    void itemFoundOutOfDateCountsAsMiss() {
+
+        // Given
+        cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag);
+        cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag);
+        storedEtag = UPDATED_ETAG;
+
+        // When
+        cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag);
+
+        // Then
+        assertThat(cacheUnderTest.getStats().hitCount(), is(1L));
+        assertThat(cacheUnderTest.getStats().missCount(), is(2L));
+        assertThat(registry.get("cache.gets").tag("cache", "certificate_items").tag("result", "miss")
+                .functionCounter().count(), is(2.0));
+    }
+
+    @Test
+    @DisplayName("The current etag is only looked up for an item held")
+    void etagOnlyLookedUpForItemHeld() {
+
+        // Given
+        final AtomicInteger etagLoads = new AtomicInteger();
+
+        // When
+        cacheUnderTest.get(ITEM_ID, this::load, id -> {
+            etagLoads.incrementAndGet();
+            return loadEtag(id);
+        });
+
+        // Then
+        assertThat(etagLoads.get(), is(0));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    @DisplayName("An item held that has since been deleted elsewhere is not served")
+    void itemDeletedElsewhereIsNotServed() {
+
+        // Given
+        cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag);
+        storedEtag = null;
+
+        // When
+        final Optional<CertificateItem> served = cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag);
+
+        // Then
+        assertThat(served.isPresent(), is(false));
+        assertThat(loads.get(), is(1));
+    }
+
+    @Test
+    @DisplayName("get loads every item when the cache is disabled")
+    void getLoadsEveryItemWhenDisabled() {
+
+        // Given
+        config.setEnabled(false);
+
+        // When
+        cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag);
+        cacheUnderTest.get(ITEM_ID, this::load, this::loadEtag);
+
+        // Then
+        assertThat(loads.get(), is(2));
+    }
+
+    private Optional<CertificateItem> load(final String id) {
+        loads.incrementAndGet();
+        final CertificateItem item = new CertificateItem();
+        item.setId(id);
+        item.setCompanyName(COMPANY_NAME);
+        item.setQuantity(1);
+        item.setEtag(storedEtag);
+        return Optional.of(item);
+    }
+
+    private Optional<CertificateItem> loadEtag(final String id) {
+        if (storedEtag == null) {
+            return Optional.empty();
+        }
+        final CertificateItem item = new CertificateItem();
+        item.setId(id);
+        item.setEtag(storedEtag);
+        return Optional.of(item);
+    }
+}
@@ -1,6 +1,7 @@
 package uk.gov.companieshouse.certificates.orders.api.service;
 
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,9 +16,12 @@ import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemR
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
+import static java.util.Arrays.asList;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
@@ -35,11 +39,17 @@ class CertificateItemServiceTest {
 
     private static final String ITEM_SOUGHT_ID_VALUE = "CRT-111111-222222";
 
+    private static final String COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST";
+
     private static final String DISCOUNT_APPLIED = "1";
     private static final String ITEM_COST = "2";
     private static final String POSTAGE_COST = "0";
     private static final String CALCULATED_COST = "4";
     private static final String TOTAL_ITEM_COST = "8";
+    private static final String OLD_ETAG = "9d39ea69b64c80ca42ed72328b48c303c4445e28";
+    private static final String NEW_ETAG = "ae9c20cf7ec1a0e8ba0ed4b0b2c2b7a4bcd1a1ef";
+    private static final String TARIFF_VERSION = "5d41402abc4b2a76b9719d911017c592";
+    private static final String OLD_TARIFF_VERSION = "7d793037a0760186574b0282f2f435e7";
 
     @InjectMocks
     private CertificateItemService serviceUnderTest;
@@ -62,68 +72,232 @@ class CertificateItemServiceTest {
     @Mock
     private LinksGeneratorService linksGenerator;
 
+    @Mock
+    private CertificateItemRequestContext itemContext;
+
+    @Mock
+    private CertificateItemCache itemCache;
+
+    @Mock
+    private ItemCostsWriteBack costsWriteBack;
+
+    @BeforeEach
+    void setUp() {
+        // By default, the cache holds nothing, and so loads every item sought.
+        lenient().when(itemCache.get(anyString(), any(), any())).thenAnswer(invocation -> {
+            final Function<String, Optional<CertificateItem>> loader = invocation.getArgument(1);
+            return loader.apply(invocation.getArgument(0));
+        });
+    }
+
     @Test
-    @DisplayName("createCertificateItem creates and saves item with id, timestamps, etag and links, returns item with costs")
+    @DisplayName("createCertificateItem creates and inserts item with id, timestamps, etag and links, returns item with costs")
     void createCertificateItemPopulatesAndSavesItem() {
 
         // Given
         when(idGeneratorService.autoGenerateId()).thenReturn(ID);
         final CertificateItem item = mockUpCostsCalculation();
-        when(repository.save(item)).thenReturn(item);
+        when(repository.insert(item)).thenAnswer(invocation -> {
+            // The costs are calculated before the item is saved, and so are stored with it.
+            verifyCostsFields(item);
+            return item;
+        });
 
         final LocalDateTime intervalStart = LocalDateTime.now();
 
         // When
-        serviceUnderTest.createCertificateItem(item);
+        serviceUnderTest.createCertificateItem(item, () -> COMPANY_NAME);
 
         // Then
         final LocalDateTime intervalEnd = LocalDateTime.now();
         assertThat(item.getId(), is(ID));
         verifyCreationTimestampsWithinExecutionInterval(item, intervalStart, intervalEnd);
-        verify(repository).save(item);
+        verify(repository).insert(item);
         verifyCostsFields(item);
         verify(etagGenerator).generateEtag();
         verify(linksGenerator).generateLinks(ID);
+        verify(itemCache).invalidate(ID);
+        assertThat(item.getTariffVersion(), is(TARIFF_VERSION));
+    }
+
+    @Test
+    @DisplayName("createCertificateItem obtains the company name only once the other fields are populated")
+    void createCertificateItemObtainsCompanyNameBeforeSave() {
+
+        // Given
+        when(idGeneratorService.autoGenerateId()).thenReturn(ID);
+        final CertificateItem item = mockUpCostsCalculation();
+        when(repository.insert(item)).thenReturn(item);
+
+        // When
+        serviceUnderTest.createCertificateItem(item, () -> {
+            assertThat(item.getId(), is(ID));
+            verify(etagGenerator).generateEtag();
+            verify(linksGenerator).generateLinks(ID);
+            verify(repository, never()).insert(item);
+            return COMPANY_NAME;
+        });
+
+        // Then
+        assertThat(item.getCompanyName(), is(COMPANY_NAME));
+        verify(repository).insert(item);
+        verifyCostsFields(item);
+    }
+
+    @Test
+    @DisplayName("createCertificateItems creates and bulk inserts items with ids, timestamps, etags and links, returns items with costs")
+    void createCertificateItemsPopulatesAndInsertsItems() {
+
+        // Given
+        when(idGeneratorService.autoGenerateId()).thenReturn(ID, ITEM_SOUGHT_ID_VALUE);
+        final CertificateItem item1 = mockUpCostsCalculation();
+        final CertificateItem item2 = new CertificateItem();
+        item2.setQuantity(1);
+        final List<CertificateItem> items = asList(item1, item2);
+        when(repository.insert(items)).thenReturn(items);
+
+        final LocalDateTime intervalStart = LocalDateTime.now();
+
+        // When
+        final List<CertificateItem> itemsCreated = serviceUnderTest.createCertificateItems(items);
+
+        // Then
+        final LocalDateTime intervalEnd = LocalDateTime.now();
+        assertThat(itemsCreated, is(items));
+        assertThat(item1.getId(), is(ID));
+        assertThat(item2.getId(), is(ITEM_SOUGHT_ID_VALUE));
+        verifyCreationTimestampsWithinExecutionInterval(item1, intervalStart, intervalEnd);
+        verifyCreationTimestampsWithinExecutionInterval(item2, intervalStart, intervalEnd);
+        verify(repository).insert(items);
+        verify(repository, never()).save(any(CertificateItem.class));
+        verifyCostsFields(item1);
+        verifyCostsFields(item2);
+        verify(etagGenerator, times(2)).generateEtag();
+        verify(linksGenerator).generateLinks(ID);
+        verify(linksGenerator).generateLinks(ITEM_SOUGHT_ID_VALUE);
     }
 
     @Test
-    @DisplayName("saveCertificateItem saves item, updates updated at timestamp, generates etag, returns item with costs")
-    void saveCertificateItemUpdatesCertificateItem() {
+    @DisplayName("saveCertificateItem with retrieved item saves changes atomically, returns item with costs")
+    void saveCertificateItemWithRetrievedItemUpdatesCertificateItem() {
 
         // Given
+        final CertificateItem retrievedItem = new CertificateItem();
+        retrievedItem.setEtag(OLD_ETAG);
         final CertificateItem item = mockUpCostsCalculation();
-        when(repository.save(item)).thenReturn(item);
+        item.setEtag(OLD_ETAG);
+        when(etagGenerator.generateEtag()).thenReturn(NEW_ETAG);
+        when(repository.findAndModifyIfUnmodified(retrievedItem, item)).thenReturn(item);
 
         final LocalDateTime intervalStart = LocalDateTime.now();
         item.setCreatedAt(intervalStart);
 
         // When
-        serviceUnderTest.saveCertificateItem(item);
+        final Optional<CertificateItem> itemSaved = serviceUnderTest.saveCertificateItem(retrievedItem, item);
 
         // Then
         final LocalDateTime intervalEnd = LocalDateTime.now();
-        verify(repository).save(item);
-        verifyCostsFields(item);
+        assertThat(itemSaved.isPresent(), is(true));
+        assertThat(itemSaved.get().getEtag(), is(NEW_ETAG));
+        verifyCostsFields(itemSaved.get());
         verifyUpdatedAtTimestampWithinExecutionInterval(item, intervalStart, intervalEnd);
-        verify(etagGenerator).generateEtag();
+        verify(repository, never()).save(item);
+        verify(itemContext).clear();
+        verify(itemCache).invalidate(retrievedItem.getId());
+    }
+
+    @Test
+    @DisplayName("saveCertificateItem with retrieved item returns empty when stored item has been modified")
+    void saveCertificateItemWithRetrievedItemReportsConcurrentModification() {
+
+        // Given
+        final CertificateItem retrievedItem = new CertificateItem();
+        retrievedItem.setEtag(OLD_ETAG);
+        final CertificateItem item = new CertificateItem();
+        when(repository.findAndModifyIfUnmodified(retrievedItem, item)).thenReturn(null);
+
+        // When
+        final Optional<CertificateItem> itemSaved = serviceUnderTest.saveCertificateItem(retrievedItem, item);
+
+        // Then
+        assertThat(itemSaved.isPresent(), is(false));
+        verify(itemContext).clear();
+        verify(itemCache).invalidate(retrievedItem.getId());
+        verify(calculator, never()).calculateCosts(anyInt(), any());
     }
 
     @Test
-    @DisplayName("getCertificateItemWithCosts retrieves item with item costs")
-    void getCertificateItemWithCostsRetrievesItemWithCosts() {
+    @DisplayName("saveCertificateItem with retrieved item keeps current costs of item costed alike")
+    void saveCertificateItemWithRetrievedItemKeepsCurrentCostsOfItemCostedAlike() {
+
+        // Given
+        final CertificateItem retrievedItem = new CertificateItem();
+        retrievedItem.setQuantity(1);
+        retrievedItem.setEtag(OLD_ETAG);
+        final CertificateItem item = itemWithStoredCosts(TARIFF_VERSION);
+        item.setCustomerReference("Certificate ordered by PJ.");
+        when(calculator.getTariffVersion()).thenReturn(TARIFF_VERSION);
+        when(repository.findAndModifyIfUnmodified(retrievedItem, item)).thenReturn(item);
+
+        // When
+        final Optional<CertificateItem> itemSaved = serviceUnderTest.saveCertificateItem(retrievedItem, item);
+
+        // Then
+        verifyCostsFields(itemSaved.get());
+        verify(calculator, never()).calculateCosts(anyInt(), any());
+        verify(costsWriteBack, never()).add(any());
+    }
+
+    @Test
+    @DisplayName("populateItemCosts keeps the costs stored under the current tariff")
+    void populateItemCostsKeepsCurrentStoredCosts() {
+
+        // Given
+        final CertificateItem item = itemWithStoredCosts(TARIFF_VERSION);
+        when(calculator.getTariffVersion()).thenReturn(TARIFF_VERSION);
+
+        // When
+        final CertificateItem itemWithCosts = serviceUnderTest.populateItemCosts(item);
+
+        // Then
+        verifyCostsFields(itemWithCosts);
+        verify(calculator, never()).calculateCosts(anyInt(), any());
+        verify(costsWriteBack, never()).add(any());
+    }
+
+    @Test
+    @DisplayName("populateItemCosts re-prices item with costs stored under a previous tariff, and writes these back")
+    void populateItemCostsRepricesItemWithOutOfDateCosts() {
+
+        // Given
+        final CertificateItem item = itemWithStoredCosts(OLD_TARIFF_VERSION);
+        item.setTotalItemCost("6");
+        when(calculator.getTariffVersion()).thenReturn(TARIFF_VERSION);
+        mockUpCostsCalculation();
+
+        // When
+        final CertificateItem itemWithCosts = serviceUnderTest.populateItemCosts(item);
+
+        // Then
+        verifyCostsFields(itemWithCosts);
+        assertThat(itemWithCosts.getTariffVersion(), is(TARIFF_VERSION));
+        verify(costsWriteBack).add(item);
+    }
+
+    @Test
+    @DisplayName("populateItemCosts populates the item costs of the item provided")
+    void populateItemCostsPopulatesItemCosts() {
 
         // Given
         final CertificateItem item = mockUpCostsCalculation();
-        when(repository.findById(ITEM_SOUGHT_ID_VALUE)).thenReturn(Optional.of(item));
 
         // When
-        final Optional<CertificateItem> itemRetrieved = serviceUnderTest.getCertificateItemWithCosts(ITEM_SOUGHT_ID_VALUE);
+        final CertificateItem itemWithCosts = serviceUnderTest.populateItemCosts(item);
 
         // Then
-        verify(repository).findById(ITEM_SOUGHT_ID_VALUE);
-        assertThat(itemRetrieved.isPresent(), is(true));
-        verifyCostsFields(itemRetrieved.get());
-        verify(etagGenerator, never()).generateEtag();
+        assertThat(itemWithCosts, is(item));
+        verifyCostsFields(itemWithCosts);
+        verify(repository, never()).findById(anyString());
     }
 
     @Test
@@ -144,6 +318,91 @@ class CertificateItemServiceTest {
         verify(etagGenerator, never()).generateEtag();
     }
 
+    @Test
+    @DisplayName("getCertificateItemById reuses item held in the item cache")
+    void getCertificateItemByIdReusesItemInCache() {
+
+        // Given
+        final CertificateItem item = new CertificateItem();
+        when(itemCache.get(eq(ITEM_SOUGHT_ID_VALUE), any(), any())).thenReturn(Optional.of(item));
+
+        // When
+        final Optional<CertificateItem> itemRetrieved = serviceUnderTest.getCertificateItemById(ITEM_SOUGHT_ID_VALUE);
+
+        // Then
+        verify(repository, never()).findById(anyString());
+        assertThat(itemRetrieved.get(), is(item));
+    }
+
+    @Test
+    @DisplayName("getCertificateItemById validates the item cached against the etag read by the owner lookup")
+    void getCertificateItemByIdValidatesAgainstEtagLookedUp() {
+
+        // Given
+        final CertificateItem owner = new CertificateItem();
+        owner.setId(ITEM_SOUGHT_ID_VALUE);
+        owner.setEtag(OLD_ETAG);
+        when(itemContext.getCertificateItemOwner(ITEM_SOUGHT_ID_VALUE)).thenReturn(Optional.of(owner));
+        when(itemCache.get(eq(ITEM_SOUGHT_ID_VALUE), any(), any())).thenAnswer(invocation -> {
+            final Function<String, Optional<CertificateItem>> etagLoader = invocation.getArgument(2);
+            return etagLoader.apply(invocation.getArgument(0));
+        });
+
+        // When
+        final Optional<CertificateItem> current = serviceUnderTest.getCertificateItemById(ITEM_SOUGHT_ID_VALUE);
+
+        // Then
+        assertThat(current.get().getEtag(), is(OLD_ETAG));
+        verify(repository, never()).findEtagById(anyString());
+    }
+
+    @Test
+    @DisplayName("getCertificateItemById reads the current etag when no owner lookup has been made")
+    void getCertificateItemByIdReadsEtagWithoutOwnerLookup() {
+
+        // Given
+        final CertificateItem etag = new CertificateItem();
+        etag.setEtag(OLD_ETAG);
+        when(repository.findEtagById(ITEM_SOUGHT_ID_VALUE)).thenReturn(Optional.of(etag));
+        when(itemCache.get(eq(ITEM_SOUGHT_ID_VALUE), any(), any())).thenAnswer(invocation -> {
+            final Function<String, Optional<CertificateItem>> etagLoader = invocation.getArgument(2);
+            return etagLoader.apply(invocation.getArgument(0));
+        });
+
+        // When
+        final Optional<CertificateItem> current = serviceUnderTest.getCertificateItemById(ITEM_SOUGHT_ID_VALUE);
+
+        // Then
+        assertThat(current.get().getEtag(), is(OLD_ETAG));
+        verify(repository).findEtagById(ITEM_SOUGHT_ID_VALUE);
+    }
+
+    @Test
+    @DisplayName("getLookedUpEtagById returns the etag read by the owner lookup, without reading it again")
+    void getLookedUpEtagByIdReusesOwnerLookup() {
+
+        // Given
+        final CertificateItem owner = new CertificateItem();
+        owner.setId(ITEM_SOUGHT_ID_VALUE);
+        owner.setEtag(OLD_ETAG);
+        when(itemContext.getCertificateItemOwner(ITEM_SOUGHT_ID_VALUE)).thenReturn(Optional.of(owner));
+
+        // When and Then
+        assertThat(serviceUnderTest.getLookedUpEtagById(ITEM_SOUGHT_ID_VALUE), is(Optional.of(OLD_ETAG)));
+        verifyZeroInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("getEntityTag combines the item etag with the version of the tariff in use")
+    void getEntityTagCombinesEtagWithTariffVersion() {
+
+        // Given
+        when(calculator.getTariffVersion()).thenReturn(TARIFF_VERSION);
+
+        // When and Then
+        assertThat(serviceUnderTest.getEntityTag(OLD_ETAG), is(OLD_ETAG + "-" + TARIFF_VERSION));
+    }
+
     @Test
     @DisplayName("getCertificateItemById handles failure to find item smoothly")
     void getCertificateItemHandlesFailureToFindItemSmoothly() {
@@ -171,7 +430,23 @@ class CertificateItemServiceTest {
         cost.setCalculatedCost(CALCULATED_COST);
         costs.add(cost);
         when(calculator.calculateCosts(anyInt(), eq(DeliveryTimescale.STANDARD))).thenReturn(
-                new CertificateCostCalculation(costs, POSTAGE_COST, TOTAL_ITEM_COST));
+                new CertificateCostCalculation(costs, POSTAGE_COST, TOTAL_ITEM_COST, TARIFF_VERSION));
+        return item;
+    }
+
+    /**
+     * Utility method that creates an item holding the costs stored with it under the tariff version provided.
+     * @param tariffVersion the tariff version under which the costs were calculated
+     * @return the item, as retrieved
+     */
+    private CertificateItem itemWithStoredCosts(final String tariffVersion) {
+        final CertificateItem item = new CertificateItem();
+        item.setQuantity(1);
+        item.setEtag(OLD_ETAG);
+        item.setItemCosts(Collections.singletonList(new ItemCosts(DISCOUNT_APPLIED, ITEM_COST, CALCULATED_COST, null)));
+        item.setPostageCost(POSTAGE_COST);
+        item.setTotalItemCost(TOTAL_ITEM_COST);
+        item.setTariffVersion(tariffVersion);
         return item;
     }
 
@@ -3,6 +3,7 @@ package uk.gov.companieshouse.certificates.orders.api.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.http.Fault;
+import org.junit.After;
 import org.junit.ClassRule;
 import org.junit.Test;
 import org.junit.contrib.java.lang.system.EnvironmentVariables;
@@ -24,13 +25,17 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
 /**
  * Unit/integration tests the {@link CompanyService} class. Uses JUnit4 to take advantage of the
  * system-rules {@link EnvironmentVariables} class rule. The JUnit5 system-extensions equivalent does not
  * seem to have been released.
  */
-@SpringBootTest
+@SpringBootTest(properties = {
+        "company-lookup.timeout-millis=" + CompanyServiceIntegrationTest.TIMEOUT_MILLIS,
+        "company-lookup.minimum-number-of-calls=" + CompanyServiceIntegrationTest.MINIMUM_NUMBER_OF_CALLS,
+        "company-lookup.sliding-window-size=" + CompanyServiceIntegrationTest.MINIMUM_NUMBER_OF_CALLS})
 @RunWith(SpringJUnit4ClassRunner.class)
 @AutoConfigureWireMock(port = 0)
 public class CompanyServiceIntegrationTest {
@@ -38,6 +43,9 @@ public class CompanyServiceIntegrationTest {
     @ClassRule
     public static final EnvironmentVariables ENVIRONMENT_VARIABLES = new EnvironmentVariables();
 
+    static final int TIMEOUT_MILLIS = 1000;
+    static final int MINIMUM_NUMBER_OF_CALLS = 3;
+
     private static final String COMPANY_NUMBER = "00006400";
     private static final String EXPECTED_COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST";
 
@@ -91,6 +99,12 @@ public class CompanyServiceIntegrationTest {
     @Autowired
     private Environment environment;
 
+    @After
+    public void tearDown() {
+        serviceUnderTest.invalidateCompanyNames();
+        serviceUnderTest.resetCircuitBreaker();
+    }
+
     @Test
     public void getCompanyNameGetsNameSuccessfully () throws JsonProcessingException {
 
@@ -150,4 +164,56 @@ public class CompanyServiceIntegrationTest {
         assertThat(exception.getReason(), is(expectedReason));
     }
 
+    @Test
+    public void getCompanyNameThrowsServiceUnavailableForSlowResponse() throws JsonProcessingException {
+
+        final String wireMockPort = environment.getProperty("wiremock.server.port");
+
+        // Given
+        ENVIRONMENT_VARIABLES.set("CHS_API_KEY", "MGQ1MGNlYmFkYzkxZTM2MzlkNGVmMzg4ZjgxMmEz");
+        ENVIRONMENT_VARIABLES.set("API_URL", "http://localhost:" + wireMockPort);
+        givenThat(com.github.tomakehurst.wiremock.client.WireMock.get(urlEqualTo("/company/" + COMPANY_NUMBER))
+                .willReturn(aResponse()
+                        .withFixedDelay(TIMEOUT_MILLIS * 2)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(COMPANY_PROFILE))));
+
+        // When and then
+        final ResponseStatusException exception =
+                Assertions.assertThrows(ResponseStatusException.class,
+                        () -> serviceUnderTest.getCompanyName(COMPANY_NUMBER));
+        assertThat(exception.getStatus(), is(SERVICE_UNAVAILABLE));
+        assertThat(exception.getReason(), is("Timed out getting company name for company number 00006400"));
+    }
+
+    @Test
+    public void getCompanyNameFailsFastWhileCircuitOpen() {
+
+        final String wireMockPort = environment.getProperty("wiremock.server.port");
+
+        // Given
+        ENVIRONMENT_VARIABLES.set("CHS_API_KEY", "MGQ1MGNlYmFkYzkxZTM2MzlkNGVmMzg4ZjgxMmEz");
+        ENVIRONMENT_VARIABLES.set("API_URL", "http://localhost:" + wireMockPort);
+        givenThat(com.github.tomakehurst.wiremock.client.WireMock.get(urlEqualTo("/company/" + COMPANY_NUMBER))
+                .willReturn(aResponse().withFault(Fault.CONNECTION_RESET_BY_PEER)));
+        resetAllRequests();
+        for (int call = 0; call < MINIMUM_NUMBER_OF_CALLS; call++) {
+            final ResponseStatusException exception =
+                    Assertions.assertThrows(ResponseStatusException.class,
+                            () -> serviceUnderTest.getCompanyName(COMPANY_NUMBER));
+            assertThat(exception.getStatus(), is(INTERNAL_SERVER_ERROR));
+        }
+
+        // When
+        final ResponseStatusException exception =
+                Assertions.assertThrows(ResponseStatusException.class,
+                        () -> serviceUnderTest.getCompanyName(COMPANY_NUMBER));
+
+        // Then
+        assertThat(exception.getStatus(), is(SERVICE_UNAVAILABLE));
+        assertThat(exception.getReason(),
+                is("Company names temporarily unavailable, rejected request for company number 00006400"));
+        verify(MINIMUM_NUMBER_OF_CALLS, getRequestedFor(urlEqualTo("/company/" + COMPANY_NUMBER)));
+    }
+
 }
@@ -2,6 +2,8 @@ package uk.gov.companieshouse.certificates.orders.api.service;
 
 import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.HttpResponseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -19,17 +22,27 @@ import uk.gov.companieshouse.api.error.ApiErrorResponseException;
 import uk.gov.companieshouse.api.handler.company.CompanyResourceHandler;
 import uk.gov.companieshouse.api.handler.company.request.CompanyGet;
 import uk.gov.companieshouse.api.handler.exception.URIValidationException;
+import uk.gov.companieshouse.api.model.ApiResponse;
+import uk.gov.companieshouse.api.model.company.CompanyProfileApi;
+import uk.gov.companieshouse.certificates.orders.api.config.CompanyLookupConfig;
+import uk.gov.companieshouse.certificates.orders.api.config.CompanyNameCacheConfig;
 
 import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 import static uk.gov.companieshouse.api.error.ApiErrorResponseException.fromHttpResponseException;
 import static uk.gov.companieshouse.api.error.ApiErrorResponseException.fromIOException;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.COMPANY_LOOKUP_ERRORS_COUNTER;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.STATUS_TAG;
 
 /**
  * Unit tests the {@link CompanyService} class.
@@ -40,6 +53,7 @@ import static uk.gov.companieshouse.api.error.ApiErrorResponseException.fromIOEx
 public class CompanyServiceTest {
 
     private static final String COMPANY_NUMBER = "00006400";
+    private static final String COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST";
 
     private static final String INVALID_URI = "URI pattern does not match expected URI pattern for this resource.";
     private static final String INVALID_URI_EXPECTED_REASON = "Invalid URI /company/00006400 for company details";
@@ -48,6 +62,12 @@ public class CompanyServiceTest {
     private static final String IOEXCEPTION_EXPECTED_REASON =
             "Error sending request to http://host/company/00006400: " + IOEXCEPTION_MESSAGE;
 
+    private static final String TIMEOUT_EXPECTED_REASON =
+            "Timed out getting company name for company number " + COMPANY_NUMBER;
+
+    private static final String CIRCUIT_OPEN_EXPECTED_REASON =
+            "Company names temporarily unavailable, rejected request for company number " + COMPANY_NUMBER;
+
     private static final String NOT_FOUND_EXPECTED_REASON = "Error getting company name for company number "
             + COMPANY_NUMBER;
 
@@ -57,6 +77,15 @@ public class CompanyServiceTest {
     @Mock
     private ApiClientService apiClientService;
 
+    @Spy
+    private CompanyNameCacheConfig cacheConfig = new CompanyNameCacheConfig();
+
+    @Spy
+    private CompanyLookupConfig lookupConfig = new CompanyLookupConfig();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @Mock
     private InternalApiClient apiClient;
 
@@ -66,6 +95,31 @@ public class CompanyServiceTest {
     @Mock
     private CompanyGet get;
 
+    @Test
+    @DisplayName("getCompanyName() gets the company name from the API once only for repeated lookups")
+    public void getCompanyNameCachesCompanyName() throws Exception {
+
+        // Given
+        final CompanyProfileApi profile = new CompanyProfileApi();
+        profile.setCompanyName(COMPANY_NAME);
+        when(apiClientService.getInternalApiClient()).thenReturn(apiClient);
+        when(apiClient.company()).thenReturn(handler);
+        when(handler.get(anyString())).thenReturn(get);
+        when(get.execute()).thenReturn(new ApiResponse<>(200, null, profile));
+
+        // When
+        final String firstName = serviceUnderTest.getCompanyName(COMPANY_NUMBER);
+        final String secondName = serviceUnderTest.getCompanyName(COMPANY_NUMBER);
+
+        // Then
+        assertThat(firstName, is(COMPANY_NAME));
+        assertThat(secondName, is(COMPANY_NAME));
+        verify(get, times(1)).execute();
+        assertThat(serviceUnderTest.getCompanyNameCacheStats().hitCount(), is(1L));
+        assertThat(serviceUnderTest.getCompanyNameCacheStats().missCount(), is(1L));
+        assertThat(serviceUnderTest.getCompanyNameCacheStats().loadSuccessCount(), is(1L));
+    }
+
     @Test
     @DisplayName("getCompanyName() Invalid URL reported as Internal Server Error (500)")
     public void getCompanyNameThrowsInternalServerErrorForInvalidUri() throws Exception {
@@ -103,6 +157,71 @@ public class CompanyServiceTest {
                         () -> serviceUnderTest.getCompanyName(COMPANY_NUMBER));
         assertThat(exception.getStatus(), is(INTERNAL_SERVER_ERROR));
         assertThat(exception.getReason(), is(IOEXCEPTION_EXPECTED_REASON));
+        assertThat(meterRegistry.counter(COMPANY_LOOKUP_ERRORS_COUNTER, STATUS_TAG, "500").count(), is(1.0));
+    }
+
+    @Test
+    @DisplayName("getCompanyName() abandons a slow API call as Service Unavailable (503)")
+    public void getCompanyNameTimesOutSlowApiCall() throws Exception {
+
+        // Given
+        final CompanyLookupConfig config = new CompanyLookupConfig();
+        config.setTimeoutMillis(100);
+        final CompanyService service = new CompanyService(apiClientService, cacheConfig, config, meterRegistry);
+        final CountDownLatch apiResponds = new CountDownLatch(1);
+        when(apiClientService.getInternalApiClient()).thenReturn(apiClient);
+        when(apiClient.company()).thenReturn(handler);
+        when(handler.get(anyString())).thenReturn(get);
+        when(get.execute()).thenAnswer(invocation -> {
+            apiResponds.await();
+            return new ApiResponse<>(200, null, new CompanyProfileApi());
+        });
+
+        // When and then
+        try {
+            final ResponseStatusException exception =
+                    Assertions.assertThrows(ResponseStatusException.class,
+                            () -> service.getCompanyName(COMPANY_NUMBER));
+            assertThat(exception.getStatus(), is(SERVICE_UNAVAILABLE));
+            assertThat(exception.getReason(), is(TIMEOUT_EXPECTED_REASON));
+            assertThat(meterRegistry.counter(COMPANY_LOOKUP_ERRORS_COUNTER, STATUS_TAG, "timeout").count(), is(1.0));
+        } finally {
+            apiResponds.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("getCompanyName() fails fast as Service Unavailable (503) once repeated API failures open the circuit")
+    public void getCompanyNameFailsFastWhileCircuitOpen() throws Exception {
+
+        // Given
+        final CompanyLookupConfig config = new CompanyLookupConfig();
+        config.setMinimumNumberOfCalls(2);
+        config.setSlidingWindowSize(2);
+        final CompanyService service = new CompanyService(apiClientService, cacheConfig, config, meterRegistry);
+        when(apiClientService.getInternalApiClient()).thenReturn(apiClient);
+        when(apiClient.company()).thenReturn(handler);
+        when(handler.get(anyString())).thenReturn(get);
+        when(get.execute()).thenThrow(fromIOException(new IOException(IOEXCEPTION_MESSAGE)));
+        when(apiClient.getBasePath()).thenReturn("http://host");
+
+        // When
+        for (int call = 0; call < 2; call++) {
+            final ResponseStatusException exception =
+                    Assertions.assertThrows(ResponseStatusException.class,
+                            () -> service.getCompanyName(COMPANY_NUMBER));
+            assertThat(exception.getStatus(), is(INTERNAL_SERVER_ERROR));
+        }
+        final ResponseStatusException exception =
+                Assertions.assertThrows(ResponseStatusException.class,
+                        () -> service.getCompanyName(COMPANY_NUMBER));
+
+        // Then
+        assertThat(exception.getStatus(), is(SERVICE_UNAVAILABLE));
+        assertThat(exception.getReason(), is(CIRCUIT_OPEN_EXPECTED_REASON));
+        verify(get, times(2)).execute();
+        assertThat(meterRegistry.counter(COMPANY_LOOKUP_ERRORS_COUNTER, STATUS_TAG, "circuit_open").count(),
+                is(1.0));
     }
 
     /**
@@ -0,0 +1,163 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsConfig;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsReloadConfig;
+
+import javax.validation.Validation;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.*;
+
+/**
+ * Unit tests the {@link CostsFileWatcher} class.
+ */
+class CostsFileWatcherTest {
+
+    private static final String COSTS_FILE = "costs.yaml";
+    private static final long RELOAD_TIMEOUT_MILLIS = 10_000;
+
+    @TempDir
+    Path directory;
+
+    private final CostsReloadConfig config = new CostsReloadConfig();
+    private final CostsService costs = new CostsService(configuredCosts(),
+            Validation.buildDefaultValidatorFactory().getValidator());
+    private final CostsFileWatcher watcherUnderTest = new CostsFileWatcher(config, costs);
+
+    @AfterEach
+    void tearDown() throws IOException {
+        watcherUnderTest.stop();
+    }
+
+    @Test
+    @DisplayName("The costs in the file are in use once started")
+    void costsInFileAreInUseOnceStarted() throws IOException {
+
+        // Given
+        writeCosts(20);
+
+        // When
+        watcherUnderTest.start();
+
+        // Then
+        assertThat(costs.getCosts().getStandardCost(), is(20));
+        assertThat(costs.getCosts().getSameDayCost(), is(SAME_DAY_INDIVIDUAL_CERTIFICATE_COST));
+        assertThat(costs.getCosts().getVersion(), is(2L));
+    }
+
+    @Test
+    @DisplayName("The costs are reloaded whenever the file changes")
+    void costsAreReloadedWhenFileChanges() throws Exception {
+
+        // Given
+        writeCosts(20);
+        watcherUnderTest.start();
+
+        // When
+        writeCosts(25);
+
+        // Then
+        final long deadline = System.currentTimeMillis() + RELOAD_TIMEOUT_MILLIS;
+        while (costs.getCosts().getStandardCost() != 25 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(costs.getCosts().getStandardCost(), is(25));
+    }
+
+    @Test
+    @DisplayName("The costs are reloaded when the file is replaced by swapping a symbolic link")
+    void costsAreReloadedWhenLinkSwapped() throws Exception {
+
+        // Given
+        writeLinkedCosts("..2026_01", 20);
+        watcherUnderTest.start();
+
+        // When
+        writeLinkedCosts("..2026_02", 25);
+
+        // Then
+        final long deadline = System.currentTimeMillis() + RELOAD_TIMEOUT_MILLIS;
+        while (costs.getCosts().getStandardCost() != 25 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(costs.getCosts().getStandardCost(), is(25));
+    }
+
+    @Test
+    @DisplayName("Costs in the file that are not valid are rejected")
+    void invalidCostsInFileAreRejected() throws IOException {
+
+        // Given
+        writeCosts(20);
+        watcherUnderTest.start();
+        writeCosts(0);
+
+        // When and then
+        assertThrows(IllegalArgumentException.class, watcherUnderTest::reload);
+        assertThat(costs.getCosts().getStandardCost(), is(20));
+    }
+
+    @Test
+    @DisplayName("The costs configured are used throughout if no file is configured")
+    void configuredCostsAreUsedIfNoFile() throws IOException {
+
+        // When
+        watcherUnderTest.start();
+
+        // Then
+        assertThat(costs.getCosts().getVersion(), is(1L));
+        assertThat(costs.getCosts().getStandardCost(), is(STANDARD_INDIVIDUAL_CERTIFICATE_COST));
+    }
+
+    private void writeCosts(final int standardCost) throws IOException {
+        final Path file = directory.resolve(COSTS_FILE);
+        config.setFile(file.toString());
+        Files.write(file, costsYaml(standardCost));
+    }
+
+    /**
+     * Writes the costs file to a new directory, and points the <code>..data</code> link at the new directory, as
+     * Kubernetes does when updating a mounted ConfigMap.
+     */
+    private void writeLinkedCosts(final String version, final int standardCost) throws IOException {
+        final Path versionDirectory = Files.createDirectory(directory.resolve(version));
+        Files.write(versionDirectory.resolve(COSTS_FILE), costsYaml(standardCost));
+        final Path newLink = Files.createSymbolicLink(directory.resolve("..data_tmp"), versionDirectory.getFileName());
+        Files.move(newLink, directory.resolve("..data"), StandardCopyOption.ATOMIC_MOVE);
+        final Path file = directory.resolve(COSTS_FILE);
+        if (!Files.exists(file, LinkOption.NOFOLLOW_LINKS)) {
+            Files.createSymbolicLink(file, Paths.get("..data", COSTS_FILE));
+        }
+        config.setFile(file.toString());
+    }
+
+    private static byte[] costsYaml(final int standardCost) {
+        return ("costs:\n" +
+                "  standard_cost: " + standardCost + "\n" +
+                "  same_day_cost: " + SAME_DAY_INDIVIDUAL_CERTIFICATE_COST + "\n" +
+                "  standard_discount: " + STANDARD_EXTRA_CERTIFICATE_DISCOUNT + "\n" +
+                "  same_day_discount: " + SAME_DAY_EXTRA_CERTIFICATE_DISCOUNT + "\n").getBytes(UTF_8);
+    }
+
+    private static CostsConfig configuredCosts() {
+        final CostsConfig costs = new CostsConfig();
+        costs.setStandardCost(STANDARD_INDIVIDUAL_CERTIFICATE_COST);
+        costs.setSameDayCost(SAME_DAY_INDIVIDUAL_CERTIFICATE_COST);
+        costs.setStandardDiscount(STANDARD_EXTRA_CERTIFICATE_DISCOUNT);
+        costs.setSameDayDiscount(SAME_DAY_EXTRA_CERTIFICATE_DISCOUNT);
+        return costs;
+    }
+}
@@ -0,0 +1,95 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsConfig;
+import uk.gov.companieshouse.certificates.orders.api.config.CostsSnapshot;
+
+import javax.validation.Validation;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.COSTS_VERSION_GAUGE;
+import static uk.gov.companieshouse.certificates.orders.api.util.TestConstants.*;
+
+/**
+ * Unit tests the {@link CostsService} class.
+ */
+class CostsServiceTest {
+
+    private final CostsService serviceUnderTest =
+            new CostsService(costs(STANDARD_INDIVIDUAL_CERTIFICATE_COST),
+                    Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    @DisplayName("The costs configured are in use from the outset, as version 1")
+    void configuredCostsAreVersionOne() {
+        final CostsSnapshot costs = serviceUnderTest.getCosts();
+        assertThat(costs.getVersion(), is(1L));
+        assertThat(costs.getStandardCost(), is(STANDARD_INDIVIDUAL_CERTIFICATE_COST));
+        assertThat(costs.getSameDayCost(), is(SAME_DAY_INDIVIDUAL_CERTIFICATE_COST));
+        assertThat(costs.getStandardDiscount(), is(STANDARD_EXTRA_CERTIFICATE_DISCOUNT));
+        assertThat(costs.getSameDayDiscount(), is(SAME_DAY_EXTRA_CERTIFICATE_DISCOUNT));
+    }
+
+    @Test
+    @DisplayName("Costs published are in use as the next version, reported by the version gauge")
+    void costsPublishedAreInUse() {
+
+        // Given
+        final MeterRegistry registry = new SimpleMeterRegistry();
+        serviceUnderTest.bindTo(registry);
+
+        // When
+        final CostsSnapshot published = serviceUnderTest.publish(costs(STANDARD_INDIVIDUAL_CERTIFICATE_COST + 1));
+
+        // Then
+        assertThat(serviceUnderTest.getCosts(), is(sameInstance(published)));
+        assertThat(published.getVersion(), is(2L));
+        assertThat(published.getStandardCost(), is(STANDARD_INDIVIDUAL_CERTIFICATE_COST + 1));
+        assertThat(registry.get(COSTS_VERSION_GAUGE).gauge().value(), is(2.0));
+    }
+
+    @Test
+    @DisplayName("Publishing the costs already in use does not change their version")
+    void publishingSameCostsKeepsVersion() {
+
+        // Given
+        final CostsSnapshot inUse = serviceUnderTest.getCosts();
+
+        // When
+        final CostsSnapshot published = serviceUnderTest.publish(costs(STANDARD_INDIVIDUAL_CERTIFICATE_COST));
+
+        // Then
+        assertThat(published, is(sameInstance(inUse)));
+    }
+
+    @Test
+    @DisplayName("Costs that are not valid are rejected, leaving the costs in use unchanged")
+    void invalidCostsAreRejected() {
+
+        // Given
+        final CostsSnapshot inUse = serviceUnderTest.getCosts();
+
+        // When
+        final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> serviceUnderTest.publish(costs(0)));
+
+        // Then
+        assertThat(exception.getMessage(), is("invalid costs: standardCost: must be greater than or equal to 1"));
+        assertThat(serviceUnderTest.getCosts(), is(sameInstance(inUse)));
+    }
+
+    private static CostsConfig costs(final int standardCost) {
+        final CostsConfig costs = new CostsConfig();
+        costs.setStandardCost(standardCost);
+        costs.setSameDayCost(SAME_DAY_INDIVIDUAL_CERTIFICATE_COST);
+        costs.setStandardDiscount(STANDARD_EXTRA_CERTIFICATE_DISCOUNT);
+        costs.setSameDayDiscount(SAME_DAY_EXTRA_CERTIFICATE_DISCOUNT);
+        return costs;
+    }
+}
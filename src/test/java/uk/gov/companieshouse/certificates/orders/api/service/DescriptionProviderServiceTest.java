@@ -2,14 +2,23 @@ package uk.gov.companieshouse.certificates.orders.api.service;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
  * Unit tests the {@link DescriptionProviderService} class.
@@ -21,6 +30,11 @@ class DescriptionProviderServiceTest {
     private static final String EXPECTED_DESCRIPTION = "certificate for company " + COMPANY_NUMBER;
     private static final String COMPANY_NUMBER_KEY = "company_number";
     private static final Map<String, String> EXPECTED_DESCRIPTION_VALUES = new HashMap<>();
+    private static final String ORDERS_DESCRIPTIONS_FILE = "orders_descriptions.yaml";
+    private static final long RELOAD_TIMEOUT_MILLIS = 10_000;
+
+    @TempDir
+    Path directory;
 
     static {
         EXPECTED_DESCRIPTION_VALUES.put(COMPANY_NUMBER_KEY, COMPANY_NUMBER);
@@ -40,6 +54,128 @@ class DescriptionProviderServiceTest {
         assertThat(provider.getDescriptionValues(COMPANY_NUMBER, ITEM_TYPE), is(EXPECTED_DESCRIPTION_VALUES));
     }
 
+    @Test
+    @DisplayName("Provided description values cannot be changed")
+    void getDescriptionValuesProvidesUnmodifiableValues() {
+        final DescriptionProviderService provider = new DescriptionProviderService();
+        final Map<String, String> values = provider.getDescriptionValues(COMPANY_NUMBER, ITEM_TYPE);
+        assertThrows(UnsupportedOperationException.class, () -> values.put(COMPANY_NUMBER_KEY, "00000000"));
+        assertThrows(UnsupportedOperationException.class, values::clear);
+        assertThat(values, is(EXPECTED_DESCRIPTION_VALUES));
+    }
+
+    @Test
+    @DisplayName("Provides description values holding no description when orders description file not found")
+    void getDescriptionValuesFileNotFoundHoldsNullDescription() {
+        final DescriptionProviderService provider = new DescriptionProviderService(new File("notfound.yaml"));
+        final Map<String, String> expectedValues = new HashMap<>();
+        expectedValues.put(COMPANY_NUMBER_KEY, COMPANY_NUMBER);
+        expectedValues.put(ITEM_TYPE, null);
+        assertThat(provider.getDescriptionValues(COMPANY_NUMBER, ITEM_TYPE), is(expectedValues));
+    }
+
+    @Test
+    @DisplayName("Provides the description reloaded from the orders description file")
+    void reloadProvidesChangedDescription() throws IOException {
+        final File file = writeDescription("certificate for company {company_number}");
+        final DescriptionProviderService provider = new DescriptionProviderService(file);
+        writeDescription("certificate of company {company_number}");
+        provider.reload();
+        assertThat(provider.getDescription(COMPANY_NUMBER), is("certificate of company " + COMPANY_NUMBER));
+    }
+
+    @Test
+    @DisplayName("Keeps the description in use when the orders description file no longer holds one")
+    void reloadKeepsDescriptionWhenNoneFound() throws IOException {
+        final File file = writeDescription("certificate for company {company_number}");
+        final DescriptionProviderService provider = new DescriptionProviderService(file);
+        Files.write(file.toPath(), "certificate-description: [".getBytes(UTF_8));
+        provider.reload();
+        assertThat(provider.getDescription(COMPANY_NUMBER), is(EXPECTED_DESCRIPTION));
+    }
+
+    @Test
+    @DisplayName("Keeps the description in use when the orders description file holds a truncated one")
+    void reloadKeepsDescriptionWhenTruncated() throws IOException {
+        final File file = writeDescription("certificate for company {company_number}");
+        final DescriptionProviderService provider = new DescriptionProviderService(file);
+        Files.write(file.toPath(), ("certificate-description:\n" +
+                "  company-certificate: certificate of company {compa").getBytes(UTF_8));
+        provider.reload();
+        assertThat(provider.getDescription(COMPANY_NUMBER), is(EXPECTED_DESCRIPTION));
+    }
+
+    @Test
+    @DisplayName("Keeps the description in use when the orders description file is truncated after the placeholder")
+    void reloadKeepsDescriptionWhenTruncatedAfterPlaceholder() throws IOException {
+        final File file = writeDescription("certificate for company {company_number}");
+        final DescriptionProviderService provider = new DescriptionProviderService(file);
+        Files.write(file.toPath(), ("certificate-description:\n" +
+                "  company-certificate: certificate of company {company_number} regist").getBytes(UTF_8));
+        provider.reload();
+        assertThat(provider.getDescription(COMPANY_NUMBER), is(EXPECTED_DESCRIPTION));
+    }
+
+    @Test
+    @DisplayName("Keeps the description in use when the reloaded description holds no company number placeholder")
+    void reloadKeepsDescriptionWhenNoPlaceholder() throws IOException {
+        final File file = writeDescription("certificate for company {company_number}");
+        final DescriptionProviderService provider = new DescriptionProviderService(file);
+        writeDescription("certificate for company");
+        provider.reload();
+        assertThat(provider.getDescription(COMPANY_NUMBER), is(EXPECTED_DESCRIPTION));
+    }
+
+    @Test
+    @DisplayName("Provides the description loaded at start up even when it holds no company number placeholder")
+    void getDescriptionProvidesDescriptionWithoutPlaceholder() throws IOException {
+        final File file = writeDescription("certificate for company");
+        final DescriptionProviderService provider = new DescriptionProviderService(file);
+        assertThat(provider.getDescription(COMPANY_NUMBER), is("certificate for company"));
+    }
+
+    @Test
+    @DisplayName("Reloads the description whenever the orders description file changes")
+    void descriptionIsReloadedWhenFileChanges() throws Exception {
+        final File file = writeDescription("certificate for company {company_number}");
+        final DescriptionProviderService provider = new DescriptionProviderService(file);
+        try {
+            provider.start();
+            writeDescription("certificate of company {company_number}");
+
+            final String expectedDescription = "certificate of company " + COMPANY_NUMBER;
+            final long deadline = System.currentTimeMillis() + RELOAD_TIMEOUT_MILLIS;
+            while (!expectedDescription.equals(provider.getDescription(COMPANY_NUMBER))
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            assertThat(provider.getDescription(COMPANY_NUMBER), is(expectedDescription));
+        } finally {
+            provider.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Reloads the description when the orders description file is replaced by swapping a symbolic link")
+    void descriptionIsReloadedWhenLinkSwapped() throws Exception {
+        final Path link = writeLinkedDescription("..2026_01", "certificate for company {company_number}");
+        final DescriptionProviderService provider = new DescriptionProviderService(link.toFile());
+        try {
+            provider.start();
+            writeLinkedDescription("..2026_02", "certificate of company {company_number}");
+
+            final String expectedDescription = "certificate of company " + COMPANY_NUMBER;
+            final long deadline = System.currentTimeMillis() + RELOAD_TIMEOUT_MILLIS;
+            while (!expectedDescription.equals(provider.getDescription(COMPANY_NUMBER))
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            assertThat(provider.getDescription(COMPANY_NUMBER), is(expectedDescription));
+        } finally {
+            provider.stop();
+        }
+    }
+
     @Test
     @DisplayName("Returns null when orders description file not found")
     void getDescriptionFileNotFoundReturnsNull() {
@@ -65,6 +201,39 @@ class DescriptionProviderServiceTest {
         assertThat(provider.getDescription(COMPANY_NUMBER), is(nullValue()));
     }
 
+    /**
+     * Writes an orders descriptions file holding the company certificate description to the temporary directory.
+     * @param description the company certificate description
+     * @return the {@link File} written
+     */
+    private File writeDescription(final String description) throws IOException {
+        final Path file = directory.resolve(ORDERS_DESCRIPTIONS_FILE);
+        Files.write(file, ("certificate-description:\n" +
+                "  company-certificate: \"" + description + "\"\n").getBytes(UTF_8));
+        return file.toFile();
+    }
+
+    /**
+     * Writes an orders descriptions file holding the company certificate description to a new directory within the
+     * temporary directory, and points the <code>..data</code> link at the new directory, as Kubernetes does when
+     * updating a mounted ConfigMap.
+     * @param version the name of the new directory
+     * @param description the company certificate description
+     * @return the path of the file through the <code>..data</code> link
+     */
+    private Path writeLinkedDescription(final String version, final String description) throws IOException {
+        final Path versionDirectory = Files.createDirectory(directory.resolve(version));
+        Files.write(versionDirectory.resolve(ORDERS_DESCRIPTIONS_FILE), ("certificate-description:\n" +
+                "  company-certificate: \"" + description + "\"\n").getBytes(UTF_8));
+        final Path newLink = Files.createSymbolicLink(directory.resolve("..data_tmp"), versionDirectory.getFileName());
+        Files.move(newLink, directory.resolve("..data"), StandardCopyOption.ATOMIC_MOVE);
+        final Path link = directory.resolve(ORDERS_DESCRIPTIONS_FILE);
+        if (!Files.exists(link, LinkOption.NOFOLLOW_LINKS)) {
+            Files.createSymbolicLink(link, Paths.get("..data", ORDERS_DESCRIPTIONS_FILE));
+        }
+        return link;
+    }
+
     /**
      * Gets the file from the test resources directory
      * @param filePath the relative file path of the file within the test resources directory
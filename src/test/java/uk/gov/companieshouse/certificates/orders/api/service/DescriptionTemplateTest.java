@@ -0,0 +1,95 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit tests the {@link DescriptionTemplate} class.
+ */
+class DescriptionTemplateTest {
+
+    private static final String COMPANY_NUMBER_KEY = "company_number";
+    private static final String COMPANY_NUMBER = "00006400";
+
+    @Test
+    @DisplayName("render replaces each placeholder with its value")
+    void renderReplacesPlaceholders() {
+
+        // Given
+        final DescriptionTemplate template =
+                DescriptionTemplate.compile("{item_type} for company {company_number}, {company_number}");
+        final Map<String, String> values = new HashMap<>();
+        values.put(COMPANY_NUMBER_KEY, COMPANY_NUMBER);
+        values.put("item_type", "certificate");
+
+        // When
+        final String rendered = template.render(values);
+
+        // Then
+        assertThat(rendered, is("certificate for company 00006400, 00006400"));
+    }
+
+    @Test
+    @DisplayName("render leaves placeholders with no value as they are")
+    void renderLeavesPlaceholdersWithNoValue() {
+
+        // Given
+        final DescriptionTemplate template = DescriptionTemplate.compile("certificate for company {company_number}");
+
+        // When
+        final String rendered = template.render(singletonMap(COMPANY_NUMBER_KEY, null));
+
+        // Then
+        assertThat(rendered, is("certificate for company {company_number}"));
+    }
+
+    @Test
+    @DisplayName("render leaves templates with no complete placeholders as they are")
+    void renderLeavesLiteralTemplates() {
+
+        // Given
+        final DescriptionTemplate template = DescriptionTemplate.compile("certificate } for { company");
+
+        // When
+        final String rendered = template.render(emptyMap());
+
+        // Then
+        assertThat(rendered, is("certificate } for { company"));
+    }
+
+    @Test
+    @DisplayName("render replaces the innermost placeholder of nested braces")
+    void renderReplacesInnermostPlaceholder() {
+
+        // Given
+        final DescriptionTemplate template = DescriptionTemplate.compile("company {number {company_number}}");
+
+        // When
+        final String rendered = template.render(singletonMap(COMPANY_NUMBER_KEY, COMPANY_NUMBER));
+
+        // Then
+        assertThat(rendered, is("company {number 00006400}"));
+    }
+
+    @Test
+    @DisplayName("hasPlaceholder finds only complete placeholders")
+    void hasPlaceholderFindsOnlyCompletePlaceholders() {
+
+        // Given
+        final DescriptionTemplate complete = DescriptionTemplate.compile("certificate for company {company_number}");
+        final DescriptionTemplate truncated = DescriptionTemplate.compile("certificate for company {company_num");
+
+        // When and Then
+        assertThat(complete.hasPlaceholder(COMPANY_NUMBER_KEY), is(true));
+        assertThat(truncated.hasPlaceholder(COMPANY_NUMBER_KEY), is(false));
+        assertThat(complete.hasPlaceholder("item_type"), is(false));
+    }
+}
@@ -1,17 +1,40 @@
 package uk.gov.companieshouse.certificates.orders.api.service;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertTrue;
 
 class IdGeneratorServiceTest {
 
+    private static final int STRESS_TEST_THREADS = 16;
+    private static final int STRESS_TEST_IDS_PER_THREAD = 250_000;
+
+    /** The high-water mark of the sequence, as it would be held in the database. */
+    private final AtomicLong highWaterMark = new AtomicLong();
+    private final AtomicInteger leasesTaken = new AtomicInteger();
+
     @Test
     @DisplayName("autoGenerateId returns in the format CRT-######-######")
     void autoGenerateIdGenerateIdInCorrectFormat() {
 
-        final IdGeneratorService idGeneratorService = new IdGeneratorService();
+        final IdGeneratorService idGeneratorService = new IdGeneratorService(this::lease);
 
         final String id = idGeneratorService.autoGenerateId();
 
@@ -19,4 +42,152 @@ class IdGeneratorServiceTest {
 
     }
 
+    @Test
+    @DisplayName("autoGenerateId issues the values of the sequence leased, in order")
+    void autoGenerateIdIssuesSequenceLeased() {
+
+        // Given
+        highWaterMark.set(79_999_999L);
+        final IdGeneratorService idGeneratorService = new IdGeneratorService(this::lease);
+
+        // When
+        final String first = idGeneratorService.autoGenerateId();
+        final String second = idGeneratorService.autoGenerateId();
+
+        // Then
+        // 79999999 is the last value with leading digits 0000; the trailing digits then start again from 20000000.
+        assertThat(first, is("CRT-000099-999999"));
+        assertThat(second, is("CRT-000120-000000"));
+    }
+
+    @Test
+    @DisplayName("autoGenerateId never generates IDs in the legacy ID space")
+    void autoGenerateIdIsDisjointFromLegacyIds() {
+
+        // Given
+        final IdGeneratorService idGeneratorService = new IdGeneratorService(this::lease);
+
+        // When
+        for (int index = 0; index < 100_000; index++) {
+            final long id = toNumber(idGeneratorService.autoGenerateId());
+
+            // Then
+            // Legacy IDs end with the time in units of 100 seconds, i.e. 10000000 to 19999999 from 2001 to 2033.
+            assertTrue("Legacy ID generated: " + id, id % 100_000_000L >= 20_000_000L);
+        }
+    }
+
+    @Test
+    @DisplayName("autoGenerateId leases a further block of the sequence only once the current one is used up")
+    void autoGenerateIdLeasesFurtherBlockWhenUsedUp() {
+
+        // Given
+        final IdGeneratorService idGeneratorService = new IdGeneratorService(this::lease);
+
+        // When
+        for (int index = 0; index <= IdGeneratorService.LEASE_SIZE; index++) {
+            idGeneratorService.autoGenerateId();
+        }
+
+        // Then
+        assertThat(leasesTaken.get(), is(2));
+        assertThat(highWaterMark.get(), is(2 * IdGeneratorService.LEASE_SIZE));
+    }
+
+    @Test
+    @DisplayName("IDs generated by different instances, or after a restart, do not collide")
+    void autoGenerateIdIsUniqueAcrossInstancesAndRestarts() {
+
+        // Given
+        final IdGeneratorService instance1 = new IdGeneratorService(this::lease);
+        final IdGeneratorService instance2 = new IdGeneratorService(this::lease);
+        final Set<String> ids = new HashSet<>();
+
+        // When
+        for (int index = 0; index < 10_000; index++) {
+            ids.add(instance1.autoGenerateId());
+            ids.add(instance2.autoGenerateId());
+        }
+        final IdGeneratorService restartedInstance1 = new IdGeneratorService(this::lease);
+        for (int index = 0; index < 10_000; index++) {
+            ids.add(restartedInstance1.autoGenerateId());
+        }
+
+        // Then
+        assertThat(ids.size(), is(30_000));
+    }
+
+    @Test
+    @DisplayName("autoGenerateId fails once the sequence is used up")
+    void autoGenerateIdFailsOnceSequenceUsedUp() {
+
+        // Given
+        highWaterMark.set(IdGeneratorService.SEQUENCE_LIMIT - IdGeneratorService.LEASE_SIZE / 2);
+        final IdGeneratorService idGeneratorService = new IdGeneratorService(this::lease);
+
+        // When and Then
+        final IllegalStateException exception =
+                Assertions.assertThrows(IllegalStateException.class, idGeneratorService::autoGenerateId);
+        assertThat(exception.getMessage(), is("Certificate item ID sequence used up at 799999999500!"));
+    }
+
+    @Test
+    @DisplayName("autoGenerateId generates millions of unique IDs across many threads")
+    void autoGenerateIdIsUniqueUnderConcurrency() throws Exception {
+
+        // Given
+        final IdGeneratorService idGeneratorService = new IdGeneratorService(this::lease);
+        final ExecutorService executor = Executors.newFixedThreadPool(STRESS_TEST_THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<long[]>> results = new ArrayList<>();
+
+        // When
+        for (int thread = 0; thread < STRESS_TEST_THREADS; thread++) {
+            results.add(executor.submit(() -> {
+                final long[] ids = new long[STRESS_TEST_IDS_PER_THREAD];
+                start.await();
+                for (int index = 0; index < STRESS_TEST_IDS_PER_THREAD; index++) {
+                    ids[index] = toNumber(idGeneratorService.autoGenerateId());
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+
+        final long[] allIds = new long[STRESS_TEST_THREADS * STRESS_TEST_IDS_PER_THREAD];
+        int offset = 0;
+        for (final Future<long[]> result : results) {
+            final long[] ids = result.get(2, TimeUnit.MINUTES);
+            System.arraycopy(ids, 0, allIds, offset, ids.length);
+            offset += ids.length;
+        }
+        executor.shutdown();
+
+        // Then
+        Arrays.sort(allIds);
+        for (int index = 1; index < allIds.length; index++) {
+            assertTrue("Duplicate ID generated: " + allIds[index], allIds[index] != allIds[index - 1]);
+        }
+    }
+
+    /**
+     * Reserves values from the sequence, as {@link
+     * uk.gov.companieshouse.certificates.orders.api.repository.DatabaseSequenceRepository#reserve(String, long)} does.
+     * @param count the number of values to reserve
+     * @return the first value reserved
+     */
+    private long lease(final long count) {
+        leasesTaken.incrementAndGet();
+        return highWaterMark.getAndAdd(count);
+    }
+
+    /**
+     * Converts an ID of the form <code>CRT-XXXXXX-XXXXXX</code> to the number made up of its digits.
+     * @param id the ID
+     * @return the number
+     */
+    private static long toNumber(final String id) {
+        return Long.parseLong(id.substring(4, 10) + id.substring(11));
+    }
+
 }
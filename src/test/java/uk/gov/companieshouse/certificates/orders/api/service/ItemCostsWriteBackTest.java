@@ -0,0 +1,173 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.companieshouse.certificates.orders.api.config.ItemCostsWriteBackConfig;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItem;
+import uk.gov.companieshouse.certificates.orders.api.model.ItemCosts;
+import uk.gov.companieshouse.certificates.orders.api.repository.CertificateItemRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.ITEM_COSTS_WRITE_BACK_COUNTER;
+import static uk.gov.companieshouse.certificates.orders.api.metrics.MetricsConstants.OUTCOME_TAG;
+
+/**
+ * Unit tests the {@link ItemCostsWriteBack} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class ItemCostsWriteBackTest {
+
+    private static final String ITEM_ID_1 = "CRT-123456-123451";
+    private static final String ITEM_ID_2 = "CRT-123456-123452";
+    private static final String ITEM_ID_3 = "CRT-123456-123453";
+    private static final String ETAG = "9d39ea69b64c80ca42ed72328b48c303c4445e28";
+    private static final String NEW_ETAG = "ae9c20cf7ec1a0e8ba0ed4b0b2c2b7a4bcd1a1ef";
+    private static final String TARIFF_VERSION = "5d41402abc4b2a76b9719d911017c592";
+
+    @Mock
+    private CertificateItemRepository repository;
+
+    @Mock
+    private CertificateItemCache itemCache;
+
+    @Captor
+    private ArgumentCaptor<List<CertificateItem>> batches;
+
+    private final ItemCostsWriteBackConfig config = new ItemCostsWriteBackConfig();
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private ItemCostsWriteBack writeBackUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        config.setBatchSize(2);
+        writeBackUnderTest = new ItemCostsWriteBack(config, repository, itemCache, registry);
+    }
+
+    @Test
+    @DisplayName("flush writes back the items queued in batches, and invalidates them in the cache")
+    void flushWritesItemsInBatches() {
+
+        // Given
+        writeBackUnderTest.add(repricedItem(ITEM_ID_1, ETAG));
+        writeBackUnderTest.add(repricedItem(ITEM_ID_2, ETAG));
+        writeBackUnderTest.add(repricedItem(ITEM_ID_3, ETAG));
+        when(repository.updateCostsIfUnmodified(anyList())).thenReturn(2, 0);
+
+        // When
+        writeBackUnderTest.flush();
+
+        // Then
+        verify(repository, times(2)).updateCostsIfUnmodified(batches.capture());
+        assertThat(batches.getAllValues().get(0).size(), is(2));
+        assertThat(batches.getAllValues().get(1).size(), is(1));
+        verify(itemCache).invalidate(ITEM_ID_1);
+        verify(itemCache).invalidate(ITEM_ID_2);
+        verify(itemCache).invalidate(ITEM_ID_3);
+        assertThat(count("written"), is(2.0));
+        assertThat(count("superseded"), is(1.0));
+        assertThat(writeBackUnderTest.getPendingCount(), is(0));
+    }
+
+    @Test
+    @DisplayName("Only the latest costs of an item queued more than once are written back")
+    void onlyLatestCostsOfItemAreWritten() {
+
+        // Given
+        writeBackUnderTest.add(repricedItem(ITEM_ID_1, ETAG));
+        writeBackUnderTest.add(repricedItem(ITEM_ID_1, NEW_ETAG));
+        when(repository.updateCostsIfUnmodified(anyList())).thenReturn(1);
+
+        // When
+        writeBackUnderTest.flush();
+
+        // Then
+        verify(repository).updateCostsIfUnmodified(batches.capture());
+        assertThat(batches.getValue().size(), is(1));
+        assertThat(batches.getValue().get(0).getEtag(), is(NEW_ETAG));
+        assertThat(batches.getValue().get(0).getTariffVersion(), is(TARIFF_VERSION));
+    }
+
+    @Test
+    @DisplayName("Items queued beyond the maximum pending are dropped")
+    void itemsBeyondMaximumPendingAreDropped() {
+
+        // Given
+        config.setMaximumPendingItems(1);
+
+        // When
+        writeBackUnderTest.add(repricedItem(ITEM_ID_1, ETAG));
+        writeBackUnderTest.add(repricedItem(ITEM_ID_2, ETAG));
+        writeBackUnderTest.add(repricedItem(ITEM_ID_1, NEW_ETAG));
+
+        // Then
+        assertThat(writeBackUnderTest.getPendingCount(), is(1));
+        assertThat(count("dropped"), is(1.0));
+    }
+
+    @Test
+    @DisplayName("Items whose write-back fails are not retried")
+    void itemsFailingWriteBackAreNotRetried() {
+
+        // Given
+        writeBackUnderTest.add(repricedItem(ITEM_ID_1, ETAG));
+        when(repository.updateCostsIfUnmodified(anyList())).thenThrow(new IllegalStateException("test"));
+
+        // When
+        writeBackUnderTest.flush();
+        writeBackUnderTest.flush();
+
+        // Then
+        verify(repository).updateCostsIfUnmodified(anyList());
+        assertThat(count("failed"), is(1.0));
+        assertThat(writeBackUnderTest.getPendingCount(), is(0));
+    }
+
+    @Test
+    @DisplayName("Items never stored are not queued")
+    void itemsNeverStoredAreNotQueued() {
+
+        // Given
+        final CertificateItem item = repricedItem(ITEM_ID_1, null);
+
+        // When
+        writeBackUnderTest.add(item);
+        writeBackUnderTest.flush();
+
+        // Then
+        verify(repository, never()).updateCostsIfUnmodified(anyList());
+    }
+
+    private double count(final String outcome) {
+        return registry.get(ITEM_COSTS_WRITE_BACK_COUNTER).tag(OUTCOME_TAG, outcome).counter().count();
+    }
+
+    private static CertificateItem repricedItem(final String id, final String etag) {
+        final CertificateItem item = new CertificateItem();
+        item.setId(id);
+        item.setEtag(etag);
+        item.setItemCosts(new ArrayList<>(singletonList(new ItemCosts("0", "15", "15", null))));
+        item.setPostageCost("0");
+        item.setTotalItemCost("15");
+        item.setTariffVersion(TARIFF_VERSION);
+        return item;
+    }
+}
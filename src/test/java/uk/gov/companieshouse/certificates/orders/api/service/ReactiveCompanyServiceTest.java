@@ -0,0 +1,199 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import com.google.common.base.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import uk.gov.companieshouse.certificates.orders.api.config.CompanyLookupConfig;
+import uk.gov.companieshouse.certificates.orders.api.config.CompanyNameCacheConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.core.Is.is;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.OK;
+
+/**
+ * Unit tests the {@link ReactiveCompanyService} class, and in particular that it holds company names exactly as
+ * {@link CompanyService} does.
+ */
+class ReactiveCompanyServiceTest {
+
+    private static final String COMPANY_NUMBER = "00006400";
+    private static final String COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST";
+    private static final String RENAMED_COMPANY_NAME = "THE GIRLS' DAY SCHOOL TRUST LIMITED";
+
+    private final CompanyNameCacheConfig cacheConfig = new CompanyNameCacheConfig();
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+
+    /** Supplies the response to each call made to the company profiles API. */
+    private Supplier<Mono<ClientResponse>> responses;
+
+    private ReactiveCompanyService serviceUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        final WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    calls.incrementAndGet();
+                    return responses.get();
+                })
+                .build();
+        final Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        serviceUnderTest = new ReactiveCompanyService(webClient, cacheConfig, new CompanyLookupConfig(),
+                new SimpleMeterRegistry(), ticker);
+    }
+
+    @Test
+    @DisplayName("getCompanyName() gets the company name from the API once only for repeated lookups")
+    void getCompanyNameHoldsCompanyName() {
+
+        // Given
+        responses = () -> Mono.just(company(COMPANY_NAME));
+
+        // When
+        final String firstName = serviceUnderTest.getCompanyName(COMPANY_NUMBER).block();
+        final String secondName = serviceUnderTest.getCompanyName(COMPANY_NUMBER).block();
+
+        // Then
+        assertThat(firstName, is(COMPANY_NAME));
+        assertThat(secondName, is(COMPANY_NAME));
+        assertThat(calls.get(), is(1));
+    }
+
+    @Test
+    @DisplayName("getCompanyName() makes a single API call for concurrent lookups of a company not yet held")
+    void getCompanyNameLooksUpCompanyOnceForConcurrentLookups() {
+
+        // Given
+        final MonoProcessor<ClientResponse> response = MonoProcessor.create();
+        responses = () -> response;
+        final List<String> names = new ArrayList<>();
+
+        // When
+        serviceUnderTest.getCompanyName(COMPANY_NUMBER).subscribe(names::add);
+        serviceUnderTest.getCompanyName(COMPANY_NUMBER).subscribe(names::add);
+        serviceUnderTest.getCompanyName(COMPANY_NUMBER).subscribe(names::add);
+        response.onNext(company(COMPANY_NAME));
+
+        // Then
+        assertThat(calls.get(), is(1));
+        assertThat(names, contains(COMPANY_NAME, COMPANY_NAME, COMPANY_NAME));
+    }
+
+    @Test
+    @DisplayName("getCompanyName() refreshes a name ahead of its expiry, returning the name held meanwhile")
+    void getCompanyNameRefreshesNameAheadOfExpiry() {
+
+        // Given
+        responses = () -> Mono.just(company(COMPANY_NAME));
+        serviceUnderTest.getCompanyName(COMPANY_NUMBER).block();
+        responses = () -> Mono.just(company(RENAMED_COMPANY_NAME));
+        nanos.addAndGet(SECONDS.toNanos(cacheConfig.getRefreshAfterSeconds()));
+
+        // When
+        final String nameHeld = serviceUnderTest.getCompanyName(COMPANY_NUMBER).block();
+        final String nameRefreshed = serviceUnderTest.getCompanyName(COMPANY_NUMBER).block();
+
+        // Then
+        assertThat(nameHeld, is(COMPANY_NAME));
+        assertThat(nameRefreshed, is(RENAMED_COMPANY_NAME));
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("getCompanyName() keeps the name held should its refresh fail")
+    void getCompanyNameKeepsNameWhenRefreshFails() {
+
+        // Given
+        responses = () -> Mono.just(company(COMPANY_NAME));
+        serviceUnderTest.getCompanyName(COMPANY_NUMBER).block();
+        responses = () -> Mono.just(ClientResponse.create(INTERNAL_SERVER_ERROR).build());
+        nanos.addAndGet(SECONDS.toNanos(cacheConfig.getRefreshAfterSeconds()));
+
+        // When
+        final String firstName = serviceUnderTest.getCompanyName(COMPANY_NUMBER).block();
+        final String secondName = serviceUnderTest.getCompanyName(COMPANY_NUMBER).block();
+
+        // Then
+        assertThat(firstName, is(COMPANY_NAME));
+        assertThat(secondName, is(COMPANY_NAME));
+        assertThat(calls.get(), is(3));
+    }
+
+    @Test
+    @DisplayName("getCompanyName() looks up an expired name again")
+    void getCompanyNameLooksUpExpiredName() {
+
+        // Given
+        responses = () -> Mono.just(company(COMPANY_NAME));
+        serviceUnderTest.getCompanyName(COMPANY_NUMBER).block();
+        responses = () -> Mono.just(company(RENAMED_COMPANY_NAME));
+        nanos.addAndGet(SECONDS.toNanos(cacheConfig.getTimeToLiveSeconds()));
+
+        // When
+        final String name = serviceUnderTest.getCompanyName(COMPANY_NUMBER).block();
+
+        // Then
+        assertThat(name, is(RENAMED_COMPANY_NAME));
+        assertThat(calls.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("getCompanyName() holds neither errors nor missing names")
+    void getCompanyNameHoldsNeitherErrorsNorMissingNames() {
+
+        // Given
+        responses = () -> Mono.just(ClientResponse.create(NOT_FOUND).build());
+
+        // When
+        final ResponseStatusException exception = Assertions.assertThrows(ResponseStatusException.class,
+                () -> serviceUnderTest.getCompanyName(COMPANY_NUMBER).block());
+        responses = () -> Mono.just(json("{}"));
+        final String missingName = serviceUnderTest.getCompanyName(COMPANY_NUMBER).block();
+        responses = () -> Mono.just(company(COMPANY_NAME));
+        final String name = serviceUnderTest.getCompanyName(COMPANY_NUMBER).block();
+
+        // Then
+        assertThat(exception.getStatus(), is(BAD_REQUEST));
+        assertThat(missingName, is(nullValue()));
+        assertThat(name, is(COMPANY_NAME));
+        assertThat(calls.get(), is(3));
+    }
+
+    private static ClientResponse company(final String companyName) {
+        return json("{\"company_name\": \"" + companyName + "\"}");
+    }
+
+    private static ClientResponse json(final String body) {
+        return ClientResponse.create(OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build();
+    }
+}
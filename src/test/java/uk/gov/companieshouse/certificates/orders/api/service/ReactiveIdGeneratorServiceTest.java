@@ -0,0 +1,130 @@
+package uk.gov.companieshouse.certificates.orders.api.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+
+/**
+ * Unit tests the {@link ReactiveIdGeneratorService} class.
+ */
+class ReactiveIdGeneratorServiceTest {
+
+    private static final int CONCURRENT_CALLERS = 10;
+
+    /** The high-water mark of the sequence, as it would be held in the database. */
+    private final AtomicLong highWaterMark = new AtomicLong();
+    private final AtomicInteger leasesTaken = new AtomicInteger();
+
+    @Test
+    @DisplayName("generateId issues the values of the sequence leased, in order, exactly as IdGeneratorService does")
+    void generateIdIssuesSequenceLeased() {
+
+        // Given
+        highWaterMark.set(79_999_999L);
+        final ReactiveIdGeneratorService idGeneratorService = new ReactiveIdGeneratorService(this::lease);
+
+        // When
+        final String first = idGeneratorService.generateId().block();
+        final String second = idGeneratorService.generateId().block();
+
+        // Then
+        assertThat(first, is("CRT-000099-999999"));
+        assertThat(second, is("CRT-000120-000000"));
+    }
+
+    @Test
+    @DisplayName("generateId leases a further block of the sequence only once the current one is used up")
+    void generateIdLeasesFurtherBlockWhenUsedUp() {
+
+        // Given
+        final ReactiveIdGeneratorService idGeneratorService = new ReactiveIdGeneratorService(this::lease);
+
+        // When
+        for (int index = 0; index <= IdGeneratorService.LEASE_SIZE; index++) {
+            idGeneratorService.generateId().block();
+        }
+
+        // Then
+        assertThat(leasesTaken.get(), is(2));
+        assertThat(highWaterMark.get(), is(2 * IdGeneratorService.LEASE_SIZE));
+    }
+
+    @Test
+    @DisplayName("Callers finding the lease used up all await the same single renewal of it")
+    void generateIdRenewsLeaseOnceForConcurrentCallers() {
+
+        // Given
+        final MonoProcessor<Long> renewal = MonoProcessor.create();
+        final ReactiveIdGeneratorService idGeneratorService = new ReactiveIdGeneratorService(count -> {
+            leasesTaken.incrementAndGet();
+            return renewal;
+        });
+        final List<String> ids = new ArrayList<>();
+
+        // When
+        for (int caller = 0; caller < CONCURRENT_CALLERS; caller++) {
+            idGeneratorService.generateId().subscribe(ids::add);
+        }
+        assertThat(ids.size(), is(0));
+        renewal.onNext(0L);
+
+        // Then
+        assertThat(leasesTaken.get(), is(1));
+        assertThat(ids.size(), is(CONCURRENT_CALLERS));
+        assertThat(new HashSet<>(ids).size(), is(CONCURRENT_CALLERS));
+    }
+
+    @Test
+    @DisplayName("A failed renewal of the lease is retried by the next caller")
+    void generateIdRetriesFailedRenewal() {
+
+        // Given
+        final ReactiveIdGeneratorService idGeneratorService = new ReactiveIdGeneratorService(count ->
+                leasesTaken.incrementAndGet() == 1 ?
+                        Mono.error(new IllegalStateException("test")) : Mono.just(highWaterMark.getAndAdd(count)));
+
+        // When and Then
+        Assertions.assertThrows(IllegalStateException.class, () -> idGeneratorService.generateId().block());
+        assertThat(idGeneratorService.generateId().block(), is("CRT-000020-000000"));
+        assertThat(leasesTaken.get(), is(2));
+    }
+
+    @Test
+    @DisplayName("generateId fails once the sequence is used up")
+    void generateIdFailsOnceSequenceUsedUp() {
+
+        // Given
+        highWaterMark.set(IdGeneratorService.SEQUENCE_LIMIT - IdGeneratorService.LEASE_SIZE / 2);
+        final ReactiveIdGeneratorService idGeneratorService = new ReactiveIdGeneratorService(this::lease);
+
+        // When and Then
+        final IllegalStateException exception =
+                Assertions.assertThrows(IllegalStateException.class, () -> idGeneratorService.generateId().block());
+        assertThat(exception.getMessage(), is("Certificate item ID sequence used up at 799999999500!"));
+    }
+
+    /**
+     * Reserves values from the sequence, as {@link
+     * uk.gov.companieshouse.certificates.orders.api.repository.ReactiveDatabaseSequenceRepository#reserve(String,
+     * long)} does.
+     * @param count the number of values to reserve
+     * @return the first value reserved
+     */
+    private Mono<Long> lease(final long count) {
+        return Mono.fromSupplier(() -> {
+            leasesTaken.incrementAndGet();
+            return highWaterMark.getAndAdd(count);
+        });
+    }
+}
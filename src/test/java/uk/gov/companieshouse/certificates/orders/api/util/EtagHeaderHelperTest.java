@@ -0,0 +1,83 @@
+package uk.gov.companieshouse.certificates.orders.api.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Unit tests the {@link EtagHeaderHelper} class.
+ */
+class EtagHeaderHelperTest {
+
+    private static final String ETAG = "9d39ea69b64c80ca42ed72328b48c303c4445e28";
+
+    @Test
+    @DisplayName("matches quoted etag")
+    void matchesQuotedEtag() {
+        assertThat(EtagHeaderHelper.matches("\"" + ETAG + "\"", ETAG), is(true));
+    }
+
+    @Test
+    @DisplayName("matches unquoted etag")
+    void matchesUnquotedEtag() {
+        assertThat(EtagHeaderHelper.matches(ETAG, ETAG), is(true));
+    }
+
+    @Test
+    @DisplayName("matches weak etag")
+    void matchesWeakEtag() {
+        assertThat(EtagHeaderHelper.matches("W/\"" + ETAG + "\"", ETAG), is(true));
+    }
+
+    @Test
+    @DisplayName("matches etag within list")
+    void matchesEtagWithinList() {
+        assertThat(EtagHeaderHelper.matches("\"other\", \"" + ETAG + "\"", ETAG), is(true));
+    }
+
+    @Test
+    @DisplayName("matches any etag")
+    void matchesAnyEtag() {
+        assertThat(EtagHeaderHelper.matches("*", ETAG), is(true));
+    }
+
+    @Test
+    @DisplayName("does not match different etag")
+    void doesNotMatchDifferentEtag() {
+        assertThat(EtagHeaderHelper.matches("\"other\"", ETAG), is(false));
+    }
+
+    @Test
+    @DisplayName("does not match absent header or etag")
+    void doesNotMatchAbsentHeaderOrEtag() {
+        assertThat(EtagHeaderHelper.matches(null, ETAG), is(false));
+        assertThat(EtagHeaderHelper.matches("*", null), is(false));
+    }
+
+    @Test
+    @DisplayName("matches strongly quoted etag, and etag within list")
+    void matchesStronglyQuotedEtag() {
+        assertThat(EtagHeaderHelper.matchesStrongly("\"" + ETAG + "\"", ETAG), is(true));
+        assertThat(EtagHeaderHelper.matchesStrongly("\"other\", \"" + ETAG + "\"", ETAG), is(true));
+        assertThat(EtagHeaderHelper.matchesStrongly("*", ETAG), is(true));
+    }
+
+    @Test
+    @DisplayName("does not match weak etag strongly")
+    void doesNotMatchWeakEtagStrongly() {
+        assertThat(EtagHeaderHelper.matchesStrongly("W/\"" + ETAG + "\"", ETAG), is(false));
+        assertThat(EtagHeaderHelper.matchesStrongly("W/\"other\", W/\"" + ETAG + "\"", ETAG), is(false));
+    }
+
+    @Test
+    @DisplayName("builds entity tag from item etag and tariff version")
+    void buildsEntityTagFromEtagAndTariffVersion() {
+        assertThat(EtagHeaderHelper.toEntityTag(ETAG, "5d41402a"), is(ETAG + "-5d41402a"));
+        assertThat(EtagHeaderHelper.toEntityTag(ETAG, null), is(ETAG));
+        assertThat(EtagHeaderHelper.toEntityTag(null, "5d41402a"), is(nullValue()));
+    }
+
+}
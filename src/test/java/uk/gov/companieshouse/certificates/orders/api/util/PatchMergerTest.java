@@ -16,6 +16,7 @@ import java.io.IOException;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static uk.gov.companieshouse.certificates.orders.api.model.CertificateType.INCORPORATION;
 import static uk.gov.companieshouse.certificates.orders.api.model.CollectionLocation.BELFAST;
 import static uk.gov.companieshouse.certificates.orders.api.model.CollectionLocation.CARDIFF;
@@ -136,9 +137,6 @@ class PatchMergerTest {
     @Autowired
     private PatchMerger patchMergerUnderTest;
 
-    @Autowired
-    private ObjectMapper mapper;
-
     @Autowired
     private TestMergePatchFactory patchFactory;
 
@@ -319,4 +317,83 @@ class PatchMergerTest {
         assertThat(patchedOffice.getIncludeDates(), is(UPDATED_INCLUDE_DATES));
     }
 
+    @Test
+    @DisplayName("Null source property removes target field")
+    void nullSourcePropertyRemovesTargetField() throws IOException {
+        // Given
+        final CertificateItem original = new CertificateItem();
+        original.setCompanyNumber(ORIGINAL_COMPANY_NUMBER);
+        original.setQuantity(ORIGINAL_QUANTITY);
+
+        // When
+        final CertificateItem patched = patchMergerUnderTest.mergePatch(
+                patchFactory.patchFromJson("{\"company_number\":null}"), original, CertificateItem.class);
+
+        // Then
+        assertThat(patched.getCompanyNumber(), is(nullValue()));
+        assertThat(patched.getQuantity(), is(ORIGINAL_QUANTITY));
+    }
+
+    @Test
+    @DisplayName("Nested source properties are propagated to unpopulated target object, omitting nulls")
+    void sourceNestedPropertiesPropagatedToUnpopulatedTarget() throws IOException {
+        // Given
+        final CertificateItem original = new CertificateItem();
+
+        // When
+        final CertificateItem patched = patchMergerUnderTest.mergePatch(
+                patchFactory.patchFromJson("{\"item_options\":{\"forename\":\"Jon\",\"surname\":null}}"),
+                original, CertificateItem.class);
+
+        // Then
+        assertThat(patched.getItemOptions().getForename(), is(UPDATED_FORENAME));
+        assertThat(patched.getItemOptions().getSurname(), is(nullValue()));
+    }
+
+    @Test
+    @DisplayName("Target bean is not modified by the patch")
+    void targetBeanIsNotModified() throws IOException {
+        // Given
+        final CertificateItem original = new CertificateItem();
+        original.setCompanyNumber(ORIGINAL_COMPANY_NUMBER);
+        final CertificateItemOptions originalOptions = new CertificateItemOptions();
+        originalOptions.setForename(FORENAME);
+        original.setItemOptions(originalOptions);
+
+        // When
+        final CertificateItem patched = patchMergerUnderTest.mergePatch(
+                patchFactory.patchFromJson("{\"company_number\":\"1235\",\"item_options\":{\"forename\":\"Jon\"}}"),
+                original, CertificateItem.class);
+
+        // Then
+        assertThat(patched.getCompanyNumber(), is(CORRECTED_COMPANY_NUMBER));
+        assertThat(patched.getItemOptions().getForename(), is(UPDATED_FORENAME));
+        assertThat(original.getCompanyNumber(), is(ORIGINAL_COMPANY_NUMBER));
+        assertThat(original.getItemOptions().getForename(), is(FORENAME));
+    }
+
+    @Test
+    @DisplayName("Patch setting, removing and merging members at once is applied correctly")
+    void patchSettingRemovingAndMergingMembersApplied() throws IOException {
+        // Given
+        final String json = "{\"quantity\":2,\"company_number\":null,\"item_options\":{\"forename\":\"Jon\"}}";
+        final CertificateItem original = new CertificateItem();
+        original.setCompanyNumber(ORIGINAL_COMPANY_NUMBER);
+        original.setQuantity(ORIGINAL_QUANTITY);
+        final CertificateItemOptions originalOptions = new CertificateItemOptions();
+        originalOptions.setForename(FORENAME);
+        originalOptions.setSurname(SURNAME);
+        original.setItemOptions(originalOptions);
+
+        // When
+        final CertificateItem patched =
+                patchMergerUnderTest.mergePatch(patchFactory.patchFromJson(json), original, CertificateItem.class);
+
+        // Then
+        assertThat(patched.getQuantity(), is(CORRECTED_QUANTITY));
+        assertThat(patched.getCompanyNumber(), is(nullValue()));
+        assertThat(patched.getItemOptions().getForename(), is(UPDATED_FORENAME));
+        assertThat(patched.getItemOptions().getSurname(), is(SURNAME));
+    }
+
 }
@@ -1,14 +1,10 @@
 package uk.gov.companieshouse.certificates.orders.api.util;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 
-import javax.json.Json;
-import javax.json.JsonMergePatch;
-import javax.json.JsonReader;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 
 @Component
 public class TestMergePatchFactory {
@@ -24,34 +20,25 @@ public class TestMergePatchFactory {
     }
 
     /**
-     * Performs an equivalent conversion to that carried out by {@link JsonMergePatchHttpMessageConverter} et al to
-     * facilitate integration testing.
+     * Performs an equivalent conversion to that carried out when the merge patch request body is bound to a
+     * {@link JsonNode} to facilitate integration testing.
      * @param pojo the POJO that represents a merge patch
-     * @return the {@link JsonMergePatch} representation
+     * @return the {@link JsonNode} representation
      * @throws IOException should something unexpected happen
      */
-    public JsonMergePatch patchFromPojo(final Object pojo) throws IOException {
-        final String json = mapper.writeValueAsString(pojo);
-        final InputStream stream = new ByteArrayInputStream(json.getBytes());
-        final JsonReader reader = Json.createReader(stream);
-        final JsonMergePatch patch = Json.createMergePatch(reader.readValue());
-        stream.close();
-        return patch;
+    public JsonNode patchFromPojo(final Object pojo) throws IOException {
+        return patchFromJson(mapper.writeValueAsString(pojo));
     }
 
     /**
-     * Performs an equivalent conversion to that carried out by {@link JsonMergePatchHttpMessageConverter} et al to
-     * facilitate integration testing.
+     * Performs an equivalent conversion to that carried out when the merge patch request body is bound to a
+     * {@link JsonNode} to facilitate integration testing.
      * @param json the JSON that represents a merge patch
-     * @return the {@link JsonMergePatch} representation
+     * @return the {@link JsonNode} representation
      * @throws IOException should something unexpected happen
      */
-    public JsonMergePatch patchFromJson(final String json) throws IOException {
-        final InputStream stream = new ByteArrayInputStream(json.getBytes());
-        final JsonReader reader = Json.createReader(stream);
-        final JsonMergePatch patch = Json.createMergePatch(reader.readValue());
-        stream.close();
-        return patch;
+    public JsonNode patchFromJson(final String json) throws IOException {
+        return mapper.readTree(json);
     }
 
 }
@@ -0,0 +1,57 @@
+package uk.gov.companieshouse.certificates.orders.api.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Unit tests the {@link VirtualThreads} class. Which of the tests run depends upon the Java release running them.
+ */
+class VirtualThreadsTest {
+
+    private static final String NAME_PREFIX = "test-virtual-";
+
+    @Test
+    @DisplayName("newThreadPerTaskExecutor runs each task on a named virtual thread")
+    void executorRunsTasksOnVirtualThreads() throws Exception {
+
+        // Given
+        assumeTrue(VirtualThreads.isSupported());
+        final ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor(NAME_PREFIX);
+
+        // When
+        final Future<Thread> thread = executor.submit(Thread::currentThread);
+
+        // Then
+        assertThat(VirtualThreads.isVirtual(thread.get()), is(true));
+        assertThat(thread.get().getName(), startsWith(NAME_PREFIX));
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("newThreadPerTaskExecutor fails where virtual threads are not supported")
+    void executorFailsWhereNotSupported() {
+
+        // Given
+        assumeFalse(VirtualThreads.isSupported());
+
+        // When and then
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> VirtualThreads.newThreadPerTaskExecutor(NAME_PREFIX));
+    }
+
+    @Test
+    @DisplayName("isVirtual is false for a platform thread")
+    void platformThreadIsNotVirtual() {
+        assertThat(VirtualThreads.isVirtual(Thread.currentThread()), is(false));
+    }
+}
@@ -0,0 +1,114 @@
+package uk.gov.companieshouse.certificates.orders.api.validator;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.certificates.orders.api.dto.CertificateItemDTO;
+import uk.gov.companieshouse.certificates.orders.api.model.CertificateItemOptions;
+import uk.gov.companieshouse.certificates.orders.api.util.FieldNameConverter;
+
+import javax.validation.Validation;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+import static uk.gov.companieshouse.certificates.orders.api.model.DeliveryMethod.COLLECTION;
+import static uk.gov.companieshouse.certificates.orders.api.validator.CreateItemsBatchRequestValidator.MAX_BATCH_SIZE;
+
+/**
+ * Unit tests the {@link CreateItemsBatchRequestValidator} class.
+ */
+class CreateItemsBatchRequestValidatorTest {
+
+    private static final String COMPANY_NUMBER = "00006400";
+
+    private CreateItemsBatchRequestValidator validatorUnderTest;
+
+    @BeforeEach
+    void setUp() {
+        final FieldNameConverter converter = new FieldNameConverter();
+        validatorUnderTest = new CreateItemsBatchRequestValidator(new CreateItemRequestValidator(converter),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                converter);
+    }
+
+    @Test
+    @DisplayName("Valid items produce no errors")
+    void validItemsProduceNoErrors() {
+        // Given
+        final List<CertificateItemDTO> items = asList(validItem(), validItem());
+
+        // When
+        final List<String> errors = validatorUnderTest.getValidationErrors(items);
+
+        // Then
+        assertThat(errors, is(empty()));
+    }
+
+    @Test
+    @DisplayName("Errors are reported against the position of each invalid item")
+    void errorsAreReportedAgainstItemPosition() {
+        // Given
+        final CertificateItemDTO itemWithId = validItem();
+        itemWithId.setId("1");
+        final CertificateItemDTO collectionItem = validItem();
+        collectionItem.getItemOptions().setDeliveryMethod(COLLECTION);
+        final CertificateItemDTO itemWithoutCompanyNumber = validItem();
+        itemWithoutCompanyNumber.setCompanyNumber(null);
+        final List<CertificateItemDTO> items =
+                asList(validItem(), itemWithId, collectionItem, itemWithoutCompanyNumber, null);
+
+        // When
+        final List<String> errors = validatorUnderTest.getValidationErrors(items);
+
+        // Then
+        assertThat(errors, containsInAnyOrder(
+                "items[1].id: must be null in a create item request",
+                "items[2].collection_location: must not be null when delivery method is collection",
+                "items[2].forename: must not be blank when delivery method is collection",
+                "items[2].surname: must not be blank when delivery method is collection",
+                "items[3].company_number: must not be null",
+                "items[4]: must not be null"));
+    }
+
+    @Test
+    @DisplayName("An empty batch is rejected")
+    void emptyBatchIsRejected() {
+        // When
+        final List<String> errors = validatorUnderTest.getValidationErrors(emptyList());
+
+        // Then
+        assertThat(errors, contains("items: must contain at least 1 item"));
+    }
+
+    @Test
+    @DisplayName("A batch larger than the maximum batch size is rejected")
+    void oversizedBatchIsRejected() {
+        // Given
+        final List<CertificateItemDTO> items = new ArrayList<>();
+        for (int index = 0; index <= MAX_BATCH_SIZE; index++) {
+            items.add(validItem());
+        }
+
+        // When
+        final List<String> errors = validatorUnderTest.getValidationErrors(items);
+
+        // Then
+        assertThat(errors, contains("items: must contain no more than " + MAX_BATCH_SIZE + " items"));
+    }
+
+    private static CertificateItemDTO validItem() {
+        final CertificateItemDTO item = new CertificateItemDTO();
+        item.setCompanyNumber(COMPANY_NUMBER);
+        item.setItemOptions(new CertificateItemOptions());
+        item.setQuantity(1);
+        return item;
+    }
+
+}
@@ -0,0 +1,88 @@
+package uk.gov.companieshouse.certificates.orders.api.validator;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import uk.gov.companieshouse.certificates.orders.api.model.DirectorOrSecretaryDetails;
+import uk.gov.companieshouse.certificates.orders.api.util.FieldNameConverter;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static uk.gov.companieshouse.certificates.orders.api.model.IncludeDobType.PARTIAL;
+
+/**
+ * Unit tests the {@link DirectorOrSecretaryDetailsRules} class.
+ */
+class DirectorOrSecretaryDetailsRulesTest {
+
+    private final DirectorOrSecretaryDetailsRules rulesUnderTest =
+            DirectorOrSecretaryDetailsRules.compile(new FieldNameConverter());
+
+    @Test
+    @DisplayName("No errors for absent details")
+    void noErrorsForAbsentDetails() {
+        assertThat(rulesUnderTest.getValidationErrors(null, "director_details"), is(empty()));
+    }
+
+    @Test
+    @DisplayName("No errors when include basic information is true")
+    void noErrorsWhenIncludeBasicInformationIsTrue() {
+        // Given
+        final DirectorOrSecretaryDetails details = allIncluded();
+        details.setIncludeBasicInformation(true);
+
+        // When
+        final List<String> errors = rulesUnderTest.getValidationErrors(details, "director_details");
+
+        // Then
+        assertThat(errors, is(empty()));
+    }
+
+    @Test
+    @DisplayName("Reports every field set to true, in declaration order, and a non-null dob type")
+    void reportsAllIncorrectlySetFields() {
+        // Given
+        final DirectorOrSecretaryDetails details = allIncluded();
+        details.setIncludeBasicInformation(false);
+
+        // When
+        final List<String> errors = rulesUnderTest.getValidationErrors(details, "secretary_details");
+
+        // Then
+        assertThat(errors, contains(
+                "secretary_details: include_address, include_appointment_date, include_country_of_residence,"
+                        + " include_nationality, include_occupation must not be true when include_basic_information"
+                        + " is false",
+                "secretary_details: include_dob_type must not be non-null when include_basic_information is false"));
+    }
+
+    @Test
+    @DisplayName("Fields set to false are not reported")
+    void doesNotReportFalseFields() {
+        // Given
+        final DirectorOrSecretaryDetails details = new DirectorOrSecretaryDetails();
+        details.setIncludeAddress(false);
+        details.setIncludeOccupation(true);
+
+        // When
+        final List<String> errors = rulesUnderTest.getValidationErrors(details, "director_details");
+
+        // Then
+        assertThat(errors, contains(
+                "director_details: include_occupation must not be true when include_basic_information is false"));
+    }
+
+    private static DirectorOrSecretaryDetails allIncluded() {
+        final DirectorOrSecretaryDetails details = new DirectorOrSecretaryDetails();
+        details.setIncludeAddress(true);
+        details.setIncludeAppointmentDate(true);
+        details.setIncludeCountryOfResidence(true);
+        details.setIncludeDobType(PARTIAL);
+        details.setIncludeNationality(true);
+        details.setIncludeOccupation(true);
+        return details;
+    }
+}
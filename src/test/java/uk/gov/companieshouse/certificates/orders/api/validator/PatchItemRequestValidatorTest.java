@@ -1,5 +1,6 @@
 package uk.gov.companieshouse.certificates.orders.api.validator;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,9 +15,7 @@ import uk.gov.companieshouse.certificates.orders.api.config.ApplicationConfigura
 import uk.gov.companieshouse.certificates.orders.api.dto.PatchValidationCertificateItemDTO;
 import uk.gov.companieshouse.certificates.orders.api.model.*;
 import uk.gov.companieshouse.certificates.orders.api.util.FieldNameConverter;
-import uk.gov.companieshouse.certificates.orders.api.util.TestMergePatchFactory;
 
-import javax.json.JsonMergePatch;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
@@ -61,11 +60,6 @@ class PatchItemRequestValidatorTest {
         public PatchItemRequestValidator patchItemRequestValidator() {
             return new PatchItemRequestValidator(objectMapper(), validator(), converter());
         }
-
-        @Bean
-        TestMergePatchFactory patchFactory() {
-            return new TestMergePatchFactory(objectMapper());
-        }
     }
 
     private static final int TOKEN_QUANTITY = 2;
@@ -107,9 +101,6 @@ class PatchItemRequestValidatorTest {
     @Autowired
     private ObjectMapper mapper;
 
-    @Autowired
-    private TestMergePatchFactory patchFactory;
-
     private PatchValidationCertificateItemDTO itemUpdate;
 
     @BeforeEach
@@ -122,7 +113,7 @@ class PatchItemRequestValidatorTest {
     void getValidationErrorsReturnsNoErrors() throws IOException {
         // Given
         itemUpdate.setQuantity(TOKEN_QUANTITY);
-        final JsonMergePatch patch = patchFactory.patchFromPojo(itemUpdate);
+        final JsonNode patch = mapper.valueToTree(itemUpdate);
 
         // When
         final List<String> errors = validatorUnderTest.getValidationErrors(patch);
@@ -195,7 +186,7 @@ class PatchItemRequestValidatorTest {
         itemUpdate.setItemCosts(TOKEN_ITEM_COSTS);
         itemUpdate.setKind(TOKEN_STRING);
         itemUpdate.setEtag(TOKEN_STRING);
-        final JsonMergePatch patch = patchFactory.patchFromPojo(itemUpdate);
+        final JsonNode patch = mapper.valueToTree(itemUpdate);
 
         // When
         final List<String> errors = validatorUnderTest.getValidationErrors(patch);
@@ -213,7 +204,7 @@ class PatchItemRequestValidatorTest {
     void getValidationErrorsRejectsZeroQuantity() throws IOException {
         // Given
         itemUpdate.setQuantity(INVALID_QUANTITY);
-        final JsonMergePatch patch = patchFactory.patchFromPojo(itemUpdate);
+        final JsonNode patch = mapper.valueToTree(itemUpdate);
 
         // When
         final List<String> errors = validatorUnderTest.getValidationErrors(patch);
@@ -227,7 +218,7 @@ class PatchItemRequestValidatorTest {
     void getValidationErrorsIgnoresUnknownField() throws IOException {
         // Given
         final String jsonWithUnknownField = "{ \"idx\": \"CHS1\" }";
-        final JsonMergePatch patch = patchFactory.patchFromJson(jsonWithUnknownField);
+        final JsonNode patch = mapper.readTree(jsonWithUnknownField);
 
         // When
         final List<String> errors = validatorUnderTest.getValidationErrors(patch);
@@ -236,6 +227,47 @@ class PatchItemRequestValidatorTest {
         assertThat(errors, is(empty()));
     }
 
+    @Test
+    @DisplayName("Patch with multiple invalid fields reports each of them")
+    void getValidationErrorsReportsEachInvalidField() throws IOException {
+        // Given
+        itemUpdate.setQuantity(INVALID_QUANTITY);
+        itemUpdate.setEtag(TOKEN_STRING);
+        final JsonNode patch = mapper.valueToTree(itemUpdate);
+
+        // When
+        final List<String> errors = validatorUnderTest.getValidationErrors(patch);
+
+        // Then
+        assertThat(errors, containsInAnyOrder("quantity: must be greater than or equal to 1", "etag: must be null"));
+    }
+
+    @Test
+    @DisplayName("Patch that cannot be bound reports a single binding error")
+    void getValidationErrorsReportsBindingError() throws IOException {
+        // Given
+        final String jsonWithInvalidQuantity = "{ \"quantity\": \"many\" }";
+
+        // When
+        final List<String> errors = validatorUnderTest.getValidationErrors(mapper.readTree(jsonWithInvalidQuantity));
+
+        // Then
+        assertThat(errors, hasSize(1));
+    }
+
+    @Test
+    @DisplayName("Patch that is not a JSON object is rejected")
+    void getValidationErrorsRejectsPatchThatIsNotAnObject() throws IOException {
+        assertThat(validatorUnderTest.getValidationErrors(mapper.readTree("null")),
+                contains(PatchItemRequestValidator.PATCH_NOT_OBJECT_ERROR));
+        assertThat(validatorUnderTest.getValidationErrors(mapper.readTree("[]")),
+                contains(PatchItemRequestValidator.PATCH_NOT_OBJECT_ERROR));
+        assertThat(validatorUnderTest.getValidationErrors(mapper.readTree("2")),
+                contains(PatchItemRequestValidator.PATCH_NOT_OBJECT_ERROR));
+        assertThat(validatorUnderTest.getValidationErrors((JsonNode) null),
+                contains(PatchItemRequestValidator.PATCH_NOT_OBJECT_ERROR));
+    }
+
     @Test
     @DisplayName("Collection location is optional by default")
     void collectionLocationIsOptionalByDefault() {
@@ -469,7 +501,7 @@ class PatchItemRequestValidatorTest {
      */
     private void assertFieldMustBeNullErrorProduced(final String fieldName) throws IOException {
         // Given
-        final JsonMergePatch patch = patchFactory.patchFromPojo(itemUpdate);
+        final JsonNode patch = mapper.valueToTree(itemUpdate);
         // When
         final List<String> errors = validatorUnderTest.getValidationErrors(patch);
         // Then